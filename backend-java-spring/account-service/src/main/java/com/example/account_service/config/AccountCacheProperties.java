@@ -0,0 +1,56 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the balance and status cache.
+ *
+ * <p>Each read path states how old a cached value it accepts. Changes made through this instance (status
+ * changes, postings it is told about) evict immediately; the bounds cap how long a change made through
+ * another instance, or a posting notification that was lost, can go unseen.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.account-cache")
+public class AccountCacheProperties {
+
+    @Min(1)
+    private long maxSize = 100_000;
+
+    // Dashboard balance reads.
+    @NotNull
+    private Duration balanceMaxStaleness = Duration.ofSeconds(5);
+
+    // Status checks made by the transaction service before every transaction.
+    @NotNull
+    private Duration statusMaxStaleness = Duration.ofSeconds(1);
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getBalanceMaxStaleness() {
+        return balanceMaxStaleness;
+    }
+
+    public void setBalanceMaxStaleness(Duration balanceMaxStaleness) {
+        this.balanceMaxStaleness = balanceMaxStaleness;
+    }
+
+    public Duration getStatusMaxStaleness() {
+        return statusMaxStaleness;
+    }
+
+    public void setStatusMaxStaleness(Duration statusMaxStaleness) {
+        this.statusMaxStaleness = statusMaxStaleness;
+    }
+}
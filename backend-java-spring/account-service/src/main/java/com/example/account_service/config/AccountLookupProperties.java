@@ -0,0 +1,39 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the in-memory account lookup index behind the admin user lookup.
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.account-lookup")
+public class AccountLookupProperties {
+
+    // Load the index from the database once the service is up; lookups before that see only new events.
+    private boolean rebuildOnStartup = true;
+
+    @Min(1)
+    @Max(1_000)
+    private int maxResults = 50;
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+}
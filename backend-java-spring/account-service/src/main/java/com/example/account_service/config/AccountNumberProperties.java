@@ -0,0 +1,59 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.ZoneId;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for public account numbers.
+ *
+ * <p>Numbers look like {@code KABAN-2026-0012345}: {@code prefix}, the year of opening in {@code zone}, a
+ * serial of at least six digits and a check digit. Each instance reserves serials from PostgreSQL
+ * {@code blockSize} at a time. {@code blockSize} may be raised on a live database but never lowered: block
+ * {@code n} covers serials {@code ((n - 1) * blockSize, n * blockSize]}, so a smaller size would map new
+ * blocks onto serials already handed out.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.account-number")
+public class AccountNumberProperties {
+
+    @NotBlank
+    @Pattern(regexp = "[A-Z]+")
+    private String prefix = "KABAN";
+
+    @Min(1)
+    private int blockSize = 100;
+
+    @NotNull
+    private ZoneId zone = ZoneId.of("Asia/Manila");
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+}
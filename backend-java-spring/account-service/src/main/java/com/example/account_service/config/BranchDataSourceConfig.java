@@ -0,0 +1,60 @@
+package com.example.account_service.config;
+
+import com.example.account_service.routing.BranchRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces Spring Boot's single connection pool with the {@link BranchRoutingDataSource}.
+ *
+ * <p>The primary pool is built from {@code spring.datasource.*} and {@code spring.datasource.hikari.*} as Boot
+ * would build it, and stays a bean so Boot still reports its metrics. Branch pools are named
+ * {@code branch-<code>} and report the same {@code hikaricp.*} metrics tagged with that pool name, so a branch
+ * waiting for connections shows up on its own.</p>
+ */
+@Configuration
+public class BranchDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    BranchRoutingDataSource dataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            BranchRoutingProperties branches,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        branches.getPools().forEach((branch, pool) -> {
+            String code = branch.trim().toUpperCase(Locale.ROOT);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("branch-" + code);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setJdbcUrl(pool.getUrl() != null ? pool.getUrl() : properties.determineUrl());
+            config.setUsername(pool.getUsername() != null ? pool.getUsername() : properties.determineUsername());
+            config.setPassword(pool.getPassword() != null ? pool.getPassword() : properties.determinePassword());
+            config.setMaximumPoolSize(pool.getMaximumPoolSize());
+            config.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.put(code, new HikariDataSource(config));
+        });
+        return new BranchRoutingDataSource(primaryDataSource, pools);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.account_service.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for per-branch connection pools.
+ *
+ * <p>Requests are routed by the {@code branch} claim of the caller's JWT. A branch listed under
+ * {@code pools} gets a pool of its own; every other branch, and every request without a branch, uses the
+ * primary {@code spring.datasource} pool. A branch pool connects to the primary database unless it names a
+ * database of its own.</p>
+ *
+ * <p>Only requests carrying a user's token know their branch: internal endpoints, the profile writer, the
+ * profile backfill and the account lookup index read the primary database. Point a branch at a database of
+ * its own only once nothing outside that branch needs its accounts.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.branches")
+public class BranchRoutingProperties {
+
+    @Valid
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    public Map<String, Pool> getPools() {
+        return pools;
+    }
+
+    public void setPools(Map<String, Pool> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * One branch's pool.
+     */
+    public static class Pool {
+
+        // Defaults to spring.datasource.url, i.e. a separate pool on the shared database.
+        private @Nullable String url;
+
+        private @Nullable String username;
+
+        private @Nullable String password;
+
+        @Min(1)
+        private int maximumPoolSize = 5;
+
+        // How long a request waits for a connection before failing, rather than queueing behind a busy branch.
+        @NotNull
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        public @Nullable String getUrl() {
+            return url;
+        }
+
+        public void setUrl(@Nullable String url) {
+            this.url = url;
+        }
+
+        public @Nullable String getUsername() {
+            return username;
+        }
+
+        public void setUsername(@Nullable String username) {
+            this.username = username;
+        }
+
+        public @Nullable String getPassword() {
+            return password;
+        }
+
+        public void setPassword(@Nullable String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
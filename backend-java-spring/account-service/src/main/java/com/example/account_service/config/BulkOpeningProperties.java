@@ -0,0 +1,67 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for bulk account opening.
+ *
+ * <p>An upload is read {@code chunkSize} rows at a time; each chunk is validated on {@code parallelism}
+ * threads, inserted in one transaction with {@code rowsPerStatement} accounts per {@code INSERT}, and its
+ * results are written back before the next chunk is read. Uploads of more than {@code maxRows} rows are cut
+ * off there.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.bulk-open")
+public class BulkOpeningProperties {
+
+    @Min(1)
+    private int chunkSize = 1_000;
+
+    // 8 parameters per row; PostgreSQL allows 65535 per statement.
+    @Min(1)
+    @Max(8_000)
+    private int rowsPerStatement = 500;
+
+    @Min(1)
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    @Min(1)
+    private int maxRows = 100_000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getRowsPerStatement() {
+        return rowsPerStatement;
+    }
+
+    public void setRowsPerStatement(int rowsPerStatement) {
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+}
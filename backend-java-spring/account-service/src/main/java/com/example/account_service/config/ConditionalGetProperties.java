@@ -0,0 +1,44 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for conditional GETs of accounts and profiles.
+ *
+ * <p>A {@code 304 Not Modified} is answered from the last version this instance read, without loading the
+ * account or profile, while that version is at most {@link #getVersionMaxStaleness()} old. Changes made
+ * through this instance, and postings it is told about, drop the version at once; the bound caps how long a
+ * change made elsewhere can be answered with {@code 304}.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.conditional-get")
+public class ConditionalGetProperties {
+
+    @Min(1)
+    private long maxVersions = 100_000;
+
+    @NotNull
+    private Duration versionMaxStaleness = Duration.ofSeconds(5);
+
+    public long getMaxVersions() {
+        return maxVersions;
+    }
+
+    public void setMaxVersions(long maxVersions) {
+        this.maxVersions = maxVersions;
+    }
+
+    public Duration getVersionMaxStaleness() {
+        return versionMaxStaleness;
+    }
+
+    public void setVersionMaxStaleness(Duration versionMaxStaleness) {
+        this.versionMaxStaleness = versionMaxStaleness;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the dashboard aggregate endpoint.
+ *
+ * <p>Each section has its own deadline, counted from the start of the request; a section that misses it is
+ * served from its last snapshot, or left out. Recent activity is kept per user and reused for
+ * {@code activityMaxStaleness} without calling transaction-service, and as a fallback for
+ * {@code activityFallbackTtl}.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+
+    @Min(1)
+    private int threads = 32;
+
+    @Min(1)
+    private int queueCapacity = 1_000;
+
+    @NotNull
+    private Duration accountsTimeout = Duration.ofMillis(300);
+
+    @NotNull
+    private Duration activityTimeout = Duration.ofMillis(800);
+
+    @NotNull
+    private Duration activityMaxStaleness = Duration.ofSeconds(5);
+
+    @NotNull
+    private Duration activityFallbackTtl = Duration.ofMinutes(5);
+
+    @Min(1)
+    @Max(50)
+    private int recentTransactions = 5;
+
+    @Min(1)
+    private long maxUsers = 100_000;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getAccountsTimeout() {
+        return accountsTimeout;
+    }
+
+    public void setAccountsTimeout(Duration accountsTimeout) {
+        this.accountsTimeout = accountsTimeout;
+    }
+
+    public Duration getActivityTimeout() {
+        return activityTimeout;
+    }
+
+    public void setActivityTimeout(Duration activityTimeout) {
+        this.activityTimeout = activityTimeout;
+    }
+
+    public Duration getActivityMaxStaleness() {
+        return activityMaxStaleness;
+    }
+
+    public void setActivityMaxStaleness(Duration activityMaxStaleness) {
+        this.activityMaxStaleness = activityMaxStaleness;
+    }
+
+    public Duration getActivityFallbackTtl() {
+        return activityFallbackTtl;
+    }
+
+    public void setActivityFallbackTtl(Duration activityFallbackTtl) {
+        this.activityFallbackTtl = activityFallbackTtl;
+    }
+
+    public int getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(int recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+
+    public long getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(long maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+}
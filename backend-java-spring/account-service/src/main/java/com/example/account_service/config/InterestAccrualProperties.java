@@ -0,0 +1,117 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for daily interest accrual on savings accounts.
+ *
+ * <p>When {@code enabled}, the accrual for the previous day in {@code zone} runs on {@code cron}, and an
+ * interrupted run is resumed at startup. Days missed while no instance was up are run too, at most the
+ * latest {@code maxCatchUpDays} of them. A day's interest is {@code balance * annualRate / dayCount}.
+ * Accounts are read {@code chunkSize} at a time and each chunk's interest is computed on
+ * {@code parallelism} threads.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.interest")
+public class InterestAccrualProperties {
+
+    private boolean enabled = false;
+
+    @NotBlank
+    private String cron = "0 30 0 * * *";
+
+    @NotNull
+    private ZoneId zone = ZoneId.of("Asia/Manila");
+
+    // A fraction, e.g. 0.0025 for 0.25% a year.
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private BigDecimal annualRate = new BigDecimal("0.0025");
+
+    @Min(360)
+    private int dayCount = 365;
+
+    @Min(1)
+    private int chunkSize = 1_000;
+
+    @Min(1)
+    private int maxCatchUpDays = 7;
+
+    @Min(1)
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public BigDecimal getAnnualRate() {
+        return annualRate;
+    }
+
+    public void setAnnualRate(BigDecimal annualRate) {
+        this.annualRate = annualRate;
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public void setDayCount(int dayCount) {
+        this.dayCount = dayCount;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxCatchUpDays() {
+        return maxCatchUpDays;
+    }
+
+    public void setMaxCatchUpDays(int maxCatchUpDays) {
+        this.maxCatchUpDays = maxCatchUpDays;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.account_service.config;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for reading the JWTs auth-service issues.
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtProperties {
+
+    // The secret auth-service signs with. Unset, tokens are not read, so every /api request is rejected.
+    private @Nullable String secret;
+
+    public @Nullable String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(@Nullable String secret) {
+        this.secret = secret;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.account_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for creating user profiles from user-registered events.
+ *
+ * <p>Events wait in a queue of {@code capacity} entries and are written {@code batchSize} at a time. The
+ * backfill pages auth-service's user ids {@code backfillPageSize} at a time and gives every user without a
+ * profile the placeholder name.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.profiles")
+public class UserProfileProperties {
+
+    @Min(1)
+    private int batchSize = 500;
+
+    @Min(1)
+    private int capacity = 50_000;
+
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    @Min(1)
+    private int backfillPageSize = 5_000;
+
+    @NotBlank
+    private String placeholderFirstName = "New";
+
+    @NotBlank
+    private String placeholderLastName = "Customer";
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public int getBackfillPageSize() {
+        return backfillPageSize;
+    }
+
+    public void setBackfillPageSize(int backfillPageSize) {
+        this.backfillPageSize = backfillPageSize;
+    }
+
+    public String getPlaceholderFirstName() {
+        return placeholderFirstName;
+    }
+
+    public void setPlaceholderFirstName(String placeholderFirstName) {
+        this.placeholderFirstName = placeholderFirstName;
+    }
+
+    public String getPlaceholderLastName() {
+        return placeholderLastName;
+    }
+
+    public void setPlaceholderLastName(String placeholderLastName) {
+        this.placeholderLastName = placeholderLastName;
+    }
+}
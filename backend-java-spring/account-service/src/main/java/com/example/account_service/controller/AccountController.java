@@ -0,0 +1,141 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.AccountResponse;
+import com.example.account_service.dto.BalanceResponse;
+import com.example.account_service.dto.OpenAccountRequest;
+import com.example.account_service.dto.StatusChangeRequest;
+import com.example.account_service.security.AuthenticatedUser;
+import com.example.account_service.service.AccountService;
+import com.example.account_service.service.ResourceVersion;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Account endpoints for the web app.
+ *
+ * <p>Staleness per endpoint: account details and lists are read from the database; the balance may be up to
+ * {@code app.account-cache.balance-max-staleness} old, and carries the time it was read as {@code asOf}.</p>
+ *
+ * <p>Account details and lists carry {@code ETag} and {@code Last-Modified}. A conditional GET whose
+ * validators match the version this instance last read is answered {@code 304} without reading the accounts,
+ * so it may be up to {@code app.conditional-get.version-max-staleness} stale; any other request is read from
+ * the database as above.</p>
+ *
+ * <p>Every endpoint requires a user's JWT. Users may only open, read and change their own accounts; admins
+ * may act on anyone's. Otherwise the response is {@code 403}.</p>
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountController {
+
+    private final AccountService accountService;
+
+    public AccountController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    /**
+     * Opens an account.
+     *
+     * @param request owner, type and currency
+     * @return 201 with the new account, or 403
+     */
+    @PostMapping
+    public ResponseEntity<AccountResponse> open(@Valid @RequestBody OpenAccountRequest request) {
+        AuthenticatedUser.current().requireSelfOrAdmin(request.userId());
+        AccountResponse account = accountService.open(request);
+        return ResponseEntity.created(URI.create("/api/accounts/" + account.accountNumber())).body(account);
+    }
+
+    /**
+     * Lists the signed-in user's accounts, oldest first.
+     *
+     * @param request the request, for its validators
+     * @return the accounts, possibly none, or 304
+     */
+    @GetMapping
+    public ResponseEntity<List<AccountResponse>> list(WebRequest request) {
+        return list(AuthenticatedUser.current().id(), request);
+    }
+
+    /**
+     * Lists another user's accounts, as {@link #list(WebRequest)} does; admins only.
+     *
+     * @param userId  the owner
+     * @param request the request, for its validators
+     * @return the accounts, possibly none, 304, or 403
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<List<AccountResponse>> listOf(@PathVariable UUID userId, WebRequest request) {
+        AuthenticatedUser.current().requireAdmin();
+        return list(userId, request);
+    }
+
+    private ResponseEntity<List<AccountResponse>> list(UUID userId, WebRequest request) {
+        if (ConditionalGet.isConditional(request)) {
+            ResourceVersion known = accountService.knownListVersion(userId);
+            if (known != null && ConditionalGet.isNotModified(request, known)) {
+                return ConditionalGet.notModified(known);
+            }
+        }
+        List<AccountResponse> accounts = accountService.listForUser(userId);
+        return ConditionalGet.ok(ResourceVersion.ofAccounts(accounts), accounts);
+    }
+
+    /**
+     * Returns an account.
+     *
+     * @param accountNumber the account number
+     * @param request       the request, for its validators
+     * @return the account, 304, 403, or 404
+     */
+    @GetMapping("/{accountNumber}")
+    public ResponseEntity<AccountResponse> get(@PathVariable String accountNumber, WebRequest request) {
+        AuthenticatedUser.current().requireSelfOrAdmin(accountService.owner(accountNumber));
+        ResourceVersion known = accountService.knownVersion(accountNumber);
+        if (known != null && ConditionalGet.isNotModified(request, known)) {
+            return ConditionalGet.notModified(known);
+        }
+        AccountResponse account = accountService.get(accountNumber);
+        return ConditionalGet.ok(ResourceVersion.of(account.updatedAt()), account);
+    }
+
+    /**
+     * Returns an account's balance for the dashboard, possibly from cache.
+     *
+     * @param accountNumber the account number
+     * @return the balance, 403, or 404
+     */
+    @GetMapping("/{accountNumber}/balance")
+    public ResponseEntity<BalanceResponse> balance(@PathVariable String accountNumber) {
+        AuthenticatedUser.current().requireSelfOrAdmin(accountService.owner(accountNumber));
+        return ResponseEntity.ok(accountService.balance(accountNumber));
+    }
+
+    /**
+     * Freezes, reactivates or closes an account.
+     *
+     * @param accountNumber the account number
+     * @param request       the new status
+     * @return the updated account, 403, 404, or 409 if the change is not allowed
+     */
+    @PutMapping("/{accountNumber}/status")
+    public ResponseEntity<AccountResponse> changeStatus(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody StatusChangeRequest request
+    ) {
+        AuthenticatedUser.current().requireSelfOrAdmin(accountService.owner(accountNumber));
+        return ResponseEntity.ok(accountService.changeStatus(accountNumber, request.status()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.MessageResponse;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.exception.AccountStatusException;
+import com.example.account_service.exception.ProfileNotFoundException;
+import com.example.account_service.exception.ProfileQueueFullException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps account and profile exceptions to HTTP responses.
+ */
+@RestControllerAdvice
+public class AccountExceptionHandler {
+
+    /**
+     * Returns {@code 404 Not Found} for an unknown account number.
+     *
+     * @param ex the thrown exception
+     * @return a 404 response with the message
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<MessageResponse> handleNotFound(AccountNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(ex.getMessage()));
+    }
+
+    /**
+     * Returns {@code 404 Not Found} for a user without a profile.
+     *
+     * @param ex the thrown exception
+     * @return a 404 response with the message
+     */
+    @ExceptionHandler(ProfileNotFoundException.class)
+    public ResponseEntity<MessageResponse> handleProfileNotFound(ProfileNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(ex.getMessage()));
+    }
+
+    /**
+     * Returns {@code 403 Forbidden} when the user may not act on the account or profile.
+     *
+     * @param ex the thrown exception
+     * @return a 403 response with the message
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<MessageResponse> handleAccessDenied(AccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse(ex.getMessage()));
+    }
+
+    /**
+     * Returns {@code 409 Conflict} for a status change the account's current state does not allow.
+     *
+     * @param ex the thrown exception
+     * @return a 409 response with the message
+     */
+    @ExceptionHandler(AccountStatusException.class)
+    public ResponseEntity<MessageResponse> handleStatus(AccountStatusException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(ex.getMessage()));
+    }
+
+    /**
+     * Returns {@code 503 Service Unavailable} when user-registered events cannot be queued.
+     *
+     * @param ex the thrown exception
+     * @return a 503 response with the message
+     */
+    @ExceptionHandler(ProfileQueueFullException.class)
+    public ResponseEntity<MessageResponse> handleProfileQueueFull(ProfileQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(ex.getMessage()));
+    }
+}
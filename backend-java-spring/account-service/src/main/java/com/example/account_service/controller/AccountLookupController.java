@@ -0,0 +1,63 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.AccountLookupResult;
+import com.example.account_service.dto.AccountLookupStats;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Account lookup for the admin portal's user lookup screen, served from the in-memory
+ * {@link AccountLookupIndex}. Keep {@code /internal/**} behind network controls; the admin portal reaches it
+ * through the gateway.
+ */
+@RestController
+@RequestMapping("/internal/account-lookup")
+public class AccountLookupController {
+
+    private final AccountLookupIndex lookupIndex;
+
+    public AccountLookupController(AccountLookupIndex lookupIndex) {
+        this.lookupIndex = lookupIndex;
+    }
+
+    /**
+     * Finds accounts by account number prefix, owner id or owner email prefix.
+     *
+     * @param q     the text typed by the admin
+     * @param limit maximum results (default 20, capped by {@code app.account-lookup.max-results})
+     * @return the hits, account number matches first
+     */
+    @GetMapping
+    public ResponseEntity<List<AccountLookupResult>> lookup(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(lookupIndex.lookup(q, limit));
+    }
+
+    /**
+     * Reports the size and estimated memory use of the index.
+     *
+     * @return the index statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AccountLookupStats> stats() {
+        return ResponseEntity.ok(lookupIndex.stats());
+    }
+
+    /**
+     * Reloads the index from the database, e.g. after restoring a backup. Lookups keep working meanwhile.
+     *
+     * @return the statistics of the rebuilt index
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<AccountLookupStats> rebuild() {
+        return ResponseEntity.ok(lookupIndex.rebuild());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.BulkOpenResult;
+import com.example.account_service.routing.BranchContext;
+import com.example.account_service.service.BulkAccountOpeningService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk account opening for corporate clients, e.g. a payroll run opening accounts for every employee.
+ *
+ * <p>Access is restricted to {@code ROLE_ADMIN}, {@code ROLE_SUPER_ADMIN} and {@code ROLE_CORPORATE_OPERATOR}
+ * in {@link com.example.account_service.config.SecurityConfig}.</p>
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class BulkAccountController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BulkAccountOpeningService bulkOpeningService;
+    private final JsonMapper jsonMapper;
+
+    public BulkAccountController(BulkAccountOpeningService bulkOpeningService, JsonMapper jsonMapper) {
+        this.bulkOpeningService = bulkOpeningService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Opens accounts from an NDJSON upload, one account-opening request per line.
+     *
+     * <p>Both directions are streamed: the upload is read a chunk at a time, and each chunk's results are
+     * written and flushed as soon as it is committed, one {@link BulkOpenResult} line per input row. Rows
+     * that fail validation are reported individually; the remaining rows are still opened.</p>
+     *
+     * @param body the raw NDJSON request body
+     * @return 200 with a stream of per-row results in line order
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> bulkOpen(InputStream body) {
+        // The body runs on an async thread; keep the caller's branch pool.
+        String branch = BranchContext.current();
+        StreamingResponseBody stream = out -> {
+            try (BranchContext.Scope ignored = BranchContext.enter(branch)) {
+                bulkOpeningService.open(body, results -> write(out, results));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(stream);
+    }
+
+    private void write(OutputStream out, List<BulkOpenResult> results) {
+        try {
+            for (BulkOpenResult result : results) {
+                out.write(jsonMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException ex) {
+            // The client went away; stop reading the upload.
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.service.ResourceVersion;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validators for GET responses, and the check that answers a conditional GET from a known version.
+ *
+ * <p>A full response carries {@code ETag} and {@code Last-Modified}; Spring MVC itself turns it into a
+ * {@code 304} when the request's validators match. {@link #isNotModified} makes the same decision before the
+ * resource is read, from a version cached earlier: {@code If-None-Match} wins when present, as RFC 9110
+ * requires, otherwise {@code If-Modified-Since} is compared at the one-second precision of HTTP dates.</p>
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Tells whether a request carries validators at all, i.e. whether looking up a version is worth it.
+     */
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Tells whether a request's validators match a version, so it can be answered with {@link #notModified}.
+     *
+     * @param request the request
+     * @param version the resource's version
+     * @return {@code true} to answer {@code 304}
+     */
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String value : ifNoneMatch) {
+                for (String tag : value.split(",")) {
+                    tag = tag.trim();
+                    // If-None-Match uses weak comparison.
+                    if (tag.equals("*") || stripWeak(tag).equals(version.etag())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        Instant lastModified = version.lastModified();
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return lastModified.getEpochSecond() <= since.getEpochSecond();
+        } catch (DateTimeParseException ex) {
+            // An invalid date is ignored.
+            return false;
+        }
+    }
+
+    /**
+     * Returns a {@code 200} with the version's validators.
+     */
+    static <T> ResponseEntity<T> ok(ResourceVersion version, T body) {
+        return ResponseEntity.ok().headers(validators(version)).body(body);
+    }
+
+    /**
+     * Returns a bodiless {@code 304} with the version's validators.
+     */
+    static <T> ResponseEntity<T> notModified(ResourceVersion version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(validators(version)).build();
+    }
+
+    private static HttpHeaders validators(ResourceVersion version) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(version.etag());
+        if (version.lastModified() != null) {
+            headers.setLastModified(version.lastModified());
+        }
+        return headers;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.DashboardResponse;
+import com.example.account_service.security.AuthenticatedUser;
+import com.example.account_service.service.dashboard.DashboardService;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The web app's dashboard, aggregated into one call.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Returns the account summary, balances, account status and recent activity of the signed-in user.
+     * Always {@code 200}: a section whose backend was too slow is marked {@code STALE} or {@code UNAVAILABLE}
+     * rather than failing the page.
+     *
+     * @return the dashboard
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> dashboard() {
+        return ResponseEntity.ok(dashboardService.dashboard(AuthenticatedUser.current().id()));
+    }
+
+    /**
+     * Returns another user's dashboard, as {@link #dashboard()} does; admins only.
+     *
+     * @param userId the user
+     * @return the dashboard, or 403
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<DashboardResponse> dashboardOf(@PathVariable UUID userId) {
+        AuthenticatedUser.current().requireAdmin();
+        return ResponseEntity.ok(dashboardService.dashboard(userId));
+    }
+}
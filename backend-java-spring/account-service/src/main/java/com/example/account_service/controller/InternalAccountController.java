@@ -0,0 +1,91 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.AccountStatusEventPage;
+import com.example.account_service.dto.AccountStatusSnapshotPage;
+import com.example.account_service.dto.PostingNotification;
+import com.example.account_service.dto.StatusResponse;
+import com.example.account_service.service.AccountService;
+import com.example.account_service.service.status.AccountStatusFeed;
+import jakarta.validation.Valid;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service account endpoints, called by the transaction service.
+ * Keep {@code /internal/**} behind network controls; it is not meant for public clients.
+ */
+@RestController
+@RequestMapping("/internal/accounts")
+public class InternalAccountController {
+
+    private final AccountService accountService;
+    private final AccountStatusFeed statusFeed;
+
+    public InternalAccountController(AccountService accountService, AccountStatusFeed statusFeed) {
+        this.accountService = accountService;
+        this.statusFeed = statusFeed;
+    }
+
+    /**
+     * Returns an account's status. transaction-service checks statuses in its own map, kept from
+     * {@link #statusEvents}, and asks here only for accounts its map does not know yet. The status may be up
+     * to {@code app.account-cache.status-max-staleness} old; {@code asOf} says when it was read.
+     *
+     * @param accountNumber the account number
+     * @return the status, or 404
+     */
+    @GetMapping("/{accountNumber}/status")
+    public ResponseEntity<StatusResponse> status(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(accountService.status(accountNumber));
+    }
+
+    /**
+     * Drops cached balances of accounts whose transactions were just committed. Call after the commit;
+     * a notification sent before it can be overtaken by a read that caches the old balance again.
+     *
+     * @param notification the affected accounts
+     * @return 204
+     */
+    @PostMapping("/postings")
+    public ResponseEntity<Void> postingsCommitted(@Valid @RequestBody PostingNotification notification) {
+        accountService.postingsCommitted(notification.accountNumbers());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Returns status-change events after a sequence, for transaction-service's catch-up.
+     *
+     * @param after the last sequence already applied
+     * @param limit page size (default and max 5000)
+     * @return the events and the latest sequence
+     */
+    @GetMapping("/status-events")
+    public ResponseEntity<AccountStatusEventPage> statusEvents(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", required = false) @Nullable Integer limit
+    ) {
+        return ResponseEntity.ok(statusFeed.events(after, limit));
+    }
+
+    /**
+     * Returns a page of every account's status, for transaction-service loading its status map.
+     *
+     * @param after the last account number of the previous page
+     * @param limit page size (default and max 5000)
+     * @return the statuses and the sequence they are at least as new as
+     */
+    @GetMapping("/statuses")
+    public ResponseEntity<AccountStatusSnapshotPage> statuses(
+            @RequestParam(value = "after", required = false) @Nullable String after,
+            @RequestParam(value = "limit", required = false) @Nullable Integer limit
+    ) {
+        return ResponseEntity.ok(statusFeed.snapshot(after, limit));
+    }
+}
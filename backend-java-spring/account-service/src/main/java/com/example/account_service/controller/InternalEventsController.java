@@ -0,0 +1,51 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.UserRegisteredBatch;
+import com.example.account_service.dto.UserRegisteredEvent;
+import com.example.account_service.service.profile.UserProfileWriter;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives domain events from other services, called by auth-service.
+ * Keep {@code /internal/**} behind network controls; it is not meant for public clients.
+ */
+@RestController
+@RequestMapping("/internal/events")
+public class InternalEventsController {
+
+    private final UserProfileWriter profileWriter;
+
+    public InternalEventsController(UserProfileWriter profileWriter) {
+        this.profileWriter = profileWriter;
+    }
+
+    /**
+     * Queues a profile for a newly registered user.
+     *
+     * @param event the registration
+     * @return 202 once queued, or 503 if the queue is full
+     */
+    @PostMapping("/user-registered")
+    public ResponseEntity<Void> userRegistered(@Valid @RequestBody UserRegisteredEvent event) {
+        profileWriter.submitAll(List.of(event));
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Queues profiles for many newly registered users, all or none.
+     *
+     * @param batch the registrations
+     * @return 202 once queued, or 503 if the queue cannot take the whole batch
+     */
+    @PostMapping("/user-registered/batch")
+    public ResponseEntity<Void> userRegisteredBatch(@Valid @RequestBody UserRegisteredBatch batch) {
+        profileWriter.submitAll(batch.events());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.account_service.controller;
+
+import com.example.account_service.dto.ProfileResponse;
+import com.example.account_service.security.AuthenticatedUser;
+import com.example.account_service.service.ResourceVersion;
+import com.example.account_service.service.profile.ProfileService;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Profile endpoints for the web app.
+ *
+ * <p>Profiles carry {@code ETag} and {@code Last-Modified}. A conditional GET whose validators match the
+ * version this instance last read is answered {@code 304} without reading the profile, so it may be up to
+ * {@code app.conditional-get.version-max-staleness} stale.</p>
+ *
+ * <p>Users may only read their own profile; admins may read anyone's.</p>
+ */
+@RestController
+@RequestMapping("/api/profiles")
+public class ProfileController {
+
+    private final ProfileService profileService;
+
+    public ProfileController(ProfileService profileService) {
+        this.profileService = profileService;
+    }
+
+    /**
+     * Returns a user's profile.
+     *
+     * @param userId  the user
+     * @param request the request, for its validators
+     * @return the profile, 304, 403, or 404
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<ProfileResponse> get(@PathVariable UUID userId, WebRequest request) {
+        AuthenticatedUser.current().requireSelfOrAdmin(userId);
+        ResourceVersion known = profileService.knownVersion(userId);
+        if (known != null && ConditionalGet.isNotModified(request, known)) {
+            return ConditionalGet.notModified(known);
+        }
+        ProfileResponse profile = profileService.get(userId);
+        return ConditionalGet.ok(ResourceVersion.of(profile.updatedAt()), profile);
+    }
+}
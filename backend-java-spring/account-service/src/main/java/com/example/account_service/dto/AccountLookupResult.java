@@ -0,0 +1,13 @@
+package com.example.account_service.dto;
+
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One hit of the admin account lookup: an account and its owner, or an owner without accounts.
+ *
+ * @param accountNumber the account, or {@code null} for an owner matched by email who has no account
+ * @param userId        the owner
+ * @param email         the owner's email, if known
+ */
+public record AccountLookupResult(@Nullable String accountNumber, UUID userId, @Nullable String email) {}
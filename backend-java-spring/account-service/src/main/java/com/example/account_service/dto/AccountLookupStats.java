@@ -0,0 +1,23 @@
+package com.example.account_service.dto;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Size of the account lookup index.
+ *
+ * @param accounts          indexed account numbers
+ * @param owners            indexed owners with at least one account
+ * @param emails            indexed owner emails
+ * @param estimatedBytes    estimated heap held by the index
+ * @param lastRebuiltAt     when the last rebuild from the database finished, or {@code null} before the first
+ * @param lastRebuildMillis how long it took
+ */
+public record AccountLookupStats(
+        long accounts,
+        long owners,
+        long emails,
+        long estimatedBytes,
+        @Nullable Instant lastRebuiltAt,
+        long lastRebuildMillis
+) {}
@@ -0,0 +1,44 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.Account;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.model.AccountType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An account as returned by the API. The internal id is not exposed.
+ *
+ * @param accountNumber the public account number
+ * @param userId        the owner
+ * @param accountType   savings or checking
+ * @param balance       the current balance
+ * @param currency      ISO 4217 code
+ * @param status        active, frozen or closed
+ * @param createdAt     when the account was opened
+ * @param updatedAt     when the account last changed
+ */
+public record AccountResponse(
+        String accountNumber,
+        UUID userId,
+        AccountType accountType,
+        BigDecimal balance,
+        String currency,
+        AccountStatus status,
+        Instant createdAt,
+        Instant updatedAt
+) {
+
+    public static AccountResponse of(Account account) {
+        return new AccountResponse(
+                account.getAccountNumber(),
+                account.getUserId(),
+                account.getAccountType(),
+                account.getBalance(),
+                account.getCurrency(),
+                account.getStatus(),
+                account.getCreatedAt(),
+                account.getUpdatedAt());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountStatus;
+import java.time.Instant;
+
+/**
+ * A committed status change, as published to transaction-service.
+ *
+ * @param sequence      position in the feed; sequences have no gaps and follow commit order
+ * @param accountNumber the account number
+ * @param status        the new status
+ * @param changedAt     when the change was made
+ */
+public record AccountStatusEvent(long sequence, String accountNumber, AccountStatus status, Instant changedAt) {}
@@ -0,0 +1,11 @@
+package com.example.account_service.dto;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /internal/accounts/status-events}.
+ *
+ * @param events events after the requested sequence, in sequence order
+ * @param head   the latest sequence when the page was read; more pages follow while the last event is below it
+ */
+public record AccountStatusEventPage(List<AccountStatusEvent> events, long head) {}
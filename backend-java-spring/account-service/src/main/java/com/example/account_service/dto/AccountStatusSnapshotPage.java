@@ -0,0 +1,21 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountStatus;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of {@code GET /internal/accounts/statuses}, the status of every account.
+ *
+ * @param accounts   accounts in ascending number order
+ * @param asOf       the event sequence read before the page: the page reflects every event up to it, and
+ *                   possibly later ones
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record AccountStatusSnapshotPage(List<Entry> accounts, long asOf, @Nullable String nextCursor) {
+
+    /**
+     * One account's status.
+     */
+    public record Entry(String accountNumber, AccountStatus status) {}
+}
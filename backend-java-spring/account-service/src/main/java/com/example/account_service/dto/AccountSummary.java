@@ -0,0 +1,33 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountStatus;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The dashboard's account summary.
+ *
+ * @param balances per-currency totals
+ * @param accounts the user's open accounts, oldest first
+ */
+public record AccountSummary(List<Balances> balances, List<Item> accounts) {
+
+    /**
+     * Totals in one currency.
+     *
+     * @param currency  ISO 4217 code
+     * @param available sum over active accounts, i.e. money the user can move now
+     * @param total     sum over active and frozen accounts
+     */
+    public record Balances(String currency, BigDecimal available, BigDecimal total) {}
+
+    /**
+     * One account with its status indicator.
+     *
+     * @param accountNumber the account number
+     * @param balance       the balance
+     * @param currency      ISO 4217 code
+     * @param status        active or frozen
+     */
+    public record Item(String accountNumber, BigDecimal balance, String currency, AccountStatus status) {}
+}
@@ -0,0 +1,14 @@
+package com.example.account_service.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An account's balance, possibly served from cache.
+ *
+ * @param accountNumber the account number
+ * @param balance       the balance as of {@code asOf}
+ * @param currency      ISO 4217 code
+ * @param asOf          when the balance was read from the database
+ */
+public record BalanceResponse(String accountNumber, BigDecimal balance, String currency, Instant asOf) {}
@@ -0,0 +1,27 @@
+package com.example.account_service.dto;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of one row of a bulk account-opening upload, written back as one NDJSON line.
+ *
+ * @param line          1-based line number in the upload
+ * @param status        {@code OPENED} or {@code REJECTED}
+ * @param accountNumber the new account's number, when opened
+ * @param error         why the row was rejected
+ */
+public record BulkOpenResult(long line, Status status, @Nullable String accountNumber, @Nullable String error) {
+
+    public enum Status {
+        OPENED,
+        REJECTED
+    }
+
+    public static BulkOpenResult opened(long line, String accountNumber) {
+        return new BulkOpenResult(line, Status.OPENED, accountNumber, null);
+    }
+
+    public static BulkOpenResult rejected(long line, String error) {
+        return new BulkOpenResult(line, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.account_service.dto;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard page shows, in one response.
+ *
+ * @param accounts           balances and account status indicators
+ * @param recentTransactions the latest transactions across the user's accounts, newest first
+ */
+public record DashboardResponse(
+        DashboardSection<AccountSummary> accounts,
+        DashboardSection<List<RecentTransaction>> recentTransactions
+) {}
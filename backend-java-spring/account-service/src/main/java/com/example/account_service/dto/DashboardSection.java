@@ -0,0 +1,34 @@
+package com.example.account_service.dto;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One section of the dashboard, with how current it is.
+ *
+ * @param state {@code OK} within the section's staleness bound, {@code STALE} if its backend was too slow and
+ *              the last snapshot is shown instead, {@code UNAVAILABLE} if there is nothing to show
+ * @param asOf  when the data was read, if there is any
+ * @param data  the section content, or {@code null} when unavailable
+ * @param <T>   the content type
+ */
+public record DashboardSection<T>(State state, @Nullable Instant asOf, @Nullable T data) {
+
+    public enum State {
+        OK,
+        STALE,
+        UNAVAILABLE
+    }
+
+    public static <T> DashboardSection<T> ok(T data, Instant asOf) {
+        return new DashboardSection<>(State.OK, asOf, data);
+    }
+
+    public static <T> DashboardSection<T> stale(T data, Instant asOf) {
+        return new DashboardSection<>(State.STALE, asOf, data);
+    }
+
+    public static <T> DashboardSection<T> unavailable() {
+        return new DashboardSection<>(State.UNAVAILABLE, null, null);
+    }
+}
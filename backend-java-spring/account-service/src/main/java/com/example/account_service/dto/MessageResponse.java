@@ -0,0 +1,8 @@
+package com.example.account_service.dto;
+
+/**
+ * Simple response wrapper for errors and other human-readable messages.
+ *
+ * @param message client-facing message
+ */
+public record MessageResponse(String message) {}
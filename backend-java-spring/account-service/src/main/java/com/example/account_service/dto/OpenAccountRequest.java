@@ -0,0 +1,20 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Request body for opening an account.
+ *
+ * @param userId      the owner (users.id)
+ * @param accountType {@code SAVINGS} (default) or {@code CHECKING}
+ * @param currency    ISO 4217 code, {@code PHP} by default
+ */
+public record OpenAccountRequest(
+        @NotNull UUID userId,
+        @Nullable AccountType accountType,
+        @Nullable @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code") String currency
+) {}
@@ -0,0 +1,13 @@
+package com.example.account_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Sent by the transaction service after transactions were committed to the ledger.
+ *
+ * @param accountNumbers the accounts whose balance changed; duplicates are allowed
+ */
+public record PostingNotification(@NotEmpty @Size(max = 10_000) List<@NotBlank String> accountNumbers) {}
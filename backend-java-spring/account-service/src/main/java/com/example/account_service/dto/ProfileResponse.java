@@ -0,0 +1,33 @@
+package com.example.account_service.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A customer profile as returned by the API.
+ *
+ * @param userId      the user the profile belongs to
+ * @param email       the sign-in email, once copied from auth-service
+ * @param firstName   first name
+ * @param lastName    last name
+ * @param phoneNumber phone number, if given
+ * @param address     postal address, if given
+ * @param dateOfBirth date of birth, if given
+ * @param avatarUrl   avatar image, if any
+ * @param createdAt   when the profile was created
+ * @param updatedAt   when the profile last changed
+ */
+public record ProfileResponse(
+        UUID userId,
+        @Nullable String email,
+        String firstName,
+        String lastName,
+        @Nullable String phoneNumber,
+        @Nullable String address,
+        @Nullable LocalDate dateOfBirth,
+        @Nullable String avatarUrl,
+        Instant createdAt,
+        Instant updatedAt
+) {}
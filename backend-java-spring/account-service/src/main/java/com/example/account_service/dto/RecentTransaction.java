@@ -0,0 +1,27 @@
+package com.example.account_service.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A ledger entry as listed by transaction-service for the dashboard's recent activity.
+ *
+ * @param id            transaction id
+ * @param accountNumber the account it was posted to
+ * @param type          {@code DEPOSIT}, {@code WITHDRAWAL}, {@code TRANSFER_IN} or {@code TRANSFER_OUT}
+ * @param amount        always positive; the type gives the direction
+ * @param description   free text, if any
+ * @param status        {@code PENDING}, {@code COMPLETED} or {@code FAILED}
+ * @param createdAt     when the transaction was recorded
+ */
+public record RecentTransaction(
+        UUID id,
+        String accountNumber,
+        String type,
+        BigDecimal amount,
+        @Nullable String description,
+        String status,
+        Instant createdAt
+) {}
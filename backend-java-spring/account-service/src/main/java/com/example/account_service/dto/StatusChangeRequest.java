@@ -0,0 +1,11 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountStatus;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for freezing, reactivating or closing an account.
+ *
+ * @param status the new status
+ */
+public record StatusChangeRequest(@NotNull AccountStatus status) {}
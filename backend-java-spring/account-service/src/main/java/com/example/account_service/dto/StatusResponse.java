@@ -0,0 +1,13 @@
+package com.example.account_service.dto;
+
+import com.example.account_service.model.AccountStatus;
+import java.time.Instant;
+
+/**
+ * An account's status, possibly served from cache.
+ *
+ * @param accountNumber the account number
+ * @param status        the status as of {@code asOf}
+ * @param asOf          when the status was read from the database
+ */
+public record StatusResponse(String accountNumber, AccountStatus status, Instant asOf) {}
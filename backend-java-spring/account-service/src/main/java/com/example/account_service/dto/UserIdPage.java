@@ -0,0 +1,12 @@
+package com.example.account_service.dto;
+
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of auth-service's {@code GET /internal/auth/users}.
+ *
+ * @param users      users in ascending id order
+ * @param nextCursor the {@code after} value for the next page, or {@code null} on the last page
+ */
+public record UserIdPage(List<UserRef> users, @Nullable String nextCursor) {}
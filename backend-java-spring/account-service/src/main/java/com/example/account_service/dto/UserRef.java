@@ -0,0 +1,9 @@
+package com.example.account_service.dto;
+
+/**
+ * A user's id and sign-in email, as listed by auth-service.
+ *
+ * @param id    the user id
+ * @param email the email, lowercased
+ */
+public record UserRef(String id, String email) {}
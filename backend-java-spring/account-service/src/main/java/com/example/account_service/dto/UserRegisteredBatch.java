@@ -0,0 +1,13 @@
+package com.example.account_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Several user-registered events, e.g. from a bulk import in auth-service.
+ *
+ * @param events the events; a user may appear more than once
+ */
+public record UserRegisteredBatch(@NotEmpty @Size(max = 10_000) List<@Valid UserRegisteredEvent> events) {}
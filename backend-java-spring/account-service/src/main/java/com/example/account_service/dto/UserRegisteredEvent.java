@@ -0,0 +1,23 @@
+package com.example.account_service.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A user registered in auth-service; account-service creates the user's profile from it.
+ *
+ * @param userId    the user's id in auth-service, used as the profile id
+ * @param email     the user's sign-in email; {@code null} from senders that predate it
+ * @param firstName the first name given at signup
+ * @param lastName  the last name given at signup
+ */
+public record UserRegisteredEvent(
+        @NotNull UUID userId,
+        @Nullable @Email @Size(max = 320) String email,
+        @NotBlank @Size(max = 100) String firstName,
+        @NotBlank @Size(max = 100) String lastName
+) {}
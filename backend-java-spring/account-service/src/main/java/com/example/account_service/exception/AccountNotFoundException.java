@@ -0,0 +1,10 @@
+package com.example.account_service.exception;
+
+/**
+ * Thrown when a request names an account number that does not exist.
+ */
+public class AccountNotFoundException extends RuntimeException {
+    public AccountNotFoundException(String accountNumber) {
+        super("Account not found: " + accountNumber);
+    }
+}
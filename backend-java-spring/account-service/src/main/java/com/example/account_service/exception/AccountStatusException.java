@@ -0,0 +1,11 @@
+package com.example.account_service.exception;
+
+/**
+ * Thrown when an account cannot move to the requested status, e.g. a closed account being reactivated or
+ * an account with money on it being closed.
+ */
+public class AccountStatusException extends RuntimeException {
+    public AccountStatusException(String message) {
+        super(message);
+    }
+}
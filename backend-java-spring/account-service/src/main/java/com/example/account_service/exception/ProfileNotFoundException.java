@@ -0,0 +1,12 @@
+package com.example.account_service.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a request names a user without a profile.
+ */
+public class ProfileNotFoundException extends RuntimeException {
+    public ProfileNotFoundException(UUID userId) {
+        super("Profile not found: " + userId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.account_service.exception;
+
+/**
+ * Thrown when user-registered events arrive faster than profiles are written and the queue is full. The
+ * sender may retry later; the profile backfill also creates any profile whose event was turned away.
+ */
+public class ProfileQueueFullException extends RuntimeException {
+    public ProfileQueueFullException(String message) {
+        super(message);
+    }
+}
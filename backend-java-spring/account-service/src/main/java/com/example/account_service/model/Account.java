@@ -0,0 +1,64 @@
+package com.example.account_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * A customer's financial account, mapped to the {@code accounts} table.
+ *
+ * <p>The balance is owned by the ledger: the {@code update_balance_on_transaction} trigger changes it
+ * whenever a transaction is posted, so the column is written once on insert and never by Hibernate after
+ * that. Saving an entity loaded before a posting therefore cannot overwrite the posted balance.</p>
+ */
+@Data
+@Entity
+@Table(name = "accounts")
+public class Account {
+
+    // Internal id; never exposed to clients, who use the account number.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Public id, e.g. KABAN-2026-0012345, from AccountNumberAllocator.
+    @Column(name = "account_number", unique = true, nullable = false, updatable = false)
+    private String accountNumber;
+
+    // Owner of the account (users.id).
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false, updatable = false)
+    private AccountType accountType = AccountType.SAVINGS;
+
+    @Column(nullable = false, precision = 19, scale = 4, updatable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @Column(nullable = false, length = 3, updatable = false)
+    private String currency = "PHP";
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AccountStatus status = AccountStatus.ACTIVE;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.example.account_service.model;
+
+/**
+ * Lifecycle state of an account, stored as text in {@code accounts.status}.
+ */
+public enum AccountStatus {
+    /** Open for deposits and withdrawals. */
+    ACTIVE,
+    /** Temporarily blocked, e.g. on suspicion of fraud; can be reactivated. */
+    FROZEN,
+    /** Permanently closed; no further transactions or status changes. */
+    CLOSED;
+
+    /**
+     * Returns whether an account in this state may move to {@code target}. Staying in the same state is
+     * always allowed.
+     *
+     * @param target the requested state
+     * @return {@code true} if the change is allowed
+     */
+    public boolean canChangeTo(AccountStatus target) {
+        return this == target || this != CLOSED;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account_service.model;
+
+/**
+ * Kind of account, stored as text in {@code accounts.account_type}.
+ */
+public enum AccountType {
+    SAVINGS,
+    CHECKING
+}
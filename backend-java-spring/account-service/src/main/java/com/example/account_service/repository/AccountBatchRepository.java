@@ -0,0 +1,112 @@
+package com.example.account_service.repository;
+
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.model.AccountType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC writer for bulk-opened accounts, and bulk reader for the account lookup index.
+ *
+ * <p>JPA inserts {@code IDENTITY} entities one statement at a time and cannot batch them. This repository
+ * writes straight to the {@code accounts} table instead, {@code rowsPerStatement} rows per multi-row
+ * {@code INSERT ... VALUES (...), (...)}, and sends all full-size statements of a call as one JDBC batch,
+ * so a chunk of a thousand accounts costs two round trips. Column values mirror
+ * {@link com.example.account_service.model.Account}: new accounts are active and empty.</p>
+ *
+ * <p>Reads stream rows {@value #FETCH_SIZE} at a time; PostgreSQL only does so inside a transaction, so
+ * callers of {@link #forEachOwner} should hold a read-only one.</p>
+ */
+@Repository
+public class AccountBatchRepository {
+
+    private static final String INSERT = """
+            INSERT INTO accounts (account_number, user_id, account_type, balance, currency, status, created_at, updated_at)
+            VALUES """;
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 8;
+
+    private static final String OWNERS = "SELECT account_number, user_id FROM accounts";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+
+    public AccountBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        streamingTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * An account ready to insert; the number is already allocated.
+     */
+    public record PendingAccount(String accountNumber, UUID userId, AccountType accountType, String currency) {}
+
+    /**
+     * Inserts the accounts. Callers are expected to run this inside a transaction so a chunk is
+     * all-or-nothing.
+     *
+     * @param accounts         rows to insert
+     * @param rowsPerStatement rows per {@code INSERT}
+     * @param now              creation time
+     */
+    public void insertAll(List<PendingAccount> accounts, int rowsPerStatement, Instant now) {
+        Timestamp timestamp = Timestamp.from(now);
+        int full = accounts.size() / rowsPerStatement * rowsPerStatement;
+        if (full > 0) {
+            List<Object[]> statements = new ArrayList<>(full / rowsPerStatement);
+            for (int from = 0; from < full; from += rowsPerStatement) {
+                statements.add(parameters(accounts.subList(from, from + rowsPerStatement), timestamp));
+            }
+            jdbcTemplate.batchUpdate(sql(rowsPerStatement), statements);
+        }
+        if (full < accounts.size()) {
+            List<PendingAccount> rest = accounts.subList(full, accounts.size());
+            jdbcTemplate.update(sql(rest.size()), parameters(rest, timestamp));
+        }
+    }
+
+    /**
+     * Streams every account's number and owner without holding them all in memory.
+     *
+     * @param consumer receives the account number and owner of each account
+     */
+    public void forEachOwner(BiConsumer<String, UUID> consumer) {
+        streamingTemplate.query(OWNERS, (RowCallbackHandler) rs ->
+                consumer.accept(rs.getString("account_number"), rs.getObject("user_id", UUID.class)));
+    }
+
+    private static String sql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2)).append(INSERT);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] parameters(List<PendingAccount> accounts, Timestamp now) {
+        Object[] parameters = new Object[accounts.size() * COLUMNS];
+        int i = 0;
+        for (PendingAccount account : accounts) {
+            parameters[i++] = account.accountNumber();
+            parameters[i++] = account.userId();
+            parameters[i++] = account.accountType().name();
+            parameters[i++] = BigDecimal.ZERO;
+            parameters[i++] = account.currency();
+            parameters[i++] = AccountStatus.ACTIVE.name();
+            parameters[i++] = now;
+            parameters[i++] = now;
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.account_service.repository;
+
+import java.util.Objects;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reserves blocks of account number serials from the {@code account_number_block_seq} sequence created in
+ * {@code schema.sql}.
+ *
+ * <p>{@code nextval} is atomic across connections and never rolled back, so every instance of the service
+ * gets distinct blocks without any row lock, and a block reserved by an instance that then stops is simply
+ * skipped.</p>
+ */
+@Repository
+public class AccountNumberBlockRepository {
+
+    private static final String NEXT_BLOCK = "SELECT nextval('account_number_block_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountNumberBlockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves the next block.
+     *
+     * @return the block number, starting at 1
+     */
+    public long nextBlock() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(NEXT_BLOCK, Long.class));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.account_service.repository;
+
+import com.example.account_service.model.Account;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Repository for {@link Account} entities.
+ */
+public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    /**
+     * Finds an account by its public number.
+     *
+     * @param accountNumber the account number
+     * @return the account, if it exists
+     */
+    Optional<Account> findByAccountNumber(String accountNumber);
+
+    /**
+     * Finds an account by its public number and locks its row until the transaction ends, so checks made
+     * on it hold until the change based on them commits. Postings to the account wait meanwhile.
+     *
+     * @param accountNumber the account number
+     * @return the account, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Account> findForUpdateByAccountNumber(String accountNumber);
+
+    /**
+     * Lists a user's accounts, oldest first.
+     *
+     * @param userId the owner
+     * @return the accounts, possibly none
+     */
+    List<Account> findByUserIdOrderByCreatedAtAscIdAsc(UUID userId);
+
+    /**
+     * Lists the numbers of a user's accounts, oldest first, without loading the accounts.
+     *
+     * @param userId the owner
+     * @return the account numbers, possibly none
+     */
+    @Query("select a.accountNumber from Account a where a.userId = :userId order by a.createdAt, a.id")
+    List<String> findAccountNumbersByUserId(UUID userId);
+}
@@ -0,0 +1,99 @@
+package com.example.account_service.repository;
+
+import com.example.account_service.dto.AccountStatusEvent;
+import com.example.account_service.dto.AccountStatusSnapshotPage;
+import com.example.account_service.model.AccountStatus;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access for the account status feed: the {@code account_status_events} log and the statuses it is
+ * snapshotted from.
+ *
+ * <p>{@link #append} numbers events from the single {@code account_status_event_head} row, which it updates
+ * first and so keeps locked until the caller's transaction ends. Changes therefore commit one at a time in
+ * sequence order and the log has no gaps, which lets a consumer tell a missed event from one that was never
+ * written. Status changes are rare admin actions, so the serialization costs nothing noticeable.</p>
+ */
+@Repository
+public class AccountStatusEventRepository {
+
+    private static final String NEXT = "UPDATE account_status_event_head SET seq = seq + 1 WHERE id = 1";
+    private static final String HEAD = "SELECT seq FROM account_status_event_head WHERE id = 1";
+
+    private static final String INSERT = """
+            INSERT INTO account_status_events (seq, account_number, status, changed_at)
+            VALUES (?, ?, ?, ?)""";
+
+    private static final String AFTER = """
+            SELECT seq, account_number, status, changed_at
+            FROM account_status_events
+            WHERE seq > ?
+            ORDER BY seq
+            LIMIT ?""";
+
+    private static final String STATUSES = """
+            SELECT account_number, status
+            FROM accounts
+            WHERE account_number > ?
+            ORDER BY account_number
+            LIMIT ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountStatusEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends a status change to the log. Must run in the transaction that changes the status.
+     *
+     * @return the event, with its sequence
+     */
+    public AccountStatusEvent append(String accountNumber, AccountStatus status, Instant changedAt) {
+        jdbcTemplate.update(NEXT);
+        long sequence = head();
+        jdbcTemplate.update(INSERT, sequence, accountNumber, status.name(), Timestamp.from(changedAt));
+        return new AccountStatusEvent(sequence, accountNumber, status, changedAt);
+    }
+
+    /**
+     * Returns the sequence of the latest committed event, or {@code 0} if there is none.
+     */
+    public long head() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(HEAD, Long.class));
+    }
+
+    /**
+     * Reads the events after a sequence.
+     *
+     * @param sequence the last sequence already seen
+     * @param limit    events to read at most
+     * @return the events, in sequence order
+     */
+    public List<AccountStatusEvent> after(long sequence, int limit) {
+        return jdbcTemplate.query(AFTER, (rs, rowNum) -> new AccountStatusEvent(
+                rs.getLong("seq"),
+                rs.getString("account_number"),
+                AccountStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("changed_at").toInstant()), sequence, limit);
+    }
+
+    /**
+     * Reads the current status of the accounts after a number.
+     *
+     * @param after the last account number already read, or {@code null} to start
+     * @param limit accounts to read at most
+     * @return the statuses, in account number order
+     */
+    public List<AccountStatusSnapshotPage.Entry> statuses(@Nullable String after, int limit) {
+        return jdbcTemplate.query(STATUSES, (rs, rowNum) -> new AccountStatusSnapshotPage.Entry(
+                rs.getString("account_number"),
+                AccountStatus.valueOf(rs.getString("status"))), after == null ? "" : after, limit);
+    }
+}
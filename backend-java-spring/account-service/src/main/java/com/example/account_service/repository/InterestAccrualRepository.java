@@ -0,0 +1,196 @@
+package com.example.account_service.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access for the interest accrual job: the savings accounts it reads, the ledger entries it posts and
+ * the {@code interest_accrual_runs} checkpoint of each accrual date.
+ *
+ * <p>Accounts are read by keyset, {@code id > ?} in id order, so every chunk is an index range scan however
+ * far the run has got. Entries go to the {@code transactions} ledger as {@code INTEREST} postings, whose
+ * trigger credits the balance; their reference number is unique per account and date, so an entry is never
+ * posted twice. Callers run {@link #lockRun}, {@link #post} and {@link #checkpoint} in one transaction.</p>
+ */
+@Repository
+public class InterestAccrualRepository {
+
+    private static final String CREATE_RUN = """
+            INSERT INTO interest_accrual_runs (accrual_date, status, annual_rate, day_count)
+            VALUES (?, 'RUNNING', ?, ?)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String LOCK_RUN = """
+            SELECT accrual_date, status, annual_rate, day_count, last_account_id, accounts, postings, total_interest
+            FROM interest_accrual_runs
+            WHERE accrual_date = ?
+            FOR UPDATE""";
+
+    private static final String UNFINISHED = """
+            SELECT accrual_date FROM interest_accrual_runs WHERE status = 'RUNNING' ORDER BY accrual_date""";
+
+    private static final String LAST_COMPLETED = """
+            SELECT MAX(accrual_date) FROM interest_accrual_runs WHERE status = 'COMPLETED'""";
+
+    // Closed accounts earn nothing; frozen ones keep earning, a freeze only blocks movements.
+    private static final String SAVINGS_AFTER = """
+            SELECT id, account_number, balance
+            FROM accounts
+            WHERE id > ? AND account_type = 'SAVINGS' AND status <> 'CLOSED' AND balance > 0 AND created_at < ?
+            ORDER BY id
+            LIMIT ?""";
+
+    private static final String POST = """
+            INSERT INTO transactions (account_id, type, amount, description, reference_number, status)
+            VALUES (?, 'INTEREST', ?, ?, ?, 'COMPLETED')
+            ON CONFLICT DO NOTHING""";
+
+    private static final String CHECKPOINT = """
+            UPDATE interest_accrual_runs
+            SET last_account_id = ?, accounts = accounts + ?, postings = postings + ?,
+                total_interest = total_interest + ?, updated_at = CURRENT_TIMESTAMP
+            WHERE accrual_date = ?""";
+
+    private static final String COMPLETE = """
+            UPDATE interest_accrual_runs
+            SET status = 'COMPLETED', updated_at = CURRENT_TIMESTAMP, finished_at = CURRENT_TIMESTAMP
+            WHERE accrual_date = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestAccrualRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The checkpoint of one accrual date.
+     *
+     * @param lastAccountId  id of the last account done; the run resumes after it
+     * @param accounts       accounts done so far
+     * @param postings       ledger entries posted so far
+     * @param totalInterest  interest posted so far
+     */
+    public record Run(
+            LocalDate accrualDate,
+            String status,
+            BigDecimal annualRate,
+            int dayCount,
+            long lastAccountId,
+            long accounts,
+            long postings,
+            BigDecimal totalInterest) {
+
+        public boolean completed() {
+            return "COMPLETED".equals(status);
+        }
+    }
+
+    /**
+     * A savings account as the accrual reads it.
+     */
+    public record SavingsAccount(long id, String accountNumber, BigDecimal balance) {}
+
+    /**
+     * A day's interest on one account, ready to post.
+     */
+    public record Accrual(long accountId, String accountNumber, BigDecimal amount) {}
+
+    /**
+     * Starts the run of a date with the given rate, unless it was started before; a started run keeps the
+     * rate it was started with.
+     */
+    public void createRun(LocalDate accrualDate, BigDecimal annualRate, int dayCount) {
+        jdbcTemplate.update(CREATE_RUN, accrualDate, annualRate, dayCount);
+    }
+
+    /**
+     * Reads the run of a date and locks it until the end of the caller's transaction, so concurrent runs of
+     * the same date take turns chunk by chunk instead of doing the same chunk twice.
+     */
+    public Optional<Run> lockRun(LocalDate accrualDate) {
+        return jdbcTemplate.query(LOCK_RUN, (rs, rowNum) -> new Run(
+                rs.getObject("accrual_date", LocalDate.class),
+                rs.getString("status"),
+                rs.getBigDecimal("annual_rate"),
+                rs.getInt("day_count"),
+                rs.getLong("last_account_id"),
+                rs.getLong("accounts"),
+                rs.getLong("postings"),
+                rs.getBigDecimal("total_interest")), accrualDate).stream().findFirst();
+    }
+
+    /**
+     * Returns the dates whose run was started but not completed, oldest first.
+     */
+    public List<LocalDate> unfinishedRuns() {
+        return jdbcTemplate.queryForList(UNFINISHED, LocalDate.class);
+    }
+
+    /**
+     * Returns the latest date whose run completed.
+     */
+    public Optional<LocalDate> lastCompletedRun() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(LAST_COMPLETED, LocalDate.class));
+    }
+
+    /**
+     * Reads the next savings accounts that earn interest.
+     *
+     * @param afterId      id of the last account already read
+     * @param openedBefore accounts opened at or after this instant are skipped
+     * @param limit        accounts to read at most
+     * @return the accounts, in id order
+     */
+    public List<SavingsAccount> savingsAfter(long afterId, Instant openedBefore, int limit) {
+        return jdbcTemplate.query(SAVINGS_AFTER, (rs, rowNum) -> new SavingsAccount(
+                rs.getLong("id"),
+                rs.getString("account_number"),
+                rs.getBigDecimal("balance")), afterId, Timestamp.from(openedBefore), limit);
+    }
+
+    /**
+     * Posts the accruals of a date as one JDBC batch. Accruals posted before are skipped.
+     *
+     * @return how many entries were posted
+     */
+    public int post(LocalDate accrualDate, List<Accrual> accruals) {
+        if (accruals.isEmpty()) {
+            return 0;
+        }
+        String description = "Interest for " + accrualDate;
+        int[][] counts = jdbcTemplate.batchUpdate(POST, accruals, accruals.size(), (statement, accrual) -> {
+            statement.setLong(1, accrual.accountId());
+            statement.setBigDecimal(2, accrual.amount());
+            statement.setString(3, description);
+            statement.setString(4, "INT-" + accrualDate + "-" + accrual.accountNumber());
+        });
+        int posted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) from drivers that do not report per-row counts.
+                posted += Math.max(count, 0);
+            }
+        }
+        return posted;
+    }
+
+    /**
+     * Moves the run of a date past a chunk.
+     */
+    public void checkpoint(LocalDate accrualDate, long lastAccountId, int accounts, int postings, BigDecimal interest) {
+        jdbcTemplate.update(CHECKPOINT, lastAccountId, accounts, postings, interest, accrualDate);
+    }
+
+    /**
+     * Marks the run of a date completed.
+     */
+    public void complete(LocalDate accrualDate) {
+        jdbcTemplate.update(COMPLETE, accrualDate);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.account_service.repository;
+
+import com.example.account_service.dto.ProfileResponse;
+import com.example.account_service.dto.UserRegisteredEvent;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Creates and reads rows in the {@code user_profiles} table of {@code schema.sql}.
+ *
+ * <p>Inserts are idempotent: a profile that already exists is left untouched, so a redelivered event or a
+ * backfill running alongside live events never overwrites a name the customer has since edited. A batch is
+ * one JDBC batch, i.e. one round trip, whatever its size.</p>
+ */
+@Repository
+public class UserProfileRepository {
+
+    private static final String INSERT = """
+            INSERT INTO user_profiles (id, email, first_name, last_name)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String FILL_EMAIL = """
+            UPDATE user_profiles SET email = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND email IS NULL""";
+
+    private static final String FIND = """
+            SELECT id, email, first_name, last_name, phone_number, address, date_of_birth, avatar_url,
+                   created_at, updated_at
+            FROM user_profiles
+            WHERE id = ?""";
+
+    private static final String EMAILS = "SELECT id, email FROM user_profiles WHERE email IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserProfileRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the profiles that do not exist yet.
+     *
+     * @param profiles the profiles, at most one per user
+     * @return how many profiles were created
+     */
+    public int createMissing(List<UserRegisteredEvent> profiles) {
+        if (profiles.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT, profiles, profiles.size(), (statement, profile) -> {
+            statement.setObject(1, profile.userId());
+            statement.setString(2, profile.email());
+            statement.setString(3, profile.firstName());
+            statement.setString(4, profile.lastName());
+        });
+        int created = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) from drivers that do not report per-row counts.
+                created += Math.max(count, 0);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Sets the email of existing profiles that have none, e.g. profiles created before events carried it.
+     *
+     * @param profiles the profiles; those without an email are skipped
+     */
+    public void fillMissingEmails(List<UserRegisteredEvent> profiles) {
+        List<UserRegisteredEvent> withEmail = profiles.stream().filter(profile -> profile.email() != null).toList();
+        if (withEmail.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(FILL_EMAIL, withEmail, withEmail.size(), (statement, profile) -> {
+            statement.setString(1, profile.email());
+            statement.setObject(2, profile.userId());
+        });
+    }
+
+    /**
+     * Reads a profile.
+     *
+     * @param userId the profile's user
+     * @return the profile, if it exists
+     */
+    public Optional<ProfileResponse> find(UUID userId) {
+        return jdbcTemplate.query(FIND, (rs, rowNum) -> new ProfileResponse(
+                rs.getObject("id", UUID.class),
+                rs.getString("email"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("phone_number"),
+                rs.getString("address"),
+                rs.getObject("date_of_birth", LocalDate.class),
+                rs.getString("avatar_url"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("updated_at", OffsetDateTime.class).toInstant()), userId).stream().findFirst();
+    }
+
+    /**
+     * Streams every profile's email without holding them all in memory.
+     *
+     * @param consumer receives the user id and email of each profile that has one
+     */
+    public void forEachEmail(BiConsumer<UUID, String> consumer) {
+        jdbcTemplate.query(EMAILS, (RowCallbackHandler) rs ->
+                consumer.accept(rs.getObject("id", UUID.class), rs.getString("email")));
+    }
+}
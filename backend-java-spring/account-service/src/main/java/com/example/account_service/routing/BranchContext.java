@@ -0,0 +1,87 @@
+package com.example.account_service.routing;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The branch the current thread works for, which picks the connection pool {@link BranchRoutingDataSource}
+ * hands out.
+ *
+ * <p>The branch is bound per thread, like Spring's {@code LocaleContextHolder}: the {@code BranchClaimFilter}
+ * binds it for the request thread, and work handed to other threads must carry it over with
+ * {@link #wrap(Supplier)} or {@link #enter(String)}. Threads with no branch, such as internal calls and
+ * background jobs, use the primary pool.</p>
+ */
+public final class BranchContext {
+
+    private static final ThreadLocal<@Nullable String> CURRENT = new ThreadLocal<>();
+
+    private BranchContext() {
+    }
+
+    /**
+     * Returns the current thread's branch.
+     *
+     * @return the branch code, upper case, or {@code null} for none
+     */
+    public static @Nullable String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a branch to the current thread until the returned scope is closed, which restores the previous one.
+     *
+     * @param branch the branch code, in any case, or {@code null} for none
+     * @return the scope to close
+     */
+    public static Scope enter(@Nullable String branch) {
+        String previous = CURRENT.get();
+        set(branch == null || branch.isBlank() ? null : branch.trim().toUpperCase(Locale.ROOT));
+        return () -> set(previous);
+    }
+
+    /**
+     * Returns a task that runs with the caller's branch, on whatever thread runs it.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        return wrap(CURRENT.get(), task);
+    }
+
+    /**
+     * Returns a task that runs with the given branch, on whatever thread runs it. Use it for work wrapped
+     * off the thread the branch was captured on, such as a {@code CompletableFuture} stage.
+     *
+     * @param branch the branch code, or {@code null} for none
+     * @param task   the task
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> wrap(@Nullable String branch, Supplier<T> task) {
+        return () -> {
+            try (Scope ignored = enter(branch)) {
+                return task.get();
+            }
+        };
+    }
+
+    private static void set(@Nullable String branch) {
+        if (branch == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(branch);
+        }
+    }
+
+    /**
+     * A branch binding; closing it restores the branch bound before.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
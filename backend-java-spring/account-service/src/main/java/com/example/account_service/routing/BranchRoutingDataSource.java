@@ -0,0 +1,56 @@
+package com.example.account_service.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the pool of the {@link BranchContext#current() current branch}.
+ *
+ * <p>Each branch configured under {@code app.branches.pools} has a pool of its own, so a branch running long
+ * queries or a bulk upload exhausts only its own connections, while other branches keep theirs. Threads
+ * without a branch, and branches without a pool, use the primary pool. The branch is read when a connection
+ * is taken, i.e. when a transaction or a {@code JdbcTemplate} call starts, so it must be bound before
+ * that.</p>
+ *
+ * <p>Closing this data source closes the branch pools; the primary pool is a bean of its own.</p>
+ */
+public class BranchRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> branchPools;
+
+    /**
+     * @param primary     the pool of threads without a branch and of branches without a pool
+     * @param branchPools pools by upper-case branch code
+     */
+    public BranchRoutingDataSource(DataSource primary, Map<String, HikariDataSource> branchPools) {
+        this.branchPools = Map.copyOf(branchPools);
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(new HashMap<Object, Object>(branchPools));
+        // Unknown branches fall back to the primary pool rather than failing.
+        setLenientFallback(true);
+    }
+
+    /**
+     * Returns the branches that have a pool of their own.
+     *
+     * @return upper-case branch codes
+     */
+    public Set<String> branches() {
+        return branchPools.keySet();
+    }
+
+    @Override
+    protected @Nullable Object determineCurrentLookupKey() {
+        return BranchContext.current();
+    }
+
+    @Override
+    public void close() {
+        branchPools.values().forEach(HikariDataSource::close);
+    }
+}
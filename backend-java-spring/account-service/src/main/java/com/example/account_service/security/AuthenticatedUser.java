@@ -0,0 +1,59 @@
+package com.example.account_service.security;
+
+import java.util.UUID;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The user a request was made by, as read from its JWT by {@link JwtAuthenticationFilter}.
+ *
+ * @param id    the user's id ({@code users.id}), from the {@code uid} claim
+ * @param email the user's email, the token's subject
+ * @param role  the user's role, e.g. {@code ROLE_USER}, or empty if the token has none
+ */
+public record AuthenticatedUser(UUID id, String email, String role) {
+
+    /**
+     * Returns the current request's user.
+     *
+     * @throws AccessDeniedException if the request is not authenticated by a user's JWT
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new AccessDeniedException("Not authenticated as a user");
+        }
+        return user;
+    }
+
+    /**
+     * Tells whether the user may act on every user's accounts.
+     */
+    public boolean isAdmin() {
+        return "ROLE_ADMIN".equals(role) || "ROLE_SUPER_ADMIN".equals(role);
+    }
+
+    /**
+     * Rejects the request unless the user is an admin.
+     *
+     * @throws AccessDeniedException otherwise
+     */
+    public void requireAdmin() {
+        if (!isAdmin()) {
+            throw new AccessDeniedException("Admins only");
+        }
+    }
+
+    /**
+     * Rejects the request unless the user is the given owner or an admin.
+     *
+     * @param owner the owner of the resource
+     * @throws AccessDeniedException otherwise
+     */
+    public void requireSelfOrAdmin(UUID owner) {
+        if (!id.equals(owner) && !isAdmin()) {
+            throw new AccessDeniedException("Not the owner");
+        }
+    }
+}
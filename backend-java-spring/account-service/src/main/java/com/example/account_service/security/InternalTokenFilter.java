@@ -0,0 +1,58 @@
+package com.example.account_service.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates service-to-service callers that present the shared {@code app.internal-token} in the
+ * {@value #HEADER} header, granting them {@value #AUTHORITY}.
+ *
+ * <p>Security notes:</p>
+ * <ul>
+ *   <li>An empty or unset {@code app.internal-token} disables the filter, so endpoints that require
+ *       {@value #AUTHORITY} reject every caller rather than trusting a blank secret.</li>
+ *   <li>The token is compared in constant time and never logged.</li>
+ *   <li>A wrong token is treated as no token: the request continues anonymous and is rejected by the
+ *       authorization rules, without detail.</li>
+ * </ul>
+ */
+@Component
+public class InternalTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Internal-Token";
+    public static final String AUTHORITY = "ROLE_INTERNAL";
+
+    private final byte[] token;
+
+    public InternalTokenFilter(@Value("${app.internal-token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "internal", null, List.of(new SimpleGrantedAuthority(AUTHORITY))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
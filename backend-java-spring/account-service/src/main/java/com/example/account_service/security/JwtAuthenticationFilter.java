@@ -0,0 +1,107 @@
+package com.example.account_service.security;
+
+import com.example.account_service.config.JwtProperties;
+import com.example.account_service.routing.BranchContext;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates requests by the bearer JWT auth-service issued, and binds its {@code branch} claim to the
+ * request thread so the request's queries run on that branch's connection pool.
+ *
+ * <p>The token is verified with the secret auth-service signs with. A valid token becomes an
+ * {@link AuthenticatedUser} with the token's {@code role} as its authority; an invalid or expired token, or
+ * one without a {@code uid} claim, gets {@code 401 Unauthorized} without detail. Requests without a bearer
+ * token, or any request while {@code app.jwt.secret} is unset, continue anonymous and without a branch, and
+ * are rejected by the authorization rules wherever a user is required.</p>
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String BRANCH_CLAIM = "branch";
+
+    private final @Nullable JwtParser parser;
+
+    public JwtAuthenticationFilter(JwtProperties properties) {
+        String secret = properties.getSecret();
+        this.parser = secret == null || secret.isBlank()
+                ? null
+                : Jwts.parserBuilder()
+                        .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                        .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (parser == null || header == null || !header.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Claims claims;
+        AuthenticatedUser user;
+        try {
+            claims = parser.parseClaimsJws(header.substring("Bearer ".length()).trim()).getBody();
+            user = user(claims);
+        } catch (JwtException | IllegalArgumentException ex) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<SimpleGrantedAuthority> authorities = user.role().isEmpty()
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority(user.role()));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, authorities));
+        }
+        Object branch = claims.get(BRANCH_CLAIM);
+        try (BranchContext.Scope ignored = BranchContext.enter(branch instanceof String code ? code : null)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Reads the user from verified claims.
+     *
+     * @return the user, or {@code null} if the token has no subject or user id
+     * @throws IllegalArgumentException if the user id is not a UUID
+     */
+    private static @Nullable AuthenticatedUser user(Claims claims) {
+        String id = claims.get(USER_ID_CLAIM, String.class);
+        String email = claims.getSubject();
+        if (id == null || email == null || email.isBlank()) {
+            return null;
+        }
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return new AuthenticatedUser(UUID.fromString(id), email, role == null ? "" : role);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands out unique public account numbers without a database round trip per number.
+ *
+ * <p>Serials are reserved from PostgreSQL a block of {@link AccountNumberProperties#getBlockSize()} at a
+ * time (see {@link AccountNumberBlockRepository}) and handed out from memory with one
+ * {@link AtomicLong#getAndIncrement()}, so concurrent account openings neither queue on a sequence call nor
+ * race on a {@code MAX() + 1} query. Only the thread that finds the block used up takes a lock, to reserve
+ * the next one; threads arriving meanwhile wait for that single round trip.</p>
+ *
+ * <p>Numbers are unique across instances because blocks are, but not gap-free: serials left in a block when
+ * the instance stops, or taken by an opening that later fails, are never issued. Numbers therefore say
+ * nothing about how many accounts exist, and their order only roughly follows opening order.</p>
+ */
+@Service
+public class AccountNumberAllocator {
+
+    private final AccountNumberBlockRepository repository;
+    private final AccountNumberProperties properties;
+    private final Clock clock;
+    private volatile @Nullable Block block;
+
+    @Autowired
+    public AccountNumberAllocator(AccountNumberBlockRepository repository, AccountNumberProperties properties) {
+        this(repository, properties, Clock.system(properties.getZone()));
+    }
+
+    AccountNumberAllocator(AccountNumberBlockRepository repository, AccountNumberProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a new account number, e.g. {@code KABAN-2026-0012345}.
+     *
+     * @return an account number never returned before by any instance
+     */
+    public String next() {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long serial = current.next.getAndIncrement();
+                if (serial <= current.last) {
+                    return AccountNumbers.format(properties.getPrefix(), LocalDate.now(clock).getYear(), serial);
+                }
+            }
+            reserve(current);
+        }
+    }
+
+    private synchronized void reserve(@Nullable Block exhausted) {
+        if (block != exhausted) {
+            // Another thread already reserved the next block.
+            return;
+        }
+        long size = properties.getBlockSize();
+        long number = repository.nextBlock();
+        block = new Block((number - 1) * size + 1, number * size);
+    }
+
+    /**
+     * Serials {@code first..last} reserved by this instance; {@code next} may run past {@code last}.
+     */
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.account_service.service;
+
+/**
+ * Format and check digit of public account numbers, e.g. {@code KABAN-2026-0012345}.
+ *
+ * <p>The last digit is a Luhn check digit over the year and serial digits, so a mistyped digit or two
+ * swapped neighbouring digits are caught before any lookup.</p>
+ */
+public final class AccountNumbers {
+
+    static final int SERIAL_DIGITS = 6;
+
+    private AccountNumbers() {
+    }
+
+    /**
+     * Formats an account number.
+     *
+     * @param prefix upper-case prefix, e.g. {@code KABAN}
+     * @param year   year of opening
+     * @param serial positive serial
+     * @return the account number
+     */
+    public static String format(String prefix, int year, long serial) {
+        String serialDigits = Long.toString(serial);
+        StringBuilder number = new StringBuilder(prefix.length() + 6 + SERIAL_DIGITS + 1)
+                .append(prefix).append('-').append(year).append('-');
+        for (int i = serialDigits.length(); i < SERIAL_DIGITS; i++) {
+            number.append('0');
+        }
+        number.append(serialDigits);
+        int digitsStart = prefix.length() + 1;
+        number.append(checkDigit(number, digitsStart));
+        return number.toString();
+    }
+
+    /**
+     * Returns whether the text is a well-formed account number with a correct check digit.
+     *
+     * @param accountNumber the text to check
+     * @return {@code true} if it could have been issued
+     */
+    public static boolean isValid(String accountNumber) {
+        if (!accountNumber.matches("[A-Z]+-\\d{4}-\\d{" + (SERIAL_DIGITS + 1) + ",}")) {
+            return false;
+        }
+        int digitsStart = accountNumber.indexOf('-') + 1;
+        int last = accountNumber.length() - 1;
+        return checkDigit(accountNumber.subSequence(0, last), digitsStart) == accountNumber.charAt(last);
+    }
+
+    /**
+     * Computes the Luhn check digit of the digits in {@code text} from {@code start}, skipping separators.
+     */
+    static char checkDigit(CharSequence text, int start) {
+        int sum = 0;
+        boolean twice = true;
+        for (int i = text.length() - 1; i >= start; i--) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            int digit = c - '0';
+            if (twice) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            twice = !twice;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
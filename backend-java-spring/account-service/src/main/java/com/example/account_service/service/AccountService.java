@@ -0,0 +1,235 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.dto.AccountResponse;
+import com.example.account_service.dto.BalanceResponse;
+import com.example.account_service.dto.OpenAccountRequest;
+import com.example.account_service.dto.StatusResponse;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.exception.AccountStatusException;
+import com.example.account_service.model.Account;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.repository.AccountRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import com.example.account_service.service.status.AccountStatusFeed;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Opens accounts, changes their status and serves their balance and status.
+ *
+ * <p>Full account reads go to the database. Balance and status reads, by far the most frequent, go through
+ * the {@link AccountSnapshotCache} with the bounds in {@link AccountCacheProperties}. Full reads record the
+ * versions they saw in the {@link ResourceVersionCache}, so a repeated conditional GET can be answered
+ * without reading the account again.</p>
+ */
+@Service
+public class AccountService {
+
+    private final AccountRepository accountRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountSnapshotCache snapshotCache;
+    private final AccountCacheProperties cacheProperties;
+    private final AccountLookupIndex lookupIndex;
+    private final ResourceVersionCache versions;
+    private final AccountStatusFeed statusFeed;
+
+    public AccountService(
+            AccountRepository accountRepository,
+            AccountNumberAllocator accountNumberAllocator,
+            AccountSnapshotCache snapshotCache,
+            AccountCacheProperties cacheProperties,
+            AccountLookupIndex lookupIndex,
+            ResourceVersionCache versions,
+            AccountStatusFeed statusFeed) {
+        this.accountRepository = accountRepository;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.snapshotCache = snapshotCache;
+        this.cacheProperties = cacheProperties;
+        this.lookupIndex = lookupIndex;
+        this.versions = versions;
+        this.statusFeed = statusFeed;
+    }
+
+    /**
+     * Opens an active account with a zero balance.
+     *
+     * @param request owner, type and currency
+     * @return the new account
+     */
+    @Transactional
+    public AccountResponse open(OpenAccountRequest request) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumberAllocator.next());
+        account.setUserId(request.userId());
+        if (request.accountType() != null) {
+            account.setAccountType(request.accountType());
+        }
+        if (request.currency() != null) {
+            account.setCurrency(request.currency());
+        }
+        AccountResponse opened = AccountResponse.of(accountRepository.save(account));
+        snapshotCache.evictOwner(request.userId());
+        lookupIndex.accountOpened(opened.accountNumber(), request.userId());
+        return opened;
+    }
+
+    /**
+     * Reads an account from the database; never stale.
+     *
+     * @param accountNumber the account number
+     * @return the account
+     * @throws AccountNotFoundException if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public AccountResponse get(String accountNumber) {
+        AccountResponse account = AccountResponse.of(find(accountNumber));
+        versions.accountRead(account.accountNumber(), account.updatedAt());
+        return account;
+    }
+
+    /**
+     * Returns the version of an account last read by this instance, without reading it.
+     *
+     * @param accountNumber the account number
+     * @return the version, or {@code null} if none is known
+     */
+    public @Nullable ResourceVersion knownVersion(String accountNumber) {
+        Instant updatedAt = versions.account(accountNumber);
+        return updatedAt == null ? null : ResourceVersion.of(updatedAt);
+    }
+
+    /**
+     * Lists a user's accounts, oldest first; never stale.
+     *
+     * @param userId the owner
+     * @return the accounts, possibly none
+     */
+    @Transactional(readOnly = true)
+    public List<AccountResponse> listForUser(UUID userId) {
+        List<AccountResponse> accounts = accountRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId).stream()
+                .map(AccountResponse::of)
+                .toList();
+        for (AccountResponse account : accounts) {
+            versions.accountRead(account.accountNumber(), account.updatedAt());
+        }
+        return accounts;
+    }
+
+    /**
+     * Returns the version of a user's account list from the cached versions of its accounts, without reading
+     * any account. The account numbers come from {@link AccountSnapshotCache#accountNumbers(UUID)}.
+     *
+     * @param userId the owner
+     * @return the version, or {@code null} unless every account's version is known
+     */
+    public @Nullable ResourceVersion knownListVersion(UUID userId) {
+        List<String> accountNumbers = snapshotCache.accountNumbers(userId);
+        List<Instant> updatedAts = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            Instant updatedAt = versions.account(accountNumber);
+            if (updatedAt == null) {
+                return null;
+            }
+            updatedAts.add(updatedAt);
+        }
+        return ResourceVersion.of(accountNumbers, updatedAts);
+    }
+
+    /**
+     * Returns an account's balance, at most {@link AccountCacheProperties#getBalanceMaxStaleness()} old.
+     *
+     * @param accountNumber the account number
+     * @return the balance and when it was read
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public BalanceResponse balance(String accountNumber) {
+        AccountSnapshot snapshot = snapshot(accountNumber, cacheProperties.getBalanceMaxStaleness());
+        return new BalanceResponse(snapshot.accountNumber(), snapshot.balance(), snapshot.currency(), snapshot.asOf());
+    }
+
+    /**
+     * Returns an account's owner, usually from the snapshot cache; owners never change.
+     *
+     * @param accountNumber the account number
+     * @return the owner's user id
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public UUID owner(String accountNumber) {
+        return snapshot(accountNumber, cacheProperties.getBalanceMaxStaleness()).userId();
+    }
+
+    /**
+     * Returns an account's status, at most {@link AccountCacheProperties#getStatusMaxStaleness()} old.
+     *
+     * @param accountNumber the account number
+     * @return the status and when it was read
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public StatusResponse status(String accountNumber) {
+        AccountSnapshot snapshot = snapshot(accountNumber, cacheProperties.getStatusMaxStaleness());
+        return new StatusResponse(snapshot.accountNumber(), snapshot.status(), snapshot.asOf());
+    }
+
+    /**
+     * Freezes, reactivates or closes an account. Closed is final, and only an empty account can be closed;
+     * both are checked with the account's row locked. Changes are published on the {@link AccountStatusFeed} once committed.
+     *
+     * @param accountNumber the account number
+     * @param status        the new status
+     * @return the updated account
+     * @throws AccountNotFoundException if the account does not exist
+     * @throws AccountStatusException   if the change is not allowed
+     */
+    @Transactional
+    public AccountResponse changeStatus(String accountNumber, AccountStatus status) {
+        // Locked, so a concurrent change or posting cannot commit between the checks and this change.
+        Account account = accountRepository.findForUpdateByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+        if (!account.getStatus().canChangeTo(status)) {
+            throw new AccountStatusException("Account " + accountNumber + " is " + account.getStatus());
+        }
+        if (status == AccountStatus.CLOSED && account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+            throw new AccountStatusException("Account " + accountNumber + " still holds a balance");
+        }
+        if (account.getStatus() != status) {
+            account.setStatus(status);
+            accountRepository.saveAndFlush(account);
+            statusFeed.statusChanged(accountNumber, status);
+            snapshotCache.evict(accountNumber);
+            versions.evictAccount(accountNumber);
+        }
+        return AccountResponse.of(account);
+    }
+
+    /**
+     * Records that transactions on the given accounts were committed, so their cached balances and versions
+     * are dropped.
+     *
+     * @param accountNumbers the accounts; duplicates are allowed
+     */
+    public void postingsCommitted(Collection<String> accountNumbers) {
+        snapshotCache.evictAll(accountNumbers);
+        versions.evictAccounts(accountNumbers);
+    }
+
+    private AccountSnapshot snapshot(String accountNumber, Duration maxStaleness) {
+        if (!AccountNumbers.isValid(accountNumber)) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return snapshotCache.get(accountNumber, maxStaleness);
+    }
+
+    private Account find(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.account_service.service;
+
+import com.example.account_service.model.Account;
+import com.example.account_service.model.AccountStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The frequently read part of an account, as cached by {@link AccountSnapshotCache}.
+ *
+ * @param accountNumber the account number
+ * @param userId        the owner
+ * @param balance       the balance
+ * @param currency      ISO 4217 code
+ * @param status        the status
+ * @param asOf          when the row was read
+ */
+public record AccountSnapshot(
+        String accountNumber, UUID userId, BigDecimal balance, String currency, AccountStatus status, Instant asOf) {
+
+    static AccountSnapshot of(Account account, Instant asOf) {
+        return new AccountSnapshot(account.getAccountNumber(), account.getUserId(), account.getBalance(),
+                account.getCurrency(), account.getStatus(), asOf);
+    }
+}
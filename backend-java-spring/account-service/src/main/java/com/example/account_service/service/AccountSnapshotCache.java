@@ -0,0 +1,149 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of account balance and status, keyed by account number, and of the account numbers
+ * each user owns.
+ *
+ * <p>Readers pass the staleness they accept: an entry older than that is reloaded, one at a time per
+ * account, while other readers of the same account wait for the reload instead of querying too. Entries
+ * are dropped once older than the largest bound, since no reader would use them.</p>
+ *
+ * <p>Invalidation is explicit: status changes made here evict on commit, and the transaction service reports
+ * postings through {@link #evictAll(Collection)}. Both only reach this instance; other instances catch up
+ * within their staleness bound. Unknown account numbers are not cached, so a typo costs a query each time;
+ * callers should reject numbers that fail {@link AccountNumbers#isValid(String)} first.</p>
+ */
+@Component
+public class AccountSnapshotCache {
+
+    private final AccountRepository repository;
+    private final Clock clock;
+    private final Ticker ticker;
+    private final Cache<String, Entry> cache;
+    private final Cache<UUID, List<String>> owned;
+
+    @Autowired
+    public AccountSnapshotCache(AccountRepository repository, AccountCacheProperties properties) {
+        this(repository, properties, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    AccountSnapshotCache(AccountRepository repository, AccountCacheProperties properties, Clock clock, Ticker ticker) {
+        this.repository = repository;
+        this.clock = clock;
+        this.ticker = ticker;
+        Duration longest = properties.getBalanceMaxStaleness().compareTo(properties.getStatusMaxStaleness()) >= 0
+                ? properties.getBalanceMaxStaleness()
+                : properties.getStatusMaxStaleness();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(longest)
+                .ticker(ticker)
+                .build();
+        this.owned = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getBalanceMaxStaleness())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns an account's snapshot, read from the database if the cached one is older than
+     * {@code maxStaleness}.
+     *
+     * @param accountNumber the account number
+     * @param maxStaleness  the oldest snapshot the caller accepts; zero always reads the database
+     * @return the snapshot
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public AccountSnapshot get(String accountNumber, Duration maxStaleness) {
+        long oldest = ticker.read() - maxStaleness.toNanos();
+        @Nullable Entry entry = cache.getIfPresent(accountNumber);
+        if (entry == null || entry.loadedAt - oldest < 0) {
+            // compute() runs at most one load per key; callers queued behind it take its result.
+            entry = cache.asMap().compute(accountNumber, (key, current) ->
+                    current != null && current.loadedAt - oldest >= 0 ? current : load(key));
+        }
+        if (entry == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return entry.snapshot;
+    }
+
+    /**
+     * Returns the numbers of a user's accounts, oldest first. The list may be up to
+     * {@link AccountCacheProperties#getBalanceMaxStaleness()} old, except that accounts opened through this
+     * instance show up at once.
+     *
+     * @param userId the owner
+     * @return the account numbers, possibly none
+     */
+    public List<String> accountNumbers(UUID userId) {
+        return owned.get(userId, repository::findAccountNumbersByUserId);
+    }
+
+    /**
+     * Drops a user's cached account list after an account was opened for them.
+     *
+     * @param userId the owner
+     */
+    public void evictOwner(UUID userId) {
+        invalidateNowAndAfterCommit(owned, userId);
+    }
+
+    /**
+     * Evicts an account now and, if a transaction is active, again after it commits. The second eviction
+     * drops a snapshot re-read by a concurrent reader before the commit.
+     *
+     * @param accountNumber the account number
+     */
+    public void evict(String accountNumber) {
+        invalidateNowAndAfterCommit(cache, accountNumber);
+    }
+
+    /**
+     * Evicts accounts whose balance changed in transactions that are already committed.
+     *
+     * @param accountNumbers the accounts; duplicates are allowed
+     */
+    public void evictAll(Collection<String> accountNumbers) {
+        cache.invalidateAll(accountNumbers);
+    }
+
+    private static <K> void invalidateNowAndAfterCommit(Cache<K, ?> target, K key) {
+        target.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    target.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private @Nullable Entry load(String accountNumber) {
+        long loadedAt = ticker.read();
+        return repository.findByAccountNumber(accountNumber)
+                .map(account -> new Entry(AccountSnapshot.of(account, clock.instant()), loadedAt))
+                .orElse(null);
+    }
+
+    private record Entry(AccountSnapshot snapshot, long loadedAt) {}
+}
@@ -0,0 +1,280 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.BulkOpeningProperties;
+import com.example.account_service.dto.BulkOpenResult;
+import com.example.account_service.dto.OpenAccountRequest;
+import com.example.account_service.model.AccountType;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.AccountBatchRepository.PendingAccount;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Opens many accounts from a newline-delimited JSON (NDJSON) stream, e.g. a payroll client's employees.
+ *
+ * <p>Each line is an {@link OpenAccountRequest}. The stream is consumed in chunks of
+ * {@link BulkOpeningProperties#getChunkSize()} rows so memory stays bounded regardless of upload size. For
+ * every chunk the service:</p>
+ * <ol>
+ *   <li>parses and validates rows in parallel on a dedicated {@code bulk-open} pool;</li>
+ *   <li>draws account numbers for the valid rows from the {@link AccountNumberAllocator}'s current block;</li>
+ *   <li>inserts them with {@link AccountBatchRepository} in a single transaction;</li>
+ *   <li>hands one {@link BulkOpenResult} per row, in line order, to the caller before reading on.</li>
+ * </ol>
+ *
+ * <p>Per-row failures never abort the upload. If a chunk's insert fails, the chunk is retried row by row so
+ * only the offending rows are rejected; numbers drawn for them are skipped, as numbers of a failed
+ * {@link AccountService#open} are.</p>
+ */
+@Service
+public class BulkAccountOpeningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkAccountOpeningService.class);
+
+    private final AccountBatchRepository batchRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountSnapshotCache snapshotCache;
+    private final AccountLookupIndex lookupIndex;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkOpeningProperties properties;
+    private final Clock clock;
+    private final ForkJoinPool validationPool;
+
+    @Autowired
+    public BulkAccountOpeningService(
+            AccountBatchRepository batchRepository,
+            AccountNumberAllocator accountNumberAllocator,
+            AccountSnapshotCache snapshotCache,
+            AccountLookupIndex lookupIndex,
+            Validator validator,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            BulkOpeningProperties properties) {
+        this(batchRepository, accountNumberAllocator, snapshotCache, lookupIndex, validator, jsonMapper,
+                transactionManager, properties, Clock.systemUTC());
+    }
+
+    BulkAccountOpeningService(
+            AccountBatchRepository batchRepository,
+            AccountNumberAllocator accountNumberAllocator,
+            AccountSnapshotCache snapshotCache,
+            AccountLookupIndex lookupIndex,
+            Validator validator,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            BulkOpeningProperties properties,
+            Clock clock) {
+        this.batchRepository = batchRepository;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.snapshotCache = snapshotCache;
+        this.lookupIndex = lookupIndex;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.validationPool = new ForkJoinPool(properties.getParallelism(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("bulk-open-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Reads the NDJSON stream to the end and opens an account for every valid row.
+     *
+     * @param ndjson  UTF-8 NDJSON; one {@link OpenAccountRequest} per line, blank lines ignored
+     * @param results receives each chunk's results, in line order, once the chunk is committed
+     * @return counts for the whole upload
+     */
+    public Summary open(InputStream ndjson, Consumer<List<BulkOpenResult>> results) {
+        Summary summary = new Summary();
+        List<Line> chunk = new ArrayList<>(properties.getChunkSize());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (summary.received == properties.getMaxRows()) {
+                    summary.received++;
+                    summary.rejected++;
+                    processChunk(chunk, summary, results);
+                    chunk.clear();
+                    results.accept(List.of(BulkOpenResult.rejected(lineNumber,
+                            "Upload exceeds " + properties.getMaxRows() + " rows; this and later lines were not read")));
+                    break;
+                }
+                summary.received++;
+                chunk.add(new Line(lineNumber, text));
+                if (chunk.size() >= properties.getChunkSize()) {
+                    processChunk(chunk, summary, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read bulk account upload", ex);
+        }
+        processChunk(chunk, summary, results);
+
+        logger.info("Bulk account opening finished: received={}, opened={}, rejected={}",
+                summary.received, summary.opened, summary.rejected);
+        return summary;
+    }
+
+    private void processChunk(List<Line> chunk, Summary summary, Consumer<List<BulkOpenResult>> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // A parallel stream runs on the pool that invokes it, not the common pool.
+        List<ParsedRow> parsed = validationPool.submit(() -> chunk.parallelStream().map(this::parse).toList()).join();
+
+        List<BulkOpenResult> chunkResults = new ArrayList<>(chunk.size());
+        List<Long> lines = new ArrayList<>(chunk.size());
+        List<PendingAccount> pending = new ArrayList<>(chunk.size());
+        for (ParsedRow row : parsed) {
+            OpenAccountRequest request = row.request();
+            if (request == null) {
+                chunkResults.add(BulkOpenResult.rejected(row.line(), String.valueOf(row.error())));
+                continue;
+            }
+            lines.add(row.line());
+            pending.add(new PendingAccount(
+                    accountNumberAllocator.next(),
+                    request.userId(),
+                    request.accountType() == null ? AccountType.SAVINGS : request.accountType(),
+                    request.currency() == null ? "PHP" : request.currency()));
+        }
+
+        Set<String> inserted = insert(pending);
+        for (int i = 0; i < pending.size(); i++) {
+            PendingAccount account = pending.get(i);
+            chunkResults.add(inserted.contains(account.accountNumber())
+                    ? BulkOpenResult.opened(lines.get(i), account.accountNumber())
+                    : BulkOpenResult.rejected(lines.get(i), "Unable to open account"));
+        }
+        chunkResults.sort(Comparator.comparingLong(BulkOpenResult::line));
+
+        summary.opened += inserted.size();
+        summary.rejected += chunk.size() - inserted.size();
+        results.accept(chunkResults);
+    }
+
+    private ParsedRow parse(Line line) {
+        OpenAccountRequest request;
+        try {
+            request = jsonMapper.readValue(line.text(), OpenAccountRequest.class);
+        } catch (JacksonException ex) {
+            return new ParsedRow(line.number(), null, "Malformed JSON");
+        }
+        if (request == null) {
+            return new ParsedRow(line.number(), null, "Malformed JSON");
+        }
+        Set<ConstraintViolation<OpenAccountRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParsedRow(line.number(), null, message);
+        }
+        return new ParsedRow(line.number(), request, null);
+    }
+
+    private Set<String> insert(List<PendingAccount> pending) {
+        if (pending.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(pending));
+            return pending.stream().map(PendingAccount::accountNumber).collect(Collectors.toSet());
+        } catch (DataAccessException ex) {
+            logger.warn("Batch insert of {} accounts failed, retrying row by row: {}", pending.size(), ex.getMessage());
+        }
+
+        Set<String> inserted = new HashSet<>();
+        for (PendingAccount account : pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(account)));
+                inserted.add(account.accountNumber());
+            } catch (DataAccessException ex) {
+                logger.debug("Could not open account {}: {}", account.accountNumber(), ex.getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    private void write(List<PendingAccount> accounts) {
+        batchRepository.insertAll(accounts, properties.getRowsPerStatement(), clock.instant());
+        Set<UUID> owners = new LinkedHashSet<>();
+        for (PendingAccount account : accounts) {
+            owners.add(account.userId());
+            lookupIndex.accountOpened(account.accountNumber(), account.userId());
+        }
+        owners.forEach(snapshotCache::evictOwner);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    private record Line(long number, String text) {}
+
+    private record ParsedRow(long line, @Nullable OpenAccountRequest request, @Nullable String error) {}
+
+    /**
+     * Counts for one upload.
+     */
+    public static final class Summary {
+        private long received;
+        private long opened;
+        private long rejected;
+
+        public long received() {
+            return received;
+        }
+
+        public long opened() {
+            return opened;
+        }
+
+        public long rejected() {
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.account_service.service;
+
+import com.example.account_service.dto.AccountResponse;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The validators of a GET response: a strong {@code ETag} and, unless the resource is empty, its
+ * {@code Last-Modified} time.
+ *
+ * <p>Versions derive from {@code updated_at}, which Hibernate sets on every entity write and the ledger's
+ * balance trigger sets on every posting, so any change to what a response shows changes its version.</p>
+ *
+ * @param etag         the quoted entity tag
+ * @param lastModified when the resource last changed, or {@code null} for an empty list
+ */
+public record ResourceVersion(String etag, @Nullable Instant lastModified) {
+
+    /**
+     * Returns the version of a single row.
+     *
+     * @param updatedAt the row's {@code updated_at}
+     * @return the version
+     */
+    public static ResourceVersion of(Instant updatedAt) {
+        return new ResourceVersion("\"" + Long.toHexString(micros(updatedAt)) + "\"", updatedAt);
+    }
+
+    /**
+     * Returns the version of a list of accounts, which changes when any account in it changes, or when one
+     * is added.
+     *
+     * @param accountNumbers the accounts, in response order
+     * @param updatedAts     their {@code updated_at}, in the same order
+     * @return the version
+     */
+    public static ResourceVersion of(List<String> accountNumbers, List<Instant> updatedAts) {
+        long hash = 1;
+        @Nullable Instant latest = null;
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            Instant updatedAt = updatedAts.get(i);
+            hash = 31 * hash + accountNumbers.get(i).hashCode();
+            hash = 31 * hash + micros(updatedAt);
+            if (latest == null || updatedAt.isAfter(latest)) {
+                latest = updatedAt;
+            }
+        }
+        return new ResourceVersion("\"" + accountNumbers.size() + "-" + Long.toHexString(hash) + "\"", latest);
+    }
+
+    /**
+     * Returns the version of a list of accounts as returned by the API.
+     *
+     * @param accounts the accounts, in response order
+     * @return the version
+     */
+    public static ResourceVersion ofAccounts(List<AccountResponse> accounts) {
+        return of(accounts.stream().map(AccountResponse::accountNumber).toList(),
+                accounts.stream().map(AccountResponse::updatedAt).toList());
+    }
+
+    // PostgreSQL keeps microseconds.
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.ConditionalGetProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code updated_at} of accounts and profiles last read by this instance, so a conditional GET whose
+ * validator still matches is answered {@code 304 Not Modified} without loading anything.
+ *
+ * <p>Versions are recorded by full reads and never loaded on their own: a miss simply means the request is
+ * served from the database, and Spring MVC still turns a matching response into a {@code 304}. Entries expire
+ * {@link ConditionalGetProperties#getVersionMaxStaleness()} after they were recorded. Account versions are
+ * evicted like {@link AccountSnapshotCache} entries: on commit of a status change made here, and when the
+ * transaction service reports postings.</p>
+ */
+@Component
+public class ResourceVersionCache {
+
+    private final Cache<String, Instant> accounts;
+    private final Cache<UUID, Instant> profiles;
+
+    @Autowired
+    public ResourceVersionCache(ConditionalGetProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ResourceVersionCache(ConditionalGetProperties properties, Ticker ticker) {
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxVersions())
+                .expireAfterWrite(properties.getVersionMaxStaleness())
+                .ticker(ticker)
+                .build();
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxVersions())
+                .expireAfterWrite(properties.getVersionMaxStaleness())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns an account's last known {@code updated_at}.
+     *
+     * @param accountNumber the account number
+     * @return the version, or {@code null} if none is known
+     */
+    public @Nullable Instant account(String accountNumber) {
+        return accounts.getIfPresent(accountNumber);
+    }
+
+    /**
+     * Records an account's {@code updated_at} as just read from the database.
+     *
+     * @param accountNumber the account number
+     * @param updatedAt     its {@code updated_at}
+     */
+    public void accountRead(String accountNumber, Instant updatedAt) {
+        accounts.put(accountNumber, updatedAt);
+    }
+
+    /**
+     * Forgets an account's version now and, if a transaction is active, again after it commits.
+     *
+     * @param accountNumber the account number
+     */
+    public void evictAccount(String accountNumber) {
+        accounts.invalidate(accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accounts.invalidate(accountNumber);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets the versions of accounts changed by already committed transactions.
+     *
+     * @param accountNumbers the accounts; duplicates are allowed
+     */
+    public void evictAccounts(Collection<String> accountNumbers) {
+        accounts.invalidateAll(accountNumbers);
+    }
+
+    /**
+     * Returns a profile's last known {@code updated_at}.
+     *
+     * @param userId the profile's user
+     * @return the version, or {@code null} if none is known
+     */
+    public @Nullable Instant profile(UUID userId) {
+        return profiles.getIfPresent(userId);
+    }
+
+    /**
+     * Records a profile's {@code updated_at} as just read from the database.
+     *
+     * @param userId    the profile's user
+     * @param updatedAt its {@code updated_at}
+     */
+    public void profileRead(UUID userId, Instant updatedAt) {
+        profiles.put(userId, updatedAt);
+    }
+}
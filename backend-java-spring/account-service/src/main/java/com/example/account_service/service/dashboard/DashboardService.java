@@ -0,0 +1,201 @@
+package com.example.account_service.service.dashboard;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.config.DashboardProperties;
+import com.example.account_service.dto.AccountSummary;
+import com.example.account_service.dto.DashboardResponse;
+import com.example.account_service.dto.DashboardSection;
+import com.example.account_service.dto.RecentTransaction;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.routing.BranchContext;
+import com.example.account_service.service.AccountSnapshot;
+import com.example.account_service.service.AccountSnapshotCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds the dashboard in one call: account summary and balances from this service, recent activity from
+ * transaction-service.
+ *
+ * <p>Both sections are fetched concurrently on a bounded {@code dashboard} pool once the user's account
+ * numbers are known (usually from memory). Every step runs with the caller's {@link BranchContext branch},
+ * captured on the request thread, so its reads use the caller's pool. Each section is awaited only until
+ * its own deadline, {@link DashboardProperties#getAccountsTimeout()} and
+ * {@link DashboardProperties#getActivityTimeout()}, measured from the start of the request. A section that misses its deadline or fails does not fail the
+ * response; it is returned {@code STALE} from its last snapshot, or {@code UNAVAILABLE}.</p>
+ *
+ * <p>Sections come from snapshots where possible: balances and statuses from the
+ * {@link AccountSnapshotCache}, recent activity from a per-user snapshot reused for
+ * {@link DashboardProperties#getActivityMaxStaleness()}. A call that finishes after its deadline still
+ * refreshes the snapshot, so the next dashboard load has it.</p>
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final AccountSnapshotCache snapshotCache;
+    private final RecentActivityClient activityClient;
+    private final DashboardProperties properties;
+    private final AccountCacheProperties cacheProperties;
+    private final Clock clock;
+    private final Cache<UUID, Activity> activity;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public DashboardService(
+            AccountSnapshotCache snapshotCache,
+            RecentActivityClient activityClient,
+            DashboardProperties properties,
+            AccountCacheProperties cacheProperties) {
+        this(snapshotCache, activityClient, properties, cacheProperties, Clock.systemUTC());
+    }
+
+    DashboardService(
+            AccountSnapshotCache snapshotCache,
+            RecentActivityClient activityClient,
+            DashboardProperties properties,
+            AccountCacheProperties cacheProperties,
+            Clock clock) {
+        this.snapshotCache = snapshotCache;
+        this.activityClient = activityClient;
+        this.properties = properties;
+        this.cacheProperties = cacheProperties;
+        this.clock = clock;
+        this.activity = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getActivityFallbackTtl())
+                .build();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Builds a user's dashboard. Waits at most for the longer of the two section deadlines.
+     *
+     * @param userId the user
+     * @return the dashboard, with sections that could not be loaded in time marked as such
+     */
+    public DashboardResponse dashboard(UUID userId) {
+        String branch = BranchContext.current();
+        CompletableFuture<List<String>> accountNumbers = async(branch, () -> snapshotCache.accountNumbers(userId));
+
+        CompletableFuture<DashboardSection<AccountSummary>> accounts = accountNumbers
+                .thenCompose(numbers -> async(branch, () -> accounts(numbers)))
+                .completeOnTimeout(DashboardSection.unavailable(), properties.getAccountsTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    logger.warn("Dashboard accounts of {} failed: {}", userId, ex.getMessage());
+                    return DashboardSection.unavailable();
+                });
+
+        Activity known = activity.getIfPresent(userId);
+        CompletableFuture<DashboardSection<List<RecentTransaction>>> recent;
+        if (known != null && isFresh(known.asOf, properties.getActivityMaxStaleness())) {
+            recent = CompletableFuture.completedFuture(DashboardSection.ok(known.transactions, known.asOf));
+        } else {
+            recent = accountNumbers
+                    .thenCompose(numbers -> async(branch, () -> refreshActivity(userId, numbers)))
+                    .completeOnTimeout(fallback(known), properties.getActivityTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> {
+                        logger.warn("Dashboard activity of {} failed: {}", userId, ex.getMessage());
+                        return fallback(known);
+                    });
+        }
+        return new DashboardResponse(accounts.join(), recent.join());
+    }
+
+    private DashboardSection<AccountSummary> accounts(List<String> accountNumbers) {
+        Duration maxStaleness = cacheProperties.getBalanceMaxStaleness();
+        Map<String, BigDecimal[]> totals = new LinkedHashMap<>();
+        List<AccountSummary.Item> items = new ArrayList<>(accountNumbers.size());
+        Instant oldest = clock.instant();
+        for (String accountNumber : accountNumbers) {
+            AccountSnapshot snapshot;
+            try {
+                snapshot = snapshotCache.get(accountNumber, maxStaleness);
+            } catch (AccountNotFoundException ex) {
+                // Deleted since the account list was cached.
+                continue;
+            }
+            if (snapshot.status() == AccountStatus.CLOSED) {
+                continue;
+            }
+            BigDecimal[] sums = totals.computeIfAbsent(snapshot.currency(), currency -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            if (snapshot.status() == AccountStatus.ACTIVE) {
+                sums[0] = sums[0].add(snapshot.balance());
+            }
+            sums[1] = sums[1].add(snapshot.balance());
+            items.add(new AccountSummary.Item(snapshot.accountNumber(), snapshot.balance(), snapshot.currency(), snapshot.status()));
+            if (snapshot.asOf().isBefore(oldest)) {
+                oldest = snapshot.asOf();
+            }
+        }
+        List<AccountSummary.Balances> balances = new ArrayList<>(totals.size());
+        totals.forEach((currency, sums) -> balances.add(new AccountSummary.Balances(currency, sums[0], sums[1])));
+        return DashboardSection.ok(new AccountSummary(balances, items), oldest);
+    }
+
+    private DashboardSection<List<RecentTransaction>> refreshActivity(UUID userId, List<String> accountNumbers) {
+        Instant asOf = clock.instant();
+        List<RecentTransaction> transactions = accountNumbers.isEmpty()
+                ? List.of()
+                : activityClient.recent(accountNumbers, properties.getRecentTransactions());
+        activity.put(userId, new Activity(List.copyOf(transactions), asOf));
+        return DashboardSection.ok(transactions, asOf);
+    }
+
+    private static DashboardSection<List<RecentTransaction>> fallback(@Nullable Activity known) {
+        return known == null ? DashboardSection.unavailable() : DashboardSection.stale(known.transactions, known.asOf);
+    }
+
+    private boolean isFresh(Instant asOf, Duration maxStaleness) {
+        return !asOf.plus(maxStaleness).isBefore(clock.instant());
+    }
+
+    private <T> CompletableFuture<T> async(@Nullable String branch, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(BranchContext.wrap(branch, task), executor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Stops the dashboard pool; requests still waiting get their fallbacks when their deadlines pass.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Activity(List<RecentTransaction> transactions, Instant asOf) {}
+}
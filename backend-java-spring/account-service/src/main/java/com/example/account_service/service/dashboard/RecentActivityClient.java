@@ -0,0 +1,64 @@
+package com.example.account_service.service.dashboard;
+
+import com.example.account_service.config.DashboardProperties;
+import com.example.account_service.dto.RecentTransaction;
+import com.example.account_service.security.InternalTokenFilter;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reads a user's latest transactions from transaction-service's
+ * {@code GET /internal/transactions/recent?accountNumber=...&limit=...}, with the shared
+ * {@code app.internal-token} that transaction-service's {@code /internal/**} requires.
+ *
+ * <p>Connect and read timeouts equal the dashboard's activity deadline, so a call the dashboard stopped
+ * waiting for does not keep holding a thread much longer.</p>
+ */
+@Component
+public class RecentActivityClient {
+
+    private static final ParameterizedTypeReference<List<RecentTransaction>> TRANSACTIONS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final String baseUrl;
+
+    public RecentActivityClient(
+            RestClient.Builder restClientBuilder,
+            DashboardProperties properties,
+            @Value("${app.transaction-base-url:http://localhost:8083}") String baseUrl,
+            @Value("${app.internal-token:}") String internalToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getActivityTimeout());
+        requestFactory.setReadTimeout(properties.getActivityTimeout());
+        this.restClient = restClientBuilder.clone()
+                .requestFactory(requestFactory)
+                .defaultHeader(InternalTokenFilter.HEADER, internalToken)
+                .build();
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Returns the latest transactions across the given accounts, newest first.
+     *
+     * @param accountNumbers the accounts
+     * @param limit          the maximum number of transactions
+     * @return the transactions, possibly none
+     * @throws org.springframework.web.client.RestClientException if transaction-service fails or times out
+     */
+    public List<RecentTransaction> recent(List<String> accountNumbers, int limit) {
+        String uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/internal/transactions/recent")
+                .queryParam("accountNumber", accountNumbers.toArray())
+                .queryParam("limit", limit)
+                .encode()
+                .toUriString();
+        List<RecentTransaction> transactions = restClient.get().uri(uri).retrieve().body(TRANSACTIONS);
+        return transactions == null ? List.of() : transactions;
+    }
+}
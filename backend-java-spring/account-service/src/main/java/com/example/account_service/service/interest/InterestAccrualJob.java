@@ -0,0 +1,221 @@
+package com.example.account_service.service.interest;
+
+import com.example.account_service.config.InterestAccrualProperties;
+import com.example.account_service.repository.InterestAccrualRepository;
+import com.example.account_service.repository.InterestAccrualRepository.Accrual;
+import com.example.account_service.repository.InterestAccrualRepository.Run;
+import com.example.account_service.repository.InterestAccrualRepository.SavingsAccount;
+import com.example.account_service.service.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts a day's interest on every savings account to the ledger, a chunk at a time.
+ *
+ * <p>A run belongs to one accrual date and is checkpointed in {@code interest_accrual_runs}. Each chunk is
+ * one transaction: it locks the date's checkpoint, reads the next {@link InterestAccrualProperties#getChunkSize()}
+ * savings accounts after it by keyset, computes their interest on a fork-join pool, posts the entries as one
+ * batch and moves the checkpoint past the chunk. A crash therefore loses at most the chunk in flight, which
+ * the next run of the date, e.g. {@link #resumeUnfinished()} at startup, does again from the checkpoint;
+ * instances running the same date at once take turns on the lock.</p>
+ *
+ * <p>Interest is {@code balance * annualRate / dayCount} in {@link BigDecimal}, rounded half-even to the
+ * ledger's four decimals; amounts that round to zero are not posted. The rate is the one the date's run
+ * started with, so changing {@code app.interest.annual-rate} does not split a run. Balances are read when the
+ * chunk runs: a run that starts after midnight accrues on the balance at that time, and accounts opened after
+ * the accrual date are skipped.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code interest.accrual.accounts}: savings accounts processed; its rate is the job's throughput;</li>
+ *   <li>{@code interest.accrual.postings}: interest entries posted;</li>
+ *   <li>{@code interest.accrual.chunk}: time per committed chunk.</li>
+ * </ul>
+ */
+@Component
+public class InterestAccrualJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualJob.class);
+
+    // transactions.amount is NUMERIC(19, 4).
+    private static final int SCALE = 4;
+
+    private final InterestAccrualRepository repository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestAccrualProperties properties;
+    private final ForkJoinPool accrualPool;
+    private final Counter accountsCounter;
+    private final Counter postingsCounter;
+    private final Timer chunkTimer;
+
+    public InterestAccrualJob(
+            InterestAccrualRepository repository,
+            AccountService accountService,
+            PlatformTransactionManager transactionManager,
+            InterestAccrualProperties properties,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.accountService = accountService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.accrualPool = new ForkJoinPool(properties.getParallelism(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("interest-accrual-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.accountsCounter = Counter.builder("interest.accrual.accounts")
+                .description("Savings accounts processed by the interest accrual")
+                .register(meterRegistry);
+        this.postingsCounter = Counter.builder("interest.accrual.postings")
+                .description("Interest entries posted to the ledger")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("interest.accrual.chunk")
+                .description("Time to accrue and post one chunk of savings accounts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns one day's interest on a balance.
+     *
+     * @param balance    the balance
+     * @param annualRate the yearly rate as a fraction, e.g. {@code 0.0025}
+     * @param dayCount   days per year
+     * @return the interest, at the ledger's scale; zero when it rounds away
+     */
+    public static BigDecimal dailyInterest(BigDecimal balance, BigDecimal annualRate, int dayCount) {
+        return balance.multiply(annualRate).divide(BigDecimal.valueOf(dayCount), SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Runs, or resumes, the accrual of a date to its last account. A completed date is not run again.
+     *
+     * @param accrualDate the day interest is earned for
+     * @return the date's totals
+     */
+    public Run run(LocalDate accrualDate) {
+        repository.createRun(accrualDate, properties.getAnnualRate(), properties.getDayCount());
+        Instant openedBefore = accrualDate.plusDays(1).atStartOfDay(properties.getZone()).toInstant();
+        long started = System.nanoTime();
+        long accounts = 0;
+
+        Chunk chunk;
+        do {
+            long chunkStarted = System.nanoTime();
+            chunk = Objects.requireNonNull(transactionTemplate.execute(status -> accrueChunk(accrualDate, openedBefore)));
+            if (!chunk.accountNumbers().isEmpty()) {
+                accountService.postingsCommitted(chunk.accountNumbers());
+            }
+            chunkTimer.record(System.nanoTime() - chunkStarted, TimeUnit.NANOSECONDS);
+            accountsCounter.increment(chunk.accounts());
+            postingsCounter.increment(chunk.postings());
+            accounts += chunk.accounts();
+        } while (!chunk.done());
+
+        Run run = Objects.requireNonNull(transactionTemplate.execute(status ->
+                repository.lockRun(accrualDate).orElseThrow()));
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-9);
+        logger.info("Interest accrual for {} finished: {} accounts, {} postings, {} interest in total; "
+                        + "{} accounts this run ({} per second)", accrualDate, run.accounts(), run.postings(),
+                run.totalInterest(), accounts, Math.round(accounts / seconds));
+        return run;
+    }
+
+    /**
+     * Finishes unfinished runs, then runs every date after the last completed one up to {@code through},
+     * oldest first, so days on which no instance was up at the scheduled time still get their interest. At
+     * most {@link InterestAccrualProperties#getMaxCatchUpDays()} dates are run, the latest ones; earlier
+     * missed dates are logged and can be run with {@link #run(LocalDate)}. With no completed run yet, only
+     * {@code through} is run.
+     *
+     * @param through the last date to run, normally yesterday
+     */
+    public void catchUp(LocalDate through) {
+        resumeUnfinished();
+        LocalDate first = repository.lastCompletedRun().map(last -> last.plusDays(1)).orElse(through);
+        LocalDate earliestAllowed = through.minusDays(properties.getMaxCatchUpDays() - 1L);
+        if (first.isBefore(earliestAllowed)) {
+            logger.warn("Interest accrual missed {} to {}; catching up from {} only (app.interest.max-catch-up-days)",
+                    first, earliestAllowed.minusDays(1), earliestAllowed);
+            first = earliestAllowed;
+        }
+        for (LocalDate date = first; !date.isAfter(through); date = date.plusDays(1)) {
+            if (date.isBefore(through)) {
+                logger.info("Catching up on the interest accrual for {}", date);
+            }
+            run(date);
+        }
+    }
+
+    /**
+     * Finishes every run that was started but not completed, e.g. by a crash or a shutdown.
+     */
+    public void resumeUnfinished() {
+        for (LocalDate accrualDate : repository.unfinishedRuns()) {
+            logger.info("Resuming the interest accrual for {}", accrualDate);
+            run(accrualDate);
+        }
+    }
+
+    // Runs in the chunk's transaction.
+    private Chunk accrueChunk(LocalDate accrualDate, Instant openedBefore) {
+        Run run = repository.lockRun(accrualDate).orElseThrow();
+        if (run.completed()) {
+            return Chunk.DONE;
+        }
+        List<SavingsAccount> page = repository.savingsAfter(run.lastAccountId(), openedBefore,
+                properties.getChunkSize());
+        if (page.isEmpty()) {
+            repository.complete(accrualDate);
+            return Chunk.DONE;
+        }
+
+        List<Accrual> accruals = accrualPool.submit(() -> page.parallelStream()
+                .map(account -> accrue(account, run))
+                .filter(Objects::nonNull)
+                .toList()).join();
+        int posted = repository.post(accrualDate, accruals);
+        BigDecimal interest = accruals.stream().map(Accrual::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        repository.checkpoint(accrualDate, page.get(page.size() - 1).id(), page.size(), posted, interest);
+        return new Chunk(accruals.stream().map(Accrual::accountNumber).toList(), page.size(), posted, false);
+    }
+
+    private static @Nullable Accrual accrue(SavingsAccount account, Run run) {
+        BigDecimal amount = dailyInterest(account.balance(), run.annualRate(), run.dayCount());
+        return amount.signum() > 0 ? new Accrual(account.id(), account.accountNumber(), amount) : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        accrualPool.shutdown();
+    }
+
+    /**
+     * Outcome of one chunk transaction.
+     *
+     * @param accountNumbers accounts that got an entry
+     * @param accounts       accounts read
+     * @param postings       entries posted
+     * @param done           whether the run has no accounts left
+     */
+    private record Chunk(List<String> accountNumbers, int accounts, int postings, boolean done) {
+
+        private static final Chunk DONE = new Chunk(List.of(), 0, 0, true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.account_service.service.interest;
+
+import com.example.account_service.config.InterestAccrualProperties;
+import java.time.Instant;
+import java.time.LocalDate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link InterestAccrualJob} for the previous day on {@code app.interest.cron} when
+ * {@code app.interest.enabled=true}, and once the application is ready. Each time, interrupted runs are
+ * finished and days missed while no instance was up are caught up; see {@link InterestAccrualJob#catchUp}.
+ * Both run on the scheduler thread, never on a request or startup thread.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "app.interest.enabled", havingValue = "true")
+public class InterestAccrualScheduler {
+
+    private final InterestAccrualJob job;
+    private final InterestAccrualProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    public InterestAccrualScheduler(
+            InterestAccrualJob job,
+            InterestAccrualProperties properties,
+            TaskScheduler taskScheduler) {
+        this.job = job;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeAfterStartup() {
+        taskScheduler.schedule(this::accrueYesterday, Instant.now());
+    }
+
+    @Scheduled(cron = "${app.interest.cron:0 30 0 * * *}", zone = "${app.interest.zone:Asia/Manila}")
+    void accrueYesterday() {
+        job.catchUp(LocalDate.now(properties.getZone()).minusDays(1));
+    }
+}
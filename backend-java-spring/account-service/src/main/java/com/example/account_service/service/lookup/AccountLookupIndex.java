@@ -0,0 +1,332 @@
+package com.example.account_service.service.lookup;
+
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.dto.AccountLookupResult;
+import com.example.account_service.dto.AccountLookupStats;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index behind the admin portal's user lookup: finds accounts by account number prefix, owner id
+ * or owner email prefix.
+ *
+ * <p>Account numbers and emails are keys of {@link ConcurrentSkipListMap}s, so a prefix lookup is one
+ * {@code O(log n)} seek followed by a walk over the hits. Owners are in a {@link ConcurrentHashMap} from
+ * user id to the owner's email and account numbers, so resolving each hit is a single hash lookup rather than
+ * another seek. Reads never lock. An owner's account numbers are a copy-on-write array, which suits owners
+ * holding a handful of accounts each.</p>
+ *
+ * <p>The index is maintained incrementally: {@link #accountOpened} and {@link #ownerRegistered} are called
+ * when accounts are opened and profiles written, and take effect once the surrounding transaction commits.
+ * {@link #rebuild()} reloads it from the {@code accounts} and {@code user_profiles} tables into a fresh
+ * copy, which also receives every event arriving meanwhile, and then swaps it in; it runs once when the
+ * service starts and can be run again to repair drift. Nothing is ever removed, because accounts are
+ * closed rather than deleted.</p>
+ */
+@Component
+public class AccountLookupIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLookupIndex.class);
+
+    // Rough retained sizes on a 64-bit JVM with compressed oops, for stats() only.
+    private static final long SKIP_LIST_ENTRY_BYTES = 40;
+    private static final long HASH_ENTRY_BYTES = 40;
+    private static final long UUID_BYTES = 32;
+    private static final long OWNER_BYTES = 24;
+
+    private final AccountBatchRepository accountRepository;
+    private final UserProfileRepository profileRepository;
+    private final AccountLookupProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock = Clock.systemUTC();
+    private final Object rebuildLock = new Object();
+    private final Object writeLock = new Object();
+    private volatile Maps current = new Maps();
+    // Guarded by writeLock.
+    private @Nullable Maps building;
+    private volatile @Nullable Instant lastRebuiltAt;
+    private volatile long lastRebuildMillis;
+
+    public AccountLookupIndex(
+            AccountBatchRepository accountRepository,
+            UserProfileRepository profileRepository,
+            AccountLookupProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.profileRepository = profileRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Indexes a newly opened account once the current transaction, if any, commits.
+     *
+     * @param accountNumber the account number
+     * @param userId        the owner
+     */
+    public void accountOpened(String accountNumber, UUID userId) {
+        afterCommit(() -> apply(maps -> maps.putAccount(accountNumber, userId)));
+    }
+
+    /**
+     * Indexes an owner's email once the current transaction, if any, commits.
+     *
+     * @param userId the owner
+     * @param email  the owner's sign-in email; {@code null} is ignored
+     */
+    public void ownerRegistered(UUID userId, @Nullable String email) {
+        if (email != null) {
+            afterCommit(() -> apply(maps -> maps.putEmail(userId, email)));
+        }
+    }
+
+    /**
+     * Finds accounts for a lookup query. A UUID matches the owner with that id; anything else is matched as
+     * a prefix of account numbers and of owner emails, case-insensitively, account numbers first.
+     *
+     * @param query the text typed by the admin
+     * @param limit the maximum number of results, capped at {@link AccountLookupProperties#getMaxResults()}
+     * @return the hits, possibly none
+     */
+    public List<AccountLookupResult> lookup(String query, int limit) {
+        String q = query.trim();
+        int max = Math.max(1, Math.min(limit, properties.getMaxResults()));
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Maps maps = current;
+        Set<AccountLookupResult> results = new LinkedHashSet<>();
+
+        UUID userId = parseUuid(q);
+        if (userId != null) {
+            addOwner(maps, userId, results, max);
+            return List.copyOf(results);
+        }
+        for (Map.Entry<String, UUID> hit : prefix(maps.byNumber, q.toUpperCase(Locale.ROOT)).entrySet()) {
+            if (results.size() >= max) {
+                return List.copyOf(results);
+            }
+            Owner owner = maps.owners.get(hit.getValue());
+            results.add(new AccountLookupResult(hit.getKey(), hit.getValue(), owner == null ? null : owner.email()));
+        }
+        for (UUID hit : prefix(maps.byEmail, q.toLowerCase(Locale.ROOT)).values()) {
+            if (results.size() >= max) {
+                break;
+            }
+            addOwner(maps, hit, results, max);
+        }
+        return List.copyOf(results);
+    }
+
+    private static void addOwner(Maps maps, UUID userId, Set<AccountLookupResult> results, int max) {
+        Owner owner = maps.owners.get(userId);
+        if (owner == null) {
+            return;
+        }
+        if (owner.accounts().length == 0) {
+            results.add(new AccountLookupResult(null, userId, owner.email()));
+            return;
+        }
+        for (String accountNumber : owner.accounts()) {
+            if (results.size() >= max) {
+                return;
+            }
+            results.add(new AccountLookupResult(accountNumber, userId, owner.email()));
+        }
+    }
+
+    private static <V> NavigableMap<String, V> prefix(ConcurrentSkipListMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static @Nullable UUID parseUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Reloads the index from the database. Lookups keep being served from the old copy until the new one is
+     * complete; concurrent rebuilds run one after the other.
+     *
+     * @return the size of the new index
+     */
+    public AccountLookupStats rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            Maps fresh = new Maps();
+            synchronized (writeLock) {
+                building = fresh;
+            }
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    accountRepository.forEachOwner(fresh::putAccount);
+                    profileRepository.forEachEmail(fresh::putEmail);
+                });
+            } catch (RuntimeException ex) {
+                synchronized (writeLock) {
+                    building = null;
+                }
+                throw ex;
+            }
+            synchronized (writeLock) {
+                current = fresh;
+                building = null;
+            }
+            lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            lastRebuiltAt = clock.instant();
+            AccountLookupStats stats = stats();
+            logger.info("Account lookup index rebuilt in {} ms: {} accounts, {} emails, ~{} KiB",
+                    stats.lastRebuildMillis(), stats.accounts(), stats.emails(), stats.estimatedBytes() / 1024);
+            return stats;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (!properties.isRebuildOnStartup()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            logger.error("Account lookup index could not be loaded; lookups only see new accounts: {}",
+                    ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the size of the index and an estimate of the heap it holds. Walks the whole index, so it
+     * takes milliseconds per million accounts; meant for diagnostics, not for every request.
+     *
+     * @return the current size
+     */
+    public AccountLookupStats stats() {
+        Maps maps = current;
+        long bytes = 0;
+        long accounts = 0;
+        for (String number : maps.byNumber.keySet()) {
+            accounts++;
+            bytes += SKIP_LIST_ENTRY_BYTES + UUID_BYTES + stringBytes(number);
+        }
+        long owners = 0;
+        for (Owner owner : maps.owners.values()) {
+            // The account number and email strings are shared with the skip lists and counted there.
+            bytes += HASH_ENTRY_BYTES + UUID_BYTES + OWNER_BYTES + 16 + 4L * owner.accounts().length;
+            if (owner.accounts().length > 0) {
+                owners++;
+            }
+        }
+        long emails = 0;
+        for (String email : maps.byEmail.keySet()) {
+            emails++;
+            bytes += SKIP_LIST_ENTRY_BYTES + UUID_BYTES + stringBytes(email);
+        }
+        return new AccountLookupStats(accounts, owners, emails, bytes, lastRebuiltAt, lastRebuildMillis);
+    }
+
+    private static long stringBytes(String value) {
+        // String object plus its Latin-1 byte array, 8-byte aligned.
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    private void apply(Consumer<Maps> change) {
+        synchronized (writeLock) {
+            change.accept(current);
+            if (building != null) {
+                change.accept(building);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * An owner's email and account numbers, oldest first. Replaced, never mutated.
+     */
+    private record Owner(@Nullable String email, String[] accounts) {
+
+        private static final String[] NONE = new String[0];
+
+        private Owner withAccount(String accountNumber) {
+            String[] grown = Arrays.copyOf(accounts, accounts.length + 1);
+            grown[accounts.length] = accountNumber;
+            return new Owner(email, grown);
+        }
+    }
+
+    /**
+     * One copy of the index. Writes are synchronized, since a rebuild and events write to the same copy;
+     * reads are not.
+     */
+    private static final class Maps {
+
+        private final ConcurrentSkipListMap<String, UUID> byNumber = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, UUID> byEmail = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Owner> owners = new ConcurrentHashMap<>();
+
+        private synchronized void putAccount(String accountNumber, UUID userId) {
+            if (byNumber.putIfAbsent(accountNumber, userId) == null) {
+                Owner owner = owners.get(userId);
+                owners.put(userId, owner == null
+                        ? new Owner(null, new String[] {accountNumber})
+                        : owner.withAccount(accountNumber));
+            }
+        }
+
+        private synchronized void putEmail(UUID userId, String email) {
+            String key = email.toLowerCase(Locale.ROOT);
+            Owner owner = owners.get(userId);
+            String previous = owner == null ? null : owner.email();
+            if (key.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                byEmail.remove(previous, userId);
+            }
+            byEmail.put(key, userId);
+            owners.put(userId, new Owner(key, owner == null ? Owner.NONE : owner.accounts()));
+        }
+    }
+}
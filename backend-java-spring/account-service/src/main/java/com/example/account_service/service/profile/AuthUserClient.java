@@ -0,0 +1,57 @@
+package com.example.account_service.service.profile;
+
+import com.example.account_service.dto.UserIdPage;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Pages through every user id of auth-service's {@code GET /internal/auth/users?after=...&limit=...}, which
+ * requires the shared {@code app.internal-token}.
+ */
+@Component
+public class AuthUserClient {
+
+    static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private final RestClient restClient;
+    private final String baseUrl;
+    private final String internalToken;
+
+    public AuthUserClient(
+            RestClient.Builder restClientBuilder,
+            @Value("${app.auth-base-url:http://localhost:8081}") String baseUrl,
+            @Value("${app.internal-token:}") String internalToken) {
+        this.restClient = restClientBuilder.build();
+        this.baseUrl = baseUrl;
+        this.internalToken = internalToken;
+    }
+
+    /**
+     * Returns the user ids after a cursor, in ascending order.
+     *
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit the page size
+     * @return the page
+     * @throws org.springframework.web.client.RestClientException if auth-service fails
+     */
+    public UserIdPage page(@Nullable String after, int limit) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/internal/auth/users")
+                .queryParam("limit", limit);
+        if (after != null) {
+            uri.queryParam("after", after);
+        }
+        UserIdPage page = restClient.get()
+                .uri(uri.encode().toUriString())
+                .header(INTERNAL_TOKEN_HEADER, internalToken)
+                .retrieve()
+                .body(UserIdPage.class);
+        if (page == null) {
+            throw new IllegalStateException("auth-service returned an empty user page");
+        }
+        return page;
+    }
+}
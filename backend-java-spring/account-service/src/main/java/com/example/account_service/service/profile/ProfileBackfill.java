@@ -0,0 +1,88 @@
+package com.example.account_service.service.profile;
+
+import com.example.account_service.config.UserProfileProperties;
+import com.example.account_service.dto.UserIdPage;
+import com.example.account_service.dto.UserRef;
+import com.example.account_service.dto.UserRegisteredEvent;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates a placeholder profile for every auth-service user that has none: users who registered before
+ * profiles were created from events, and users whose event was lost or rejected.
+ *
+ * <p>Pages through auth-service's users and writes each page with the same idempotent insert as
+ * {@link UserProfileWriter}, so existing profiles keep their names and the backfill can be run again, or
+ * alongside live traffic, at any time; existing profiles without an email get the user's. Names are {@link UserProfileProperties#getPlaceholderFirstName()} and
+ * {@link UserProfileProperties#getPlaceholderLastName()}, as the signup trigger used to write; auth-service
+ * does not keep names.</p>
+ */
+@Component
+public class ProfileBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileBackfill.class);
+
+    private final AuthUserClient authUserClient;
+    private final UserProfileRepository repository;
+    private final UserProfileProperties properties;
+    private final AccountLookupIndex lookupIndex;
+
+    public ProfileBackfill(
+            AuthUserClient authUserClient,
+            UserProfileRepository repository,
+            UserProfileProperties properties,
+            AccountLookupIndex lookupIndex) {
+        this.authUserClient = authUserClient;
+        this.repository = repository;
+        this.properties = properties;
+        this.lookupIndex = lookupIndex;
+    }
+
+    /**
+     * Runs the backfill to the last user.
+     *
+     * @return users seen and profiles created
+     */
+    public Result run() {
+        long users = 0;
+        long created = 0;
+        @Nullable String after = null;
+        do {
+            UserIdPage page = authUserClient.page(after, properties.getBackfillPageSize());
+            List<UserRegisteredEvent> profiles = new ArrayList<>(page.users().size());
+            for (UserRef user : page.users()) {
+                UUID userId;
+                try {
+                    userId = UUID.fromString(user.id());
+                } catch (IllegalArgumentException ex) {
+                    logger.warn("Skipping user with a non-UUID id: {}", user.id());
+                    continue;
+                }
+                profiles.add(new UserRegisteredEvent(userId, user.email(),
+                        properties.getPlaceholderFirstName(), properties.getPlaceholderLastName()));
+            }
+            users += page.users().size();
+            created += repository.createMissing(profiles);
+            repository.fillMissingEmails(profiles);
+            profiles.forEach(profile -> lookupIndex.ownerRegistered(profile.userId(), profile.email()));
+            logger.info("Profile backfill: {} users seen, {} profiles created", users, created);
+            after = page.nextCursor();
+        } while (after != null);
+        return new Result(users, created);
+    }
+
+    /**
+     * Outcome of a backfill.
+     *
+     * @param users    users seen in auth-service
+     * @param created  profiles created; the other users already had one
+     */
+    public record Result(long users, long created) {}
+}
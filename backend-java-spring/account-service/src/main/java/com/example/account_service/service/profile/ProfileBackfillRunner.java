@@ -0,0 +1,35 @@
+package com.example.account_service.service.profile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link ProfileBackfill} at startup when {@code app.profile-backfill.enabled=true}. To run it as a
+ * one-off job rather than inside a serving instance:
+ *
+ * <pre>
+ * java -jar account-service.jar --spring.main.web-application-type=none --app.profile-backfill.enabled=true
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "app.profile-backfill.enabled", havingValue = "true")
+public class ProfileBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileBackfillRunner.class);
+
+    private final ProfileBackfill backfill;
+
+    public ProfileBackfillRunner(ProfileBackfill backfill) {
+        this.backfill = backfill;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ProfileBackfill.Result result = backfill.run();
+        logger.info("Profile backfill finished: {} users, {} profiles created", result.users(), result.created());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.account_service.service.profile;
+
+import com.example.account_service.dto.ProfileResponse;
+import com.example.account_service.exception.ProfileNotFoundException;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.ResourceVersion;
+import com.example.account_service.service.ResourceVersionCache;
+import java.time.Instant;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves user profiles. Reads go to the database and record the version they saw in the
+ * {@link ResourceVersionCache}, so a repeated conditional GET can be answered without reading the profile.
+ */
+@Service
+public class ProfileService {
+
+    private final UserProfileRepository repository;
+    private final ResourceVersionCache versions;
+
+    public ProfileService(UserProfileRepository repository, ResourceVersionCache versions) {
+        this.repository = repository;
+        this.versions = versions;
+    }
+
+    /**
+     * Reads a profile from the database.
+     *
+     * @param userId the profile's user
+     * @return the profile
+     * @throws ProfileNotFoundException if the user has no profile
+     */
+    public ProfileResponse get(UUID userId) {
+        ProfileResponse profile = repository.find(userId).orElseThrow(() -> new ProfileNotFoundException(userId));
+        versions.profileRead(userId, profile.updatedAt());
+        return profile;
+    }
+
+    /**
+     * Returns the version of a profile last read by this instance, without reading it.
+     *
+     * @param userId the profile's user
+     * @return the version, or {@code null} if none is known
+     */
+    public @Nullable ResourceVersion knownVersion(UUID userId) {
+        Instant updatedAt = versions.profile(userId);
+        return updatedAt == null ? null : ResourceVersion.of(updatedAt);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.account_service.service.profile;
+
+import com.example.account_service.config.UserProfileProperties;
+import com.example.account_service.dto.UserRegisteredEvent;
+import com.example.account_service.exception.ProfileQueueFullException;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates user profiles from user-registered events, off the request thread and in batches.
+ *
+ * <p>Accepting events only queues them, so auth-service's call returns as soon as the events are in memory.
+ * A single {@code user-profile-writer} thread takes whatever has queued up, up to
+ * {@link UserProfileProperties#getBatchSize()} events, keeps the first event per user and writes the batch
+ * with {@link UserProfileRepository#createMissing}; under load batches fill up, when idle each event is
+ * written on its own without waiting for company. Written emails are added to the
+ * {@link AccountLookupIndex}.</p>
+ *
+ * <p>At most {@link UserProfileProperties#getCapacity()} events are held; beyond that a batch is rejected
+ * whole with {@link ProfileQueueFullException}. Events are not journaled: a batch that fails to write, or
+ * events lost in a crash, are logged or simply gone, and the profile backfill ({@link ProfileBackfill})
+ * creates the missing profiles. Events still queued at shutdown are written before the service stops.</p>
+ */
+@Component
+public class UserProfileWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProfileWriter.class);
+
+    private final UserProfileRepository repository;
+    private final UserProfileProperties properties;
+    private final AccountLookupIndex lookupIndex;
+    private final BlockingQueue<UserRegisteredEvent> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final Thread writer;
+    private volatile boolean stopping;
+
+    public UserProfileWriter(
+            UserProfileRepository repository,
+            UserProfileProperties properties,
+            AccountLookupIndex lookupIndex) {
+        this.repository = repository;
+        this.properties = properties;
+        this.lookupIndex = lookupIndex;
+        this.capacity = new Semaphore(properties.getCapacity());
+        this.writer = new Thread(this::run, "user-profile-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues events for writing, or none of them.
+     *
+     * @param events the events
+     * @throws ProfileQueueFullException if the events do not fit, or the service is shutting down
+     */
+    public void submitAll(List<UserRegisteredEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (stopping) {
+            throw new ProfileQueueFullException("Profile writer is shutting down");
+        }
+        if (!capacity.tryAcquire(events.size())) {
+            throw new ProfileQueueFullException("Too many user-registered events are waiting");
+        }
+        queue.addAll(events);
+    }
+
+    /**
+     * Returns the number of events not written yet.
+     *
+     * @return queued events, including the batch being written
+     */
+    public int pending() {
+        return properties.getCapacity() - capacity.availablePermits();
+    }
+
+    private void run() {
+        List<UserRegisteredEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                UserRegisteredEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                // Only shutdown() interrupts, after the deadline; whatever is left stays unwritten.
+                return;
+            }
+            queue.drainTo(batch, properties.getBatchSize() - 1);
+            write(batch);
+            capacity.release(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(List<UserRegisteredEvent> batch) {
+        Map<UUID, UserRegisteredEvent> byUser = new LinkedHashMap<>();
+        for (UserRegisteredEvent event : batch) {
+            byUser.putIfAbsent(event.userId(), event);
+        }
+        try {
+            int created = repository.createMissing(List.copyOf(byUser.values()));
+            byUser.values().forEach(event -> lookupIndex.ownerRegistered(event.userId(), event.email()));
+            logger.debug("Wrote {} user-registered events, {} new profiles", batch.size(), created);
+        } catch (RuntimeException ex) {
+            logger.error("Failed to create {} user profiles; the backfill will create them: {}",
+                    byUser.size(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Stops accepting events and writes the ones already queued, waiting up to
+     * {@link UserProfileProperties#getShutdownTimeout()}.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("{} user-registered events were still unwritten at shutdown", pending());
+            writer.interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.account_service.service.status;
+
+import com.example.account_service.dto.AccountStatusEvent;
+import com.example.account_service.dto.AccountStatusEventPage;
+import com.example.account_service.dto.AccountStatusSnapshotPage;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.repository.AccountStatusEventRepository;
+import com.example.account_service.security.InternalTokenFilter;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+/**
+ * The account status feed that transaction-service keeps its local status map from.
+ *
+ * <p>Every status change is appended to the {@code account_status_events} log in the transaction that makes
+ * it, and pushed to each subscriber's {@code POST /internal/events/account-status} once that transaction
+ * commits, so a freeze reaches transaction-service within a round trip. Pushes carry the shared
+ * {@code app.internal-token}, which the subscribers' {@code /internal/**} requires, and are fire-and-forget with
+ * short timeouts; a subscriber that misses one notices the gap in the sequence, or its periodic catch-up
+ * does, and reads the log with {@link #events}. {@link #snapshot} pages through every account's current
+ * status for a subscriber that starts empty.</p>
+ */
+@Service
+public class AccountStatusFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatusFeed.class);
+
+    static final int MAX_PAGE = 5_000;
+
+    private final AccountStatusEventRepository repository;
+    private final RestClient restClient;
+    private final List<URI> subscribers;
+
+    public AccountStatusFeed(
+            AccountStatusEventRepository repository,
+            RestClient.Builder restClientBuilder,
+            @Value("${app.status-events.subscribers:${app.transaction-base-url:http://localhost:8083}}") List<String> subscribers,
+            @Value("${app.status-events.timeout:1s}") Duration timeout,
+            @Value("${app.internal-token:}") String internalToken) {
+        this.repository = repository;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.clone()
+                .requestFactory(requestFactory)
+                .defaultHeader(InternalTokenFilter.HEADER, internalToken)
+                .build();
+        this.subscribers = subscribers.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> URI.create(url + "/internal/events/account-status"))
+                .toList();
+    }
+
+    /**
+     * Records a status change and publishes it once the current transaction commits.
+     *
+     * @param accountNumber the account number
+     * @param status        the new status
+     */
+    public void statusChanged(String accountNumber, AccountStatus status) {
+        AccountStatusEvent event = repository.append(accountNumber, status, Instant.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    /**
+     * Returns the events after a sequence, for a subscriber catching up.
+     *
+     * @param after the last sequence the subscriber applied
+     * @param limit page size (default and max {@value #MAX_PAGE})
+     */
+    public AccountStatusEventPage events(long after, @Nullable Integer limit) {
+        long head = repository.head();
+        return new AccountStatusEventPage(repository.after(after, pageSize(limit)), head);
+    }
+
+    /**
+     * Returns a page of every account's current status, for a subscriber loading its map.
+     *
+     * @param after the last account number of the previous page, or {@code null} to start
+     * @param limit page size (default and max {@value #MAX_PAGE})
+     */
+    public AccountStatusSnapshotPage snapshot(@Nullable String after, @Nullable Integer limit) {
+        int size = pageSize(limit);
+        // Read before the page, so the page reflects at least every event up to it.
+        long asOf = repository.head();
+        List<AccountStatusSnapshotPage.Entry> accounts = repository.statuses(after, size);
+        String next = accounts.size() < size ? null : accounts.get(accounts.size() - 1).accountNumber();
+        return new AccountStatusSnapshotPage(accounts, asOf, next);
+    }
+
+    private void publish(AccountStatusEvent event) {
+        for (URI subscriber : subscribers) {
+            try {
+                restClient.post()
+                        .uri(subscriber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(event)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception ex) {
+                logger.warn("Failed to publish account status event {} to {}: {}", event.sequence(), subscriber,
+                        ex.getMessage());
+            }
+        }
+    }
+
+    private static int pageSize(@Nullable Integer limit) {
+        return limit == null ? MAX_PAGE : Math.max(1, Math.min(limit, MAX_PAGE));
+    }
+}
@@ -0,0 +1,56 @@
+-- This file runs on startup to keep the local PostgreSQL schema aligned.
+-- It is intentionally idempotent.
+
+-- Account number blocks (AccountNumberAllocator). Each value reserves app.account-number.block-size serials.
+CREATE SEQUENCE IF NOT EXISTS account_number_block_seq START WITH 1 INCREMENT BY 1;
+
+-- Customer profiles, created from auth-service's user-registered events (UserProfileWriter). No foreign key
+-- to users: that table belongs to auth-service, and a profile may be written before its user is visible here.
+CREATE TABLE IF NOT EXISTS user_profiles (
+    id UUID PRIMARY KEY,
+    email TEXT,
+    first_name TEXT NOT NULL,
+    last_name TEXT NOT NULL,
+    phone_number TEXT,
+    address TEXT,
+    date_of_birth DATE,
+    avatar_url TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Sign-in email copied from auth-service, for the admin account lookup (AccountLookupIndex).
+ALTER TABLE user_profiles ADD COLUMN IF NOT EXISTS email TEXT;
+
+-- Interest accrual checkpoints (InterestAccrualJob): one row per accrual date, moved past every chunk in the
+-- chunk's own transaction, so an interrupted run resumes after last_account_id.
+CREATE TABLE IF NOT EXISTS interest_accrual_runs (
+    accrual_date DATE PRIMARY KEY,
+    status TEXT NOT NULL,
+    annual_rate NUMERIC(9, 6) NOT NULL,
+    day_count INTEGER NOT NULL,
+    last_account_id BIGINT NOT NULL DEFAULT 0,
+    accounts BIGINT NOT NULL DEFAULT 0,
+    postings BIGINT NOT NULL DEFAULT 0,
+    total_interest NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Account status feed (AccountStatusFeed): every status change, numbered without gaps in commit order from the
+-- head row, which each change keeps locked until it commits. transaction-service projects it into its local
+-- status map.
+CREATE TABLE IF NOT EXISTS account_status_event_head (
+    id INTEGER PRIMARY KEY,
+    seq BIGINT NOT NULL
+);
+INSERT INTO account_status_event_head (id, seq)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM account_status_event_head WHERE id = 1);
+
+CREATE TABLE IF NOT EXISTS account_status_events (
+    seq BIGINT PRIMARY KEY,
+    account_number TEXT NOT NULL,
+    status TEXT NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
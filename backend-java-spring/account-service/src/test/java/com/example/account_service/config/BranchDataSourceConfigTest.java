@@ -0,0 +1,110 @@
+package com.example.account_service.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.routing.BranchContext;
+import com.example.account_service.routing.BranchRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests for the {@link BranchRoutingDataSource} built by {@link BranchDataSourceConfig}, with the CORP branch
+ * on an H2 database of its own so the tests can tell the pools apart.
+ */
+class BranchDataSourceConfigTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource primary;
+    private BranchRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        BranchRoutingProperties branches = new BranchRoutingProperties();
+        BranchRoutingProperties.Pool corp = new BranchRoutingProperties.Pool();
+        corp.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        corp.setMaximumPoolSize(2);
+        branches.setPools(Map.of("corp", corp, "RET", new BranchRoutingProperties.Pool()));
+
+        BranchDataSourceConfig config = new BranchDataSourceConfig();
+        primary = config.primaryDataSource(properties);
+        dataSource = config.dataSource(primary, properties, branches,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(10))");
+        jdbcTemplate.update("INSERT INTO marker VALUES ('primary')");
+        try (BranchContext.Scope ignored = BranchContext.enter("CORP")) {
+            jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(10))");
+            jdbcTemplate.update("INSERT INTO marker VALUES ('corp')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+        primary.close();
+    }
+
+    @Test
+    void routes_by_the_current_branch_and_falls_back_to_the_primary_pool() {
+        assertThat(marker()).isEqualTo("primary");
+        try (BranchContext.Scope ignored = BranchContext.enter("corp")) {
+            assertThat(marker()).isEqualTo("corp");
+            try (BranchContext.Scope inner = BranchContext.enter("LOAN")) {
+                // No pool of its own.
+                assertThat(marker()).isEqualTo("primary");
+            }
+            assertThat(marker()).isEqualTo("corp");
+        }
+        assertThat(BranchContext.current()).isNull();
+    }
+
+    @Test
+    void a_branch_pool_without_a_url_uses_the_primary_database_through_its_own_pool() {
+        try (BranchContext.Scope ignored = BranchContext.enter("RET")) {
+            assertThat(marker()).isEqualTo("primary");
+        }
+        assertThat(dataSource.branches()).containsExactlyInAnyOrder("CORP", "RET");
+    }
+
+    @Test
+    void each_branch_pool_reports_its_own_metrics() {
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "branch-CORP").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "branch-RET").gauge().value())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void wrapped_tasks_carry_the_branch_to_other_threads() throws Exception {
+        Supplier<String> task;
+        try (BranchContext.Scope ignored = BranchContext.enter("CORP")) {
+            task = BranchContext.wrap(this::marker);
+        }
+
+        String[] result = new String[1];
+        Thread thread = new Thread(() -> result[0] = task.get());
+        thread.start();
+        thread.join();
+
+        assertThat(result[0]).isEqualTo("corp");
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+}
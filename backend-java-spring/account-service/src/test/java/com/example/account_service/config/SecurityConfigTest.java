@@ -0,0 +1,128 @@
+package com.example.account_service.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.account_service.security.InternalTokenFilter;
+import com.example.account_service.security.JwtAuthenticationFilter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Tests the {@link SecurityConfig} filter chain in front of stub endpoints.
+ */
+@SpringJUnitWebConfig(SecurityConfigTest.Config.class)
+@TestPropertySource(properties = {"app.internal-token=s3cret", "app.jwt.secret=" + SecurityConfigTest.SECRET})
+class SecurityConfigTest {
+
+    static final String SECRET = "01234567890123456789012345678901";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean(FilterChainProxy.class))
+                .build();
+    }
+
+    @Test
+    void api_requires_a_user_token() throws Exception {
+        mockMvc.perform(get("/api/accounts")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void internal_requires_the_internal_token() throws Exception {
+        mockMvc.perform(get("/internal/accounts/statuses").header("Authorization", bearer("ROLE_SUPER_ADMIN")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/internal/accounts/statuses").header(InternalTokenFilter.HEADER, "guess"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/internal/accounts/statuses").header(InternalTokenFilter.HEADER, "s3cret"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulk_opening_is_for_admins_and_corporate_operators() throws Exception {
+        mockMvc.perform(post("/api/accounts/bulk").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/accounts/bulk").header("Authorization", bearer("ROLE_CORPORATE_OPERATOR")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/accounts/bulk").header("Authorization", bearer("ROLE_ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    private static String bearer(String role) {
+        Instant now = Instant.now();
+        return "Bearer " + Jwts.builder()
+                .setClaims(Map.of("uid", UUID.randomUUID().toString(), "role", role))
+                .setSubject("user@kaban.com")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import({SecurityConfig.class, JwtAuthenticationFilter.class, InternalTokenFilter.class})
+    static class Config {
+
+        @Bean
+        JwtProperties jwtProperties(Environment environment) {
+            JwtProperties properties = new JwtProperties();
+            properties.setSecret(environment.getProperty("app.jwt.secret"));
+            return properties;
+        }
+
+        @Bean
+        StubController stubController() {
+            return new StubController();
+        }
+    }
+
+    @RestController
+    static class StubController {
+
+        @GetMapping("/api/accounts")
+        void list() {
+        }
+
+        @PostMapping("/api/accounts/bulk")
+        void bulkOpen() {
+        }
+
+        @GetMapping("/internal/accounts/statuses")
+        void statuses() {
+        }
+    }
+}
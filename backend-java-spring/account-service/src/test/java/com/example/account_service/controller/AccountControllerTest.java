@@ -0,0 +1,228 @@
+package com.example.account_service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.account_service.dto.AccountResponse;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.exception.AccountStatusException;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.model.AccountType;
+import com.example.account_service.security.AuthenticatedUser;
+import com.example.account_service.service.AccountService;
+import com.example.account_service.service.ResourceVersion;
+import com.example.account_service.service.status.AccountStatusFeed;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class AccountControllerTest {
+
+    private static final String NUMBER = "KABAN-2026-0000422";
+    private static final UUID OWNER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private AccountStatusFeed statusFeed;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AccountController(accountService), new InternalAccountController(accountService, statusFeed))
+                .setControllerAdvice(new AccountExceptionHandler())
+                .build();
+        when(accountService.owner(NUMBER)).thenReturn(OWNER);
+        signIn(OWNER, "ROLE_USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void open_returns_201_with_location() throws Exception {
+        when(accountService.open(any())).thenReturn(new AccountResponse(NUMBER, OWNER, AccountType.SAVINGS,
+                BigDecimal.ZERO, "PHP", AccountStatus.ACTIVE, Instant.EPOCH, Instant.EPOCH));
+
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"" + OWNER + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/accounts/" + NUMBER))
+                .andExpect(jsonPath("$.accountNumber").value(NUMBER));
+    }
+
+    @Test
+    void open_returns_400_for_a_bad_currency() throws Exception {
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"" + OWNER + "\",\"currency\":\"peso\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(accountService, never()).open(any());
+    }
+
+    @Test
+    void open_returns_403_for_another_users_account() throws Exception {
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"" + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void get_answers_a_known_version_with_304_without_reading_the_account() throws Exception {
+        Instant updatedAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+        ResourceVersion version = ResourceVersion.of(updatedAt);
+        when(accountService.knownVersion(NUMBER)).thenReturn(version);
+
+        mockMvc.perform(get("/api/accounts/{number}", NUMBER).header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", version.etag()));
+        mockMvc.perform(get("/api/accounts/{number}", NUMBER).header("If-Modified-Since", "Sun, 01 Mar 2026 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(accountService, never()).get(NUMBER);
+    }
+
+    @Test
+    void get_reads_the_account_when_the_version_is_unknown_or_stale() throws Exception {
+        Instant updatedAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+        when(accountService.knownVersion(NUMBER)).thenReturn(ResourceVersion.of(updatedAt.minusSeconds(60)));
+        when(accountService.get(NUMBER)).thenReturn(account(updatedAt));
+        String etag = ResourceVersion.of(updatedAt).etag();
+
+        mockMvc.perform(get("/api/accounts/{number}", NUMBER).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Last-Modified", "Sun, 01 Mar 2026 10:15:30 GMT"))
+                .andExpect(jsonPath("$.accountNumber").value(NUMBER));
+        // Matches what was just read, though not the cached version.
+        mockMvc.perform(get("/api/accounts/{number}", NUMBER).header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void list_answers_a_known_version_with_304() throws Exception {
+        ResourceVersion version = ResourceVersion.of(List.of(NUMBER), List.of(Instant.EPOCH));
+        when(accountService.knownListVersion(OWNER)).thenReturn(version);
+
+        mockMvc.perform(get("/api/accounts").header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/accounts"))
+                .andExpect(status().isOk());
+
+        verify(accountService).listForUser(OWNER);
+    }
+
+    @Test
+    void list_is_the_signed_in_users_and_other_users_lists_are_for_admins() throws Exception {
+        UUID other = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/accounts").param("userId", other.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/accounts/users/{userId}", other))
+                .andExpect(status().isForbidden());
+        verify(accountService).listForUser(OWNER);
+        verify(accountService, never()).listForUser(other);
+
+        signIn(UUID.randomUUID(), "ROLE_ADMIN");
+        mockMvc.perform(get("/api/accounts/users/{userId}", other))
+                .andExpect(status().isOk());
+        verify(accountService).listForUser(other);
+    }
+
+    @Test
+    void balance_returns_404_for_an_unknown_account() throws Exception {
+        when(accountService.balance(NUMBER)).thenThrow(new AccountNotFoundException(NUMBER));
+
+        mockMvc.perform(get("/api/accounts/{number}/balance", NUMBER))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account not found: " + NUMBER));
+    }
+
+    @Test
+    void balance_returns_403_for_another_users_account() throws Exception {
+        signIn(UUID.randomUUID(), "ROLE_USER");
+
+        mockMvc.perform(get("/api/accounts/{number}/balance", NUMBER))
+                .andExpect(status().isForbidden());
+
+        verify(accountService, never()).balance(NUMBER);
+    }
+
+    @Test
+    void status_change_returns_403_for_another_user_and_is_allowed_for_an_admin() throws Exception {
+        when(accountService.changeStatus(NUMBER, AccountStatus.FROZEN)).thenReturn(account(Instant.EPOCH));
+        signIn(UUID.randomUUID(), "ROLE_USER");
+
+        mockMvc.perform(put("/api/accounts/{number}/status", NUMBER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"FROZEN\"}"))
+                .andExpect(status().isForbidden());
+        verify(accountService, never()).changeStatus(any(), any());
+
+        signIn(UUID.randomUUID(), "ROLE_ADMIN");
+        mockMvc.perform(put("/api/accounts/{number}/status", NUMBER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"FROZEN\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void status_change_returns_409_when_not_allowed() throws Exception {
+        when(accountService.changeStatus(NUMBER, AccountStatus.ACTIVE)).thenThrow(new AccountStatusException("closed"));
+
+        mockMvc.perform(put("/api/accounts/{number}/status", NUMBER)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"ACTIVE\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    private static void signIn(UUID userId, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user@kaban.com", role), null, List.of()));
+    }
+
+    private static AccountResponse account(Instant updatedAt) {
+        return new AccountResponse(NUMBER, UUID.randomUUID(), AccountType.SAVINGS, BigDecimal.ZERO, "PHP",
+                AccountStatus.ACTIVE, Instant.EPOCH, updatedAt);
+    }
+
+    @Test
+    void postings_returns_204_and_evicts_the_accounts() throws Exception {
+        mockMvc.perform(post("/internal/accounts/postings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountNumbers\":[\"" + NUMBER + "\"]}"))
+                .andExpect(status().isNoContent());
+
+        verify(accountService).postingsCommitted(List.of(NUMBER));
+    }
+}
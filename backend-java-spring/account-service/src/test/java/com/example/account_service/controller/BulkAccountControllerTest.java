@@ -0,0 +1,62 @@
+package com.example.account_service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.account_service.dto.BulkOpenResult;
+import com.example.account_service.service.BulkAccountOpeningService;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+class BulkAccountControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BulkAccountOpeningService bulkOpeningService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BulkAccountController(bulkOpeningService, JsonMapper.builder().build()))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulk_open_streams_one_ndjson_line_per_row() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<List<BulkOpenResult>> results = invocation.getArgument(1);
+            results.accept(List.of(BulkOpenResult.opened(1, "KABAN-2026-0000018")));
+            results.accept(List.of(BulkOpenResult.rejected(2, "Malformed JSON")));
+            return null;
+        }).when(bulkOpeningService).open(any(), any(Consumer.class));
+
+        MvcResult pending = mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n{\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("""
+                        {"line":1,"status":"OPENED","accountNumber":"KABAN-2026-0000018","error":null}
+                        {"line":2,"status":"REJECTED","accountNumber":null,"error":"Malformed JSON"}
+                        """));
+    }
+}
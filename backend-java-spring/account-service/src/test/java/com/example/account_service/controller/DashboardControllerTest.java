@@ -0,0 +1,73 @@
+package com.example.account_service.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.account_service.security.AuthenticatedUser;
+import com.example.account_service.service.dashboard.DashboardService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class DashboardControllerTest {
+
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID OTHER = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new DashboardController(dashboardService))
+                .setControllerAdvice(new AccountExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void the_dashboard_is_the_signed_in_users_whatever_the_query() throws Exception {
+        signIn(USER, "ROLE_USER");
+
+        mockMvc.perform(get("/api/dashboard").param("userId", OTHER.toString()))
+                .andExpect(status().isOk());
+
+        verify(dashboardService).dashboard(USER);
+        verify(dashboardService, never()).dashboard(OTHER);
+    }
+
+    @Test
+    void other_users_dashboards_are_for_admins_only() throws Exception {
+        signIn(USER, "ROLE_USER");
+        mockMvc.perform(get("/api/dashboard/users/{userId}", OTHER))
+                .andExpect(status().isForbidden());
+        verify(dashboardService, never()).dashboard(OTHER);
+
+        signIn(USER, "ROLE_ADMIN");
+        mockMvc.perform(get("/api/dashboard/users/{userId}", OTHER))
+                .andExpect(status().isOk());
+        verify(dashboardService).dashboard(OTHER);
+    }
+
+    private static void signIn(UUID userId, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user@kaban.com", role), null, List.of()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.account_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.config.JwtProperties;
+import com.example.account_service.routing.BranchContext;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tests for {@link JwtAuthenticationFilter} with tokens signed as auth-service signs them.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "01234567890123456789012345678901";
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(properties(SECRET));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticates_the_user_with_the_role_as_authority() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader("Authorization", "Bearer " + token(SECRET, Map.of("uid", USER.toString(), "role", "ROLE_ADMIN")));
+        Authentication[] seen = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertThat(seen[0].getPrincipal()).isEqualTo(new AuthenticatedUser(USER, "user@kaban.com", "ROLE_ADMIN"));
+        assertThat(seen[0].getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void a_token_without_a_user_id_is_rejected() throws Exception {
+        assertThat(statusFor("Bearer " + token(SECRET, Map.of("role", "ROLE_USER")))).isEqualTo(401);
+    }
+
+    @Test
+    void binds_the_branch_claim_for_the_rest_of_the_chain() throws Exception {
+        assertThat(branchSeenBy(filter, "Bearer " + token(SECRET, Map.of("uid", USER.toString(), "branch", "corp"))))
+                .isEqualTo("CORP");
+        assertThat(BranchContext.current()).isNull();
+    }
+
+    @Test
+    void requests_without_a_token_or_a_claim_have_no_branch() throws Exception {
+        assertThat(branchSeenBy(filter, null)).isNull();
+        assertThat(branchSeenBy(filter, "Bearer " + token(SECRET, Map.of("uid", USER.toString())))).isNull();
+    }
+
+    @Test
+    void a_token_signed_with_another_key_is_rejected() throws Exception {
+        assertThat(statusFor("Bearer " + token("x".repeat(32), Map.of("uid", USER.toString())))).isEqualTo(401);
+    }
+
+    @Test
+    void without_a_secret_tokens_are_not_read() throws Exception {
+        JwtAuthenticationFilter unconfigured = new JwtAuthenticationFilter(new JwtProperties());
+
+        assertThat(branchSeenBy(unconfigured, "Bearer not-a-jwt")).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private int statusFor(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            throw new AssertionError("must not reach the controller");
+        });
+
+        return response.getStatus();
+    }
+
+    private static @Nullable String branchSeenBy(JwtAuthenticationFilter filter, @Nullable String authorization)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        String[] seen = new String[1];
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen[0] = BranchContext.current());
+        return seen[0];
+    }
+
+    private static String token(String secret, Map<String, Object> claims) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("user@kaban.com")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static JwtProperties properties(String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        return properties;
+    }
+}
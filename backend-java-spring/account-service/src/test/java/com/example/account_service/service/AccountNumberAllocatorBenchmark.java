@@ -0,0 +1,77 @@
+package com.example.account_service.service;
+
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Compares concurrent account openings taking one sequence value per number against the block allocator.
+ *
+ * <p>Runs 16 threads against an in-memory H2 database, so a sequence call costs far less than the network
+ * round trip to PostgreSQL it stands for; the gap in production is wider than measured here. A
+ * {@code blockSize} of 1 is the allocator doing one round trip per number; {@code perNumberSequence}
+ * ignores {@code blockSize}.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AccountNumberAllocatorBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class AccountNumberAllocatorBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int blockSize;
+
+    private EmbeddedDatabase database;
+    private AccountNumberBlockRepository repository;
+    private AccountNumberAllocator allocator;
+
+    @Setup
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("schema.sql")
+                .build();
+        repository = new AccountNumberBlockRepository(new JdbcTemplate(database));
+        AccountNumberProperties properties = new AccountNumberProperties();
+        properties.setBlockSize(blockSize);
+        allocator = new AccountNumberAllocator(repository, properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public String perNumberSequence() {
+        return AccountNumbers.format("KABAN", 2026, repository.nextBlock());
+    }
+
+    @Benchmark
+    public String blockAllocator() {
+        return allocator.next();
+    }
+}
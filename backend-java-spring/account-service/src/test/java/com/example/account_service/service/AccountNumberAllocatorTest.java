@@ -0,0 +1,123 @@
+package com.example.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Tests for {@link AccountNumberAllocator} against the {@code schema.sql} sequence on an in-memory H2
+ * database. Two allocators sharing the database stand in for two instances of the service.
+ */
+class AccountNumberAllocatorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneId.of("Asia/Manila"));
+
+    private EmbeddedDatabase database;
+    private CountingRepository repository;
+    private AccountNumberProperties properties;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("schema.sql")
+                .build();
+        repository = new CountingRepository(new JdbcTemplate(database));
+        properties = new AccountNumberProperties();
+        properties.setBlockSize(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void hands_out_a_block_before_reserving_the_next() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(repository, properties, CLOCK);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            numbers.add(allocator.next());
+        }
+
+        assertThat(numbers.get(0)).isEqualTo(AccountNumbers.format("KABAN", 2026, 1));
+        assertThat(numbers.get(24)).isEqualTo(AccountNumbers.format("KABAN", 2026, 25));
+        assertThat(repository.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void instances_never_hand_out_the_same_number() throws Exception {
+        AccountNumberAllocator first = new AccountNumberAllocator(repository, properties, CLOCK);
+        AccountNumberAllocator second = new AccountNumberAllocator(repository, properties, CLOCK);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        int threads = 16;
+        int perThread = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                AccountNumberAllocator allocator = t % 2 == 0 ? first : second;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numbers).hasSize(threads * perThread);
+        assertThat(numbers).allMatch(AccountNumbers::isValid);
+        // One reservation per block used, plus at most the partly used block of each instance.
+        assertThat(repository.calls.get()).isLessThanOrEqualTo(threads * perThread / properties.getBlockSize() + 2);
+    }
+
+    @Test
+    void year_follows_the_configured_zone() {
+        // 2026-12-31T16:30Z is already 2027 in Manila.
+        Clock newYear = Clock.fixed(Instant.parse("2026-12-31T16:30:00Z"), ZoneId.of("Asia/Manila"));
+
+        assertThat(new AccountNumberAllocator(repository, properties, newYear).next()).startsWith("KABAN-2027-");
+    }
+
+    private static final class CountingRepository extends AccountNumberBlockRepository {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingRepository(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public long nextBlock() {
+            calls.incrementAndGet();
+            return super.nextBlock();
+        }
+    }
+}
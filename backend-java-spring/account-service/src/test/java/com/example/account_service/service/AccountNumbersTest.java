@@ -0,0 +1,54 @@
+package com.example.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AccountNumbers}.
+ */
+class AccountNumbersTest {
+
+    @Test
+    void formats_prefix_year_padded_serial_and_check_digit() {
+        assertThat(AccountNumbers.format("KABAN", 2026, 1234)).isEqualTo("KABAN-2026-0012347");
+        assertThat(AccountNumbers.format("KABAN", 2026, 12_345_678)).isEqualTo("KABAN-2026-123456785");
+    }
+
+    @Test
+    void accepts_issued_numbers() {
+        for (long serial = 1; serial <= 1000; serial++) {
+            assertThat(AccountNumbers.isValid(AccountNumbers.format("KABAN", 2026, serial))).isTrue();
+        }
+    }
+
+    @Test
+    void rejects_a_mistyped_digit() {
+        String number = AccountNumbers.format("KABAN", 2026, 4711);
+        for (int i = "KABAN-".length(); i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            String typo = number.substring(0, i) + (char) ('0' + (c - '0' + 1) % 10) + number.substring(i + 1);
+            assertThat(AccountNumbers.isValid(typo)).as(typo).isFalse();
+        }
+    }
+
+    @Test
+    void rejects_swapped_neighbouring_digits() {
+        String number = AccountNumbers.format("KABAN", 2026, 4711);
+        String swapped = number.substring(0, 13) + number.charAt(14) + number.charAt(13) + number.substring(15);
+
+        assertThat(swapped).isNotEqualTo(number);
+        assertThat(AccountNumbers.isValid(swapped)).isFalse();
+    }
+
+    @Test
+    void rejects_malformed_numbers() {
+        assertThat(AccountNumbers.isValid("KABAN-1001")).isFalse();
+        assertThat(AccountNumbers.isValid("kaban-2026-0012343")).isFalse();
+        assertThat(AccountNumbers.isValid("KABAN-26-0012343")).isFalse();
+        assertThat(AccountNumbers.isValid("KABAN-2026-001234")).isFalse();
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.config.ConditionalGetProperties;
+import com.example.account_service.config.RestClientConfig;
+import com.example.account_service.dto.AccountResponse;
+import com.example.account_service.dto.AccountStatusEvent;
+import com.example.account_service.dto.AccountStatusEventPage;
+import com.example.account_service.dto.AccountStatusSnapshotPage;
+import com.example.account_service.dto.OpenAccountRequest;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.exception.AccountStatusException;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.model.AccountType;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import com.example.account_service.repository.AccountStatusEventRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import com.example.account_service.service.status.AccountStatusFeed;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link AccountService} on H2. Balance changes are written with plain SQL, as the ledger trigger does.
+ */
+@DataJpaTest
+@Import({
+        AccountService.class,
+        AccountSnapshotCache.class,
+        AccountCacheProperties.class,
+        AccountNumberAllocator.class,
+        AccountNumberBlockRepository.class,
+        AccountNumberProperties.class,
+        AccountLookupIndex.class,
+        AccountBatchRepository.class,
+        AccountLookupProperties.class,
+        UserProfileRepository.class,
+        ResourceVersionCache.class,
+        ConditionalGetProperties.class,
+        AccountStatusFeed.class,
+        AccountStatusEventRepository.class,
+        RestClientConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountServiceTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountStatusFeed statusFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void opens_an_active_empty_account_with_a_valid_number() {
+        UUID owner = UUID.randomUUID();
+
+        AccountResponse account = accountService.open(new OpenAccountRequest(owner, AccountType.CHECKING, null));
+
+        assertThat(AccountNumbers.isValid(account.accountNumber())).isTrue();
+        assertThat(account.status()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(account.balance()).isEqualByComparingTo("0");
+        assertThat(account.currency()).isEqualTo("PHP");
+        assertThat(accountService.listForUser(owner)).extracting(AccountResponse::accountNumber)
+                .containsExactly(account.accountNumber());
+    }
+
+    @Test
+    void cached_balance_is_refreshed_when_a_posting_is_reported() {
+        String number = open();
+        assertThat(accountService.balance(number).balance()).isEqualByComparingTo("0");
+
+        post(number, "150.25");
+
+        assertThat(accountService.balance(number).balance()).isEqualByComparingTo("0");
+        assertThat(accountService.get(number).balance()).isEqualByComparingTo("150.25");
+        accountService.postingsCommitted(List.of(number));
+        assertThat(accountService.balance(number).balance()).isEqualByComparingTo("150.25");
+    }
+
+    @Test
+    void status_change_is_seen_by_the_next_status_check() {
+        String number = open();
+        assertThat(accountService.status(number).status()).isEqualTo(AccountStatus.ACTIVE);
+
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+
+        assertThat(accountService.status(number).status()).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    @Test
+    void status_change_keeps_the_posted_balance() {
+        String number = open();
+        post(number, "10");
+
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+
+        assertThat(accountService.get(number).balance()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void only_empty_accounts_can_be_closed_and_closing_is_final() {
+        String number = open();
+        post(number, "10");
+        assertThatThrownBy(() -> accountService.changeStatus(number, AccountStatus.CLOSED))
+                .isInstanceOf(AccountStatusException.class);
+
+        jdbcTemplate.update("UPDATE accounts SET balance = 0 WHERE account_number = ?", number);
+        accountService.changeStatus(number, AccountStatus.CLOSED);
+
+        assertThatThrownBy(() -> accountService.changeStatus(number, AccountStatus.ACTIVE))
+                .isInstanceOf(AccountStatusException.class);
+    }
+
+    @Test
+    void a_concurrent_change_cannot_undo_a_close() throws Exception {
+        String number = open();
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+        CountDownLatch reactivating = new CountDownLatch(1);
+        CompletableFuture<AccountResponse> reactivate = new CompletableFuture<>();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            accountService.changeStatus(number, AccountStatus.CLOSED);
+            new Thread(() -> {
+                reactivating.countDown();
+                try {
+                    reactivate.complete(accountService.changeStatus(number, AccountStatus.ACTIVE));
+                } catch (RuntimeException ex) {
+                    reactivate.completeExceptionally(ex);
+                }
+            }, "reactivate").start();
+            try {
+                reactivating.await();
+                // The reactivation waits for the close's lock instead of acting on the FROZEN it would read.
+                Thread.sleep(200);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            assertThat(reactivate).isNotDone();
+        });
+
+        assertThatThrownBy(() -> reactivate.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AccountStatusException.class);
+        assertThat(accountService.get(number).status()).isEqualTo(AccountStatus.CLOSED);
+    }
+
+    @Test
+    void a_read_records_the_version_and_changes_drop_it() {
+        String number = open();
+        assertThat(accountService.knownVersion(number)).isNull();
+
+        ResourceVersion read = ResourceVersion.of(accountService.get(number).updatedAt());
+        assertThat(accountService.knownVersion(number)).isEqualTo(read);
+
+        post(number, "5");
+        accountService.postingsCommitted(List.of(number));
+        assertThat(accountService.knownVersion(number)).isNull();
+        assertThat(ResourceVersion.of(accountService.get(number).updatedAt())).isNotEqualTo(read);
+
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+        assertThat(accountService.knownVersion(number)).isNull();
+    }
+
+    @Test
+    void list_version_is_known_once_every_account_was_read() {
+        UUID owner = UUID.randomUUID();
+        accountService.open(new OpenAccountRequest(owner, null, null));
+        accountService.open(new OpenAccountRequest(owner, AccountType.CHECKING, null));
+        assertThat(accountService.knownListVersion(owner)).isNull();
+
+        List<AccountResponse> accounts = accountService.listForUser(owner);
+
+        assertThat(accountService.knownListVersion(owner)).isEqualTo(ResourceVersion.ofAccounts(accounts));
+    }
+
+    @Test
+    void status_changes_are_logged_in_sequence_for_the_status_feed() {
+        String number = open();
+        long head = statusFeed.events(0, null).head();
+
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+        accountService.changeStatus(number, AccountStatus.FROZEN);
+        accountService.changeStatus(number, AccountStatus.ACTIVE);
+
+        AccountStatusEventPage page = statusFeed.events(head, null);
+        assertThat(page.head()).isEqualTo(head + 2);
+        assertThat(page.events()).extracting(AccountStatusEvent::sequence).containsExactly(head + 1, head + 2);
+        assertThat(page.events()).extracting(AccountStatusEvent::status)
+                .containsExactly(AccountStatus.FROZEN, AccountStatus.ACTIVE);
+        assertThat(page.events()).extracting(AccountStatusEvent::accountNumber).containsOnly(number);
+    }
+
+    @Test
+    void status_snapshot_pages_through_every_account() {
+        String frozen = open();
+        accountService.changeStatus(frozen, AccountStatus.FROZEN);
+        long head = statusFeed.events(0, null).head();
+
+        AccountStatusSnapshotPage first = statusFeed.snapshot(null, 1);
+        assertThat(first.asOf()).isEqualTo(head);
+        assertThat(first.accounts()).hasSize(1);
+        assertThat(first.nextCursor()).isEqualTo(first.accounts().get(0).accountNumber());
+
+        List<AccountStatusSnapshotPage.Entry> all = new ArrayList<>(first.accounts());
+        String after = first.nextCursor();
+        while (after != null) {
+            AccountStatusSnapshotPage page = statusFeed.snapshot(after, 2);
+            all.addAll(page.accounts());
+            after = page.nextCursor();
+        }
+        assertThat(all).contains(new AccountStatusSnapshotPage.Entry(frozen, AccountStatus.FROZEN));
+        assertThat(all).extracting(AccountStatusSnapshotPage.Entry::accountNumber).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void malformed_numbers_are_rejected_without_a_lookup() {
+        assertThatThrownBy(() -> accountService.status("KABAN-2026-0000001"))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    private String open() {
+        return accountService.open(new OpenAccountRequest(UUID.randomUUID(), null, null)).accountNumber();
+    }
+
+    private void post(String number, String amount) {
+        jdbcTemplate.update(
+                "UPDATE accounts SET balance = balance + ?, updated_at = CURRENT_TIMESTAMP WHERE account_number = ?",
+                new BigDecimal(amount), number);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.exception.AccountNotFoundException;
+import com.example.account_service.model.Account;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.repository.AccountRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AccountSnapshotCache}, with a hand-driven ticker.
+ */
+class AccountSnapshotCacheTest {
+
+    private static final String NUMBER = AccountNumbers.format("KABAN", 2026, 42);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AccountRepository repository;
+    private AccountSnapshotCache cache;
+    private Account account;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(AccountRepository.class);
+        account = new Account();
+        account.setAccountNumber(NUMBER);
+        account.setBalance(new BigDecimal("100.0000"));
+        when(repository.findByAccountNumber(NUMBER)).thenAnswer(invocation -> Optional.of(copy(account)));
+        cache = new AccountSnapshotCache(repository, new AccountCacheProperties(),
+                Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneOffset.UTC), nanos::get);
+    }
+
+    @Test
+    void serves_repeated_reads_within_the_bound_from_memory() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get(NUMBER, Duration.ofSeconds(5)).balance()).isEqualByComparingTo("100");
+        }
+
+        verify(repository, times(1)).findByAccountNumber(NUMBER);
+    }
+
+    @Test
+    void reloads_once_the_snapshot_is_older_than_the_callers_bound() {
+        cache.get(NUMBER, Duration.ofSeconds(5));
+        account.setStatus(AccountStatus.FROZEN);
+        advance(Duration.ofMillis(1500));
+
+        // The balance read still accepts the snapshot, the status check does not.
+        assertThat(cache.get(NUMBER, Duration.ofSeconds(5)).status()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(cache.get(NUMBER, Duration.ofSeconds(1)).status()).isEqualTo(AccountStatus.FROZEN);
+        verify(repository, times(2)).findByAccountNumber(NUMBER);
+    }
+
+    @Test
+    void zero_staleness_always_reads_the_database() {
+        cache.get(NUMBER, Duration.ZERO);
+        advance(Duration.ofNanos(1));
+        cache.get(NUMBER, Duration.ZERO);
+
+        verify(repository, times(2)).findByAccountNumber(NUMBER);
+    }
+
+    @Test
+    void eviction_makes_the_next_read_load_again() {
+        cache.get(NUMBER, Duration.ofSeconds(5));
+        account.setBalance(new BigDecimal("250.0000"));
+
+        cache.evictAll(List.of(NUMBER, NUMBER));
+
+        assertThat(cache.get(NUMBER, Duration.ofSeconds(5)).balance()).isEqualByComparingTo("250");
+    }
+
+    @Test
+    void unknown_accounts_are_not_cached() {
+        String unknown = AccountNumbers.format("KABAN", 2026, 43);
+        when(repository.findByAccountNumber(unknown)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get(unknown, Duration.ofSeconds(5))).isInstanceOf(AccountNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(unknown, Duration.ofSeconds(5))).isInstanceOf(AccountNotFoundException.class);
+        verify(repository, times(2)).findByAccountNumber(unknown);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static Account copy(Account source) {
+        Account copy = new Account();
+        copy.setAccountNumber(source.getAccountNumber());
+        copy.setBalance(source.getBalance());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.account_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.config.BulkOpeningProperties;
+import com.example.account_service.config.ConditionalGetProperties;
+import com.example.account_service.config.RestClientConfig;
+import com.example.account_service.dto.AccountResponse;
+import com.example.account_service.dto.BulkOpenResult;
+import com.example.account_service.model.AccountType;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import com.example.account_service.repository.AccountStatusEventRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import com.example.account_service.service.status.AccountStatusFeed;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link BulkAccountOpeningService} on H2, with chunks and statements small enough that an upload spans
+ * several of each and ends on a partial one.
+ */
+@DataJpaTest
+@Import({
+        BulkAccountOpeningService.class,
+        BulkAccountOpeningServiceTest.Config.class,
+        AccountBatchRepository.class,
+        AccountService.class,
+        AccountSnapshotCache.class,
+        AccountCacheProperties.class,
+        AccountNumberAllocator.class,
+        AccountNumberBlockRepository.class,
+        AccountNumberProperties.class,
+        AccountLookupIndex.class,
+        AccountLookupProperties.class,
+        UserProfileRepository.class,
+        ResourceVersionCache.class,
+        ConditionalGetProperties.class,
+        AccountStatusFeed.class,
+        AccountStatusEventRepository.class,
+        RestClientConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkAccountOpeningServiceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        BulkOpeningProperties bulkOpeningProperties() {
+            BulkOpeningProperties properties = new BulkOpeningProperties();
+            properties.setChunkSize(4);
+            properties.setRowsPerStatement(3);
+            properties.setMaxRows(20);
+            return properties;
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+
+    @Autowired
+    private BulkAccountOpeningService bulkOpeningService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void opens_every_valid_row_and_reports_each_row_in_order() {
+        UUID owner = UUID.randomUUID();
+        StringBuilder upload = new StringBuilder();
+        for (int i = 0; i < 9; i++) {
+            upload.append("{\"userId\":\"").append(owner).append("\",\"accountType\":\"CHECKING\"}\n");
+        }
+        upload.append("\n");
+        upload.append("{not json\n");
+        upload.append("{\"userId\":\"").append(owner).append("\",\"currency\":\"php\"}\n");
+        upload.append("{\"accountType\":\"SAVINGS\"}\n");
+
+        List<List<BulkOpenResult>> chunks = new ArrayList<>();
+        BulkAccountOpeningService.Summary summary = bulkOpeningService.open(stream(upload), chunks::add);
+
+        assertThat(summary.received()).isEqualTo(12);
+        assertThat(summary.opened()).isEqualTo(9);
+        assertThat(summary.rejected()).isEqualTo(3);
+        assertThat(chunks).hasSize(3);
+
+        List<BulkOpenResult> results = chunks.stream().flatMap(List::stream).toList();
+        assertThat(results).extracting(BulkOpenResult::line)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 11L, 12L, 13L);
+        assertThat(results.subList(0, 9)).allSatisfy(result -> {
+            assertThat(result.status()).isEqualTo(BulkOpenResult.Status.OPENED);
+            assertThat(AccountNumbers.isValid(result.accountNumber())).isTrue();
+        });
+        assertThat(results.get(9).error()).isEqualTo("Malformed JSON");
+        assertThat(results.get(10).error()).startsWith("currency:");
+        assertThat(results.get(11).error()).startsWith("userId:");
+
+        List<AccountResponse> accounts = accountService.listForUser(owner);
+        assertThat(accounts).hasSize(9).allSatisfy(account -> {
+            assertThat(account.accountType()).isEqualTo(AccountType.CHECKING);
+            assertThat(account.balance()).isEqualByComparingTo("0");
+        });
+        assertThat(accounts).extracting(AccountResponse::accountNumber)
+                .containsExactlyInAnyOrderElementsOf(results.subList(0, 9).stream().map(BulkOpenResult::accountNumber).toList());
+    }
+
+    @Test
+    void stops_reading_past_the_row_limit() {
+        UUID owner = UUID.randomUUID();
+        StringBuilder upload = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            upload.append("{\"userId\":\"").append(owner).append("\"}\n");
+        }
+
+        List<BulkOpenResult> results = new ArrayList<>();
+        BulkAccountOpeningService.Summary summary = bulkOpeningService.open(stream(upload), results::addAll);
+
+        assertThat(summary.opened()).isEqualTo(20);
+        assertThat(results).hasSize(21);
+        assertThat(results.get(20).line()).isEqualTo(21);
+        assertThat(results.get(20).status()).isEqualTo(BulkOpenResult.Status.REJECTED);
+        assertThat(accountService.listForUser(owner)).hasSize(20);
+    }
+
+    private static ByteArrayInputStream stream(CharSequence upload) {
+        return new ByteArrayInputStream(upload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
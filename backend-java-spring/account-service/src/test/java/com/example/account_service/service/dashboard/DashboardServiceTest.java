@@ -0,0 +1,200 @@
+package com.example.account_service.service.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.config.DashboardProperties;
+import com.example.account_service.dto.AccountSummary;
+import com.example.account_service.dto.DashboardResponse;
+import com.example.account_service.dto.DashboardSection.State;
+import com.example.account_service.dto.RecentTransaction;
+import com.example.account_service.model.AccountStatus;
+import com.example.account_service.routing.BranchContext;
+import com.example.account_service.service.AccountSnapshot;
+import com.example.account_service.service.AccountSnapshotCache;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for {@link DashboardService}: aggregation, per-section deadlines and snapshot fallback.
+ */
+class DashboardServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final List<String> NUMBERS = List.of("KABAN-2026-0000018", "KABAN-2026-0000026", "KABAN-2026-0000034");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T00:00:00Z"));
+    private AccountSnapshotCache snapshotCache;
+    private RecentActivityClient activityClient;
+    private DashboardProperties properties;
+    private DashboardService service;
+
+    @BeforeEach
+    void setup() {
+        snapshotCache = mock(AccountSnapshotCache.class);
+        activityClient = mock(RecentActivityClient.class);
+        when(snapshotCache.accountNumbers(USER)).thenReturn(NUMBERS);
+        stub(NUMBERS.get(0), "100.00", AccountStatus.ACTIVE);
+        stub(NUMBERS.get(1), "50.00", AccountStatus.FROZEN);
+        stub(NUMBERS.get(2), "0.00", AccountStatus.CLOSED);
+        properties = new DashboardProperties();
+        properties.setActivityTimeout(Duration.ofMillis(200));
+        service = new DashboardService(snapshotCache, activityClient, properties, new AccountCacheProperties(), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sums_available_and_total_balances_and_lists_open_accounts() {
+        when(activityClient.recent(anyList(), anyInt())).thenReturn(List.of(transaction()));
+
+        DashboardResponse dashboard = service.dashboard(USER);
+
+        assertThat(dashboard.accounts().state()).isEqualTo(State.OK);
+        AccountSummary summary = dashboard.accounts().data();
+        assertThat(summary.balances()).singleElement().satisfies(balances -> {
+            assertThat(balances.currency()).isEqualTo("PHP");
+            assertThat(balances.available()).isEqualByComparingTo("100");
+            assertThat(balances.total()).isEqualByComparingTo("150");
+        });
+        assertThat(summary.accounts()).extracting(AccountSummary.Item::status)
+                .containsExactly(AccountStatus.ACTIVE, AccountStatus.FROZEN);
+        assertThat(dashboard.recentTransactions().state()).isEqualTo(State.OK);
+        assertThat(dashboard.recentTransactions().data()).hasSize(1);
+        verify(activityClient).recent(NUMBERS, 5);
+    }
+
+    @Test
+    void every_section_loads_with_the_callers_branch() {
+        Queue<String> branches = new ConcurrentLinkedQueue<>();
+        when(snapshotCache.accountNumbers(USER)).thenAnswer(invocation -> {
+            // Completes after the dependent sections are chained, so they run on dashboard threads.
+            Thread.sleep(50);
+            branches.add(String.valueOf(BranchContext.current()));
+            return NUMBERS;
+        });
+        for (String number : NUMBERS) {
+            when(snapshotCache.get(number, Duration.ofSeconds(5))).thenAnswer(invocation -> {
+                branches.add(String.valueOf(BranchContext.current()));
+                return new AccountSnapshot(number, USER, BigDecimal.ONE, "PHP", AccountStatus.ACTIVE, clock.instant());
+            });
+        }
+        when(activityClient.recent(anyList(), anyInt())).thenAnswer(invocation -> {
+            branches.add(String.valueOf(BranchContext.current()));
+            return List.of(transaction());
+        });
+
+        DashboardResponse dashboard;
+        try (BranchContext.Scope ignored = BranchContext.enter("mnl")) {
+            dashboard = service.dashboard(USER);
+        }
+
+        assertThat(dashboard.accounts().state()).isEqualTo(State.OK);
+        assertThat(dashboard.recentTransactions().state()).isEqualTo(State.OK);
+        assertThat(branches).hasSize(5).containsOnly("MNL");
+    }
+
+    @Test
+    void returns_the_accounts_when_transaction_service_is_slow() {
+        when(activityClient.recent(anyList(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of(transaction());
+        });
+
+        long started = System.nanoTime();
+        DashboardResponse dashboard = service.dashboard(USER);
+        long elapsed = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(elapsed).isLessThan(1_000);
+        assertThat(dashboard.accounts().state()).isEqualTo(State.OK);
+        assertThat(dashboard.recentTransactions().state()).isEqualTo(State.UNAVAILABLE);
+        assertThat(dashboard.recentTransactions().data()).isNull();
+    }
+
+    @Test
+    void reuses_recent_activity_within_its_staleness_bound() {
+        when(activityClient.recent(anyList(), anyInt())).thenReturn(List.of(transaction()));
+
+        service.dashboard(USER);
+        clock.advance(Duration.ofSeconds(4));
+        DashboardResponse second = service.dashboard(USER);
+
+        assertThat(second.recentTransactions().state()).isEqualTo(State.OK);
+        verify(activityClient, times(1)).recent(anyList(), anyInt());
+    }
+
+    @Test
+    void falls_back_to_the_last_snapshot_when_transaction_service_fails() {
+        when(activityClient.recent(anyList(), anyInt()))
+                .thenReturn(List.of(transaction()))
+                .thenThrow(new ResourceAccessException("connection refused"));
+        Instant firstLoad = clock.instant();
+
+        service.dashboard(USER);
+        clock.advance(Duration.ofSeconds(30));
+        DashboardResponse dashboard = service.dashboard(USER);
+
+        assertThat(dashboard.recentTransactions().state()).isEqualTo(State.STALE);
+        assertThat(dashboard.recentTransactions().asOf()).isEqualTo(firstLoad);
+        assertThat(dashboard.recentTransactions().data()).hasSize(1);
+    }
+
+    private void stub(String number, String balance, AccountStatus status) {
+        when(snapshotCache.get(number, Duration.ofSeconds(5)))
+                .thenReturn(new AccountSnapshot(number, USER, new BigDecimal(balance), "PHP", status, clock.instant()));
+    }
+
+    private RecentTransaction transaction() {
+        return new RecentTransaction(UUID.randomUUID(), NUMBERS.get(0), "DEPOSIT", new BigDecimal("100.00"),
+                "Salary", "COMPLETED", clock.instant());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.account_service.service.interest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.config.AccountCacheProperties;
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.config.AccountNumberProperties;
+import com.example.account_service.config.ConditionalGetProperties;
+import com.example.account_service.config.RestClientConfig;
+import com.example.account_service.config.InterestAccrualProperties;
+import com.example.account_service.dto.OpenAccountRequest;
+import com.example.account_service.model.AccountType;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.AccountNumberBlockRepository;
+import com.example.account_service.repository.AccountStatusEventRepository;
+import com.example.account_service.repository.InterestAccrualRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.AccountNumberAllocator;
+import com.example.account_service.service.AccountService;
+import com.example.account_service.service.AccountSnapshotCache;
+import com.example.account_service.service.ResourceVersionCache;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import com.example.account_service.service.status.AccountStatusFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link InterestAccrualJob} on H2 in PostgreSQL mode, for {@code ON CONFLICT}. H2 has no ledger trigger, so
+ * postings are checked in {@code transactions} rather than in balances. Tests share the database, hence a
+ * fresh accrual date per test.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:interest-accrual;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        InterestAccrualJob.class,
+        InterestAccrualRepository.class,
+        InterestAccrualProperties.class,
+        InterestAccrualJobTest.Metrics.class,
+        AccountService.class,
+        AccountSnapshotCache.class,
+        AccountCacheProperties.class,
+        AccountNumberAllocator.class,
+        AccountNumberBlockRepository.class,
+        AccountNumberProperties.class,
+        AccountLookupIndex.class,
+        AccountBatchRepository.class,
+        AccountLookupProperties.class,
+        UserProfileRepository.class,
+        ResourceVersionCache.class,
+        ConditionalGetProperties.class,
+        AccountStatusFeed.class,
+        AccountStatusEventRepository.class,
+        RestClientConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InterestAccrualJobTest {
+
+    private static final AtomicLong DAYS = new AtomicLong();
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private InterestAccrualJob job;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private InterestAccrualProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate accrualDate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS transactions (
+                    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+                    account_id BIGINT NOT NULL,
+                    type TEXT NOT NULL,
+                    amount NUMERIC(19, 4) NOT NULL CHECK (amount > 0),
+                    description TEXT,
+                    reference_number TEXT UNIQUE,
+                    status TEXT,
+                    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+                )""");
+        properties.setChunkSize(2);
+        // Today or later, so accounts opened by the test are included.
+        accrualDate = LocalDate.now(properties.getZone()).plusDays(DAYS.getAndIncrement());
+    }
+
+    @Test
+    void daily_interest_is_exact_and_rounded_half_even() {
+        BigDecimal rate = new BigDecimal("0.0025");
+
+        assertThat(InterestAccrualJob.dailyInterest(new BigDecimal("10000"), rate, 365)).isEqualTo("0.0685");
+        assertThat(InterestAccrualJob.dailyInterest(new BigDecimal("1000000.00"), rate, 365)).isEqualTo("6.8493");
+        assertThat(InterestAccrualJob.dailyInterest(new BigDecimal("21.9"), rate, 365)).isEqualTo("0.0002");
+        assertThat(InterestAccrualJob.dailyInterest(new BigDecimal("7.3"), rate, 365)).isEqualTo("0.0000");
+    }
+
+    @Test
+    void posts_one_interest_entry_per_earning_savings_account_and_date() {
+        String savings = open(AccountType.SAVINGS, "10000");
+        String large = open(AccountType.SAVINGS, "1000000.00");
+        String checking = open(AccountType.CHECKING, "10000");
+        String empty = open(AccountType.SAVINGS, "0");
+        String closed = open(AccountType.SAVINGS, "10000");
+        jdbcTemplate.update("UPDATE accounts SET status = 'CLOSED' WHERE account_number = ?", closed);
+
+        InterestAccrualRepository.Run run = job.run(accrualDate);
+
+        assertThat(run.completed()).isTrue();
+        assertThat(interest(savings)).isEqualByComparingTo("0.0685");
+        assertThat(interest(large)).isEqualByComparingTo("6.8493");
+        assertThat(entries(checking) + entries(empty) + entries(closed)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT reference_number FROM transactions t JOIN accounts a ON a.id = t.account_id
+                WHERE a.account_number = ?""", String.class, savings))
+                .isEqualTo("INT-" + accrualDate + "-" + savings);
+        assertThat(meterRegistry.get("interest.accrual.postings").counter().count()).isGreaterThanOrEqualTo(2);
+
+        job.run(accrualDate);
+
+        assertThat(entries(savings)).isEqualTo(1);
+        assertThat(entries(large)).isEqualTo(1);
+    }
+
+    @Test
+    void an_interrupted_run_resumes_after_its_checkpoint() {
+        String done = open(AccountType.SAVINGS, "10000");
+        String pending = open(AccountType.SAVINGS, "10000");
+        long checkpoint = jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE account_number = ?",
+                Long.class, done);
+        jdbcTemplate.update("""
+                INSERT INTO interest_accrual_runs (accrual_date, status, annual_rate, day_count, last_account_id)
+                VALUES (?, 'RUNNING', 0.0025, 365, ?)""", accrualDate, checkpoint);
+        assertThat(jdbcTemplate.queryForList("SELECT accrual_date FROM interest_accrual_runs WHERE status = 'RUNNING'",
+                LocalDate.class)).contains(accrualDate);
+
+        job.resumeUnfinished();
+
+        assertThat(entries(done)).isZero();
+        assertThat(interest(pending)).isEqualByComparingTo("0.0685");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM interest_accrual_runs WHERE accrual_date = ?",
+                String.class, accrualDate)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void a_run_keeps_the_rate_it_started_with() {
+        String savings = open(AccountType.SAVINGS, "10000");
+        jdbcTemplate.update("""
+                INSERT INTO interest_accrual_runs (accrual_date, status, annual_rate, day_count)
+                VALUES (?, 'RUNNING', 0.0365, 365)""", accrualDate);
+
+        job.run(accrualDate);
+
+        assertThat(interest(savings)).isEqualByComparingTo("1.0000");
+    }
+
+    @Test
+    void catches_up_on_days_after_the_last_completed_run_within_the_limit() {
+        // Later than any other test's date, so this is the last completed run.
+        LocalDate completed = accrualDate.plusYears(10);
+        jdbcTemplate.update("""
+                INSERT INTO interest_accrual_runs (accrual_date, status, annual_rate, day_count)
+                VALUES (?, 'COMPLETED', 0.0025, 365)""", completed);
+
+        job.catchUp(completed.plusDays(3));
+
+        assertThat(completedRuns(completed.plusDays(1), completed.plusDays(10)))
+                .containsExactly(completed.plusDays(1), completed.plusDays(2), completed.plusDays(3));
+
+        properties.setMaxCatchUpDays(2);
+        try {
+            job.catchUp(completed.plusDays(8));
+        } finally {
+            properties.setMaxCatchUpDays(7);
+        }
+
+        assertThat(completedRuns(completed.plusDays(4), completed.plusDays(10)))
+                .containsExactly(completed.plusDays(7), completed.plusDays(8));
+    }
+
+    private List<LocalDate> completedRuns(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForList("""
+                SELECT accrual_date FROM interest_accrual_runs
+                WHERE status = 'COMPLETED' AND accrual_date BETWEEN ? AND ?
+                ORDER BY accrual_date""", LocalDate.class, from, to);
+    }
+
+    private String open(AccountType type, String balance) {
+        String number = accountService.open(new OpenAccountRequest(UUID.randomUUID(), type, null)).accountNumber();
+        jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE account_number = ?", new BigDecimal(balance), number);
+        return number;
+    }
+
+    private BigDecimal interest(String accountNumber) {
+        return jdbcTemplate.queryForObject("""
+                SELECT t.amount FROM transactions t JOIN accounts a ON a.id = t.account_id
+                WHERE a.account_number = ? AND t.type = 'INTEREST'""", BigDecimal.class, accountNumber);
+    }
+
+    private int entries(String accountNumber) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.account_id
+                WHERE a.account_number = ?""", Integer.class, accountNumber);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.account_service.service.lookup;
+
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.AccountNumbers;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Measures admin lookups against an {@link AccountLookupIndex} holding {@code accounts} accounts, one owner
+ * per account, while no writes are going on. Queries are random prefixes long enough to match about twenty
+ * hits, the size of a result page.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AccountLookupIndexBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AccountLookupIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int accounts;
+
+    private AccountLookupIndex index;
+
+    @Setup
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:lookup-benchmark");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        index = new AccountLookupIndex(new AccountBatchRepository(jdbcTemplate), new UserProfileRepository(jdbcTemplate),
+                new AccountLookupProperties(), new DataSourceTransactionManager(dataSource));
+        for (int serial = 1; serial <= accounts; serial++) {
+            UUID owner = UUID.randomUUID();
+            index.accountOpened(AccountNumbers.format("KABAN", 2026, serial), owner);
+            index.ownerRegistered(owner, "user" + serial + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public List<?> accountNumberPrefix() {
+        // Drops the last digit and the check digit: ten serials share the prefix.
+        String number = AccountNumbers.format("KABAN", 2026, ThreadLocalRandom.current().nextInt(1, accounts));
+        return index.lookup(number.substring(0, number.length() - 2), 20);
+    }
+
+    @Benchmark
+    public List<?> emailPrefix() {
+        return index.lookup("user" + ThreadLocalRandom.current().nextInt(1, accounts / 10), 20);
+    }
+}
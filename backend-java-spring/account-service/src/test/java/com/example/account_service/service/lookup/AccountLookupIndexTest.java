@@ -0,0 +1,105 @@
+package com.example.account_service.service.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.dto.AccountLookupResult;
+import com.example.account_service.dto.AccountLookupStats;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for {@link AccountLookupIndex} on an in-memory H2 database. The {@code accounts} table, normally
+ * created by Hibernate, is reduced to the two columns the index reads.
+ */
+class AccountLookupIndexTest {
+
+    private static final UUID JUAN = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final UUID MARIA = UUID.fromString("00000000-0000-0000-0000-0000000000b2");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private AccountLookupIndex index;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (account_number TEXT PRIMARY KEY, user_id UUID NOT NULL)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        index = new AccountLookupIndex(new AccountBatchRepository(jdbcTemplate),
+                new UserProfileRepository(jdbcTemplate), new AccountLookupProperties(), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void finds_accounts_by_number_prefix_owner_id_and_email_prefix() {
+        index.accountOpened("KABAN-2026-0000018", JUAN);
+        index.accountOpened("KABAN-2026-0000026", JUAN);
+        index.accountOpened("KABAN-2026-0001016", MARIA);
+        index.ownerRegistered(JUAN, "Juan.Cruz@example.com");
+        index.ownerRegistered(MARIA, "maria@example.com");
+
+        assertThat(index.lookup("kaban-2026-00000", 10)).containsExactly(
+                new AccountLookupResult("KABAN-2026-0000018", JUAN, "juan.cruz@example.com"),
+                new AccountLookupResult("KABAN-2026-0000026", JUAN, "juan.cruz@example.com"));
+        assertThat(index.lookup(MARIA.toString(), 10)).containsExactly(
+                new AccountLookupResult("KABAN-2026-0001016", MARIA, "maria@example.com"));
+        assertThat(index.lookup("JUAN.", 10)).extracting(AccountLookupResult::accountNumber)
+                .containsExactly("KABAN-2026-0000018", "KABAN-2026-0000026");
+        assertThat(index.lookup("KABAN", 2)).hasSize(2);
+        assertThat(index.lookup("nobody", 10)).isEmpty();
+    }
+
+    @Test
+    void indexes_writes_only_when_their_transaction_commits() {
+        transaction.executeWithoutResult(status -> {
+            index.accountOpened("KABAN-2026-0000018", JUAN);
+            assertThat(index.lookup("KABAN", 10)).isEmpty();
+        });
+        transaction.executeWithoutResult(status -> {
+            index.accountOpened("KABAN-2026-0000026", MARIA);
+            status.setRollbackOnly();
+        });
+
+        assertThat(index.lookup("KABAN", 10)).extracting(AccountLookupResult::accountNumber)
+                .containsExactly("KABAN-2026-0000018");
+    }
+
+    @Test
+    void rebuild_loads_the_database_and_reports_its_size() {
+        jdbcTemplate.update("INSERT INTO accounts VALUES ('KABAN-2026-0000018', ?)", JUAN);
+        jdbcTemplate.update("INSERT INTO accounts VALUES ('KABAN-2026-0001016', ?)", MARIA);
+        jdbcTemplate.update("INSERT INTO user_profiles (id, email, first_name, last_name) VALUES (?, ?, 'Juan', 'Cruz')",
+                JUAN, "juan@example.com");
+        index.accountOpened("KABAN-2026-0000026", JUAN);
+
+        AccountLookupStats stats = index.rebuild();
+
+        assertThat(stats.accounts()).isEqualTo(2);
+        assertThat(stats.owners()).isEqualTo(2);
+        assertThat(stats.emails()).isEqualTo(1);
+        assertThat(stats.estimatedBytes()).isPositive();
+        assertThat(stats.lastRebuiltAt()).isNotNull();
+        // Only what the database holds survives a rebuild.
+        assertThat(index.lookup("juan@", 10)).extracting(AccountLookupResult::accountNumber)
+                .containsExactly("KABAN-2026-0000018");
+    }
+}
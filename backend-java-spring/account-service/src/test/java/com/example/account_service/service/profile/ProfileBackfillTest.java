@@ -0,0 +1,89 @@
+package com.example.account_service.service.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.config.UserProfileProperties;
+import com.example.account_service.dto.AccountLookupResult;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Tests for {@link ProfileBackfill} against a mocked auth-service and an in-memory H2 database.
+ */
+class ProfileBackfillTest {
+
+    private static final String A = "00000000-0000-0000-0000-00000000000a";
+    private static final String B = "00000000-0000-0000-0000-00000000000b";
+    private static final String C = "00000000-0000-0000-0000-00000000000c";
+
+    private JdbcTemplate jdbcTemplate;
+    private MockRestServiceServer authService;
+    private AccountLookupIndex lookupIndex;
+    private ProfileBackfill backfill;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        RestClient.Builder builder = RestClient.builder();
+        authService = MockRestServiceServer.bindTo(builder).build();
+        UserProfileProperties properties = new UserProfileProperties();
+        properties.setBackfillPageSize(2);
+        UserProfileRepository repository = new UserProfileRepository(jdbcTemplate);
+        lookupIndex = new AccountLookupIndex(new AccountBatchRepository(jdbcTemplate), repository,
+                new AccountLookupProperties(), new DataSourceTransactionManager(dataSource));
+        backfill = new ProfileBackfill(new AuthUserClient(builder, "http://auth", "s3cret"), repository, properties, lookupIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void creates_placeholder_profiles_for_users_without_one() {
+        jdbcTemplate.update("INSERT INTO user_profiles (id, first_name, last_name) VALUES (?, 'Maria', 'Santos')",
+                UUID.fromString(B));
+        authService.expect(requestTo("http://auth/internal/auth/users?limit=2"))
+                .andExpect(header("X-Internal-Token", "s3cret"))
+                .andRespond(withSuccess("{\"users\":[" + user(A) + "," + user(B) + "],\"nextCursor\":\"" + B + "\"}",
+                        MediaType.APPLICATION_JSON));
+        authService.expect(requestTo("http://auth/internal/auth/users?limit=2&after=" + B))
+                .andRespond(withSuccess("{\"users\":[" + user(C) + "],\"nextCursor\":null}", MediaType.APPLICATION_JSON));
+
+        ProfileBackfill.Result result = backfill.run();
+
+        authService.verify();
+        assertThat(result).isEqualTo(new ProfileBackfill.Result(3, 2));
+        assertThat(jdbcTemplate.queryForList("SELECT first_name FROM user_profiles ORDER BY id", String.class))
+                .containsExactly("New", "Maria", "New");
+        assertThat(jdbcTemplate.queryForObject("SELECT email FROM user_profiles WHERE id = ?", String.class,
+                UUID.fromString(B))).isEqualTo("user-b@example.com");
+        assertThat(lookupIndex.lookup("user-", 10)).extracting(AccountLookupResult::userId)
+                .containsExactly(UUID.fromString(A), UUID.fromString(B), UUID.fromString(C));
+    }
+
+    private static String user(String id) {
+        return "{\"id\":\"" + id + "\",\"email\":\"user-" + id.charAt(id.length() - 1) + "@example.com\"}";
+    }
+}
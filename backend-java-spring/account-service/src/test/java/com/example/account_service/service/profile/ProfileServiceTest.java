@@ -0,0 +1,79 @@
+package com.example.account_service.service.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.account_service.config.ConditionalGetProperties;
+import com.example.account_service.dto.ProfileResponse;
+import com.example.account_service.dto.UserRegisteredEvent;
+import com.example.account_service.exception.ProfileNotFoundException;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.ResourceVersion;
+import com.example.account_service.service.ResourceVersionCache;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Tests for {@link ProfileService} against an in-memory H2 database.
+ */
+class ProfileServiceTest {
+
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    private JdbcTemplate jdbcTemplate;
+    private UserProfileRepository repository;
+    private ProfileService profileService;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new UserProfileRepository(jdbcTemplate);
+        profileService = new ProfileService(repository, new ResourceVersionCache(new ConditionalGetProperties()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void a_read_records_the_profiles_version() {
+        repository.createMissing(List.of(new UserRegisteredEvent(USER, null, "Maria", "Santos")));
+        assertThat(profileService.knownVersion(USER)).isNull();
+
+        ProfileResponse profile = profileService.get(USER);
+
+        assertThat(profile.firstName()).isEqualTo("Maria");
+        assertThat(profile.email()).isNull();
+        assertThat(profileService.knownVersion(USER)).isEqualTo(ResourceVersion.of(profile.updatedAt()));
+    }
+
+    @Test
+    void filling_in_the_email_changes_the_version() {
+        repository.createMissing(List.of(new UserRegisteredEvent(USER, null, "Maria", "Santos")));
+        jdbcTemplate.update("UPDATE user_profiles SET updated_at = TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00Z'");
+        ProfileResponse before = profileService.get(USER);
+
+        repository.fillMissingEmails(List.of(new UserRegisteredEvent(USER, "maria@example.com", "Maria", "Santos")));
+
+        ProfileResponse after = profileService.get(USER);
+        assertThat(after.email()).isEqualTo("maria@example.com");
+        assertThat(ResourceVersion.of(after.updatedAt())).isNotEqualTo(ResourceVersion.of(before.updatedAt()));
+    }
+
+    @Test
+    void unknown_users_have_no_profile() {
+        assertThatThrownBy(() -> profileService.get(USER)).isInstanceOf(ProfileNotFoundException.class);
+        assertThat(profileService.knownVersion(USER)).isNull();
+    }
+}
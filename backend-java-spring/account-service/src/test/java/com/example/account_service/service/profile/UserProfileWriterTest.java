@@ -0,0 +1,106 @@
+package com.example.account_service.service.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.account_service.config.AccountLookupProperties;
+import com.example.account_service.config.UserProfileProperties;
+import com.example.account_service.dto.AccountLookupResult;
+import com.example.account_service.dto.UserRegisteredEvent;
+import com.example.account_service.exception.ProfileQueueFullException;
+import com.example.account_service.repository.AccountBatchRepository;
+import com.example.account_service.repository.UserProfileRepository;
+import com.example.account_service.service.lookup.AccountLookupIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Tests for {@link UserProfileWriter} and {@link UserProfileRepository} against the {@code schema.sql}
+ * table on an in-memory H2 database in PostgreSQL mode.
+ */
+class UserProfileWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserProfileRepository repository;
+    private UserProfileProperties properties;
+    private AccountLookupIndex lookupIndex;
+
+    @BeforeEach
+    void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new UserProfileRepository(jdbcTemplate);
+        lookupIndex = new AccountLookupIndex(new AccountBatchRepository(jdbcTemplate), repository,
+                new AccountLookupProperties(), new DataSourceTransactionManager(dataSource));
+        properties = new UserProfileProperties();
+        properties.setBatchSize(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void createMissing_never_overwrites_an_existing_profile() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO user_profiles (id, first_name, last_name) VALUES (?, 'Maria', 'Santos')", id);
+
+        int created = repository.createMissing(List.of(
+                new UserRegisteredEvent(id, null, "New", "Customer"),
+                new UserRegisteredEvent(UUID.randomUUID(), "jose@example.com", "Jose", "Rizal")));
+
+        assertThat(created).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT first_name FROM user_profiles WHERE id = ?", String.class, id))
+                .isEqualTo("Maria");
+    }
+
+    @Test
+    void writes_every_queued_event_once_per_user() {
+        UserProfileWriter writer = new UserProfileWriter(repository, properties, lookupIndex);
+        List<UserRegisteredEvent> events = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            events.add(new UserRegisteredEvent(UUID.randomUUID(), "user" + i + "@example.com", "First" + i, "Last" + i));
+        }
+        UserRegisteredEvent redelivered = events.get(7);
+
+        writer.submitAll(events.subList(0, 60));
+        writer.submitAll(List.of(redelivered, redelivered));
+        writer.submitAll(events.subList(60, 120));
+        writer.shutdown();
+
+        assertThat(writer.pending()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_profiles", Integer.class)).isEqualTo(120);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_name FROM user_profiles WHERE id = ?", String.class,
+                redelivered.userId())).isEqualTo("Last7");
+        assertThat(lookupIndex.lookup("USER7@example.com", 10))
+                .containsExactly(new AccountLookupResult(null, redelivered.userId(), "user7@example.com"));
+    }
+
+    @Test
+    void rejects_a_batch_that_does_not_fit() {
+        properties.setCapacity(2);
+        UserProfileWriter writer = new UserProfileWriter(repository, properties, lookupIndex);
+        try {
+            assertThatThrownBy(() -> writer.submitAll(List.of(
+                    new UserRegisteredEvent(UUID.randomUUID(), null, "A", "A"),
+                    new UserRegisteredEvent(UUID.randomUUID(), null, "B", "B"),
+                    new UserRegisteredEvent(UUID.randomUUID(), null, "C", "C"))))
+                    .isInstanceOf(ProfileQueueFullException.class);
+        } finally {
+            writer.shutdown();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_profiles", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.auth_service.config;
+
+import com.example.auth_service.model.UserAccount;
+import com.example.auth_service.model.VerificationToken;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the Hibernate second-level cache to bounded, in-process Caffeine caches.
+ *
+ * <p>Every region is created up front with an explicit size limit, and Hibernate is told to fail on
+ * startup if an entity asks for a region that is not declared here. That keeps a newly annotated entity
+ * from silently getting an unbounded cache.</p>
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    /**
+     * Creates the JCache manager holding one Caffeine cache per Hibernate region.
+     *
+     * <p>The manager gets a unique URI so that several application contexts in one JVM (as in tests)
+     * never share, or close, each other's caches.</p>
+     *
+     * @param properties region sizes and TTL
+     * @return a manager owned by this context
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:auth-service:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(UserAccount.CACHE_REGION, region(properties.getUsersMaxSize(), properties));
+        cacheManager.createCache(UserAccount.NATURAL_ID_CACHE_REGION, region(properties.getUsersMaxSize(), properties));
+        cacheManager.createCache(VerificationToken.CACHE_REGION, region(properties.getTokensMaxSize(), properties));
+        return cacheManager;
+    }
+
+    /**
+     * Enables the second-level cache on the JPA persistence unit.
+     *
+     * @param entityCacheManager the manager from {@link #entityCacheManager(EntityCacheProperties)}
+     * @param properties         controls whether Hibernate statistics are collected
+     * @return the customizer applied by Spring Boot's Hibernate auto-configuration
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager, EntityCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatisticsEnabled());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, EntityCacheProperties properties) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+        return configuration;
+    }
+}
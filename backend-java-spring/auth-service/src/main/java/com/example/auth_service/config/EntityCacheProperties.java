@@ -0,0 +1,63 @@
+package com.example.auth_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the Hibernate second-level cache.
+ *
+ * <p>Each region is bounded by entry count and a write TTL. The TTL is a safety net for writes made
+ * outside this service; in-service writes are invalidated explicitly.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheProperties {
+
+    @Min(1)
+    private long usersMaxSize = 50_000;
+
+    @Min(1)
+    private long tokensMaxSize = 10_000;
+
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(10);
+
+    private boolean statisticsEnabled = true;
+
+    public long getUsersMaxSize() {
+        return usersMaxSize;
+    }
+
+    public void setUsersMaxSize(long usersMaxSize) {
+        this.usersMaxSize = usersMaxSize;
+    }
+
+    public long getTokensMaxSize() {
+        return tokensMaxSize;
+    }
+
+    public void setTokensMaxSize(long tokensMaxSize) {
+        this.tokensMaxSize = tokensMaxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+}
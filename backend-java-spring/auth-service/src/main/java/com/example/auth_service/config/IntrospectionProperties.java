@@ -0,0 +1,52 @@
+package com.example.auth_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the internal token introspection endpoint.
+ *
+ * <p>{@code cacheTtl} is an upper bound: an active token is never cached past its own expiry.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.introspection")
+public class IntrospectionProperties {
+
+    @NotNull
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    @Min(1)
+    private long cacheMaxSize = 100_000;
+
+    @Min(1)
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
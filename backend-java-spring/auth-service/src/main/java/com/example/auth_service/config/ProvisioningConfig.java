@@ -0,0 +1,21 @@
+package com.example.auth_service.config;
+
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Infrastructure for bulk user provisioning.
+ *
+ * <p>BCrypt is deliberately slow, so hashing thousands of passwords is CPU-bound work. It runs on a
+ * bounded {@link ForkJoinPool} owned by this service instead of the common pool, which keeps imports
+ * from competing with parallel streams elsewhere in the JVM.</p>
+ */
+@Configuration
+public class ProvisioningConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    ForkJoinPool passwordHashingPool(ProvisioningProperties properties) {
+        return new ForkJoinPool(properties.getHashParallelism());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.auth_service.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for admin bulk user provisioning.
+ *
+ * <p>{@code chunkSize} bounds how many rows are hashed, inserted and published together; it also caps
+ * the memory an import holds at once. It is at most 1000, the largest batch notification-service accepts;
+ * the publisher splits larger batches anyway. {@code hashParallelism} sizes the dedicated BCrypt pool so bulk
+ * imports cannot starve request threads of CPU.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.provisioning")
+public class ProvisioningProperties {
+
+    @Min(1)
+    @Max(1000)
+    private int chunkSize = 500;
+
+    @Min(1)
+    private int hashParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    @Min(0)
+    private int maxReportedErrors = 1000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getHashParallelism() {
+        return hashParallelism;
+    }
+
+    public void setHashParallelism(int hashParallelism) {
+        this.hashParallelism = hashParallelism;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.dto.BulkProvisioningResponse;
+import com.example.auth_service.dto.EntityCacheStatistics;
+import com.example.auth_service.dto.RoleChangeRequest;
+import com.example.auth_service.dto.UserSearchResponse;
+import com.example.auth_service.service.BulkUserProvisioningService;
+import com.example.auth_service.service.UserAccountCache;
+import com.example.auth_service.service.UserAdministrationService;
+import com.example.auth_service.service.UserSearchService;
+import jakarta.validation.Valid;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin-only user management endpoints.
+ *
+ * <p>Access is restricted to {@code ROLE_ADMIN} and {@code ROLE_SUPER_ADMIN} in
+ * {@link com.example.auth_service.config.SecurityConfig}.</p>
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final BulkUserProvisioningService bulkUserProvisioningService;
+    private final UserSearchService userSearchService;
+    private final UserAdministrationService userAdministrationService;
+    private final UserAccountCache userAccountCache;
+
+    /**
+     * Provisions users from an NDJSON upload, one registration request per line.
+     *
+     * <p>The body is consumed as a stream, so files with thousands of rows are never buffered in memory.
+     * Rows that fail validation or collide with existing accounts are reported individually; the
+     * remaining rows are still imported.</p>
+     *
+     * @param body the raw NDJSON request body
+     * @return a {@link BulkProvisioningResponse} summarizing the import
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    public ResponseEntity<BulkProvisioningResponse> bulkProvision(InputStream body) {
+        return ResponseEntity.ok(bulkUserProvisioningService.provision(body));
+    }
+
+    /**
+     * Searches users by email for the admin "User Lookup" screen.
+     *
+     * <p>Results are keyset-paginated: pass the previous response's {@code nextCursor} as {@code after}
+     * to fetch the next page.</p>
+     *
+     * @param q     the email text to search for
+     * @param mode  {@code prefix} (default) or {@code contains}
+     * @param after cursor from the previous page
+     * @param limit page size (default 20, max 100)
+     * @return a page of {@link com.example.auth_service.dto.UserSummary} results
+     */
+    @GetMapping("/search")
+    public ResponseEntity<UserSearchResponse> search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "mode", required = false) @Nullable String mode,
+            @RequestParam(value = "after", required = false) @Nullable String after,
+            @RequestParam(value = "limit", required = false) @Nullable Integer limit
+    ) {
+        return ResponseEntity.ok(userSearchService.search(q, mode, after, limit));
+    }
+
+    /**
+     * Deactivates a user. The cached account is evicted so the change applies to the user's next request.
+     *
+     * @param id the user id
+     * @return 204 on success, 404 if the user does not exist
+     */
+    @PostMapping("/{id}/deactivate")
+    public ResponseEntity<Void> deactivate(@PathVariable("id") String id) {
+        userAdministrationService.deactivate(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Changes a user's role. Restricted to {@code ROLE_SUPER_ADMIN}.
+     *
+     * @param id      the user id
+     * @param request the new role
+     * @return 204 on success, 404 if the user does not exist
+     */
+    @PutMapping("/{id}/role")
+    public ResponseEntity<Void> changeRole(@PathVariable("id") String id, @Valid @RequestBody RoleChangeRequest request) {
+        userAdministrationService.changeRole(id, request.role());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Reports second-level cache hit, miss and put counts for user accounts and verification tokens.
+     *
+     * @return cache statistics since startup
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<EntityCacheStatistics> cacheStatistics() {
+        return ResponseEntity.ok(userAccountCache.statistics());
+    }
+}
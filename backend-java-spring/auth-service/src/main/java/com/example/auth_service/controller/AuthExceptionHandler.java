@@ -4,6 +4,7 @@ import com.example.auth_service.exception.EmailNotVerifiedException;
 import com.example.auth_service.exception.InvalidTokenException;
 import com.example.auth_service.exception.TokenExpiredException;
 import com.example.auth_service.exception.UserAlreadyExistsException;
+import com.example.auth_service.exception.UserNotFoundException;
 import java.time.Instant;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -62,6 +63,15 @@ public class AuthExceptionHandler {
         );
     }
 
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFound(UserNotFoundException ex) {
+        // 404 for admin operations on an unknown user id.
+        return new ResponseEntity<>(
+                new ErrorResponse(404, ex.getMessage(), Instant.now().toString()),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentials(BadCredentialsException ex) {
         // 401 for invalid credentials / authentication failure.
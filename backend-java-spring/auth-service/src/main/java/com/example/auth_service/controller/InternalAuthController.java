@@ -0,0 +1,59 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.dto.IntrospectionRequest;
+import com.example.auth_service.dto.IntrospectionResponse;
+import com.example.auth_service.dto.UserIdPage;
+import com.example.auth_service.service.TokenIntrospectionService;
+import com.example.auth_service.service.UserSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service authentication endpoints.
+ *
+ * <p>These endpoints are intended for internal callers (gateway, batch jobs), not public clients.
+ * Keep {@code /internal/**} behind network controls (private network, gateway allowlist).</p>
+ */
+@RestController
+@RequestMapping("/internal/auth")
+@RequiredArgsConstructor
+public class InternalAuthController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final UserSearchService userSearchService;
+
+    /**
+     * Verifies many JWTs in one call so gateways can amortize auth checks across requests.
+     *
+     * @param request the tokens to introspect
+     * @return active/subject/role/exp for each token, in request order
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectionResponse> introspect(@Valid @RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(new IntrospectionResponse(tokenIntrospectionService.introspect(request.tokens())));
+    }
+
+    /**
+     * Pages through every user's id and email, e.g. for account-service's profile backfill.
+     * Requires the shared {@code X-Internal-Token}.
+     *
+     * @param after cursor from the previous page
+     * @param limit page size (default and max 5000)
+     * @return users in ascending id order and the next cursor
+     */
+    @GetMapping("/users")
+    public ResponseEntity<UserIdPage> listUserIds(
+            @RequestParam(value = "after", required = false) @Nullable String after,
+            @RequestParam(value = "limit", required = false) @Nullable Integer limit
+    ) {
+        return ResponseEntity.ok(userSearchService.listIds(after, limit));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.auth_service.dto;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A single rejected row from a bulk provisioning import.
+ *
+ * @param line    1-based line number in the uploaded NDJSON file
+ * @param email   the row's email, if it could be parsed
+ * @param message client-facing reason the row was rejected
+ */
+public record BulkProvisioningError(long line, @Nullable String email, String message) {}
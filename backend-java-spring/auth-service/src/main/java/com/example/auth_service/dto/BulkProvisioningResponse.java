@@ -0,0 +1,17 @@
+package com.example.auth_service.dto;
+
+import java.util.List;
+
+/**
+ * Summary returned after a bulk provisioning import.
+ *
+ * <p>Rows fail independently: a malformed or duplicate row is reported in {@code errors} and the rest of
+ * the file is still imported. {@code errors} may be truncated for very large files; {@code failed} is
+ * always the exact count.</p>
+ *
+ * @param received number of non-blank rows read from the upload
+ * @param created  number of users created
+ * @param failed   number of rows rejected
+ * @param errors   per-row failures, in file order
+ */
+public record BulkProvisioningResponse(int received, int created, int failed, List<BulkProvisioningError> errors) {}
@@ -0,0 +1,34 @@
+package com.example.auth_service.dto;
+
+import java.util.List;
+
+/**
+ * Snapshot of Hibernate second-level cache statistics since startup.
+ *
+ * @param statisticsEnabled     whether Hibernate is collecting statistics; all counters are zero otherwise
+ * @param hits                  second-level cache hits across all regions
+ * @param misses                second-level cache misses across all regions
+ * @param puts                  entries written to the cache across all regions
+ * @param prepareStatementCount JDBC statements prepared by Hibernate, i.e. database round trips it caused
+ * @param regions               per-region breakdown
+ */
+public record EntityCacheStatistics(
+        boolean statisticsEnabled,
+        long hits,
+        long misses,
+        long puts,
+        long prepareStatementCount,
+        List<Region> regions
+) {
+
+    /**
+     * Counters for one cache region.
+     *
+     * @param name    the region name, e.g. {@code users}
+     * @param hits    lookups served from the region
+     * @param misses  lookups that fell through to the database
+     * @param puts    entries written to the region
+     * @param entries entries currently held, or {@code -1} if the provider does not report it
+     */
+    public record Region(String name, long hits, long misses, long puts, long entries) {}
+}
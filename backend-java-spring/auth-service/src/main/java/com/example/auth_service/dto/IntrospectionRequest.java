@@ -0,0 +1,13 @@
+package com.example.auth_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request body for batched token introspection.
+ *
+ * @param tokens raw JWTs to check (without the {@code Bearer } prefix), at most 100 per call
+ */
+public record IntrospectionRequest(@NotEmpty @Size(max = 100) List<@NotBlank String> tokens) {}
@@ -0,0 +1,10 @@
+package com.example.auth_service.dto;
+
+import java.util.List;
+
+/**
+ * Response for batched token introspection.
+ *
+ * @param results one entry per requested token, in request order
+ */
+public record IntrospectionResponse(List<TokenIntrospection> results) {}
@@ -0,0 +1,16 @@
+package com.example.auth_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Request body for changing a user's role.
+ *
+ * @param role one of {@code ROLE_USER}, {@code ROLE_CORPORATE_OPERATOR}, {@code ROLE_ADMIN} or
+ *             {@code ROLE_SUPER_ADMIN}
+ */
+public record RoleChangeRequest(
+        @NotBlank
+        @Pattern(regexp = "ROLE_USER|ROLE_CORPORATE_OPERATOR|ROLE_ADMIN|ROLE_SUPER_ADMIN", message = "Unknown role")
+        String role
+) {}
@@ -0,0 +1,17 @@
+package com.example.auth_service.dto;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Introspection result for a single token, modeled on RFC 7662.
+ * Inactive tokens carry no claims so callers cannot learn anything from a rejected token.
+ *
+ * @param active whether the token has a valid signature and has not expired
+ * @param sub    the token subject (user email), if active
+ * @param role   the {@code role} claim, if active
+ * @param exp    expiry as epoch seconds, if active
+ */
+public record TokenIntrospection(boolean active, @Nullable String sub, @Nullable String role, @Nullable Long exp) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null);
+}
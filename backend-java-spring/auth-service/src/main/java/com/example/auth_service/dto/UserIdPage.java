@@ -0,0 +1,12 @@
+package com.example.auth_service.dto;
+
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of users, for services that backfill their own per-user data.
+ *
+ * @param users      users in ascending id order
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record UserIdPage(List<UserRef> users, @Nullable String nextCursor) {}
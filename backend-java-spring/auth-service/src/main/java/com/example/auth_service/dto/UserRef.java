@@ -0,0 +1,9 @@
+package com.example.auth_service.dto;
+
+/**
+ * A user's id and sign-in email, as other services key their per-user data.
+ *
+ * @param id    the user id
+ * @param email the email, lowercased
+ */
+public record UserRef(String id, String email) {}
@@ -0,0 +1,12 @@
+package com.example.auth_service.dto;
+
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of admin user search results.
+ *
+ * @param items      matching users, ordered by email
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record UserSearchResponse(List<UserSummary> items, @Nullable String nextCursor) {}
@@ -0,0 +1,7 @@
+package com.example.auth_service.dto;
+
+/**
+ * Lightweight, read-only view of a user for admin search results.
+ * Built directly from result-set columns, so no {@code UserAccount} entity is loaded.
+ */
+public record UserSummary(String id, String email, String role, boolean active, boolean verified) {}
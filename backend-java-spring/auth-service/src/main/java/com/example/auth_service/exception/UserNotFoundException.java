@@ -0,0 +1,10 @@
+package com.example.auth_service.exception;
+
+/**
+ * Thrown when an admin operation targets a user id that does not exist.
+ */
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.auth_service.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +13,10 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,11 +24,22 @@ import org.springframework.security.core.userdetails.UserDetails;
 /**
  * Represents a user account in the system.
  * This entity is mapped to the "users" table in the database.
+ *
+ * <p>Accounts are held in the Hibernate second-level cache, keyed by id, with a natural-id cache
+ * mapping email to id, so the per-request lookup in the JWT filter is served from memory. Writes that
+ * bypass Hibernate (JDBC updates) must evict the entry through
+ * {@link com.example.auth_service.service.UserAccountCache}.</p>
  */
 @Data
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserAccount.CACHE_REGION)
+@NaturalIdCache(region = UserAccount.NATURAL_ID_CACHE_REGION)
 public class UserAccount implements UserDetails {
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+
     // The unique identifier for the user account.
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -32,6 +48,7 @@ public class UserAccount implements UserDetails {
     // The user's email address, which is unique and serves as the username.
     @Email
     @NotBlank
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -45,6 +62,11 @@ public class UserAccount implements UserDetails {
     @Column(nullable = false)
     private String role = "ROLE_USER";
 
+    // The branch (division) the user belongs to, e.g. MAIN or CORP; carried in the JWT as the "branch" claim.
+    @NotBlank
+    @Column(name = "branch_code", nullable = false)
+    private String branchCode = "MAIN";
+
     // A flag indicating whether the user account is active.
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
@@ -1,5 +1,6 @@
 package com.example.auth_service.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,19 +8,28 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import com.example.auth_service.security.TokenHashes;
 import java.time.Instant;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.jspecify.annotations.Nullable;
 
 /**
  * Represents a one-time email verification token for a newly registered user.
  * A token is valid until {@link #expiryDate}. Once consumed, it is removed.
+ * Entries are second-level cached by id alongside their {@link UserAccount}.
  */
 @Data
 @Entity
 @Table(name = "verification_tokens")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = VerificationToken.CACHE_REGION)
 public class VerificationToken {
+    public static final String CACHE_REGION = "verification-tokens";
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -28,6 +38,10 @@ public class VerificationToken {
     @Column(nullable = false, unique = true)
     private String token;
 
+    // Hex SHA-256 of the token, derived on persist; verification looks tokens up by this column.
+    @Column(name = "token_hash", length = 64, unique = true)
+    private String tokenHash;
+
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
@@ -47,6 +61,12 @@ public class VerificationToken {
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private UserAccount user;
 
+    @PrePersist
+    @PreUpdate
+    void hashToken() {
+        tokenHash = TokenHashes.sha256Hex(token);
+    }
+
     public boolean isExpired() {
         return expiryDate.isBefore(Instant.now());
     }
@@ -1,24 +1,20 @@
 package com.example.auth_service.repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.auth_service.model.UserAccount;
 
 /**
  * Spring Data JPA repository for {@link UserAccount} entities.
  * This interface provides methods for CRUD operations and custom queries on user accounts.
+ * {@code findByEmail} is declared in {@link UserAccountRepositoryCustom} so it can use the natural-id cache.
  */
 @Repository
-public interface UserAccountRepository extends JpaRepository<UserAccount, String> {
-    /**
-     * Finds a user account by their email address.
-     *
-     * @param email The email address to search for.
-     * @return An {@link Optional} containing the {@link UserAccount} if found, or empty otherwise.
-     */
-    Optional<UserAccount> findByEmail(String email);
-
+public interface UserAccountRepository extends JpaRepository<UserAccount, String>, UserAccountRepositoryCustom {
     /**
      * Checks if a user account with the given email address exists.
      *
@@ -26,4 +22,15 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, String
      * @return {@code true} if an account with the email exists, {@code false} otherwise.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Returns which of the given email addresses are already registered.
+     * Selects only the email column so bulk imports can de-duplicate a chunk in one round trip
+     * without hydrating entities.
+     *
+     * @param emails The normalized email addresses to check.
+     * @return The subset of {@code emails} that already exist.
+     */
+    @Query("select u.email from UserAccount u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
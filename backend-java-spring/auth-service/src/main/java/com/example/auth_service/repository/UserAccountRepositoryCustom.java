@@ -0,0 +1,20 @@
+package com.example.auth_service.repository;
+
+import com.example.auth_service.model.UserAccount;
+import java.util.Optional;
+
+/**
+ * Hand-written lookups mixed into {@link UserAccountRepository}.
+ */
+public interface UserAccountRepositoryCustom {
+    /**
+     * Finds a user account by their email address.
+     *
+     * <p>Resolved through Hibernate's natural-id API rather than a derived query, so repeated lookups
+     * are served from the second-level cache instead of issuing a {@code SELECT} each time.</p>
+     *
+     * @param email The email address to search for.
+     * @return An {@link Optional} containing the {@link UserAccount} if found, or empty otherwise.
+     */
+    Optional<UserAccount> findByEmail(String email);
+}
@@ -0,0 +1,25 @@
+package com.example.auth_service.repository;
+
+import com.example.auth_service.model.UserAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Natural-id backed implementation of {@link UserAccountRepositoryCustom}.
+ */
+class UserAccountRepositoryImpl implements UserAccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserAccount> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserAccount.class)
+                .loadOptional(email);
+    }
+}
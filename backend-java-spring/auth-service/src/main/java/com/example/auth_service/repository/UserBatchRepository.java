@@ -0,0 +1,84 @@
+package com.example.auth_service.repository;
+
+import com.example.auth_service.security.TokenHashes;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch writer for bulk-provisioned users and their verification tokens.
+ *
+ * <p>JPA persists one entity per statement and keeps every instance in the persistence context,
+ * which is wasteful for imports of thousands of rows. This repository writes straight to the
+ * {@code users} and {@code verification_tokens} tables with {@link JdbcTemplate#batchUpdate}, so a chunk
+ * is sent as a handful of round trips. On PostgreSQL, add {@code reWriteBatchedInserts=true} to the JDBC
+ * URL to have the driver collapse each batch into multi-row inserts.</p>
+ *
+ * <p>Column defaults mirror {@link com.example.auth_service.model.UserAccount}: new users are active,
+ * unverified, and hold {@code ROLE_USER}.</p>
+ */
+@Repository
+public class UserBatchRepository {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, password_hash, role, is_active, is_verified, email_verification_send_count_24h)
+            VALUES (?, ?, ?, 'ROLE_USER', TRUE, FALSE, 0)
+            """;
+
+    private static final String INSERT_TOKEN = """
+            INSERT INTO verification_tokens (id, token, token_hash, expiry_date, created_at, user_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A fully prepared user row: ids are generated and the password is already hashed.
+     */
+    public record PendingUser(
+            String userId,
+            String email,
+            String passwordHash,
+            String tokenId,
+            String token,
+            Instant createdAt,
+            Instant expiresAt
+    ) {}
+
+    /**
+     * Inserts the users, then their verification tokens, as two JDBC batches.
+     * Callers are expected to run this inside a transaction so a chunk is all-or-nothing.
+     *
+     * @param users rows to insert
+     */
+    public void insertAll(List<PendingUser> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), UserBatchRepository::bindUser);
+        jdbcTemplate.batchUpdate(INSERT_TOKEN, users, users.size(), UserBatchRepository::bindToken);
+    }
+
+    private static void bindUser(PreparedStatement ps, PendingUser user) throws SQLException {
+        ps.setString(1, user.userId());
+        ps.setString(2, user.email());
+        ps.setString(3, user.passwordHash());
+    }
+
+    private static void bindToken(PreparedStatement ps, PendingUser user) throws SQLException {
+        ps.setString(1, user.tokenId());
+        ps.setString(2, user.token());
+        ps.setString(3, TokenHashes.sha256Hex(user.token()));
+        ps.setTimestamp(4, Timestamp.from(user.expiresAt()));
+        ps.setTimestamp(5, Timestamp.from(user.createdAt()));
+        ps.setString(6, user.userId());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.auth_service.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Single-statement JDBC updates to {@code users} for admin state changes and email verification.
+ *
+ * <p>Changing one column through JPA costs a {@code SELECT} plus a dirty-checked {@code UPDATE}, and a
+ * JPQL bulk update makes Hibernate drop the whole {@code users} cache region. These statements touch one
+ * row and leave the cache alone, so callers must evict the affected account through
+ * {@link com.example.auth_service.service.UserAccountCache} themselves.</p>
+ */
+@Repository
+public class UserCommandRepository {
+
+    /**
+     * Consumes a usable token and verifies its owner in one round trip. Both updates run in one
+     * statement (a PostgreSQL data-modifying CTE), so they are atomic even outside a transaction.
+     * Concurrent clicks serialize on the token's row lock; the loser re-checks {@code consumed_at}
+     * and matches nothing.
+     */
+    private static final String VERIFY = """
+            WITH consumed AS (
+                UPDATE verification_tokens
+                SET consumed_at = ?
+                WHERE token_hash = ? AND consumed_at IS NULL AND revoked_at IS NULL AND expiry_date > ?
+                RETURNING id, user_id
+            ), verified AS (
+                UPDATE users
+                SET is_verified = TRUE, email_verified_at = ?
+                FROM consumed
+                WHERE users.id = consumed.user_id
+                RETURNING users.id
+            )
+            SELECT consumed.id, consumed.user_id FROM consumed
+            """;
+
+    private static final String TOKEN_STATE = """
+            SELECT consumed_at, revoked_at, expiry_date FROM verification_tokens WHERE token_hash = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserCommandRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The token row consumed by a successful {@link #verify(String, Instant)}.
+     */
+    public record ConsumedToken(String tokenId, String userId) {}
+
+    /**
+     * Lifecycle columns of a token, read only to explain why {@link #verify(String, Instant)} matched nothing.
+     */
+    public record TokenState(@Nullable Instant consumedAt, @Nullable Instant revokedAt, Instant expiryDate) {}
+
+    /**
+     * Marks the account inactive.
+     *
+     * @param userId the account id
+     * @return {@code true} if the account exists
+     */
+    public boolean deactivate(String userId) {
+        return jdbcTemplate.update("UPDATE users SET is_active = FALSE WHERE id = ?", userId) == 1;
+    }
+
+    /**
+     * Replaces the account's role.
+     *
+     * @param userId the account id
+     * @param role   the new role, e.g. {@code ROLE_ADMIN}
+     * @return {@code true} if the account exists
+     */
+    public boolean changeRole(String userId, String role) {
+        return jdbcTemplate.update("UPDATE users SET role = ? WHERE id = ?", role, userId) == 1;
+    }
+
+    /**
+     * Consumes the token with the given hash and marks its user verified, if the token is unconsumed,
+     * unrevoked and unexpired at {@code now}.
+     *
+     * @param tokenHash hex SHA-256 of the raw token
+     * @param now       the verification time
+     * @return the consumed token, or empty if no usable token matched
+     */
+    public Optional<ConsumedToken> verify(String tokenHash, Instant now) {
+        Timestamp timestamp = Timestamp.from(now);
+        return jdbcTemplate.query(VERIFY,
+                (rs, rowNum) -> new ConsumedToken(rs.getString(1), rs.getString(2)),
+                timestamp, tokenHash, timestamp, timestamp).stream().findFirst();
+    }
+
+    /**
+     * Reads a token's lifecycle columns by hash.
+     *
+     * @param tokenHash hex SHA-256 of the raw token
+     * @return the token's state, or empty if no token has the hash
+     */
+    public Optional<TokenState> findTokenState(String tokenHash) {
+        return jdbcTemplate.query(TOKEN_STATE,
+                (rs, rowNum) -> new TokenState(
+                        toInstant(rs.getTimestamp(1)),
+                        toInstant(rs.getTimestamp(2)),
+                        rs.getTimestamp(3).toInstant()),
+                tokenHash).stream().findFirst();
+    }
+
+    private static @Nullable Instant toInstant(@Nullable Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.auth_service.repository;
+
+import com.example.auth_service.dto.UserRef;
+import com.example.auth_service.dto.UserSummary;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only email search over {@code users} for the admin portal, and id and email listing for other
+ * services' backfills.
+ *
+ * <p>Queries select only the columns of {@link UserSummary} and use keyset pagination on the email
+ * ({@code email > :after ORDER BY email LIMIT n}), so the cost of a page does not grow with how deep the
+ * caller has paged. Comparisons use the {@code "C"} collation so they match the expression index
+ * {@code idx_users_email_c} created in {@code schema.sql}; with a byte-wise collation PostgreSQL can serve
+ * both the {@code LIKE 'prefix%'} range scan and the keyset ordering from that index. Substring searches are
+ * served by the trigram index {@code idx_users_email_c_trgm}, built on the same {@code "C"} expression.</p>
+ *
+ * <p>Patterns passed to this repository must already be escaped with {@code !} as the escape character.</p>
+ */
+@Repository
+public class UserSearchRepository {
+
+    private static final String SEARCH = """
+            SELECT id, email, role, is_active, is_verified
+            FROM users
+            WHERE (email COLLATE "C") LIKE ? ESCAPE '!'
+              AND (email COLLATE "C") > ?
+            ORDER BY (email COLLATE "C")
+            LIMIT ?
+            """;
+
+    private static final String REFS = """
+            SELECT id, email
+            FROM users
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final RowMapper<UserSummary> SUMMARY_MAPPER = (rs, rowNum) -> new UserSummary(
+            rs.getString("id"),
+            rs.getString("email"),
+            rs.getString("role"),
+            rs.getBoolean("is_active"),
+            rs.getBoolean("is_verified"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds users whose email matches an escaped {@code LIKE} pattern, strictly after {@code after}.
+     *
+     * @param pattern escaped pattern, e.g. {@code juan!_%} or {@code %cruz%}
+     * @param after   exclusive keyset cursor; an empty string starts from the beginning
+     * @param limit   maximum rows to return
+     * @return matching users ordered by email
+     */
+    public List<UserSummary> searchByEmail(String pattern, String after, int limit) {
+        return jdbcTemplate.query(SEARCH, SUMMARY_MAPPER, pattern, after, limit);
+    }
+
+    /**
+     * Lists users strictly after {@code after}, in id order, using the primary key index.
+     *
+     * @param after exclusive keyset cursor on the id; an empty string starts from the beginning
+     * @param limit maximum rows to return
+     * @return user ids and emails in ascending id order
+     */
+    public List<UserRef> findRefsAfter(String after, int limit) {
+        return jdbcTemplate.query(REFS, (rs, rowNum) -> new UserRef(rs.getString("id"), rs.getString("email")),
+                after, limit);
+    }
+}
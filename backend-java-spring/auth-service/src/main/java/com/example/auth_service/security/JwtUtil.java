@@ -10,6 +10,7 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 /**
@@ -23,8 +24,16 @@ public class JwtUtil {
 
     private final JwtProperties properties;
 
+    // Derived once instead of on every generate/parse call; the secret does not change at runtime.
+    private volatile @Nullable Key signingKey;
+
     private Key signingKey() {
-        return Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
     }
 
     /**
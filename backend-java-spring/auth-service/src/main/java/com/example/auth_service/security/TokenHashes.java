@@ -0,0 +1,34 @@
+package com.example.auth_service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashing helpers for bearer secrets (JWTs, verification tokens).
+ *
+ * <p>Use the hash wherever a token must be remembered (cache keys, lookup columns) so the raw secret
+ * is never kept longer than the request that carried it.</p>
+ */
+public final class TokenHashes {
+
+    private TokenHashes() {
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of the token's UTF-8 bytes.
+     *
+     * @param token the raw token
+     * @return a 64-character hex string
+     */
+    public static String sha256Hex(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM is required to ship SHA-256.
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -13,7 +13,11 @@ import com.example.auth_service.model.UserAccount;
 import com.example.auth_service.model.VerificationToken;
 import com.example.auth_service.repository.VerificationTokenRepository;
 import com.example.auth_service.repository.UserAccountRepository;
+import com.example.auth_service.repository.UserCommandRepository;
+import com.example.auth_service.repository.UserCommandRepository.ConsumedToken;
 import com.example.auth_service.security.JwtUtil;
+import com.example.auth_service.security.TokenHashes;
+import com.example.auth_service.service.publisher.UserRegisteredEvent;
 import com.example.auth_service.service.publisher.UserRegisteredPublisher;
 import java.time.Instant;
 import java.util.Map;
@@ -38,26 +42,32 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserAccountRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
+    private final UserCommandRepository userCommandRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final UserRegisteredPublisher userRegisteredPublisher;
     private final AuthenticationManager authenticationManager;
+    private final UserAccountCache userAccountCache;
     private final AuthService self;
 
     public AuthServiceImpl(
             UserAccountRepository userRepository,
             VerificationTokenRepository tokenRepository,
+            UserCommandRepository userCommandRepository,
             PasswordEncoder passwordEncoder,
             JwtUtil jwtUtil,
             UserRegisteredPublisher userRegisteredPublisher,
             AuthenticationManager authenticationManager,
+            UserAccountCache userAccountCache,
             @Lazy AuthService self) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
+        this.userCommandRepository = userCommandRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.userRegisteredPublisher = userRegisteredPublisher;
         this.authenticationManager = authenticationManager;
+        this.userAccountCache = userAccountCache;
         this.self = self;
     }
 
@@ -92,7 +102,8 @@ public class AuthServiceImpl implements AuthService {
         token.setExpiryDate(Instant.now().plusSeconds(86400));
         tokenRepository.save(token);
 
-        userRegisteredPublisher.publish(user.getEmail(), tokenValue);
+        userRegisteredPublisher.publish(new UserRegisteredEvent(
+                user.getId(), user.getEmail(), tokenValue, request.firstName().trim(), request.lastName().trim()));
 
         return new RegistrationResponse("Registration successful. Please verify your email.");
     }
@@ -100,29 +111,36 @@ public class AuthServiceImpl implements AuthService {
     /**
      * Verifies a user's email address using the provided token.
      *
+     * <p>The token is looked up by its SHA-256 hash and consumed, and the user marked verified, by one
+     * conditional statement, so a link clicked twice concurrently verifies exactly once. Only when nothing
+     * matched is the token read back to tell an expired token from an unknown or used one. The user and
+     * token are then evicted from the second-level cache so the next login sees the verified state.</p>
+     *
      * @param token The verification token sent to the user's email.
-     * @throws InvalidTokenException if the token is invalid or expired.
+     * @throws InvalidTokenException if the token is unknown, consumed or revoked.
+     * @throws TokenExpiredException if the token is otherwise usable but past its expiry.
      */
     @Override
     @Transactional
     public void verifyUser(String token) {
-        VerificationToken verificationToken = tokenRepository.findByToken(token)
-                .orElseThrow(() -> new InvalidTokenException("Invalid verification token"));
+        String tokenHash = TokenHashes.sha256Hex(token);
+        Instant now = Instant.now();
 
-        if (verificationToken.getConsumedAt() != null || verificationToken.getRevokedAt() != null) {
-            throw new InvalidTokenException("Invalid verification token");
-        }
-        if (verificationToken.isExpired()) {
-            throw new TokenExpiredException("Verification token has expired");
-        }
+        ConsumedToken consumed = userCommandRepository.verify(tokenHash, now)
+                .orElseThrow(() -> verificationFailure(tokenHash, now));
 
-        UserAccount user = verificationToken.getUser();
-        user.setVerified(true);
-        user.setEmailVerifiedAt(Instant.now());
-        userRepository.save(user);
+        userAccountCache.evictUser(consumed.userId());
+        userAccountCache.evictToken(consumed.tokenId());
+    }
 
-        verificationToken.setConsumedAt(Instant.now());
-        tokenRepository.save(verificationToken);
+    private RuntimeException verificationFailure(String tokenHash, Instant now) {
+        boolean expired = userCommandRepository.findTokenState(tokenHash)
+                .filter(state -> state.consumedAt() == null && state.revokedAt() == null)
+                .filter(state -> !state.expiryDate().isAfter(now))
+                .isPresent();
+        return expired
+                ? new TokenExpiredException("Verification token has expired")
+                : new InvalidTokenException("Invalid verification token");
     }
 
     /**
@@ -166,7 +184,9 @@ public class AuthServiceImpl implements AuthService {
             throw new BadCredentialsException("User is inactive");
         }
 
-        String token = jwtUtil.generate(user.getEmail(), Map.of("role", user.getRole()));
+        // The subject stays the email, which this service loads users by; other services key users by "uid".
+        String token = jwtUtil.generate(user.getEmail(),
+                Map.of("uid", user.getId(), "role", user.getRole(), "branch", user.getBranchCode()));
         return new AuthResponse(token, user.getRole(), jwtUtil.expiresAt().toString());
     }
 }
\ No newline at end of file
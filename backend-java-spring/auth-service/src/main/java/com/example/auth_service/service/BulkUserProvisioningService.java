@@ -0,0 +1,268 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.config.ProvisioningProperties;
+import com.example.auth_service.dto.BulkProvisioningError;
+import com.example.auth_service.dto.BulkProvisioningResponse;
+import com.example.auth_service.dto.RegistrationRequest;
+import com.example.auth_service.repository.UserAccountRepository;
+import com.example.auth_service.repository.UserBatchRepository;
+import com.example.auth_service.repository.UserBatchRepository.PendingUser;
+import com.example.auth_service.service.publisher.UserRegisteredEvent;
+import com.example.auth_service.service.publisher.UserRegisteredPublisher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Imports many users from a newline-delimited JSON (NDJSON) stream.
+ *
+ * <p>Each line is a {@link RegistrationRequest}. The stream is consumed in chunks of
+ * {@link ProvisioningProperties#getChunkSize()} rows so memory stays bounded regardless of file size.
+ * For every chunk the service:</p>
+ * <ol>
+ *   <li>parses and validates rows, rejecting malformed lines and in-file duplicates;</li>
+ *   <li>drops emails that already exist, using one projection query per chunk;</li>
+ *   <li>hashes passwords in parallel on the dedicated BCrypt pool;</li>
+ *   <li>inserts users and tokens with JDBC batching in a single transaction;</li>
+ *   <li>publishes the chunk's user-registered events as one batch.</li>
+ * </ol>
+ *
+ * <p>Per-row failures never abort the import. If a chunk's batch insert fails (for example, because a
+ * concurrent signup claimed an email after the existence check), the chunk is retried row by row so
+ * only the offending rows are rejected.</p>
+ */
+@Service
+public class BulkUserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkUserProvisioningService.class);
+
+    private static final long TOKEN_TTL_SECONDS = 86400;
+
+    private final UserAccountRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRegisteredPublisher userRegisteredPublisher;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final ForkJoinPool passwordHashingPool;
+    private final TransactionTemplate transactionTemplate;
+    private final ProvisioningProperties properties;
+
+    public BulkUserProvisioningService(
+            UserAccountRepository userRepository,
+            UserBatchRepository userBatchRepository,
+            PasswordEncoder passwordEncoder,
+            UserRegisteredPublisher userRegisteredPublisher,
+            Validator validator,
+            JsonMapper jsonMapper,
+            ForkJoinPool passwordHashingPool,
+            PlatformTransactionManager transactionManager,
+            ProvisioningProperties properties) {
+        this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userRegisteredPublisher = userRegisteredPublisher;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.passwordHashingPool = passwordHashingPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the NDJSON stream to the end and provisions every valid row.
+     *
+     * @param ndjson UTF-8 NDJSON; one {@link RegistrationRequest} per line, blank lines ignored
+     * @return counts and per-row errors for the whole import
+     */
+    public BulkProvisioningResponse provision(InputStream ndjson) {
+        ImportState state = new ImportState(properties.getMaxReportedErrors());
+        List<ParsedRow> chunk = new ArrayList<>(properties.getChunkSize());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                state.received++;
+                ParsedRow row = parse(lineNumber, line, state);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= properties.getChunkSize()) {
+                    processChunk(chunk, state);
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read provisioning upload", ex);
+        }
+        processChunk(chunk, state);
+
+        logger.info("Bulk provisioning finished: received={}, created={}, failed={}",
+                state.received, state.created, state.failed);
+        state.errors.sort(Comparator.comparingLong(BulkProvisioningError::line));
+        return new BulkProvisioningResponse(state.received, state.created, state.failed, List.copyOf(state.errors));
+    }
+
+    private @Nullable ParsedRow parse(long lineNumber, String line, ImportState state) {
+        RegistrationRequest request;
+        try {
+            request = jsonMapper.readValue(line, RegistrationRequest.class);
+        } catch (JacksonException ex) {
+            state.reject(lineNumber, null, "Malformed JSON");
+            return null;
+        }
+
+        Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(request);
+        String email = request.email() == null ? null : request.email().trim().toLowerCase();
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            state.reject(lineNumber, email, message);
+            return null;
+        }
+        if (!state.seenEmails.add(email)) {
+            state.reject(lineNumber, email, "Duplicate email in upload");
+            return null;
+        }
+        return new ParsedRow(lineNumber, email, request.password(), request.firstName().trim(), request.lastName().trim());
+    }
+
+    private void processChunk(List<ParsedRow> chunk, ImportState state) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(chunk.stream().map(ParsedRow::email).toList());
+        List<ParsedRow> fresh = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk) {
+            if (existing.contains(row.email())) {
+                state.reject(row.lineNumber(), row.email(), "Email already registered");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<PendingUser> pending = hashAll(fresh);
+        List<PendingUser> inserted = insert(fresh, pending, state);
+        state.created += inserted.size();
+
+        Map<String, ParsedRow> rowsByEmail = new HashMap<>();
+        fresh.forEach(row -> rowsByEmail.put(row.email(), row));
+        userRegisteredPublisher.publishAll(inserted.stream()
+                .map(user -> {
+                    ParsedRow row = rowsByEmail.get(user.email());
+                    return new UserRegisteredEvent(user.userId(), user.email(), user.token(), row.firstName(), row.lastName());
+                })
+                .toList());
+    }
+
+    private List<PendingUser> hashAll(List<ParsedRow> rows) {
+        Instant now = Instant.now();
+        List<Callable<PendingUser>> tasks = rows.stream()
+                .<Callable<PendingUser>>map(row -> () -> new PendingUser(
+                        UUID.randomUUID().toString(),
+                        row.email(),
+                        passwordEncoder.encode(row.password()),
+                        UUID.randomUUID().toString(),
+                        UUID.randomUUID().toString(),
+                        now,
+                        now.plusSeconds(TOKEN_TTL_SECONDS)))
+                .toList();
+
+        List<PendingUser> hashed = new ArrayList<>(rows.size());
+        try {
+            for (Future<PendingUser> future : passwordHashingPool.invokeAll(tasks)) {
+                hashed.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+        return hashed;
+    }
+
+    private List<PendingUser> insert(List<ParsedRow> rows, List<PendingUser> pending, ImportState state) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertAll(pending));
+            return pending;
+        } catch (DataAccessException ex) {
+            logger.warn("Batch insert of {} users failed, retrying row by row: {}", pending.size(), ex.getMessage());
+        }
+
+        List<PendingUser> inserted = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            PendingUser user = pending.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertAll(List.of(user)));
+                inserted.add(user);
+            } catch (DataAccessException ex) {
+                state.reject(rows.get(i).lineNumber(), user.email(), "Unable to create user");
+            }
+        }
+        return inserted;
+    }
+
+    private record ParsedRow(long lineNumber, String email, String password, String firstName, String lastName) {}
+
+    private static final class ImportState {
+        private final int maxReportedErrors;
+        private final List<BulkProvisioningError> errors = new ArrayList<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private int received;
+        private int created;
+        private int failed;
+
+        private ImportState(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(long lineNumber, @Nullable String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkProvisioningError(lineNumber, email, message));
+            }
+        }
+    }
+}
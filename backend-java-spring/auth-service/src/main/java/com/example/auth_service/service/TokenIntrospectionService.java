@@ -0,0 +1,120 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.config.IntrospectionProperties;
+import com.example.auth_service.dto.TokenIntrospection;
+import com.example.auth_service.security.JwtUtil;
+import com.example.auth_service.security.TokenHashes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validates JWTs on behalf of callers that cannot verify them locally (legacy batch jobs, the Nginx
+ * gateway).
+ *
+ * <p>Results are cached by the SHA-256 of the token for at most
+ * {@link IntrospectionProperties#getCacheTtl()}, and never past the token's own {@code exp}, so a gateway
+ * that re-checks the same session on every request pays for signature verification once per TTL.
+ * Cache misses in a large batch are verified in parallel on a small dedicated pool.</p>
+ *
+ * <p>Like the JWT itself, a cached "active" result does not reflect account changes made after the
+ * token was issued; callers that need that guarantee should use {@code /api/auth/me}.</p>
+ */
+@Service
+public class TokenIntrospectionService {
+
+    /** Below this many cache misses, sequential verification is cheaper than forking. */
+    static final int PARALLEL_THRESHOLD = 8;
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, TokenIntrospection> cache;
+    private final ForkJoinPool verifierPool;
+
+    public TokenIntrospectionService(JwtUtil jwtUtil, IntrospectionProperties properties) {
+        this.jwtUtil = jwtUtil;
+        Duration ttl = properties.getCacheTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfter(Expiry.creating((String key, TokenIntrospection result) -> cacheDuration(result, ttl)))
+                .build();
+        this.verifierPool = new ForkJoinPool(properties.getParallelism());
+    }
+
+    /**
+     * Introspects each token, serving repeats from the cache.
+     *
+     * @param tokens raw JWTs
+     * @return one result per token, in the same order
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        int size = tokens.size();
+        String[] keys = new String[size];
+        TokenIntrospection[] results = new TokenIntrospection[size];
+        List<Integer> misses = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = TokenHashes.sha256Hex(tokens.get(i));
+            TokenIntrospection cached = cache.getIfPresent(keys[i]);
+            if (cached != null) {
+                results[i] = cached;
+            } else {
+                misses.add(i);
+            }
+        }
+
+        if (misses.size() >= PARALLEL_THRESHOLD) {
+            verifierPool.submit(() -> misses.parallelStream()
+                    .forEach(i -> results[i] = verify(tokens.get(i)))).join();
+        } else {
+            misses.forEach(i -> results[i] = verify(tokens.get(i)));
+        }
+
+        IntStream.range(0, misses.size()).map(misses::get).forEach(i -> cache.put(keys[i], results[i]));
+        return Arrays.asList(results);
+    }
+
+    private TokenIntrospection verify(String token) {
+        try {
+            Claims claims = jwtUtil.parse(token);
+            String subject = claims.getSubject();
+            if (subject == null || subject.isBlank() || claims.getExpiration() == null) {
+                return TokenIntrospection.INACTIVE;
+            }
+            return new TokenIntrospection(
+                    true,
+                    subject,
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant().getEpochSecond());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Malformed, tampered or expired: report inactive without detail.
+            return TokenIntrospection.INACTIVE;
+        }
+    }
+
+    private static Duration cacheDuration(TokenIntrospection result, Duration ttl) {
+        if (!result.active() || result.exp() == null) {
+            return ttl;
+        }
+        Duration untilExpiry = Duration.between(Instant.now(), Instant.ofEpochSecond(result.exp()));
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifierPool.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.EntityCacheStatistics;
+import com.example.auth_service.model.UserAccount;
+import com.example.auth_service.model.VerificationToken;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Explicit invalidation and statistics for the second-level entity cache.
+ *
+ * <p>Hibernate keeps the cache in step with writes it performs itself. Anything that changes
+ * {@code users} or {@code verification_tokens} another way (JDBC, native SQL) must evict here, or
+ * readers keep seeing the old row until the region TTL expires.</p>
+ */
+@Component
+public class UserAccountCache {
+
+    private static final List<String> REGIONS = List.of(
+            UserAccount.CACHE_REGION,
+            UserAccount.NATURAL_ID_CACHE_REGION,
+            VerificationToken.CACHE_REGION);
+
+    private final SessionFactory sessionFactory;
+
+    public UserAccountCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Evicts an account now and, if a transaction is active, again after it commits.
+     *
+     * <p>The second eviction covers a concurrent reader that re-caches the old row between the first
+     * eviction and the commit. The email-to-id mapping is left in place because email is immutable.</p>
+     *
+     * @param userId the account id
+     */
+    public void evictUser(String userId) {
+        evict(UserAccount.class, userId);
+    }
+
+    /**
+     * Evicts a verification token now and after the current transaction commits.
+     *
+     * @param tokenId the token id
+     */
+    public void evictToken(String tokenId) {
+        evict(VerificationToken.class, tokenId);
+    }
+
+    /**
+     * Returns hit, miss and put counters for the cached regions.
+     *
+     * @return a point-in-time snapshot
+     */
+    public EntityCacheStatistics statistics() {
+        Statistics stats = sessionFactory.getStatistics();
+        List<EntityCacheStatistics.Region> regions = REGIONS.stream()
+                .map(name -> region(name, stats.getCacheRegionStatistics(name)))
+                .toList();
+        return new EntityCacheStatistics(
+                stats.isStatisticsEnabled(),
+                stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(),
+                stats.getSecondLevelCachePutCount(),
+                stats.getPrepareStatementCount(),
+                regions);
+    }
+
+    private void evict(Class<?> entityClass, String id) {
+        sessionFactory.getCache().evictEntityData(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sessionFactory.getCache().evictEntityData(entityClass, id);
+                }
+            });
+        }
+    }
+
+    private static EntityCacheStatistics.Region region(String name, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return new EntityCacheStatistics.Region(name, 0, 0, 0, -1);
+        }
+        long entries = stats.getElementCountInMemory();
+        return new EntityCacheStatistics.Region(
+                name,
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getPutCount(),
+                entries < 0 ? -1 : entries);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.exception.UserNotFoundException;
+import com.example.auth_service.repository.UserCommandRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Admin state changes to existing accounts.
+ *
+ * <p>Each change is one JDBC {@code UPDATE} followed by an explicit eviction of the cached account, so
+ * the JWT filter sees the new role or active flag on the next request rather than after the cache TTL.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAdministrationService {
+
+    private final UserCommandRepository userCommandRepository;
+    private final UserAccountCache userAccountCache;
+
+    /**
+     * Deactivates an account. Existing JWTs stop working once the filter reloads the account.
+     *
+     * @param userId the account id
+     * @throws UserNotFoundException if no account has the id
+     */
+    @Transactional
+    public void deactivate(String userId) {
+        if (!userCommandRepository.deactivate(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
+        userAccountCache.evictUser(userId);
+    }
+
+    /**
+     * Changes an account's role.
+     *
+     * @param userId the account id
+     * @param role   the new role
+     * @throws UserNotFoundException if no account has the id
+     */
+    @Transactional
+    public void changeRole(String userId, String role) {
+        if (!userCommandRepository.changeRole(userId, role)) {
+            throw new UserNotFoundException("User not found");
+        }
+        userAccountCache.evictUser(userId);
+    }
+}
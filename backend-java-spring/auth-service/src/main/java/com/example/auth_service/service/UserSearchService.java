@@ -0,0 +1,95 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.UserIdPage;
+import com.example.auth_service.dto.UserRef;
+import com.example.auth_service.dto.UserSearchResponse;
+import com.example.auth_service.dto.UserSummary;
+import com.example.auth_service.repository.UserSearchRepository;
+import java.util.List;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Admin "User Lookup" by email.
+ *
+ * <p>Two modes are supported:</p>
+ * <ul>
+ *   <li>{@code prefix} (default): matches emails starting with the query, e.g. {@code juan.dela}.</li>
+ *   <li>{@code contains}: matches the query anywhere in the email, e.g. {@code cruz}. Requires at least
+ *       {@value #MIN_CONTAINS_LENGTH} characters so the trigram index stays selective.</li>
+ * </ul>
+ *
+ * <p>Lookup by account number belongs to account-service, which owns account data.</p>
+ */
+@Service
+public class UserSearchService {
+
+    static final int MIN_CONTAINS_LENGTH = 3;
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+    static final int MAX_ID_PAGE = 5_000;
+
+    private final UserSearchRepository searchRepository;
+
+    public UserSearchService(UserSearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * Returns one page of users whose email matches {@code query}.
+     *
+     * @param query the search text; case-insensitive because emails are stored lowercase
+     * @param mode  {@code prefix} or {@code contains}; {@code null} means {@code prefix}
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit page size, clamped to {@value #MAX_LIMIT}; {@code null} means {@value #DEFAULT_LIMIT}
+     * @return matching users and the cursor for the next page
+     * @throws IllegalArgumentException if the query or mode is invalid
+     */
+    public UserSearchResponse search(String query, @Nullable String mode, @Nullable String after, @Nullable Integer limit) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+
+        String escaped = escapeLike(normalized);
+        String pattern = switch (mode == null ? "prefix" : mode.toLowerCase(Locale.ROOT)) {
+            case "prefix" -> escaped + "%";
+            case "contains" -> {
+                if (normalized.length() < MIN_CONTAINS_LENGTH) {
+                    throw new IllegalArgumentException(
+                            "Contains search requires at least " + MIN_CONTAINS_LENGTH + " characters");
+                }
+                yield "%" + escaped + "%";
+            }
+            default -> throw new IllegalArgumentException("Unsupported search mode: " + mode);
+        };
+
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<UserSummary> items = searchRepository.searchByEmail(pattern, after == null ? "" : after, pageSize);
+        String nextCursor = items.size() == pageSize ? items.get(items.size() - 1).email() : null;
+        return new UserSearchResponse(items, nextCursor);
+    }
+
+    /**
+     * Returns one page of all users' ids and emails, for backfills in other services.
+     *
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit page size, clamped to {@value #MAX_ID_PAGE}; {@code null} means {@value #MAX_ID_PAGE}
+     * @return users and the cursor for the next page
+     */
+    public UserIdPage listIds(@Nullable String after, @Nullable Integer limit) {
+        int pageSize = limit == null ? MAX_ID_PAGE : Math.max(1, Math.min(limit, MAX_ID_PAGE));
+        List<UserRef> users = searchRepository.findRefsAfter(after == null ? "" : after, pageSize);
+        String nextCursor = users.size() == pageSize ? users.get(users.size() - 1).id() : null;
+        return new UserIdPage(users, nextCursor);
+    }
+
+    /**
+     * Escapes {@code LIKE} wildcards so user input is matched literally. Uses {@code !} as the escape
+     * character, matching the {@code ESCAPE '!'} clause in {@link UserSearchRepository}.
+     */
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -1,59 +1,187 @@
 package com.example.auth_service.service.publisher;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Map;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.example.auth_service.security.InternalTokenFilter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
 /**
- * Publishes user registration events to the notification service via an HTTP POST request.
- * This implementation is responsible for notifying other parts of the system, like the notification service,
- * that a new user has registered. It sends the user's email and verification token to a configured endpoint.
+ * Publishes user registration events to the notification service and account-service via HTTP POST requests.
+ * The notification service receives the user's email and verification token to send the verification email;
+ * account-service receives the user's id, email and name to create the profile. Each subscriber only gets
+ * the fields it needs. Every request carries the shared {@code app.internal-token}, which the subscribers'
+ * {@code /internal} endpoints require.
+ *
+ * <p>When called inside a transaction, events are sent after it commits, so subscribers never hear about a
+ * registration that was rolled back, and the signup transaction does not hold its locks while they are
+ * called. Batches are split into requests of at most {@value #MAX_BATCH_SIZE} events, the most the subscribers'
+ * batch endpoints accept. A {@code 503 Service Unavailable}, which the subscribers answer while their queues
+ * are full, is retried after its {@code Retry-After} (at most {@link #MAX_RETRY_AFTER}), up to
+ * {@value #MAX_ATTEMPTS} attempts in all. Other failures, and a request that still fails then, are logged;
+ * account-service's profile backfill creates profiles for any users it missed.</p>
  */
 @Component
 public class HttpUserRegisteredPublisher implements UserRegisteredPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpUserRegisteredPublisher.class);
 
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_ATTEMPTS = 4;
+    static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+    static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(30);
+
     private final RestClient restClient;
     private final URI endpoint;
+    private final URI batchEndpoint;
+    private final URI profileBatchEndpoint;
 
     /**
-     * Constructs the publisher with a {@link RestClient} and the target endpoint URL.
+     * Constructs the publisher with a {@link RestClient} and the target endpoint URLs.
      *
      * @param restClientBuilder          A builder to create the {@link RestClient} instance.
      * @param notificationServiceBaseUrl The base URL of the notification service, configurable via application properties.
+     * @param accountServiceBaseUrl      The base URL of account-service, configurable via application properties.
+     * @param internalToken              The shared service token sent to both.
      */
     public HttpUserRegisteredPublisher(
             RestClient.Builder restClientBuilder,
-            @Value("${notification-service.base-url:http://localhost:8084}") String notificationServiceBaseUrl
+            @Value("${notification-service.base-url:http://localhost:8084}") String notificationServiceBaseUrl,
+            @Value("${account-service.base-url:http://localhost:8082}") String accountServiceBaseUrl,
+            @Value("${app.internal-token:}") String internalToken
     ) {
-        this.restClient = restClientBuilder.build();
+        this.restClient = restClientBuilder.clone().defaultHeader(InternalTokenFilter.HEADER, internalToken).build();
         this.endpoint = URI.create(notificationServiceBaseUrl + "/internal/events/user-registered");
+        this.batchEndpoint = URI.create(notificationServiceBaseUrl + "/internal/events/user-registered/batch");
+        this.profileBatchEndpoint = URI.create(accountServiceBaseUrl + "/internal/events/user-registered/batch");
     }
 
     /**
-     * Publishes a user registration event by sending an HTTP POST request to the notification service.
+     * Publishes a user registration event by sending an HTTP POST request to each subscriber.
      *
-     * @param email             The email of the registered user.
-     * @param verificationToken The verification token for the user.
+     * @param event The newly registered user.
      */
     @Override
-    public void publish(String email, String verificationToken) {
+    public void publish(UserRegisteredEvent event) {
+        afterCommit(() -> {
+            post(endpoint, Map.of("email", event.email(), "verificationToken", event.verificationToken()), 1);
+            post(profileBatchEndpoint, Map.of("events", List.of(profile(event))), 1);
+        });
+    }
+
+    /**
+     * Publishes many user registration events in batch HTTP POSTs of at most {@value #MAX_BATCH_SIZE} events
+     * to each subscriber's batch endpoint, so a bulk import costs one round trip per batch and subscriber
+     * instead of one per user.
+     *
+     * @param events The events to publish.
+     */
+    @Override
+    public void publishAll(List<UserRegisteredEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (int from = 0; from < events.size(); from += MAX_BATCH_SIZE) {
+                List<UserRegisteredEvent> batch = events.subList(from, Math.min(from + MAX_BATCH_SIZE, events.size()));
+                post(batchEndpoint, Map.of("events", batch.stream()
+                        .map(event -> Map.of("email", event.email(), "verificationToken", event.verificationToken()))
+                        .toList()), batch.size());
+                post(profileBatchEndpoint, Map.of("events", batch.stream()
+                        .map(HttpUserRegisteredPublisher::profile)
+                        .toList()), batch.size());
+            }
+        });
+    }
+
+    private static Map<String, String> profile(UserRegisteredEvent event) {
+        return Map.of("userId", event.userId(), "email", event.email(),
+                "firstName", event.firstName(), "lastName", event.lastName());
+    }
+
+    private void post(URI uri, Object body, int events) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                restClient.post()
+                        .uri(uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body)
+                        .retrieve()
+                        .toBodilessEntity();
+                logger.info("Successfully published {} user-registered event(s) to {}", events, uri);
+                return;
+            } catch (HttpServerErrorException.ServiceUnavailable ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.warn("Failed to publish {} user-registered event(s) to {} after {} attempts: {}",
+                            events, uri, attempt, ex.getMessage());
+                    return;
+                }
+                Duration delay = retryAfter(ex.getResponseHeaders());
+                logger.info("{} is busy; retrying {} user-registered event(s) in {} ms", uri, events, delay.toMillis());
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Interrupted; dropped {} user-registered event(s) for {}", events, uri);
+                    return;
+                }
+            } catch (Exception ex) {
+                logger.warn("Failed to publish {} user-registered event(s) to {}: {}", events, uri, ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads a {@code Retry-After} header, in seconds or as an HTTP date, capped at {@link #MAX_RETRY_AFTER}.
+     */
+    static Duration retryAfter(@Nullable HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        Duration delay;
         try {
-            restClient.post()
-                    .uri(endpoint)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("email", email, "verificationToken", verificationToken))
-                    .retrieve()
-                    .toBodilessEntity();
-            logger.info("Successfully published user-registered event for email: {}", email);
-        } catch (Exception ex) {
-            logger.warn("Failed to publish user-registered event to notification-service: {}", ex.getMessage());
+            delay = Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                delay = Duration.between(Instant.now(), at);
+            } catch (DateTimeParseException notDate) {
+                return DEFAULT_RETRY_AFTER;
+            }
+        }
+        if (delay.isNegative()) {
+            return Duration.ZERO;
+        }
+        return delay.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : delay;
+    }
+
+    private static void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
     }
 }
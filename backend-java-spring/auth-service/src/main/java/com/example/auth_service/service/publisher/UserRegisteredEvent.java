@@ -0,0 +1,13 @@
+package com.example.auth_service.service.publisher;
+
+/**
+ * Payload of a user-registered event as delivered to subscribers.
+ * Each subscriber receives only the fields it needs; the verification token never leaves for account-service.
+ *
+ * @param userId            The id of the newly registered user.
+ * @param email             The email address of the newly registered user.
+ * @param verificationToken The token generated for email verification.
+ * @param firstName         The first name given at registration.
+ * @param lastName          The last name given at registration.
+ */
+public record UserRegisteredEvent(String userId, String email, String verificationToken, String firstName, String lastName) {}
@@ -1,5 +1,7 @@
 package com.example.auth_service.service.publisher;
 
+import java.util.List;
+
 /**
  * Defines the contract for publishing user registration events.
  * This interface abstracts the mechanism of how user registration events are sent to other services.
@@ -10,8 +12,18 @@ public interface UserRegisteredPublisher {
     /**
      * Publishes an event indicating that a new user has registered.
      *
-     * @param email             The email address of the newly registered user.
-     * @param verificationToken The token generated for email verification.
+     * @param event The newly registered user.
+     */
+    void publish(UserRegisteredEvent event);
+
+    /**
+     * Publishes several user-registered events at once, e.g. after a bulk import.
+     * The default implementation falls back to one {@link #publish(UserRegisteredEvent)} call per event;
+     * transports that support batching should override it.
+     *
+     * @param events The events to publish, in registration order.
      */
-    void publish(String email, String verificationToken);
+    default void publishAll(List<UserRegisteredEvent> events) {
+        events.forEach(this::publish);
+    }
 }
@@ -22,3 +22,22 @@ ALTER TABLE public.verification_tokens ADD COLUMN IF NOT EXISTS created_at times
 ALTER TABLE public.verification_tokens ADD COLUMN IF NOT EXISTS consumed_at timestamptz NULL;
 ALTER TABLE public.verification_tokens ADD COLUMN IF NOT EXISTS revoked_at timestamptz NULL;
 
+-- Admin user search (GET /api/admin/users/search).
+-- Byte-wise collation lets one btree serve both `LIKE 'prefix%'` and keyset ordering by email.
+CREATE INDEX IF NOT EXISTS idx_users_email_c ON public.users ((email COLLATE "C"));
+-- Trigram index for substring ("contains") search, on the same COLLATE "C" expression the search filters on;
+-- an index on the bare column is never used for it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP INDEX IF EXISTS public.idx_users_email_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_email_c_trgm ON public.users USING gin ((email COLLATE "C") gin_trgm_ops);
+
+-- Verification looks tokens up by SHA-256 hash (single conditional UPDATE in UserCommandRepository).
+-- Backfill rows created before the column existed; new rows are hashed by the application.
+ALTER TABLE public.verification_tokens ADD COLUMN IF NOT EXISTS token_hash varchar(64) NULL;
+UPDATE public.verification_tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token_hash IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_verification_tokens_token_hash ON public.verification_tokens (token_hash);
+
+-- Branch (division) of each user, carried in the JWT so account-service can route by branch.
+ALTER TABLE public.users ADD COLUMN IF NOT EXISTS branch_code text NOT NULL DEFAULT 'MAIN';
@@ -115,7 +115,8 @@ class AuthVerificationEdgeCasesIntegrationTest {
         token.setToken(UUID.randomUUID().toString());
         token.setUser(user);
         token.setExpiryDate(Instant.now().minusSeconds(5));
-        tokenRepository.save(token);
+        // Flush so the JDBC verification statement sees the rows inside this test transaction.
+        tokenRepository.saveAndFlush(token);
 
         // Assert: expired tokens return 410 Gone to clearly distinguish "expired" from "invalid".
         mockMvc.perform(get("/api/auth/verify").param("token", token.getToken()))
@@ -0,0 +1,164 @@
+package com.example.auth_service.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.auth_service.model.UserAccount;
+import com.example.auth_service.model.VerificationToken;
+import com.example.auth_service.repository.UserAccountRepository;
+import com.example.auth_service.repository.UserCommandRepository;
+import com.example.auth_service.repository.UserCommandRepository.ConsumedToken;
+import com.example.auth_service.repository.VerificationTokenRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs {@link UserCommandRepository#verify(String, Instant)} against Postgres.
+ *
+ * <p>The statement is a PostgreSQL data-modifying CTE that H2 cannot run, so the unit tests mock it; these
+ * tests are its only coverage. They commit, as production does, so concurrent verifications really contend
+ * for the token's row lock. Like the other Postgres suites, they auto-skip if Docker is unavailable.</p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class UserCommandRepositoryPostgresIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("authdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @Autowired
+    private UserCommandRepository userCommandRepository;
+
+    @Autowired
+    private UserAccountRepository userRepository;
+
+    @Autowired
+    private VerificationTokenRepository tokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void a_usable_token_is_consumed_and_verifies_its_user() {
+        VerificationToken token = token(Instant.now().plusSeconds(60));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Optional<ConsumedToken> consumed = userCommandRepository.verify(token.getTokenHash(), now);
+
+        assertThat(consumed).contains(new ConsumedToken(token.getId(), token.getUser().getId()));
+        Map<String, Object> user = jdbcTemplate.queryForMap(
+                "SELECT is_verified, email_verified_at FROM users WHERE id = ?", token.getUser().getId());
+        assertThat(user.get("is_verified")).isEqualTo(true);
+        assertThat(((Timestamp) user.get("email_verified_at")).toInstant()).isEqualTo(now);
+        assertThat(userCommandRepository.findTokenState(token.getTokenHash()).orElseThrow().consumedAt())
+                .isEqualTo(now);
+    }
+
+    @Test
+    void a_consumed_token_cannot_be_replayed() {
+        VerificationToken token = token(Instant.now().plusSeconds(60));
+        Instant first = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        assertThat(userCommandRepository.verify(token.getTokenHash(), first)).isPresent();
+
+        assertThat(userCommandRepository.verify(token.getTokenHash(), first.plusSeconds(1))).isEmpty();
+        assertThat(userCommandRepository.findTokenState(token.getTokenHash()).orElseThrow().consumedAt())
+                .isEqualTo(first);
+    }
+
+    @Test
+    void an_expired_token_matches_nothing_and_leaves_its_user_unverified() {
+        VerificationToken token = token(Instant.now().minusSeconds(5));
+
+        assertThat(userCommandRepository.verify(token.getTokenHash(), Instant.now())).isEmpty();
+
+        assertThat(isVerified(token.getUser())).isFalse();
+        UserCommandRepository.TokenState state = userCommandRepository.findTokenState(token.getTokenHash())
+                .orElseThrow();
+        assertThat(state.consumedAt()).isNull();
+        assertThat(state.expiryDate()).isBefore(Instant.now());
+    }
+
+    @Test
+    void concurrent_clicks_consume_the_token_once() throws Exception {
+        VerificationToken token = token(Instant.now().plusSeconds(60));
+        int clicks = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clicks);
+        try {
+            List<Future<Optional<ConsumedToken>>> results = new ArrayList<>();
+            for (int i = 0; i < clicks; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userCommandRepository.verify(token.getTokenHash(), Instant.now());
+                }));
+            }
+            start.countDown();
+
+            int consumed = 0;
+            for (Future<Optional<ConsumedToken>> result : results) {
+                if (result.get().isPresent()) {
+                    consumed++;
+                }
+            }
+            assertThat(consumed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(isVerified(token.getUser())).isTrue();
+    }
+
+    private VerificationToken token(Instant expiryDate) {
+        UserAccount user = new UserAccount();
+        user.setEmail("verify_" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("hash");
+        user.setActive(true);
+        user.setVerified(false);
+        userRepository.saveAndFlush(user);
+
+        VerificationToken token = new VerificationToken();
+        token.setToken(UUID.randomUUID().toString());
+        token.setUser(user);
+        token.setExpiryDate(expiryDate);
+        tokenRepository.saveAndFlush(token);
+        return token;
+    }
+
+    private boolean isVerified(UserAccount user) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT is_verified FROM users WHERE id = ?", Boolean.class, user.getId()));
+    }
+}
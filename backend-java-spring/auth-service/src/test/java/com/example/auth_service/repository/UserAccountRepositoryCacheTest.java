@@ -0,0 +1,110 @@
+package com.example.auth_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.auth_service.config.EntityCacheConfig;
+import com.example.auth_service.config.EntityCacheProperties;
+import com.example.auth_service.model.UserAccount;
+import com.example.auth_service.service.UserAccountCache;
+import com.example.auth_service.service.UserAdministrationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Second-level cache behaviour of {@link UserAccountRepository#findByEmail} on H2.
+ *
+ * <p>Each lookup runs in its own transaction, as it does per request in the JWT filter, and database
+ * round trips are counted with Hibernate's prepared-statement statistic.</p>
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import({
+        EntityCacheConfig.class,
+        EntityCacheProperties.class,
+        UserAccountCache.class,
+        UserCommandRepository.class,
+        UserAdministrationService.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserAccountRepositoryCacheTest {
+
+    private static final int LOOKUPS = 200;
+
+    @Autowired
+    private UserAccountRepository userRepository;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeated_email_lookups_are_served_from_the_cache() {
+        UserAccount saved = userRepository.save(user("cached@kaban.com"));
+
+        long uncached = statementsFor(() -> {
+            sessionFactory.getCache().evictAllRegions();
+            userRepository.findByEmail("cached@kaban.com");
+        });
+        sessionFactory.getCache().evictAllRegions();
+        long cached = statementsFor(() -> userRepository.findByEmail("cached@kaban.com"));
+
+        assertThat(uncached).isGreaterThanOrEqualTo(LOOKUPS);
+        assertThat(cached).isLessThanOrEqualTo(2);
+        assertThat(userRepository.findByEmail("cached@kaban.com")).map(UserAccount::getId).contains(saved.getId());
+    }
+
+    @Test
+    void deactivation_evicts_the_cached_account() {
+        UserAccount saved = userRepository.save(user("deactivate@kaban.com"));
+        assertThat(userRepository.findByEmail("deactivate@kaban.com")).get().extracting(UserAccount::isActive).isEqualTo(true);
+
+        userAdministrationService.deactivate(saved.getId());
+
+        assertThat(userRepository.findByEmail("deactivate@kaban.com")).get().extracting(UserAccount::isActive).isEqualTo(false);
+    }
+
+    @Test
+    void role_change_evicts_the_cached_account() {
+        UserAccount saved = userRepository.save(user("promote@kaban.com"));
+        userRepository.findByEmail("promote@kaban.com");
+
+        userAdministrationService.changeRole(saved.getId(), "ROLE_ADMIN");
+
+        assertThat(userRepository.findByEmail("promote@kaban.com")).get().extracting(UserAccount::getRole).isEqualTo("ROLE_ADMIN");
+    }
+
+    private long statementsFor(Runnable lookup) {
+        long before = statistics.getPrepareStatementCount();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.run();
+        }
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static UserAccount user(String email) {
+        UserAccount user = new UserAccount();
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        user.setVerified(true);
+        return user;
+    }
+}
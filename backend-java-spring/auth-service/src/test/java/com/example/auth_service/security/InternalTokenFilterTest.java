@@ -0,0 +1,58 @@
+package com.example.auth_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Unit tests for {@link InternalTokenFilter}.
+ */
+class InternalTokenFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void the_shared_token_grants_the_internal_authority() throws Exception {
+        Authentication auth = filter("s3cret", "s3cret");
+
+        assertThat(auth).isNotNull();
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(InternalTokenFilter.AUTHORITY);
+    }
+
+    @Test
+    void a_missing_or_wrong_token_stays_anonymous() throws Exception {
+        assertThat(filter("s3cret", null)).isNull();
+        assertThat(filter("s3cret", "guess")).isNull();
+    }
+
+    @Test
+    void an_unset_token_accepts_no_one() throws Exception {
+        assertThat(filter("", "")).isNull();
+    }
+
+    private static @Nullable Authentication filter(String configured, @Nullable String presented) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/internal/auth/users");
+        if (presented != null) {
+            request.addHeader(InternalTokenFilter.HEADER, presented);
+        }
+        MockFilterChain chain = new MockFilterChain();
+
+        new InternalTokenFilter(configured).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
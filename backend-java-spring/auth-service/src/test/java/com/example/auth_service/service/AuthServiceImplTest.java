@@ -7,20 +7,26 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import com.example.auth_service.dto.AuthResponse;
 import com.example.auth_service.dto.LoginRequest;
 import com.example.auth_service.dto.RegistrationRequest;
 import com.example.auth_service.dto.RegistrationResponse;
 import com.example.auth_service.exception.EmailNotVerifiedException;
+import com.example.auth_service.exception.InvalidTokenException;
 import com.example.auth_service.exception.TokenExpiredException;
 import com.example.auth_service.exception.UserAlreadyExistsException;
 import com.example.auth_service.model.UserAccount;
 import com.example.auth_service.model.VerificationToken;
 import com.example.auth_service.repository.UserAccountRepository;
+import com.example.auth_service.repository.UserCommandRepository;
+import com.example.auth_service.repository.UserCommandRepository.ConsumedToken;
+import com.example.auth_service.repository.UserCommandRepository.TokenState;
 import com.example.auth_service.repository.VerificationTokenRepository;
 import com.example.auth_service.security.JwtUtil;
+import com.example.auth_service.security.TokenHashes;
 import com.example.auth_service.service.publisher.UserRegisteredPublisher;
+import java.util.Map;
 import java.util.Optional;
 import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,12 +61,18 @@ class AuthServiceImplTest {
     @Mock
     private VerificationTokenRepository tokenRepository;
 
+    @Mock
+    private UserCommandRepository userCommandRepository;
+
     @Mock
     private UserRegisteredPublisher userRegisteredPublisher;
 
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private UserAccountCache userAccountCache;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -86,7 +98,8 @@ class AuthServiceImplTest {
         assertThat(res.message()).contains("verify");
         verify(userRepository).save(any(UserAccount.class));
         verify(tokenRepository).save(any(VerificationToken.class));
-        verify(userRegisteredPublisher).publish(eq("new@kaban.com"), any());
+        verify(userRegisteredPublisher).publish(argThat(event -> event.email().equals("new@kaban.com")
+                && event.firstName().equals("Jane") && event.lastName().equals("Doe")));
     }
 
     // Ensures that registration fails if the email address is already in use.
@@ -105,14 +118,16 @@ class AuthServiceImplTest {
     void login_returns_token_for_valid_credentials() {
         LoginRequest req = new LoginRequest("user@kaban.com", "Password123!");
         UserAccount user = new UserAccount();
+        user.setId("00000000-0000-0000-0000-000000000001");
         user.setEmail("user@kaban.com");
         user.setPasswordHash("hashed");
         user.setActive(true);
         user.setVerified(true);
+        user.setBranchCode("CORP");
         when(userRepository.findByEmail("user@kaban.com")).thenReturn(Optional.of(user));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(null);
-        when(jwtUtil.generate(eq(req.email()), anyMap())).thenReturn("jwt-token");
+        when(jwtUtil.generate(eq(req.email()), eq(Map.of("uid", "00000000-0000-0000-0000-000000000001", "role", "ROLE_USER", "branch", "CORP")))).thenReturn("jwt-token");
         when(jwtUtil.expiresAt()).thenReturn(Instant.now().plusSeconds(3600));
 
         AuthResponse res = authService.login(req);
@@ -150,40 +165,45 @@ class AuthServiceImplTest {
                 .isInstanceOf(BadCredentialsException.class);
     }
 
-    // Tests that a user is enabled and the verification token is deleted upon successful email verification.
+    // Tests that a successful verification consumes the token by hash and evicts the cached user and token.
     @Test
-    void verifyUser_enables_user_and_deletes_token() {
-        UserAccount user = new UserAccount();
-        user.setEmail("user@kaban.com");
-        user.setVerified(false);
-        VerificationToken token = new VerificationToken();
-        token.setToken("t1");
-        token.setExpiryDate(Instant.now().plusSeconds(60));
-        token.setUser(user);
-
-        when(tokenRepository.findByToken("t1")).thenReturn(Optional.of(token));
+    void verifyUser_consumes_token_and_evicts_cache() {
+        when(userCommandRepository.verify(eq(TokenHashes.sha256Hex("t1")), any(Instant.class)))
+                .thenReturn(Optional.of(new ConsumedToken("vt1", "u1")));
 
         authService.verifyUser("t1");
 
-        assertThat(user.isVerified()).isTrue();
-        verify(userRepository).save(user);
-        verify(tokenRepository).save(token);
+        verify(userCommandRepository, never()).findTokenState(any());
+        verify(userAccountCache).evictUser("u1");
+        verify(userAccountCache).evictToken("vt1");
     }
 
     // Ensures that an expired verification token cannot be used to verify an account.
     @Test
     void verifyUser_throws_on_expired_token() {
-        VerificationToken token = new VerificationToken();
-        token.setToken("t1");
-        token.setExpiryDate(Instant.now().minusSeconds(1));
-        token.setUser(new UserAccount());
-
-        when(tokenRepository.findByToken("t1")).thenReturn(Optional.of(token));
+        when(userCommandRepository.verify(any(), any(Instant.class))).thenReturn(Optional.empty());
+        when(userCommandRepository.findTokenState(TokenHashes.sha256Hex("t1")))
+                .thenReturn(Optional.of(new TokenState(null, null, Instant.now().minusSeconds(1))));
 
         assertThatThrownBy(() -> authService.verifyUser("t1"))
                 .isInstanceOf(TokenExpiredException.class);
     }
 
+    // A consumed token is invalid even if it has since expired, so replays never look "expired".
+    @Test
+    void verifyUser_throws_invalid_for_consumed_or_unknown_token() {
+        when(userCommandRepository.verify(any(), any(Instant.class))).thenReturn(Optional.empty());
+        when(userCommandRepository.findTokenState(TokenHashes.sha256Hex("used")))
+                .thenReturn(Optional.of(new TokenState(Instant.now(), null, Instant.now().minusSeconds(1))));
+        when(userCommandRepository.findTokenState(TokenHashes.sha256Hex("unknown"))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authService.verifyUser("used"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> authService.verifyUser("unknown"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(userAccountCache, never()).evictUser(any());
+    }
+
     @Test
     void login_throws_for_unverified_user() {
         LoginRequest req = new LoginRequest("user@kaban.com", "Password123!");
@@ -0,0 +1,189 @@
+package com.example.auth_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.auth_service.config.ProvisioningProperties;
+import com.example.auth_service.dto.BulkProvisioningError;
+import com.example.auth_service.dto.BulkProvisioningResponse;
+import com.example.auth_service.repository.UserAccountRepository;
+import com.example.auth_service.repository.UserBatchRepository;
+import com.example.auth_service.service.publisher.UserRegisteredEvent;
+import com.example.auth_service.service.publisher.UserRegisteredPublisher;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for {@link BulkUserProvisioningService} against an embedded H2 database.
+ *
+ * <p>The JDBC batch path is exercised for real so the SQL stays in sync with the entity mappings;
+ * only the email-existence lookup (a Spring Data query) and the event publisher are stubbed.</p>
+ */
+class BulkUserProvisioningServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private UserAccountRepository userRepository;
+    private RecordingPublisher publisher;
+    private ForkJoinPool hashingPool;
+    private BulkUserProvisioningService service;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE users (
+                    id VARCHAR(255) PRIMARY KEY,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    password_hash VARCHAR(255) NOT NULL,
+                    role VARCHAR(255) NOT NULL,
+                    is_active BOOLEAN NOT NULL,
+                    is_verified BOOLEAN NOT NULL,
+                    email_verified_at TIMESTAMP WITH TIME ZONE,
+                    email_verification_last_sent_at TIMESTAMP WITH TIME ZONE,
+                    email_verification_send_count_24h INTEGER NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE verification_tokens (
+                    id VARCHAR(255) PRIMARY KEY,
+                    token VARCHAR(255) NOT NULL UNIQUE,
+                    token_hash VARCHAR(64) UNIQUE,
+                    expiry_date TIMESTAMP WITH TIME ZONE NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE,
+                    consumed_at TIMESTAMP WITH TIME ZONE,
+                    revoked_at TIMESTAMP WITH TIME ZONE,
+                    user_id VARCHAR(255) NOT NULL UNIQUE REFERENCES users(id)
+                )
+                """);
+
+        userRepository = mock(UserAccountRepository.class);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        publisher = new RecordingPublisher();
+        hashingPool = new ForkJoinPool(2);
+
+        ProvisioningProperties properties = new ProvisioningProperties();
+        properties.setChunkSize(2);
+
+        service = new BulkUserProvisioningService(
+                userRepository,
+                new UserBatchRepository(jdbcTemplate),
+                new BCryptPasswordEncoder(4),
+                publisher,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                JsonMapper.builder().build(),
+                hashingPool,
+                new DataSourceTransactionManager(database),
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    void provisions_valid_rows_and_reports_invalid_ones() {
+        String upload = """
+                {"email":"A@kaban.com","password":"Password123!","firstName":"Ana","lastName":"Cruz"}
+                not-json
+
+                {"email":"b@kaban.com","password":"weak","firstName":"Ben","lastName":"Reyes"}
+                {"email":"c@kaban.com","password":"Password123!","firstName":"Cara","lastName":"Santos"}
+                {"email":"a@kaban.com","password":"Password123!","firstName":"Ana","lastName":"Cruz"}
+                """;
+
+        BulkProvisioningResponse response = service.provision(stream(upload));
+
+        assertThat(response.received()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.errors()).extracting(BulkProvisioningError::line).containsExactly(2L, 4L, 6L);
+        assertThat(response.errors().get(2).message()).isEqualTo("Duplicate email in upload");
+
+        assertThat(jdbcTemplate.queryForList("select email from users order by email", String.class))
+                .containsExactly("a@kaban.com", "c@kaban.com");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from verification_tokens", Integer.class))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select password_hash from users where email = 'a@kaban.com'", String.class))
+                .startsWith("$2");
+        assertThat(publisher.events).extracting(UserRegisteredEvent::email)
+                .containsExactly("a@kaban.com", "c@kaban.com");
+    }
+
+    @Test
+    void rejects_rows_for_existing_emails_without_failing_the_chunk() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@kaban.com"));
+
+        String upload = """
+                {"email":"taken@kaban.com","password":"Password123!","firstName":"Tia","lastName":"Lim"}
+                {"email":"new@kaban.com","password":"Password123!","firstName":"Noel","lastName":"Tan"}
+                """;
+
+        BulkProvisioningResponse response = service.provision(stream(upload));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.errors()).singleElement()
+                .extracting(BulkProvisioningError::message).isEqualTo("Email already registered");
+    }
+
+    @Test
+    void falls_back_to_row_inserts_when_a_batch_hits_a_constraint() {
+        // Simulates a concurrent signup that claims an email after the existence check ran.
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password_hash, role, is_active, is_verified, email_verification_send_count_24h)
+                VALUES ('existing', 'race@kaban.com', 'hash', 'ROLE_USER', TRUE, FALSE, 0)
+                """);
+
+        String upload = """
+                {"email":"race@kaban.com","password":"Password123!","firstName":"Rae","lastName":"Go"}
+                {"email":"ok@kaban.com","password":"Password123!","firstName":"Oli","lastName":"Uy"}
+                """;
+
+        BulkProvisioningResponse response = service.provision(stream(upload));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(1);
+        assertThat(publisher.events).extracting(UserRegisteredEvent::email).containsExactly("ok@kaban.com");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingPublisher implements UserRegisteredPublisher {
+        private final List<UserRegisteredEvent> events = new ArrayList<>();
+
+        @Override
+        public void publish(UserRegisteredEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void publishAll(List<UserRegisteredEvent> batch) {
+            events.addAll(batch);
+        }
+    }
+}
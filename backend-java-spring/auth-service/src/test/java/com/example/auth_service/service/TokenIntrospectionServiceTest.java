@@ -0,0 +1,76 @@
+package com.example.auth_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.auth_service.config.IntrospectionProperties;
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.dto.TokenIntrospection;
+import com.example.auth_service.security.JwtUtil;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenIntrospectionService}.
+ */
+class TokenIntrospectionServiceTest {
+
+    private JwtUtil jwtUtil;
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setup() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("01234567890123456789012345678901");
+        jwtProperties.setExpiration(Duration.ofMinutes(5));
+        jwtUtil = spy(new JwtUtil(jwtProperties));
+
+        IntrospectionProperties properties = new IntrospectionProperties();
+        properties.setParallelism(2);
+        service = new TokenIntrospectionService(jwtUtil, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void reports_claims_for_valid_tokens_and_inactive_for_invalid_ones() {
+        String valid = jwtUtil.generate("user@kaban.com", Map.of("role", "ROLE_USER"));
+
+        List<TokenIntrospection> results = service.introspect(List.of(valid, "not-a-jwt", valid + "x"));
+
+        assertThat(results.get(0).active()).isTrue();
+        assertThat(results.get(0).sub()).isEqualTo("user@kaban.com");
+        assertThat(results.get(0).role()).isEqualTo("ROLE_USER");
+        assertThat(results.get(0).exp()).isNotNull();
+        assertThat(results.get(1)).isEqualTo(TokenIntrospection.INACTIVE);
+        assertThat(results.get(2)).isEqualTo(TokenIntrospection.INACTIVE);
+    }
+
+    @Test
+    void large_batches_preserve_order_and_repeat_calls_hit_the_cache() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TokenIntrospectionService.PARALLEL_THRESHOLD * 2; i++) {
+            tokens.add(jwtUtil.generate("user" + i + "@kaban.com", Map.of("role", "ROLE_USER")));
+        }
+
+        List<TokenIntrospection> first = service.introspect(tokens);
+        List<TokenIntrospection> second = service.introspect(tokens);
+
+        for (int i = 0; i < tokens.size(); i++) {
+            assertThat(first.get(i).sub()).isEqualTo("user" + i + "@kaban.com");
+        }
+        assertThat(second).isEqualTo(first);
+        verify(jwtUtil, times(tokens.size())).parse(anyString());
+    }
+}
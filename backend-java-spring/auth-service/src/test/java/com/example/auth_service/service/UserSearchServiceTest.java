@@ -0,0 +1,69 @@
+package com.example.auth_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.auth_service.dto.UserSearchResponse;
+import com.example.auth_service.dto.UserSummary;
+import com.example.auth_service.repository.UserSearchRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link UserSearchService}: pattern building, wildcard escaping and keyset cursors.
+ */
+class UserSearchServiceTest {
+
+    private final UserSearchRepository repository = mock(UserSearchRepository.class);
+    private final UserSearchService service = new UserSearchService(repository);
+
+    @Test
+    void prefix_search_escapes_wildcards_and_lowercases_query() {
+        when(repository.searchByEmail("juan!_d%", "", 20)).thenReturn(List.of());
+
+        service.search("  Juan_D ", null, null, null);
+
+        verify(repository).searchByEmail("juan!_d%", "", 20);
+    }
+
+    @Test
+    void contains_search_wraps_pattern_and_requires_minimum_length() {
+        service.search("cruz", "contains", null, 10);
+        verify(repository).searchByEmail("%cruz%", "", 10);
+
+        assertThatThrownBy(() -> service.search("cr", "contains", null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void full_page_returns_last_email_as_cursor() {
+        List<UserSummary> page = List.of(
+                new UserSummary("1", "a@kaban.com", "ROLE_USER", true, true),
+                new UserSummary("2", "b@kaban.com", "ROLE_USER", true, false));
+        when(repository.searchByEmail("a%", "", 2)).thenReturn(page);
+
+        UserSearchResponse response = service.search("a", "prefix", null, 2);
+
+        assertThat(response.items()).hasSize(2);
+        assertThat(response.nextCursor()).isEqualTo("b@kaban.com");
+    }
+
+    @Test
+    void partial_page_has_no_cursor_and_limit_is_clamped() {
+        when(repository.searchByEmail("a%", "a@kaban.com", UserSearchService.MAX_LIMIT)).thenReturn(List.of());
+
+        UserSearchResponse response = service.search("a", "prefix", "a@kaban.com", 10_000);
+
+        assertThat(response.nextCursor()).isNull();
+        verify(repository).searchByEmail("a%", "a@kaban.com", UserSearchService.MAX_LIMIT);
+    }
+
+    @Test
+    void rejects_unknown_mode() {
+        assertThatThrownBy(() -> service.search("a", "regex", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
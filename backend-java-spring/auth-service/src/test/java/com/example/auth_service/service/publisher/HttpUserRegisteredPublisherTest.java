@@ -2,34 +2,185 @@ package com.example.auth_service.service.publisher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.client.RestClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 class HttpUserRegisteredPublisherTest {
 
     @Test
-    void publish_posts_json_payload_to_notification_service() throws Exception {
-        try (MockWebServer server = new MockWebServer()) {
-            server.enqueue(new MockResponse().setResponseCode(204));
-            server.start();
+    void publish_posts_json_payload_to_notification_service_and_account_service() throws Exception {
+        try (MockWebServer notifications = new MockWebServer(); MockWebServer accounts = new MockWebServer()) {
+            notifications.enqueue(new MockResponse().setResponseCode(204));
+            accounts.enqueue(new MockResponse().setResponseCode(202));
+            notifications.start();
+            accounts.start();
 
-            String baseUrl = server.url("/").toString().replaceAll("/$", "");
             HttpUserRegisteredPublisher publisher = new HttpUserRegisteredPublisher(
                     RestClient.builder(),
-                    baseUrl
+                    baseUrl(notifications),
+                    baseUrl(accounts),
+                    "s3cret"
             );
 
-            publisher.publish("user@example.com", "token-123");
+            publisher.publish(new UserRegisteredEvent("user-1", "user@example.com", "token-123", "Juan", "Dela Cruz"));
 
-            var request = server.takeRequest();
+            RecordedRequest request = notifications.takeRequest();
             assertThat(request.getPath()).isEqualTo("/internal/events/user-registered");
             assertThat(request.getHeader("Content-Type")).startsWith(MediaType.APPLICATION_JSON_VALUE);
             String body = request.getBody().readUtf8();
             assertThat(body).contains("\"email\":\"user@example.com\"");
             assertThat(body).contains("\"verificationToken\":\"token-123\"");
+
+            RecordedRequest profile = accounts.takeRequest();
+            assertThat(profile.getPath()).isEqualTo("/internal/events/user-registered/batch");
+            assertThat(profile.getHeader("X-Internal-Token")).isEqualTo("s3cret");
+            String profileBody = profile.getBody().readUtf8();
+            assertThat(profileBody).contains("\"userId\":\"user-1\"");
+            assertThat(profileBody).contains("\"email\":\"user@example.com\"");
+            assertThat(profileBody).contains("\"lastName\":\"Dela Cruz\"");
+            assertThat(profileBody).doesNotContain("token-123");
+        }
+    }
+
+    @Test
+    void publishAll_posts_events_to_batch_endpoints_in_one_request_each() throws Exception {
+        try (MockWebServer notifications = new MockWebServer(); MockWebServer accounts = new MockWebServer()) {
+            notifications.enqueue(new MockResponse().setResponseCode(202));
+            accounts.enqueue(new MockResponse().setResponseCode(202));
+            notifications.start();
+            accounts.start();
+
+            HttpUserRegisteredPublisher publisher = new HttpUserRegisteredPublisher(
+                    RestClient.builder(),
+                    baseUrl(notifications),
+                    baseUrl(accounts),
+                    "s3cret"
+            );
+
+            publisher.publishAll(List.of(
+                    new UserRegisteredEvent("user-a", "a@example.com", "token-a", "Ana", "Reyes"),
+                    new UserRegisteredEvent("user-b", "b@example.com", "token-b", "Ben", "Cruz")
+            ));
+
+            RecordedRequest request = notifications.takeRequest();
+            assertThat(request.getPath()).isEqualTo("/internal/events/user-registered/batch");
+            String body = request.getBody().readUtf8();
+            assertThat(body).contains("\"email\":\"a@example.com\"");
+            assertThat(body).contains("\"verificationToken\":\"token-b\"");
+            assertThat(notifications.getRequestCount()).isEqualTo(1);
+
+            String profiles = accounts.takeRequest().getBody().readUtf8();
+            assertThat(profiles).contains("\"userId\":\"user-a\"", "\"userId\":\"user-b\"");
+            assertThat(accounts.getRequestCount()).isEqualTo(1);
         }
     }
+
+    @Test
+    void publish_waits_for_the_transaction_to_commit() throws Exception {
+        try (MockWebServer notifications = new MockWebServer(); MockWebServer accounts = new MockWebServer()) {
+            notifications.enqueue(new MockResponse().setResponseCode(204));
+            accounts.enqueue(new MockResponse().setResponseCode(202));
+            notifications.start();
+            accounts.start();
+
+            HttpUserRegisteredPublisher publisher = new HttpUserRegisteredPublisher(
+                    RestClient.builder(),
+                    baseUrl(notifications),
+                    baseUrl(accounts),
+                    "s3cret"
+            );
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                publisher.publish(new UserRegisteredEvent("user-1", "user@example.com", "token-123", "Juan", "Cruz"));
+                assertThat(notifications.getRequestCount()).isZero();
+
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCommit();
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(notifications.getRequestCount()).isEqualTo(1);
+            assertThat(accounts.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void publishAll_splits_batches_larger_than_the_subscribers_accept() throws Exception {
+        try (MockWebServer notifications = new MockWebServer(); MockWebServer accounts = new MockWebServer()) {
+            for (int i = 0; i < 2; i++) {
+                notifications.enqueue(new MockResponse().setResponseCode(202));
+                accounts.enqueue(new MockResponse().setResponseCode(202));
+            }
+            notifications.start();
+            accounts.start();
+
+            List<UserRegisteredEvent> events = new ArrayList<>();
+            for (int i = 0; i < HttpUserRegisteredPublisher.MAX_BATCH_SIZE + 1; i++) {
+                events.add(new UserRegisteredEvent("user-" + i, i + "@example.com", "token-" + i, "Ana", "Reyes"));
+            }
+            publisher(notifications, accounts).publishAll(events);
+
+            assertThat(notifications.takeRequest().getBody().readUtf8()).contains("\"token-999\"").doesNotContain("\"token-1000\"");
+            assertThat(notifications.takeRequest().getBody().readUtf8()).contains("\"token-1000\"").doesNotContain("\"token-0\"");
+            assertThat(notifications.getRequestCount()).isEqualTo(2);
+            assertThat(accounts.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void retries_a_503_after_its_retry_after_and_gives_up_after_max_attempts() throws Exception {
+        try (MockWebServer notifications = new MockWebServer(); MockWebServer accounts = new MockWebServer()) {
+            notifications.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "0"));
+            notifications.enqueue(new MockResponse().setResponseCode(202));
+            for (int i = 0; i < HttpUserRegisteredPublisher.MAX_ATTEMPTS; i++) {
+                accounts.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "0"));
+            }
+            accounts.enqueue(new MockResponse().setResponseCode(202));
+            notifications.start();
+            accounts.start();
+
+            publisher(notifications, accounts).publishAll(List.of(
+                    new UserRegisteredEvent("user-a", "a@example.com", "token-a", "Ana", "Reyes")));
+
+            assertThat(notifications.getRequestCount()).isEqualTo(2);
+            assertThat(notifications.takeRequest().getBody().readUtf8())
+                    .isEqualTo(notifications.takeRequest().getBody().readUtf8());
+            assertThat(accounts.getRequestCount()).isEqualTo(HttpUserRegisteredPublisher.MAX_ATTEMPTS);
+        }
+    }
+
+    @Test
+    void reads_retry_after_in_seconds_or_as_a_date_and_caps_it() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+        assertThat(HttpUserRegisteredPublisher.retryAfter(headers)).isEqualTo(Duration.ofSeconds(5));
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+        assertThat(HttpUserRegisteredPublisher.retryAfter(headers)).isEqualTo(HttpUserRegisteredPublisher.MAX_RETRY_AFTER);
+        headers.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertThat(HttpUserRegisteredPublisher.retryAfter(headers)).isZero();
+        headers.set(HttpHeaders.RETRY_AFTER, "soon");
+        assertThat(HttpUserRegisteredPublisher.retryAfter(headers)).isEqualTo(HttpUserRegisteredPublisher.DEFAULT_RETRY_AFTER);
+        assertThat(HttpUserRegisteredPublisher.retryAfter(null)).isEqualTo(HttpUserRegisteredPublisher.DEFAULT_RETRY_AFTER);
+    }
+
+    private static HttpUserRegisteredPublisher publisher(MockWebServer notifications, MockWebServer accounts) {
+        return new HttpUserRegisteredPublisher(RestClient.builder(), baseUrl(notifications), baseUrl(accounts), "s3cret");
+    }
+
+    private static String baseUrl(MockWebServer server) {
+        return server.url("/").toString().replaceAll("/$", "");
+    }
 }
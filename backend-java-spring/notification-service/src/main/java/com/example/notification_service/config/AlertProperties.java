@@ -0,0 +1,91 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for transaction alert emails.
+ *
+ * <p>Events for one recipient are collected for {@code digestWindow} after the first one arrives and then
+ * sent as one digest, or earlier once {@code maxDigestEvents} have been collected. Events of at least
+ * {@code highValueThreshold}, and transactions held for review, are sent at once on their own.
+ * {@code capacity} bounds the events held across all recipients.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.alerts")
+public class AlertProperties {
+
+    @NotNull
+    private Duration digestWindow = Duration.ofMinutes(5);
+
+    @Min(1)
+    private int maxDigestEvents = 100;
+
+    @NotNull
+    @Positive
+    private BigDecimal highValueThreshold = new BigDecimal("50000");
+
+    @Min(1)
+    private int capacity = 100_000;
+
+    @Min(1)
+    private int workers = 2;
+
+    @NotNull
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    public Duration getDigestWindow() {
+        return digestWindow;
+    }
+
+    public void setDigestWindow(Duration digestWindow) {
+        this.digestWindow = digestWindow;
+    }
+
+    public int getMaxDigestEvents() {
+        return maxDigestEvents;
+    }
+
+    public void setMaxDigestEvents(int maxDigestEvents) {
+        this.maxDigestEvents = maxDigestEvents;
+    }
+
+    public BigDecimal getHighValueThreshold() {
+        return highValueThreshold;
+    }
+
+    public void setHighValueThreshold(BigDecimal highValueThreshold) {
+        this.highValueThreshold = highValueThreshold;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
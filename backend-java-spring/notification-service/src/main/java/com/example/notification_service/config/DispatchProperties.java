@@ -0,0 +1,76 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the asynchronous email dispatch queue.
+ *
+ * <p>{@code workers} bounds concurrent SMTP conversations independently of the web server's request
+ * threads; {@code capacity} bounds how many accepted emails may wait for a worker. A worker takes up to
+ * {@code batchSize} queued emails at a time and sends them over one SMTP session.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.dispatch")
+public class DispatchProperties {
+
+    @Min(1)
+    private int capacity = 10_000;
+
+    @Min(1)
+    private int workers = 4;
+
+    @Min(1)
+    private int batchSize = 50;
+
+    @NotNull
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for per-recipient-domain throttling of email dispatch.
+ *
+ * <p>Each domain gets a token bucket refilled at {@code rate} emails per second, overridable per domain in
+ * {@code rates}, holding at most {@code burst} tokens. When the domain's server answers with a temporary
+ * {@code 4xx} failure, its rate is multiplied by {@code slowDownFactor}, not below {@code minRate}; every
+ * batch then delivered without one adds {@code recoveryStep} back, up to the configured rate.</p>
+ *
+ * <p>At most {@code maxConcurrentBatches} batches per domain are sent at a time, so one slow or throttled
+ * domain cannot occupy every dispatch worker, and at most {@code maxQueued} emails per domain wait in its
+ * lane. The rest are held back and re-enter the lane later, still counting against the dispatch queue's
+ * capacity.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.dispatch.domain")
+public class DomainThrottleProperties {
+
+    @Positive
+    private double rate = 20;
+
+    @Min(1)
+    private int burst = 50;
+
+    @Positive
+    private double minRate = 0.5;
+
+    @Positive
+    @DecimalMax("1.0")
+    private double slowDownFactor = 0.5;
+
+    @Positive
+    private double recoveryStep = 1;
+
+    @Min(1)
+    private int maxConcurrentBatches = 2;
+
+    @Min(1)
+    private int maxQueued = 1_000;
+
+    @NotNull
+    private Map<String, Double> rates = new HashMap<>();
+
+    /**
+     * Returns the configured rate for a domain: its entry in {@code rates}, else {@code rate}.
+     *
+     * @param domain lower-case recipient domain
+     * @return emails per second
+     */
+    public double rateFor(String domain) {
+        return rates.getOrDefault(domain, rate);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public double getMinRate() {
+        return minRate;
+    }
+
+    public void setMinRate(double minRate) {
+        this.minRate = minRate;
+    }
+
+    public double getSlowDownFactor() {
+        return slowDownFactor;
+    }
+
+    public void setSlowDownFactor(double slowDownFactor) {
+        this.slowDownFactor = slowDownFactor;
+    }
+
+    public double getRecoveryStep() {
+        return recoveryStep;
+    }
+
+    public void setRecoveryStep(double recoveryStep) {
+        this.recoveryStep = recoveryStep;
+    }
+
+    public int getMaxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
+    public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+        this.maxConcurrentBatches = maxConcurrentBatches;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public Map<String, Double> getRates() {
+        return rates;
+    }
+
+    public void setRates(Map<String, Double> rates) {
+        this.rates = rates;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the durable email journal and its retry policy.
+ *
+ * <p>A failed email is retried after {@code initialBackoff}, doubling per attempt up to {@code maxBackoff},
+ * with random jitter so a burst of failures does not retry in lockstep. After {@code maxAttempts} failed
+ * sends the email moves to the dead-letter file, which is rotated at {@code deadLetterMaxSize}; one rotated
+ * file is kept.</p>
+ *
+ * <p>Events are deduplicated by token fingerprint for {@code dedupWindow}, which should cover the longest
+ * time a publisher may retry, remembering at most {@code dedupMaxEntries} fingerprints.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.journal")
+public class JournalProperties {
+
+    @NotBlank
+    private String directory = "data/email-journal";
+
+    @NotNull
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    @Min(1)
+    private int maxAttempts = 8;
+
+    @NotNull
+    private DataSize deadLetterMaxSize = DataSize.ofMegabytes(16);
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(5);
+
+    @NotNull
+    private Duration maxBackoff = Duration.ofMinutes(15);
+
+    @NotNull
+    private Duration dedupWindow = Duration.ofHours(24);
+
+    @Min(1)
+    private long dedupMaxEntries = 1_000_000;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public DataSize getDeadLetterMaxSize() {
+        return deadLetterMaxSize;
+    }
+
+    public void setDeadLetterMaxSize(DataSize deadLetterMaxSize) {
+        this.deadLetterMaxSize = deadLetterMaxSize;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getDedupWindow() {
+        return dedupWindow;
+    }
+
+    public void setDedupWindow(Duration dedupWindow) {
+        this.dedupWindow = dedupWindow;
+    }
+
+    public long getDedupMaxEntries() {
+        return dedupMaxEntries;
+    }
+
+    public void setDedupMaxEntries(long dedupMaxEntries) {
+        this.dedupMaxEntries = dedupMaxEntries;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the pooled SMTP transport.
+ *
+ * <p>Connections are recycled after {@code maxMessagesPerConnection} sends, because many providers cap
+ * messages per session, and after {@code maxIdle} without use, because servers drop idle sessions.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.mail.pool")
+public class MailPoolProperties {
+
+    @Min(1)
+    private int maxConnections = 4;
+
+    @Min(1)
+    private int maxMessagesPerConnection = 100;
+
+    @NotNull
+    private Duration maxIdle = Duration.ofSeconds(30);
+
+    @NotNull
+    private Duration borrowTimeout = Duration.ofSeconds(10);
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxMessagesPerConnection() {
+        return maxMessagesPerConnection;
+    }
+
+    public void setMaxMessagesPerConnection(int maxMessagesPerConnection) {
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+
+    public Duration getMaxIdle() {
+        return maxIdle;
+    }
+
+    public void setMaxIdle(Duration maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public Duration getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    public void setBorrowTimeout(Duration borrowTimeout) {
+        this.borrowTimeout = borrowTimeout;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the notification log.
+ *
+ * <p>Status changes wait in a queue of at most {@code capacity} changes and are written as JDBC batches of
+ * up to {@code batchSize} rows. At shutdown the writer gets {@code shutdownTimeout} to write what is left.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.notification-log")
+public class NotificationLogProperties {
+
+    @Min(1)
+    private int batchSize = 500;
+
+    @Min(1)
+    private int capacity = 100_000;
+
+    @NotNull
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for in-app notifications pushed over Server-Sent Events.
+ *
+ * <p>Each connection buffers at most {@code bufferSize} undelivered events, dropping the oldest beyond that,
+ * and receives a heartbeat comment every {@code heartbeatInterval} while idle. {@code writers} threads write
+ * to all connections. A user may hold {@code maxConnectionsPerUser} streams, e.g. one per browser tab;
+ * opening another closes the oldest. Streams end after {@code connectionTimeout}, and {@code EventSource}
+ * reconnects on its own. Bearer tokens are checked against auth-service and the result cached for
+ * {@code tokenCacheTtl}.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.push")
+public class PushProperties {
+
+    @Min(1)
+    private int bufferSize = 64;
+
+    @NotNull
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    @Min(1)
+    private int writers = 4;
+
+    @Min(1)
+    private int maxConnectionsPerUser = 5;
+
+    @NotNull
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    @NotNull
+    private Duration tokenCacheTtl = Duration.ofSeconds(30);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getWriters() {
+        return writers;
+    }
+
+    public void setWriters(int writers) {
+        this.writers = writers;
+    }
+
+    public int getMaxConnectionsPerUser() {
+        return maxConnectionsPerUser;
+    }
+
+    public void setMaxConnectionsPerUser(int maxConnectionsPerUser) {
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public Duration getTokenCacheTtl() {
+        return tokenCacheTtl;
+    }
+
+    public void setTokenCacheTtl(Duration tokenCacheTtl) {
+        this.tokenCacheTtl = tokenCacheTtl;
+    }
+}
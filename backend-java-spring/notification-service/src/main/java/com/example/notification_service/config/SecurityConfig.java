@@ -0,0 +1,54 @@
+package com.example.notification_service.config;
+
+import com.example.notification_service.security.InternalTokenFilter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Configures the service's security, as in account-service: stateless, with no sessions or CSRF tokens.
+ *
+ * <p>{@code /internal/**} is for other services and operators only and requires the shared
+ * {@code app.internal-token}; among others it serves the notification log lookup, which lists every email
+ * sent to an address. The in-app notification stream checks its user's JWT itself
+ * ({@link com.example.notification_service.service.push.SubscriberAuthenticator}).</p>
+ */
+@Configuration
+public class SecurityConfig {
+
+    private final InternalTokenFilter internalTokenFilter;
+
+    public SecurityConfig(InternalTokenFilter internalTokenFilter) {
+        this.internalTokenFilter = internalTokenFilter;
+    }
+
+    /**
+     * Defines the security filter chain.
+     *
+     * @param http the {@link HttpSecurity} to configure
+     * @return the configured {@link SecurityFilterChain}
+     */
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http) {
+        http.csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(
+                        (request, response, authException) -> response.sendError(HttpServletResponse.SC_UNAUTHORIZED)
+                ))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(
+                                "/actuator/health",
+                                "/api/notifications/stream"
+                        ).permitAll()
+                        .requestMatchers("/internal/**").hasAuthority(InternalTokenFilter.AUTHORITY)
+                        .anyRequest().authenticated());
+
+        http.addFilterBefore(internalTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.notification_service.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for email templates.
+ *
+ * <p>Templates ship on the classpath under {@code email-templates/}. When {@code directory} is set, files
+ * there override the built-in ones with the same name and are re-read when they change, checked at most
+ * once per {@code reloadInterval}.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.templates")
+public class TemplateProperties {
+
+    private @Nullable String directory;
+
+    @NotNull
+    private Duration reloadInterval = Duration.ofSeconds(2);
+
+    @NotNull
+    private Locale defaultLocale = Locale.ENGLISH;
+
+    @NotBlank
+    private String brandName = "Kaban";
+
+    public @Nullable String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(@Nullable String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getReloadInterval() {
+        return reloadInterval;
+    }
+
+    public void setReloadInterval(Duration reloadInterval) {
+        this.reloadInterval = reloadInterval;
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public void setDefaultLocale(Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+    }
+
+    public String getBrandName() {
+        return brandName;
+    }
+
+    public void setBrandName(String brandName) {
+        this.brandName = brandName;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.notification_service.controller;
+
+import com.example.notification_service.exception.DispatchRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps dispatch backpressure into HTTP responses for internal callers.
+ */
+@RestControllerAdvice
+public class DispatchExceptionHandler {
+
+    /**
+     * Returns {@code 503 Service Unavailable} with {@code Retry-After} when the dispatch queue is full.
+     * 503 rather than 429: the caller is not over a quota, this instance is temporarily saturated.
+     *
+     * @param ex the rejection
+     * @return an empty 503 response
+     */
+    @ExceptionHandler(DispatchRejectedException.class)
+    public ResponseEntity<Void> handleDispatchRejected(DispatchRejectedException ex) {
+        long seconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.notification_service.controller;
 
+import com.example.notification_service.config.DispatchProperties;
+import com.example.notification_service.service.alert.TransactionAlertCoalescer;
+import com.example.notification_service.service.dispatch.DispatchStats;
+import com.example.notification_service.service.dispatch.EmailDispatchQueue;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
@@ -16,14 +21,23 @@ import org.springframework.web.bind.annotation.RestController;
  * Internal diagnostics endpoints to help debug email delivery in local/dev environments.
  * These endpoints are intended for service-to-service or operator use, not public clients.
  *
- * <p>Production note: keep these endpoints behind network controls (e.g. private network, gateway allowlist)
- * or disable entirely outside of non-production environments.
+ * <p>Production note: like every {@code /internal/**} endpoint these require the shared
+ * {@code app.internal-token}; consider also keeping them behind network controls (e.g. private network,
+ * gateway allowlist) or disabling them entirely outside of non-production environments.
+ *
+ * <p>{@code /pipeline} reads only semaphores and the lock-free counters of {@link DispatchStats} and
+ * {@link SmtpConnectionPool#stats()}, so polling it does not slow down sending.
  */
 @RestController
 @RequestMapping("/internal/diagnostics")
 public class InternalDiagnosticsController {
 
     private final Environment environment;
+    private final EmailDispatchQueue emailDispatchQueue;
+    private final DispatchProperties dispatchProperties;
+    private final DispatchStats dispatchStats;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final TransactionAlertCoalescer transactionAlertCoalescer;
 
     @Value("${app.auth-base-url:http://localhost:8080}")
     private String authBaseUrl;
@@ -31,8 +45,19 @@ public class InternalDiagnosticsController {
     @Value("${app.mail.from:no-reply@kaban.local}")
     private String fromAddress;
 
-    public InternalDiagnosticsController(Environment environment) {
+    public InternalDiagnosticsController(
+            Environment environment,
+            EmailDispatchQueue emailDispatchQueue,
+            DispatchProperties dispatchProperties,
+            DispatchStats dispatchStats,
+            SmtpConnectionPool smtpConnectionPool,
+            TransactionAlertCoalescer transactionAlertCoalescer) {
         this.environment = environment;
+        this.emailDispatchQueue = emailDispatchQueue;
+        this.dispatchProperties = dispatchProperties;
+        this.dispatchStats = dispatchStats;
+        this.smtpConnectionPool = smtpConnectionPool;
+        this.transactionAlertCoalescer = transactionAlertCoalescer;
     }
 
     @GetMapping("/mail")
@@ -54,8 +79,42 @@ public class InternalDiagnosticsController {
         payload.put("smtpPortConfigured", smtpPortConfigured);
         payload.put("smtpUsernameConfigured", smtpUsernameConfigured);
         payload.put("smtpPasswordConfigured", smtpPasswordConfigured);
-        payload.put("smtpHostValue", Objects.requireNonNull(environment.getProperty("spring.mail.host")));
-        payload.put("smtpPortValue", Objects.requireNonNull(environment.getProperty("spring.mail.port")));
+        // Null when unset; the *Configured flags above already say so.
+        payload.put("smtpHostValue", environment.getProperty("spring.mail.host"));
+        payload.put("smtpPortValue", environment.getProperty("spring.mail.port"));
+        return ResponseEntity.ok(payload);
+    }
+
+    /**
+     * Reports the live state of the email delivery pipeline: queue depth, emails being sent, scheduled
+     * retries, delivery and failure counts since startup, per-batch send latency, SMTP session usage, and how
+     * much digests have reduced transaction alert volume.
+     *
+     * @return the pipeline counters
+     */
+    @GetMapping("/pipeline")
+    public ResponseEntity<Map<String, Object>> pipeline() {
+        DispatchStats.Snapshot stats = dispatchStats.snapshot();
+        Map<String, Long> failed = new LinkedHashMap<>();
+        stats.failed().forEach((cause, count) -> failed.put(cause.name().toLowerCase(Locale.ROOT), count));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("queueDepth", emailDispatchQueue.depth());
+        payload.put("queueCapacity", dispatchProperties.getCapacity());
+        payload.put("inFlight", stats.inFlight());
+        payload.put("retryBacklog", stats.retryBacklog());
+        payload.put("sent", stats.sent());
+        payload.put("failed", failed);
+        payload.put("sendLatencyMillis", stats.sendLatency());
+        payload.put("smtpPool", smtpConnectionPool.stats());
+
+        TransactionAlertCoalescer.Stats alerts = transactionAlertCoalescer.stats();
+        Map<String, Object> transactionAlerts = new LinkedHashMap<>();
+        transactionAlerts.put("events", alerts.events());
+        transactionAlerts.put("emails", alerts.emails());
+        transactionAlerts.put("coalesced", alerts.coalesced());
+        transactionAlerts.put("volumeReduction", alerts.volumeReduction());
+        payload.put("transactionAlerts", transactionAlerts);
         return ResponseEntity.ok(payload);
     }
 }
@@ -1,7 +1,13 @@
 package com.example.notification_service.controller;
 
+import com.example.notification_service.dto.InAppNotification;
+import com.example.notification_service.dto.TransactionEventBatchDto;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.dto.UserRegisteredBatchDto;
 import com.example.notification_service.dto.UserRegisteredEventDto;
-import com.example.notification_service.service.VerificationEmailService;
+import com.example.notification_service.service.alert.TransactionAlertCoalescer;
+import com.example.notification_service.service.dispatch.EmailDispatchQueue;
+import com.example.notification_service.service.push.NotificationHub;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -15,7 +21,11 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * Controller for handling internal, service-to-service events.
  * This controller exposes endpoints that are intended to be called by other services within the system,
- * not by external users. It serves as a synchronous communication entry point for events like user registration.
+ * with the shared {@code app.internal-token}, not by external users. Events are handed to the {@link EmailDispatchQueue} and acknowledged with
+ * {@code 202 Accepted} without waiting for SMTP; when the queue is full the caller gets {@code 503} with a
+ * {@code Retry-After} header instead. Transaction events are handed to the {@link TransactionAlertCoalescer},
+ * which batches them into digest emails per account holder, and pushed at once to the account holder's open
+ * in-app streams through the {@link NotificationHub}.
  */
 @RestController
 @RequestMapping("/internal/events")
@@ -24,7 +34,9 @@ public class InternalEventsController {
 
     private static final Logger logger = LoggerFactory.getLogger(InternalEventsController.class);
 
-    private final VerificationEmailService verificationEmailService;
+    private final EmailDispatchQueue emailDispatchQueue;
+    private final TransactionAlertCoalescer transactionAlertCoalescer;
+    private final NotificationHub notificationHub;
 
     /**
      * Handles the 'user-registered' event.
@@ -32,11 +44,62 @@ public class InternalEventsController {
      *
      * @param event The event payload containing the user's email and verification token.
      * @return A {@link ResponseEntity} indicating that the event has been accepted for processing.
+     * @throws com.example.notification_service.exception.DispatchRejectedException if the dispatch queue is full.
      */
     @PostMapping("/user-registered")
     public ResponseEntity<Void> userRegistered(@Valid @RequestBody UserRegisteredEventDto event) {
         logger.info("Received user-registered event for email={}", event.email());
-        verificationEmailService.sendVerificationEmail(event.email(), event.verificationToken());
+        emailDispatchQueue.submit(event);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Handles a batch of 'user-registered' events, e.g. from an admin bulk import in the auth service.
+     * The batch is accepted or rejected as a whole.
+     *
+     * @param batch The events, each containing a user's email and verification token.
+     * @return A {@link ResponseEntity} indicating that the events have been accepted for processing.
+     * @throws com.example.notification_service.exception.DispatchRejectedException if the batch does not fit.
+     */
+    @PostMapping("/user-registered/batch")
+    public ResponseEntity<Void> userRegisteredBatch(@Valid @RequestBody UserRegisteredBatchDto batch) {
+        logger.info("Received batch of {} user-registered events", batch.events().size());
+        emailDispatchQueue.submitAll(batch.events());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Handles a 'transaction' event.
+     * Called by the transaction service when a transaction is recorded or changes status, so the account
+     * holder is alerted.
+     *
+     * @param event The event payload describing the transaction and the account holder's email.
+     * @return A {@link ResponseEntity} indicating that the event has been accepted for processing.
+     * @throws com.example.notification_service.exception.DispatchRejectedException if too many alerts are waiting.
+     */
+    @PostMapping("/transaction")
+    public ResponseEntity<Void> transaction(@Valid @RequestBody TransactionEventDto event) {
+        logger.debug("Received transaction event {} ({} {})", event.transactionId(), event.type(), event.status());
+        transactionAlertCoalescer.submit(event);
+        notificationHub.publish(event.email(), InAppNotification.transaction(event));
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Handles a batch of 'transaction' events, e.g. from a payroll run. The batch is accepted or rejected
+     * as a whole.
+     *
+     * @param batch The events, each describing one transaction.
+     * @return A {@link ResponseEntity} indicating that the events have been accepted for processing.
+     * @throws com.example.notification_service.exception.DispatchRejectedException if the batch does not fit.
+     */
+    @PostMapping("/transaction/batch")
+    public ResponseEntity<Void> transactionBatch(@Valid @RequestBody TransactionEventBatchDto batch) {
+        logger.info("Received batch of {} transaction events", batch.events().size());
+        transactionAlertCoalescer.submitAll(batch.events());
+        for (TransactionEventDto event : batch.events()) {
+            notificationHub.publish(event.email(), InAppNotification.transaction(event));
+        }
         return ResponseEntity.accepted().build();
     }
 }
@@ -0,0 +1,57 @@
+package com.example.notification_service.controller;
+
+import com.example.notification_service.dto.NotificationLogPage;
+import com.example.notification_service.service.log.NotificationLookupService;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal lookup of the notification log for support staff. Like every {@code /internal/**} endpoint it
+ * requires the shared {@code app.internal-token} ({@link com.example.notification_service.config.SecurityConfig}),
+ * since it shows the full email history of any address.
+ */
+@RestController
+@RequestMapping("/internal/notifications")
+public class InternalNotificationLogController {
+
+    private final NotificationLookupService notificationLookupService;
+
+    public InternalNotificationLogController(NotificationLookupService notificationLookupService) {
+        this.notificationLookupService = notificationLookupService;
+    }
+
+    /**
+     * Lists the emails sent to a recipient, newest first.
+     * The address is only hashed, never stored; entries carry its {@code recipientHash}.
+     *
+     * @param email the recipient address
+     * @param after cursor from the previous page
+     * @param limit page size (default 20, max 100)
+     * @return a page of {@link com.example.notification_service.dto.NotificationLogEntry} results
+     */
+    @GetMapping
+    public ResponseEntity<NotificationLogPage> lookup(
+            @RequestParam("email") String email,
+            @RequestParam(value = "after", required = false) @Nullable String after,
+            @RequestParam(value = "limit", required = false) @Nullable Integer limit
+    ) {
+        return ResponseEntity.ok(notificationLookupService.lookup(email, after, limit));
+    }
+
+    /**
+     * Returns {@code 400 Bad Request} for a blank email or a malformed cursor.
+     *
+     * @param ex the validation failure
+     * @return a 400 response with the message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.notification_service.controller;
+
+import com.example.notification_service.service.push.NotificationHub;
+import com.example.notification_service.service.push.SubscriberAuthenticator;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push channel for in-app notifications, consumed by the frontend's {@code features/notifications} area.
+ * The stream stays open and carries one SSE event per notification, named after its type, with an
+ * {@link com.example.notification_service.dto.InAppNotification} as JSON data.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationStreamController {
+
+    private final NotificationHub notificationHub;
+    private final SubscriberAuthenticator subscriberAuthenticator;
+
+    public NotificationStreamController(NotificationHub notificationHub, SubscriberAuthenticator subscriberAuthenticator) {
+        this.notificationHub = notificationHub;
+        this.subscriberAuthenticator = subscriberAuthenticator;
+    }
+
+    /**
+     * Opens the signed-in user's notification stream.
+     *
+     * @param authorization {@code Bearer <jwt>} issued by auth-service
+     * @return the event stream, or 401 if the token is missing or not active
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) @Nullable String authorization) {
+        return subscriberAuthenticator.authenticate(authorization)
+                .map(user -> ResponseEntity.ok()
+                        // Keep proxies such as Nginx from buffering the stream.
+                        .header("X-Accel-Buffering", "no")
+                        .body(notificationHub.subscribe(user)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.notification_service.dto;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Payload of an in-app notification pushed to the browser.
+ *
+ * @param type       kind of notification, also the SSE event name, e.g. {@code transaction}
+ * @param title      one-line text to show, e.g. "Deposit of PHP 25,000.00 completed"
+ * @param occurredAt when the underlying event happened
+ * @param reference  id of the underlying record, e.g. the transaction id, if any
+ */
+public record InAppNotification(String type, String title, Instant occurredAt, @Nullable String reference) {
+
+    /**
+     * Builds the notification for a transaction event.
+     *
+     * @param event the transaction
+     * @return the notification, titled with {@link TransactionEventDto#headline()}
+     */
+    public static InAppNotification transaction(TransactionEventDto event) {
+        return new InAppNotification("transaction", event.headline(), event.occurredAt(), event.transactionId());
+    }
+}
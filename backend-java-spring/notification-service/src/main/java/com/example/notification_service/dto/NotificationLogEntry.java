@@ -0,0 +1,28 @@
+package com.example.notification_service.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One email in the notification log.
+ *
+ * @param id            notification id
+ * @param event         the event that caused the email, e.g. {@code USER_REGISTERED}
+ * @param recipientHash SHA-256 of the lowercased recipient address
+ * @param status        {@code QUEUED}, {@code SENT}, {@code RETRYING} or {@code FAILED}
+ * @param attempts      send attempts made so far
+ * @param createdAt     when the email was accepted
+ * @param updatedAt     when the status last changed
+ * @param sentAt        when the email was handed to the SMTP server, or {@code null} if it has not been
+ */
+public record NotificationLogEntry(
+        UUID id,
+        String event,
+        String recipientHash,
+        String status,
+        int attempts,
+        Instant createdAt,
+        Instant updatedAt,
+        @Nullable Instant sentAt
+) {}
@@ -0,0 +1,12 @@
+package com.example.notification_service.dto;
+
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of notification log entries.
+ *
+ * @param items      entries, newest first
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record NotificationLogPage(List<NotificationLogEntry> items, @Nullable String nextCursor) {}
@@ -0,0 +1,15 @@
+package com.example.notification_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Batch of transaction events, e.g. from a payroll run in transaction-service.
+ *
+ * @param events the individual events; each is validated like a single {@link TransactionEventDto}
+ */
+public record TransactionEventBatchDto(
+        @NotEmpty @Size(max = 1000) List<@Valid TransactionEventDto> events
+) {}
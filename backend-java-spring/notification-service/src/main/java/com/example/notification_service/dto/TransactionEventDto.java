@@ -0,0 +1,117 @@
+package com.example.notification_service.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Data Transfer Object (DTO) for transaction events.
+ * Published by transaction-service whenever a transaction is recorded or changes status; the account holder
+ * is alerted by email, either immediately or as part of a digest.
+ */
+public record TransactionEventDto(
+        /**
+         * The transaction's id in the ledger.
+         */
+        @NotBlank String transactionId,
+
+        /**
+         * The account holder's email address.
+         */
+        @Email @NotBlank String email,
+
+        /**
+         * The public account number, e.g. {@code KABAN-1001}.
+         */
+        @NotBlank String accountNumber,
+
+        @NotNull Type type,
+
+        @NotNull Status status,
+
+        /**
+         * The amount; always positive, the type determines the direction.
+         */
+        @NotNull @Positive BigDecimal amount,
+
+        /**
+         * ISO 4217 currency code, e.g. {@code PHP}.
+         */
+        @NotNull @Pattern(regexp = "[A-Z]{3}") String currency,
+
+        @NotNull Instant occurredAt,
+
+        /**
+         * The recipient's preferred locale, e.g. {@code de} or {@code pt-BR}.
+         * Optional; the email is sent in the default locale when it is absent.
+         */
+        @Nullable @Pattern(regexp = "[A-Za-z]{2,3}([_-][A-Za-z0-9]{2,8})*") String locale
+) {
+
+    /**
+     * Returns the one-line summary used as alert subject and in-app notification title,
+     * e.g. "Deposit of PHP 25,000.00 completed".
+     *
+     * @return the headline
+     */
+    public String headline() {
+        String outcome = switch (status) {
+            case COMPLETED -> "completed";
+            case PENDING_REVIEW -> "is pending review";
+            case REJECTED -> "was rejected";
+            case FAILED -> "failed";
+        };
+        return type.label() + " of " + formattedAmount() + " " + outcome;
+    }
+
+    /**
+     * Returns the currency and amount with grouping and two decimals, e.g. {@code PHP 25,000.00}.
+     *
+     * @return the formatted amount
+     */
+    public String formattedAmount() {
+        return String.format(Locale.ROOT, "%s %,.2f", currency, amount);
+    }
+
+    /**
+     * Ledger transaction types.
+     */
+    public enum Type {
+        DEPOSIT("Deposit", true),
+        WITHDRAWAL("Withdrawal", false),
+        TRANSFER_IN("Incoming transfer", true),
+        TRANSFER_OUT("Outgoing transfer", false);
+
+        private final String label;
+        private final boolean credit;
+
+        Type(String label, boolean credit) {
+            this.label = label;
+            this.credit = credit;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public boolean isCredit() {
+            return credit;
+        }
+    }
+
+    /**
+     * Transaction states the account holder is told about.
+     */
+    public enum Status {
+        COMPLETED,
+        PENDING_REVIEW,
+        REJECTED,
+        FAILED
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.notification_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Batch of user registration events, published by auth-service after a bulk import.
+ *
+ * @param events the individual events; each is validated like a single {@link UserRegisteredEventDto}
+ */
+public record UserRegisteredBatchDto(
+        @NotEmpty @Size(max = 1000) List<@Valid UserRegisteredEventDto> events
+) {}
@@ -2,6 +2,8 @@ package com.example.notification_service.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Data Transfer Object (DTO) for user registration events.
@@ -19,5 +21,16 @@ public record UserRegisteredEventDto(
          * The verification token generated for the user.
          * This token is used to verify the user's email address and cannot be blank.
          */
-        @NotBlank String verificationToken
-) {}
+        @NotBlank String verificationToken,
+
+        /**
+         * The recipient's preferred locale, e.g. {@code de} or {@code pt-BR}.
+         * Optional; the email is sent in the default locale when it is absent.
+         */
+        @Nullable @Pattern(regexp = "[A-Za-z]{2,3}([_-][A-Za-z0-9]{2,8})*") String locale
+) {
+
+    public UserRegisteredEventDto(String email, String verificationToken) {
+        this(email, verificationToken, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.notification_service.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the email dispatch queue has no room for an event.
+ * Callers should retry after {@link #getRetryAfter()}.
+ */
+public class DispatchRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DispatchRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.notification_service.repository;
+
+import com.example.notification_service.dto.NotificationLogEntry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to {@code notification_log}, created by {@code schema.sql}.
+ *
+ * <p>Writes come only from {@link com.example.notification_service.service.log.NotificationLogWriter} and are
+ * sent with {@link JdbcTemplate#batchUpdate}, so a batch of status changes costs a handful of round trips.
+ * On PostgreSQL, add {@code reWriteBatchedInserts=true} to the JDBC URL to have the driver collapse each
+ * insert batch into multi-row inserts.</p>
+ *
+ * <p>Lookups use keyset pagination on {@code (created_at, id)}, newest first, served by
+ * {@code idx_notification_log_recipient}; the cost of a page does not grow with how deep the caller has
+ * paged.</p>
+ */
+@Repository
+public class NotificationLogRepository {
+
+    // A row can be inserted twice when an event is accepted again after its dedup window; keep the first.
+    private static final String INSERT = """
+            INSERT INTO notification_log (id, event, recipient_hash, status, attempts, created_at, updated_at, sent_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String UPDATE = """
+            UPDATE notification_log
+            SET status = ?, attempts = ?, updated_at = ?, sent_at = COALESCE(?, sent_at)
+            WHERE id = ?
+            """;
+
+    private static final String COLUMNS = "id, event, recipient_hash, status, attempts, created_at, updated_at, sent_at";
+
+    private static final String FIND_LATEST = """
+            SELECT %s
+            FROM notification_log
+            WHERE recipient_hash = ?
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """.formatted(COLUMNS);
+
+    private static final String FIND_BEFORE = """
+            SELECT %s
+            FROM notification_log
+            WHERE recipient_hash = ?
+              AND (created_at, id) < (?, ?)
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """.formatted(COLUMNS);
+
+    private static final RowMapper<NotificationLogEntry> ENTRY_MAPPER = (rs, rowNum) -> new NotificationLogEntry(
+            rs.getObject("id", UUID.class),
+            rs.getString("event"),
+            rs.getString("recipient_hash"),
+            rs.getString("status"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getTimestamp("updated_at").toInstant(),
+            toInstant(rs.getTimestamp("sent_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A status change of an email already in the log.
+     *
+     * @param id        notification id
+     * @param status    new status
+     * @param attempts  send attempts made so far
+     * @param updatedAt time of the change
+     * @param sentAt    time the email was sent, or {@code null} to keep the stored value
+     */
+    public record StatusUpdate(UUID id, String status, int attempts, Instant updatedAt, @Nullable Instant sentAt) {}
+
+    /**
+     * Inserts new rows as one JDBC batch. Rows whose id already exists are skipped.
+     *
+     * @param entries rows to insert
+     */
+    public void insertAll(List<NotificationLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), NotificationLogRepository::bindInsert);
+    }
+
+    /**
+     * Applies status changes as one JDBC batch. Changes for ids not in the log are ignored.
+     *
+     * @param updates changes to apply, at most one per id
+     */
+    public void updateAll(List<StatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE, updates, updates.size(), NotificationLogRepository::bindUpdate);
+    }
+
+    /**
+     * Returns a recipient's most recent emails.
+     *
+     * @param recipientHash see {@link com.example.notification_service.service.log.RecipientHash}
+     * @param limit         maximum rows to return
+     * @return entries, newest first
+     */
+    public List<NotificationLogEntry> findLatest(String recipientHash, int limit) {
+        return jdbcTemplate.query(FIND_LATEST, ENTRY_MAPPER, recipientHash, limit);
+    }
+
+    /**
+     * Returns a recipient's emails strictly older than the keyset cursor {@code (createdAt, id)}.
+     *
+     * @param recipientHash see {@link com.example.notification_service.service.log.RecipientHash}
+     * @param createdAt     {@code created_at} of the last entry of the previous page
+     * @param id            id of the last entry of the previous page
+     * @param limit         maximum rows to return
+     * @return entries, newest first
+     */
+    public List<NotificationLogEntry> findBefore(String recipientHash, Instant createdAt, UUID id, int limit) {
+        return jdbcTemplate.query(FIND_BEFORE, ENTRY_MAPPER, recipientHash, Timestamp.from(createdAt), id, limit);
+    }
+
+    private static void bindInsert(PreparedStatement ps, NotificationLogEntry entry) throws SQLException {
+        ps.setObject(1, entry.id());
+        ps.setString(2, entry.event());
+        ps.setString(3, entry.recipientHash());
+        ps.setString(4, entry.status());
+        ps.setInt(5, entry.attempts());
+        ps.setTimestamp(6, Timestamp.from(entry.createdAt()));
+        ps.setTimestamp(7, Timestamp.from(entry.updatedAt()));
+        ps.setTimestamp(8, toTimestamp(entry.sentAt()));
+    }
+
+    private static void bindUpdate(PreparedStatement ps, StatusUpdate update) throws SQLException {
+        ps.setString(1, update.status());
+        ps.setInt(2, update.attempts());
+        ps.setTimestamp(3, Timestamp.from(update.updatedAt()));
+        ps.setTimestamp(4, toTimestamp(update.sentAt()));
+        ps.setObject(5, update.id());
+    }
+
+    private static @Nullable Timestamp toTimestamp(@Nullable Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static @Nullable Instant toInstant(@Nullable Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.notification_service.service;
+
+import com.example.notification_service.config.TemplateProperties;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import com.example.notification_service.service.template.EmailTemplate;
+import com.example.notification_service.service.template.EmailTemplateRegistry;
+import com.example.notification_service.service.template.TemplateType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service responsible for sending transaction alert emails to account holders.
+ * A single transaction is sent with the {@link TemplateType#TRANSACTION_ALERT} template, several
+ * transactions as one {@link TemplateType#TRANSACTION_DIGEST} listing one line per transaction. Messages
+ * go through the {@link SmtpConnectionPool} like verification emails.
+ */
+@Service
+public class TransactionAlertEmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAlertEmailService.class);
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'", Locale.ROOT).withZone(ZoneOffset.UTC);
+
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final Environment environment;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final EmailTemplateRegistry templateRegistry;
+    private final TemplateProperties templateProperties;
+
+    @Value("${app.mail.from:no-reply@kaban.local}")
+    private String fromAddress;
+
+    public TransactionAlertEmailService(
+            ObjectProvider<JavaMailSender> mailSenderProvider,
+            Environment environment,
+            SmtpConnectionPool smtpConnectionPool,
+            EmailTemplateRegistry templateRegistry,
+            TemplateProperties templateProperties) {
+        this.mailSenderProvider = mailSenderProvider;
+        this.environment = environment;
+        this.smtpConnectionPool = smtpConnectionPool;
+        this.templateRegistry = templateRegistry;
+        this.templateProperties = templateProperties;
+    }
+
+    /**
+     * Sends one email about the given transactions, in the locale of the most recent one.
+     *
+     * @param recipient The account holder's email address.
+     * @param events    The transactions, oldest first; one event is sent as a single alert.
+     * @return Whether the email was sent or deliberately skipped because SMTP is not configured.
+     */
+    public boolean send(String recipient, List<TransactionEventDto> events) {
+        // Same rule as VerificationEmailService#isSmtpConfigured.
+        boolean credentialsConsistent = environment.containsProperty("spring.mail.username")
+                == environment.containsProperty("spring.mail.password");
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (!environment.containsProperty("spring.mail.host") || !credentialsConsistent || mailSender == null) {
+            logger.info("SMTP is not configured; skipping transaction alert. to={}, transactions={}", recipient, events.size());
+            return true;
+        }
+
+        MimeMessage message;
+        try {
+            message = buildMessage(mailSender, recipient, events);
+        } catch (MessagingException | IllegalStateException ex) {
+            logger.warn("Failed to build transaction alert to {}: {}", recipient, ex.getMessage(), ex);
+            return false;
+        }
+        List<SendFailure> failures = smtpConnectionPool.send(List.of(message));
+        if (!failures.isEmpty()) {
+            logger.warn("Failed to send transaction alert to {} ({} transactions): {}",
+                    recipient, events.size(), failures.get(0).cause().getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private MimeMessage buildMessage(JavaMailSender mailSender, String recipient, List<TransactionEventDto> events)
+            throws MessagingException {
+        TransactionEventDto latest = events.get(events.size() - 1);
+        @Nullable Locale locale = latest.locale() == null ? null : Locale.forLanguageTag(latest.locale().replace('_', '-'));
+        String brandName = templateProperties.getBrandName();
+
+        EmailTemplate.Rendered email;
+        if (events.size() == 1) {
+            email = templateRegistry.get(TemplateType.TRANSACTION_ALERT, locale)
+                    .render(brandName, recipient, latest.headline(), details(latest));
+        } else {
+            StringBuilder lines = new StringBuilder();
+            for (TransactionEventDto event : events) {
+                if (!lines.isEmpty()) {
+                    lines.append('\n');
+                }
+                lines.append(line(event));
+            }
+            email = templateRegistry.get(TemplateType.TRANSACTION_DIGEST, locale)
+                    .render(brandName, recipient, Integer.toString(events.size()), lines.toString());
+        }
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(recipient);
+        helper.setSubject(email.subject());
+        helper.setText(email.text(), email.html());
+        return mimeMessage;
+    }
+
+    private static String details(TransactionEventDto event) {
+        return "Account: " + event.accountNumber()
+                + "\nDate: " + TIMESTAMP.format(event.occurredAt())
+                + "\nReference: " + event.transactionId();
+    }
+
+    private static String line(TransactionEventDto event) {
+        return String.format(Locale.ROOT, "%s  %-17s  %20s  %s  %s",
+                TIMESTAMP.format(event.occurredAt()),
+                event.type().label(),
+                (event.type().isCredit() ? "+" : "-") + event.formattedAmount(),
+                event.accountNumber(),
+                event.status().name().toLowerCase(Locale.ROOT).replace('_', ' '));
+    }
+}
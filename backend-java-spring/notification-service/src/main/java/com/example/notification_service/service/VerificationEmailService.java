@@ -1,8 +1,20 @@
 package com.example.notification_service.service;
 
+import com.example.notification_service.config.TemplateProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import com.example.notification_service.service.template.EmailTemplate;
+import com.example.notification_service.service.template.EmailTemplateRegistry;
+import com.example.notification_service.service.template.TemplateType;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -14,8 +26,9 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service responsible for sending verification emails to new users.
- * This class uses {@link JavaMailSender} to construct and send emails.
- * The email content is an HTML template with a verification link.
+ * This class uses {@link JavaMailSender} to construct emails and {@link SmtpConnectionPool} to send them,
+ * so a batch shares one SMTP session. The subject, HTML and plain-text parts come from the
+ * {@link TemplateType#VERIFICATION} template in the recipient's locale; see {@link EmailTemplateRegistry}.
  *
  * <p>Operational notes:
  * <ul>
@@ -37,8 +50,14 @@ public class VerificationEmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(VerificationEmailService.class);
 
+    // The token lifetime is set by auth-service; keep this in step with it.
+    private static final String LINK_EXPIRY_HOURS = "24";
+
     private final ObjectProvider<JavaMailSender> mailSenderProvider;
     private final Environment environment;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final EmailTemplateRegistry templateRegistry;
+    private final TemplateProperties templateProperties;
 
     @Value("${app.auth-base-url:http://localhost:8080}")
     private String authBaseUrl;
@@ -46,9 +65,17 @@ public class VerificationEmailService {
     @Value("${app.mail.from:no-reply@kaban.local}")
     private String fromAddress;
 
-    public VerificationEmailService(ObjectProvider<JavaMailSender> mailSenderProvider, Environment environment) {
+    public VerificationEmailService(
+            ObjectProvider<JavaMailSender> mailSenderProvider,
+            Environment environment,
+            SmtpConnectionPool smtpConnectionPool,
+            EmailTemplateRegistry templateRegistry,
+            TemplateProperties templateProperties) {
         this.mailSenderProvider = mailSenderProvider;
         this.environment = environment;
+        this.smtpConnectionPool = smtpConnectionPool;
+        this.templateRegistry = templateRegistry;
+        this.templateProperties = templateProperties;
     }
 
     /**
@@ -59,57 +86,104 @@ public class VerificationEmailService {
      * @param verificationToken The verification token to be included in the verification link.
      */
     public void sendVerificationEmail(String toEmail, String verificationToken) {
-        String verifyLink = authBaseUrl + "/api/auth/verify?token=" + verificationToken;
-        String maskedVerifyLink = authBaseUrl + "/api/auth/verify?token=***";
-        String tokenFingerprint = fingerprint(verificationToken);
-
-        String subject = "Verify your Kaban account";
-        String html = """
-                <p>Welcome to Kaban.</p>
-                <p>Please verify your email by clicking the link below:</p>
-                <p><a href="%s">%s</a></p>
-                <p>This link expires in 24 hours.</p>
-                """.formatted(verifyLink, verifyLink);
+        sendVerificationEmails(List.of(new UserRegisteredEventDto(toEmail, verificationToken)));
+    }
+
+    /**
+     * Sends one verification email per event over a single pooled SMTP session.
+     * Failures are logged per recipient and never abort the rest of the batch.
+     *
+     * @param events The recipients and their verification tokens.
+     * @return The emails that were not sent, indexed by position in {@code events}, so the caller can retry
+     * them. Emails skipped because SMTP is not configured count as handled.
+     */
+    public List<SendFailure> sendVerificationEmails(List<UserRegisteredEventDto> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
 
         if (!isSmtpConfigured()) {
-            logger.info(
-                    "SMTP is not configured; skipping email send. to={}, verifyLink={}, tokenFingerprint={}",
-                    toEmail,
-                    maskedVerifyLink,
-                    tokenFingerprint
-            );
-            return;
+            for (UserRegisteredEventDto event : events) {
+                logger.info(
+                        "SMTP is not configured; skipping email send. to={}, verifyLink={}, tokenFingerprint={}",
+                        event.email(),
+                        maskedVerifyLink(),
+                        fingerprint(event.verificationToken())
+                );
+            }
+            return List.of();
         }
 
         JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
         if (mailSender == null) {
-            logger.info(
-                    "JavaMailSender is not configured; skipping email send. to={}, verifyLink={}",
-                    toEmail,
-                    maskedVerifyLink
-            );
-            return;
+            for (UserRegisteredEventDto event : events) {
+                logger.info(
+                        "JavaMailSender is not configured; skipping email send. to={}, verifyLink={}",
+                        event.email(),
+                        maskedVerifyLink()
+                );
+            }
+            return List.of();
         }
 
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
-            helper.setFrom(fromAddress);
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(html, true);
-            mailSender.send(mimeMessage);
-            logger.info("Sent verification email to {}", toEmail);
-        } catch (Exception ex) {
-            logger.warn(
-                    "Failed to send verification email to {} (verifyLink={}, tokenFingerprint={}): {}",
-                    toEmail,
-                    maskedVerifyLink,
-                    tokenFingerprint,
-                    ex.getMessage(),
-                    ex
-            );
+        List<SendFailure> failed = new ArrayList<>();
+        List<Integer> built = new ArrayList<>(events.size());
+        List<MimeMessage> messages = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            UserRegisteredEventDto event = events.get(i);
+            try {
+                messages.add(buildMessage(mailSender, event));
+                built.add(i);
+            } catch (MessagingException | IllegalStateException ex) {
+                logFailure(event, ex);
+                failed.add(new SendFailure(i, ex));
+            }
+        }
+
+        List<SendFailure> failures = smtpConnectionPool.send(messages);
+        for (SendFailure failure : failures) {
+            int index = built.get(failure.index());
+            logFailure(events.get(index), failure.cause());
+            failed.add(new SendFailure(index, failure.cause()));
         }
+        logger.info("Sent {} of {} verification emails", messages.size() - failures.size(), events.size());
+        return failed;
+    }
+
+    private MimeMessage buildMessage(JavaMailSender mailSender, UserRegisteredEventDto event)
+            throws MessagingException {
+        String verifyLink = authBaseUrl + "/api/auth/verify?token=" + event.verificationToken();
+
+        EmailTemplate template = templateRegistry.get(TemplateType.VERIFICATION, locale(event.locale()));
+        EmailTemplate.Rendered email = template.render(
+                templateProperties.getBrandName(), event.email(), verifyLink, LINK_EXPIRY_HOURS);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(event.email());
+        helper.setSubject(email.subject());
+        helper.setText(email.text(), email.html());
+        return mimeMessage;
+    }
+
+    private static @Nullable Locale locale(@Nullable String tag) {
+        return tag == null ? null : Locale.forLanguageTag(tag.replace('_', '-'));
+    }
+
+    private void logFailure(UserRegisteredEventDto event, Exception ex) {
+        logger.warn(
+                "Failed to send verification email to {} (verifyLink={}, tokenFingerprint={}): {}",
+                event.email(),
+                maskedVerifyLink(),
+                fingerprint(event.verificationToken()),
+                ex.getMessage(),
+                ex
+        );
+    }
+
+    private String maskedVerifyLink() {
+        return authBaseUrl + "/api/auth/verify?token=***";
     }
 
     boolean isSmtpConfigured() {
@@ -0,0 +1,289 @@
+package com.example.notification_service.service.alert;
+
+import com.example.notification_service.config.AlertProperties;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.exception.DispatchRejectedException;
+import com.example.notification_service.service.TransactionAlertEmailService;
+import com.example.notification_service.service.log.NotificationEvent;
+import com.example.notification_service.service.log.NotificationLogWriter;
+import com.example.notification_service.service.log.NotificationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns transaction events into alert emails, coalescing each recipient's events into digests.
+ *
+ * <p>The first event for a recipient opens a digest that is sent {@link AlertProperties#getDigestWindow()}
+ * later with every event that arrived in between, so a payroll run that credits an account many times sends
+ * one email instead of one per transaction. A digest is sent early once it holds
+ * {@link AlertProperties#getMaxDigestEvents()} events. Events of at least
+ * {@link AlertProperties#getHighValueThreshold()} and transactions held for review bypass the window and are
+ * sent immediately on their own.</p>
+ *
+ * <p>Open digests live in a {@link ConcurrentHashMap} keyed by recipient; adding an event is one
+ * {@link ConcurrentHashMap#compute} and never waits for SMTP. Digests are sent on the
+ * {@code transaction-alert} threads, and whatever is still open at shutdown is sent before the service
+ * stops. Alerts are not journaled: the ledger stays the record of truth, and an alert lost in a crash is
+ * not resent. At most {@link AlertProperties#getCapacity()} events are held; beyond that events are
+ * rejected with {@link DispatchRejectedException}.</p>
+ *
+ * <p>Each alert email is recorded in the notification log through the {@link NotificationLogWriter}: queued
+ * when its digest opens, then sent or failed.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code alerts.transaction.events}: transaction events received;</li>
+ *   <li>{@code alerts.transaction.emails}: alert emails sent, tagged {@code kind=immediate|digest};</li>
+ *   <li>{@code alerts.transaction.coalesced}: events folded into another event's email;</li>
+ *   <li>{@code alerts.transaction.failed}: alert emails that could not be sent;</li>
+ *   <li>{@code alerts.transaction.pending}: events waiting for their email.</li>
+ * </ul>
+ */
+@Component
+public class TransactionAlertCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAlertCoalescer.class);
+
+    private final AlertProperties properties;
+    private final TransactionAlertEmailService emailService;
+    private final NotificationLogWriter notificationLog;
+    private final Map<String, Digest> open = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Counter received;
+    private final Counter immediateEmails;
+    private final Counter digestEmails;
+    private final Counter coalesced;
+    private final Counter failed;
+    private volatile boolean stopping;
+
+    public TransactionAlertCoalescer(
+            AlertProperties properties,
+            TransactionAlertEmailService emailService,
+            NotificationLogWriter notificationLog,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.emailService = emailService;
+        this.notificationLog = notificationLog;
+        this.capacity = new Semaphore(properties.getCapacity());
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(properties.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "transaction-alert-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        // Open digests are sent by shutdown() itself rather than waiting out their windows.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        this.received = Counter.builder("alerts.transaction.events")
+                .description("Transaction events received")
+                .register(meterRegistry);
+        this.immediateEmails = Counter.builder("alerts.transaction.emails")
+                .description("Transaction alert emails sent")
+                .tag("kind", "immediate")
+                .register(meterRegistry);
+        this.digestEmails = Counter.builder("alerts.transaction.emails")
+                .description("Transaction alert emails sent")
+                .tag("kind", "digest")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("alerts.transaction.coalesced")
+                .description("Transaction events folded into another event's email")
+                .register(meterRegistry);
+        this.failed = Counter.builder("alerts.transaction.failed")
+                .description("Transaction alert emails that could not be sent")
+                .register(meterRegistry);
+        Gauge.builder("alerts.transaction.pending", this,
+                        coalescer -> properties.getCapacity() - coalescer.capacity.availablePermits())
+                .description("Transaction events waiting for their alert email")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts one transaction event.
+     *
+     * @param event the event
+     * @throws DispatchRejectedException if too many events are already waiting
+     */
+    public void submit(TransactionEventDto event) {
+        submitAll(List.of(event));
+    }
+
+    /**
+     * Accepts a batch of transaction events, or none of them.
+     *
+     * @param events the events
+     * @throws DispatchRejectedException if the batch does not fit
+     */
+    public void submitAll(List<TransactionEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (stopping) {
+            throw new DispatchRejectedException("Transaction alerts are shutting down", properties.getRetryAfter());
+        }
+        if (!capacity.tryAcquire(events.size())) {
+            throw new DispatchRejectedException("Too many transaction alerts are waiting", properties.getRetryAfter());
+        }
+        received.increment(events.size());
+        for (TransactionEventDto event : events) {
+            if (isUrgent(event)) {
+                UUID id = UUID.randomUUID();
+                notificationLog.accepted(id, NotificationEvent.TRANSACTION, event.email());
+                execute(() -> send(event.email(), id, List.of(event), false));
+            } else {
+                add(event);
+            }
+        }
+    }
+
+    private boolean isUrgent(TransactionEventDto event) {
+        return event.status() == TransactionEventDto.Status.PENDING_REVIEW
+                || event.amount().compareTo(properties.getHighValueThreshold()) >= 0;
+    }
+
+    private void add(TransactionEventDto event) {
+        String recipient = event.email().toLowerCase(Locale.ROOT);
+        Digest[] full = new Digest[1];
+        open.compute(recipient, (key, digest) -> {
+            if (digest == null) {
+                Digest created = new Digest();
+                notificationLog.accepted(created.id, NotificationEvent.TRANSACTION, key);
+                created.flush = schedule(() -> flush(key, created));
+                digest = created;
+            }
+            digest.events.add(event);
+            if (digest.events.size() >= properties.getMaxDigestEvents()) {
+                full[0] = digest;
+                return null;
+            }
+            return digest;
+        });
+        Digest digest = full[0];
+        if (digest != null) {
+            if (digest.flush != null) {
+                digest.flush.cancel(false);
+            }
+            execute(() -> send(recipient, digest.id, digest.events, true));
+        }
+    }
+
+    private void flush(String recipient, Digest digest) {
+        // Loses to a concurrent add() that found the digest full; that call sends it instead.
+        if (open.remove(recipient, digest)) {
+            send(recipient, digest.id, digest.events, true);
+        }
+    }
+
+    private void send(String recipient, UUID id, List<TransactionEventDto> events, boolean digest) {
+        boolean sent;
+        try {
+            sent = emailService.send(recipient, events);
+        } catch (RuntimeException ex) {
+            sent = false;
+            logger.error("Transaction alert to {} failed: {}", recipient, ex.getMessage(), ex);
+        }
+        if (sent) {
+            (digest ? digestEmails : immediateEmails).increment();
+            coalesced.increment(events.size() - 1);
+        } else {
+            failed.increment();
+        }
+        notificationLog.updated(id, sent ? NotificationStatus.SENT : NotificationStatus.FAILED, 1);
+        capacity.release(events.size());
+    }
+
+    private @Nullable ScheduledFuture<?> schedule(Runnable task) {
+        try {
+            return executor.schedule(task, properties.getDigestWindow().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Shutting down: shutdown() sends every open digest.
+            return null;
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            task.run();
+        }
+    }
+
+    /**
+     * Returns how much coalescing has reduced send volume since startup.
+     *
+     * @return events received and emails sent
+     */
+    public Stats stats() {
+        return new Stats(
+                (long) received.count(),
+                (long) (immediateEmails.count() + digestEmails.count()),
+                (long) coalesced.count());
+    }
+
+    /**
+     * Sends every open digest now and waits for alerts being sent to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdown();
+        for (Map.Entry<String, Digest> entry : open.entrySet()) {
+            flush(entry.getKey(), entry.getValue());
+        }
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Transaction alerts were still being sent at shutdown");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Send volume of transaction alerts.
+     *
+     * @param events    transaction events received
+     * @param emails    alert emails sent
+     * @param coalesced events that did not need an email of their own
+     */
+    public record Stats(long events, long emails, long coalesced) {
+
+        /**
+         * Returns the share of events that did not cause an email of their own, between 0 and 1.
+         *
+         * @return {@code coalesced / (emails + coalesced)}, or 0 before anything was sent
+         */
+        public double volumeReduction() {
+            long handled = emails + coalesced;
+            return handled == 0 ? 0 : (double) coalesced / handled;
+        }
+    }
+
+    private static final class Digest {
+        // Mutated only inside ConcurrentHashMap#compute, and read only after the digest left the map.
+        private final UUID id = UUID.randomUUID();
+        private final List<TransactionEventDto> events = new ArrayList<>();
+        private @Nullable ScheduledFuture<?> flush;
+    }
+}
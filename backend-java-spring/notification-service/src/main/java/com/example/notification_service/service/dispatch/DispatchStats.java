@@ -0,0 +1,179 @@
+package com.example.notification_service.service.dispatch;
+
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Live counters of the email delivery pipeline, read by the internal diagnostics endpoint.
+ *
+ * <p>Everything is a {@link LongAdder}, {@link LongAccumulator} or {@link AtomicLongArray} slot, so
+ * recording costs the dispatch workers one uncontended atomic add per value and {@link #snapshot()} never
+ * blocks them. A snapshot is therefore not atomic across fields: a send finishing while it is taken may be
+ * counted in one field and not yet in another.</p>
+ *
+ * <p>Send latency is recorded per batch into power-of-two millisecond buckets: bucket {@code i} counts
+ * batches that took less than {@code 2^i} ms (and at least {@code 2^(i-1)}), the last bucket everything
+ * slower. Percentiles are reported as the upper bound of the bucket they fall into.</p>
+ */
+@Component
+public class DispatchStats {
+
+    /**
+     * Why an email failed to send.
+     */
+    public enum FailureCause {
+        /** The server deferred the email with a {@code 4xx} reply. */
+        DEFERRED,
+        /** The server refused the email with a {@code 5xx} reply. */
+        REJECTED,
+        /** No server reply: a connection, authentication or message-building error. */
+        ERROR;
+
+        static FailureCause of(SendFailure failure) {
+            int code = failure.replyCode();
+            if (code >= 400 && code < 500) {
+                return DEFERRED;
+            }
+            return code >= 500 ? REJECTED : ERROR;
+        }
+    }
+
+    static final int LATENCY_BUCKETS = 18;
+
+    private final LongAdder sent = new LongAdder();
+    private final Map<FailureCause, LongAdder> failed = new EnumMap<>(FailureCause.class);
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder retryBacklog = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKETS);
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    public DispatchStats() {
+        for (FailureCause cause : FailureCause.values()) {
+            failed.put(cause, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a batch handed to SMTP.
+     */
+    public void sending(int emails) {
+        inFlight.add(emails);
+    }
+
+    /**
+     * Records a finished batch: its latency, how many emails were delivered, and why the others failed.
+     */
+    public void sent(int emails, List<SendFailure> failures, long nanos) {
+        inFlight.add(-emails);
+        sent.add(emails - failures.size());
+        for (SendFailure failure : failures) {
+            failed.get(FailureCause.of(failure)).increment();
+        }
+        latencyBuckets.incrementAndGet(bucket(nanos));
+        latencyNanos.add(nanos);
+        maxLatencyNanos.accumulate(nanos);
+    }
+
+    void retryScheduled() {
+        retryBacklog.increment();
+    }
+
+    void retryDue() {
+        retryBacklog.decrement();
+    }
+
+    static int bucket(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        // 0 ms -> bucket 0, [1, 2) -> 1, [2, 4) -> 2, ...
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+    }
+
+    /**
+     * Reads the counters without blocking the send path.
+     *
+     * @return the current values
+     */
+    public Snapshot snapshot() {
+        Map<FailureCause, Long> failures = new EnumMap<>(FailureCause.class);
+        failed.forEach((cause, count) -> failures.put(cause, count.sum()));
+
+        long[] counts = new long[LATENCY_BUCKETS];
+        long batches = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            counts[i] = latencyBuckets.get(i);
+            batches += counts[i];
+        }
+        List<Bucket> buckets = new ArrayList<>(LATENCY_BUCKETS);
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            if (counts[i] > 0) {
+                buckets.add(new Bucket(i == LATENCY_BUCKETS - 1 ? null : 1L << i, counts[i]));
+            }
+        }
+        Latency latency = new Latency(
+                batches,
+                batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / batches),
+                TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()),
+                percentile(counts, batches, 0.50),
+                percentile(counts, batches, 0.95),
+                percentile(counts, batches, 0.99),
+                buckets);
+        return new Snapshot(sent.sum(), failures, Math.max(0, inFlight.sum()), Math.max(0, retryBacklog.sum()), latency);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return 1L << (counts.length - 1);
+    }
+
+    /**
+     * Pipeline counters at one point in time.
+     *
+     * @param sent         emails delivered since startup
+     * @param failed       failed send attempts since startup, by cause; retries count again
+     * @param inFlight     emails in batches currently being sent
+     * @param retryBacklog emails waiting on the retry scheduler, including ones held back from a full lane
+     * @param sendLatency  per-batch send latency
+     */
+    public record Snapshot(long sent, Map<FailureCause, Long> failed, long inFlight, long retryBacklog, Latency sendLatency) {}
+
+    /**
+     * Per-batch send latency in milliseconds.
+     *
+     * @param count   batches sent
+     * @param mean    mean latency
+     * @param max     slowest batch
+     * @param p50     median, as a bucket upper bound
+     * @param p95     95th percentile, as a bucket upper bound
+     * @param p99     99th percentile, as a bucket upper bound
+     * @param buckets non-empty buckets
+     */
+    public record Latency(long count, long mean, long max, long p50, long p95, long p99, List<Bucket> buckets) {}
+
+    /**
+     * One histogram bucket.
+     *
+     * @param lessThanMillis exclusive upper bound, or {@code null} for the overflow bucket
+     * @param count          batches in the bucket
+     */
+    public record Bucket(@Nullable Long lessThanMillis, long count) {}
+}
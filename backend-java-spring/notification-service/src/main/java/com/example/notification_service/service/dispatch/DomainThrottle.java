@@ -0,0 +1,92 @@
+package com.example.notification_service.service.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket with an adaptive rate for one recipient domain.
+ *
+ * <p>The rate follows additive-increase/multiplicative-decrease, as TCP congestion control does: a batch
+ * that met a temporary failure divides it, a clean batch adds a fixed step back. Only one decrease is taken
+ * per round of batches, i.e. a failed batch started before the last decrease does not decrease again, so
+ * several batches in flight when the server starts deferring do not collapse the rate at once.</p>
+ *
+ * <p>Times are {@link System#nanoTime()} values passed in by the caller.</p>
+ */
+final class DomainThrottle {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+    private final double minRate;
+    private final double burst;
+    private final double slowDownFactor;
+    private final double recoveryStep;
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+    private long slowedDownAt;
+
+    DomainThrottle(double maxRate, double minRate, int burst, double slowDownFactor, double recoveryStep, long now) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.burst = burst;
+        this.slowDownFactor = slowDownFactor;
+        this.recoveryStep = recoveryStep;
+        this.rate = maxRate;
+        this.tokens = burst;
+        this.refilledAt = now;
+        this.slowedDownAt = now;
+    }
+
+    /**
+     * Takes up to {@code wanted} tokens.
+     *
+     * @return how many were taken, possibly none
+     */
+    synchronized int tryAcquire(int wanted, long now) {
+        refill(now);
+        int granted = (int) Math.min(wanted, Math.floor(tokens));
+        tokens -= granted;
+        return granted;
+    }
+
+    /**
+     * Returns how long until {@link #tryAcquire(int, long)} grants at least one token.
+     */
+    synchronized long nanosUntilAvailable(long now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / rate * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Records a batch delivered without temporary failures.
+     */
+    synchronized void onDelivered() {
+        rate = Math.min(maxRate, rate + recoveryStep);
+    }
+
+    /**
+     * Records a batch, started at {@code batchStartedAt}, that the server partly deferred. Empties the bucket
+     * so the domain pauses, and slows the rate down unless that already happened during this batch.
+     */
+    synchronized void onTemporaryFailure(long batchStartedAt, long now) {
+        refill(now);
+        tokens = 0;
+        if (batchStartedAt - slowedDownAt >= 0) {
+            rate = Math.max(minRate, rate * slowDownFactor);
+            slowedDownAt = now;
+        }
+    }
+
+    synchronized double rate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * rate / NANOS_PER_SECOND);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package com.example.notification_service.service.dispatch;
+
+import com.example.notification_service.config.DispatchProperties;
+import com.example.notification_service.config.DomainThrottleProperties;
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.exception.DispatchRejectedException;
+import com.example.notification_service.service.VerificationEmailService;
+import com.example.notification_service.service.journal.EmailJournal;
+import com.example.notification_service.service.journal.EventFingerprint;
+import com.example.notification_service.service.journal.JournalEntry;
+import com.example.notification_service.service.log.NotificationEvent;
+import com.example.notification_service.service.log.NotificationLogWriter;
+import com.example.notification_service.service.log.NotificationStatus;
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory queue that decouples event ingestion from SMTP delivery.
+ *
+ * <p>Controllers enqueue and return {@code 202 Accepted} immediately; a fixed pool of dispatch workers,
+ * sized by {@link DispatchProperties#getWorkers()} and separate from the web server's threads, drains the
+ * queue. Admission is all-or-nothing: a batch either fits entirely or is rejected with
+ * {@link DispatchRejectedException}, so a caller retrying a rejected batch never duplicates part of it.</p>
+ *
+ * <p>Accepted emails wait in one lane per recipient domain. Each worker takes the next lane that is ready,
+ * takes whatever that lane holds, up to {@link DispatchProperties#getBatchSize()} emails, and sends it as one
+ * batch over one pooled SMTP session. Under light load batches hold a single email, so latency is
+ * unaffected; under heavy load the per-session handshake is amortized across the batch, and each batch
+ * goes to one provider.</p>
+ *
+ * <p>Each lane is throttled by a {@link DomainThrottle} configured by {@link DomainThrottleProperties}: a
+ * token bucket whose rate halves whenever the domain defers mail with a {@code 4xx} reply and recovers while
+ * it accepts mail. A worker never waits for a throttled lane: a lane without tokens is parked on the retry
+ * scheduler until its next token is due, and the worker moves on to other domains. A lane also has at most
+ * {@link DomainThrottleProperties#getMaxConcurrentBatches()} batches in flight, so a throttled domain cannot
+ * starve healthy ones of workers. Emails beyond {@link DomainThrottleProperties#getMaxQueued()} are held back
+ * on the retry scheduler and re-enter the lane later; they keep their queue capacity until then, so a spike
+ * to one domain fills the queue and is rejected like any other instead of piling up in memory.</p>
+ *
+ * <p>Every accepted email is written to the {@link EmailJournal} before {@link #submitAll(List)} returns, so
+ * an acknowledged email survives a crash and emails still queued at shutdown are redelivered on the next
+ * start. A failed email is rescheduled with exponential backoff and jitter (see {@link JournalProperties});
+ * after {@link JournalProperties#getMaxAttempts()} failures it is moved to the journal's dead-letter segment.
+ * Retries re-enter the queue only when it has room, so they never cause new events to be rejected.</p>
+ *
+ * <p>Events already accepted within the deduplication window are dropped before admission by the
+ * {@link EventDeduplicator}; they count as accepted, so a publisher's retry succeeds without a second email.
+ * Events of a rejected batch are forgotten again, so the retry of that batch is not mistaken for a
+ * duplicate.</p>
+ *
+ * <p>Each email's progress is recorded in the notification log through the {@link NotificationLogWriter},
+ * which only queues the change; its id is derived from the event's {@link EventFingerprint}, so it survives
+ * a restart along with the journal.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code email.dispatch.queue.depth}: emails accepted but not yet picked up by a worker;</li>
+ *   <li>{@code email.dispatch.wait}: time from acceptance until a worker picks the email up;</li>
+ *   <li>{@code email.dispatch.send}: time spent sending one batch;</li>
+ *   <li>{@code email.dispatch.batch.size}: emails per batch;</li>
+ *   <li>{@code email.dispatch.rejected}: emails refused because the queue was full;</li>
+ *   <li>{@code email.dispatch.duplicates}: events dropped as already accepted;</li>
+ *   <li>{@code email.dispatch.retries}: failed sends scheduled for another attempt;</li>
+ *   <li>{@code email.dispatch.dead.lettered}: emails given up on after the last attempt;</li>
+ *   <li>{@code email.journal.outstanding}: journaled emails not yet delivered or dead-lettered;</li>
+ *   <li>{@code email.dispatch.domain.queued}, {@code email.dispatch.domain.rate}: per domain, emails waiting
+ *   in its lane and its current allowed rate in emails per second;</li>
+ *   <li>{@code email.dispatch.domain.deferred}: per domain, emails the server deferred with a {@code 4xx}
+ *   reply;</li>
+ *   <li>{@code email.dispatch.domain.throttled}: per domain, times its lane was parked for lack of tokens;</li>
+ *   <li>{@code email.dispatch.domain.overflow}: per domain, emails held back for later because its lane was
+ *   full.</li>
+ * </ul>
+ * <p>Per-domain meters are tagged {@code domain} and removed with the lane once it has been idle for
+ * {@value #LANE_IDLE_MINUTES} minutes, which also resets the domain's rate.</p>
+ */
+@Component
+public class EmailDispatchQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatchQueue.class);
+
+    private static final long POLL_MILLIS = 200;
+    static final long LANE_IDLE_MINUTES = 10;
+
+    private final VerificationEmailService verificationEmailService;
+    private final DispatchProperties properties;
+    private final DomainThrottleProperties throttleProperties;
+    private final JournalProperties journalProperties;
+    private final EmailJournal journal;
+    private final EventDeduplicator deduplicator;
+    private final DispatchStats stats;
+    private final NotificationLogWriter notificationLog;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore capacity;
+    private final Map<String, DomainLane> lanes = new ConcurrentHashMap<>();
+    // Lanes with queued emails and room for another batch. Unbounded by type; the semaphore bounds the emails.
+    private final BlockingQueue<DomainLane> ready = new LinkedBlockingQueue<>();
+    private final List<Thread> workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final Timer waitTimer;
+    private final Timer sendTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter duplicates;
+    private final Counter retries;
+    private final Counter deadLettered;
+    private volatile boolean stopping;
+
+    public EmailDispatchQueue(
+            VerificationEmailService verificationEmailService,
+            DispatchProperties properties,
+            DomainThrottleProperties throttleProperties,
+            JournalProperties journalProperties,
+            EmailJournal journal,
+            EventDeduplicator deduplicator,
+            DispatchStats stats,
+            NotificationLogWriter notificationLog,
+            MeterRegistry meterRegistry) {
+        this.verificationEmailService = verificationEmailService;
+        this.properties = properties;
+        this.throttleProperties = throttleProperties;
+        this.journalProperties = journalProperties;
+        this.journal = journal;
+        this.deduplicator = deduplicator;
+        this.stats = stats;
+        this.notificationLog = notificationLog;
+        this.meterRegistry = meterRegistry;
+        this.capacity = new Semaphore(properties.getCapacity());
+
+        Gauge.builder("email.dispatch.queue.depth", this, EmailDispatchQueue::depth)
+                .description("Emails accepted but not yet picked up by a dispatch worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("email.dispatch.wait")
+                .description("Time from acceptance until a dispatch worker picks the email up")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.dispatch.send")
+                .description("Time spent sending one batch of emails")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("email.dispatch.batch.size")
+                .description("Emails sent per batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("email.dispatch.rejected")
+                .description("Emails refused because the dispatch queue was full")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("email.dispatch.duplicates")
+                .description("Events dropped because they were already accepted")
+                .register(meterRegistry);
+        this.retries = Counter.builder("email.dispatch.retries")
+                .description("Failed sends scheduled for another attempt")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("email.dispatch.dead.lettered")
+                .description("Emails moved to the dead-letter segment after the last attempt")
+                .register(meterRegistry);
+        Gauge.builder("email.journal.outstanding", journal, EmailJournal::outstanding)
+                .description("Journaled emails not yet delivered or dead-lettered")
+                .register(meterRegistry);
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "email-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.retryScheduler = scheduler;
+        retryScheduler.scheduleWithFixedDelay(
+                this::retireIdleLanes, LANE_IDLE_MINUTES, LANE_IDLE_MINUTES, TimeUnit.MINUTES);
+
+        this.workers = new ArrayList<>(properties.getWorkers());
+        for (int i = 1; i <= properties.getWorkers(); i++) {
+            Thread worker = new Thread(this::runWorker, "email-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        Instant now = Instant.now();
+        for (JournalEntry entry : journal.drainRecovered()) {
+            Duration delay = Duration.between(now, entry.nextAttemptAt());
+            schedule(new Pending(entry.id(), entry.event(), entry.attempts(), 0), delay.isNegative() ? Duration.ZERO : delay);
+        }
+    }
+
+    /**
+     * Accepts one verification email for asynchronous delivery.
+     *
+     * @param event the user-registered event
+     * @throws DispatchRejectedException if the queue is full
+     */
+    public void submit(UserRegisteredEventDto event) {
+        submitAll(List.of(event));
+    }
+
+    /**
+     * Accepts a batch of verification emails, or none of them. Returns once the batch is durably journaled.
+     * Events already accepted earlier are skipped and do not count against the queue.
+     *
+     * @param events the user-registered events
+     * @throws DispatchRejectedException if the new events of the batch do not all fit in the queue
+     * @throws java.io.UncheckedIOException if the batch could not be journaled; nothing was accepted
+     */
+    public void submitAll(List<UserRegisteredEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (stopping) {
+            rejected.increment(events.size());
+            throw new DispatchRejectedException("Email dispatch is shutting down", properties.getRetryAfter());
+        }
+        List<UserRegisteredEventDto> fresh = deduplicator.claim(events);
+        duplicates.increment(events.size() - fresh.size());
+        if (fresh.isEmpty()) {
+            return;
+        }
+        if (!capacity.tryAcquire(fresh.size())) {
+            deduplicator.release(fresh);
+            rejected.increment(fresh.size());
+            throw new DispatchRejectedException("Email dispatch queue is full", properties.getRetryAfter());
+        }
+        List<Long> ids;
+        try {
+            ids = journal.append(fresh);
+        } catch (RuntimeException ex) {
+            capacity.release(fresh.size());
+            deduplicator.release(fresh);
+            throw ex;
+        }
+        long acceptedAt = System.nanoTime();
+        Map<String, List<Pending>> byDomain = new LinkedHashMap<>();
+        for (int i = 0; i < fresh.size(); i++) {
+            UserRegisteredEventDto event = fresh.get(i);
+            notificationLog.accepted(logId(event), NotificationEvent.USER_REGISTERED, event.email());
+            byDomain.computeIfAbsent(domainOf(event.email()), domain -> new ArrayList<>())
+                    .add(new Pending(ids.get(i), event, 0, acceptedAt));
+        }
+        byDomain.forEach(this::enqueue);
+    }
+
+    /**
+     * Returns the number of accepted emails still waiting for a worker.
+     *
+     * @return the current queue depth
+     */
+    public int depth() {
+        return properties.getCapacity() - capacity.availablePermits();
+    }
+
+    /**
+     * Adds emails, each holding one capacity permit, to their domain's lane in one step, so a worker sees them
+     * together. Emails that do not fit in the lane are held back for later and keep their permit.
+     */
+    private void enqueue(String domain, List<Pending> emails) {
+        while (true) {
+            DomainLane lane = lanes.computeIfAbsent(domain, this::newLane);
+            synchronized (lane) {
+                if (lane.retired) {
+                    continue;
+                }
+                for (Pending pending : emails) {
+                    if (lane.pending.size() < throttleProperties.getMaxQueued()) {
+                        lane.pending.addLast(pending);
+                        continue;
+                    }
+                    lane.overflow.increment();
+                    // Roughly when the lane will have drained at its current rate.
+                    holdBack(domain, pending, Duration.ofMillis((long) (lane.pending.size() * 1000 / lane.throttle.rate())));
+                }
+                lane.lastActiveAt = System.nanoTime();
+                offer(lane);
+                return;
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        while (true) {
+            DomainLane lane;
+            try {
+                lane = ready.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (lane == null) {
+                if (stopping) {
+                    return;
+                }
+                continue;
+            }
+            if (!take(lane, batch)) {
+                continue;
+            }
+
+            capacity.release(batch.size());
+            long pickedUpAt = System.nanoTime();
+            List<UserRegisteredEventDto> events = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                waitTimer.record(pickedUpAt - pending.acceptedAt(), TimeUnit.NANOSECONDS);
+                events.add(pending.event());
+            }
+            batchSizes.record(batch.size());
+
+            List<SendFailure> failed;
+            stats.sending(events.size());
+            long sendStart = System.nanoTime();
+            try {
+                failed = verificationEmailService.sendVerificationEmails(events);
+            } catch (RuntimeException ex) {
+                logger.error("Email dispatch batch of {} failed: {}", events.size(), ex.getMessage(), ex);
+                failed = failAll(events.size(), ex);
+            }
+            long sendNanos = System.nanoTime() - sendStart;
+            sendTimer.record(sendNanos, TimeUnit.NANOSECONDS);
+            stats.sent(events.size(), failed, sendNanos);
+            complete(batch, failed);
+            finish(lane, batch.size(), failed, sendStart);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Moves as many emails from the lane into the batch as its tokens allow, or parks the lane until its
+     * next token is due.
+     *
+     * @return whether the batch has emails to send
+     */
+    private boolean take(DomainLane lane, List<Pending> batch) {
+        long now = System.nanoTime();
+        synchronized (lane) {
+            lane.scheduled = false;
+            int granted = lane.throttle.tryAcquire(Math.min(lane.pending.size(), properties.getBatchSize()), now);
+            if (granted == 0) {
+                park(lane, now);
+                return false;
+            }
+            for (int i = 0; i < granted; i++) {
+                batch.add(lane.pending.pollFirst());
+            }
+            lane.inFlight++;
+            lane.lastActiveAt = now;
+            offer(lane);
+            return true;
+        }
+    }
+
+    // Caller holds the lane's lock.
+    private void park(DomainLane lane, long now) {
+        if (lane.pending.isEmpty() || stopping) {
+            return;
+        }
+        lane.scheduled = true;
+        lane.throttled.increment();
+        retryScheduler.schedule(() -> ready.add(lane), lane.throttle.nanosUntilAvailable(now), TimeUnit.NANOSECONDS);
+    }
+
+    // Caller holds the lane's lock.
+    private void offer(DomainLane lane) {
+        if (!lane.scheduled && !lane.pending.isEmpty() && lane.inFlight < throttleProperties.getMaxConcurrentBatches()) {
+            lane.scheduled = true;
+            ready.add(lane);
+        }
+    }
+
+    /**
+     * Feeds a sent batch's outcome to the lane's throttle and lets the lane send its next batch.
+     */
+    private void finish(DomainLane lane, int sent, List<SendFailure> failed, long sendStart) {
+        long now = System.nanoTime();
+        int deferred = 0;
+        for (SendFailure failure : failed) {
+            if (failure.isTemporary()) {
+                deferred++;
+            }
+        }
+        if (deferred > 0) {
+            lane.throttle.onTemporaryFailure(sendStart, now);
+            lane.deferred.increment(deferred);
+            logger.warn("{} deferred {} of {} emails; slowing down to {} emails/s",
+                    lane.domain, deferred, sent, String.format("%.2f", lane.throttle.rate()));
+        } else if (failed.size() < sent) {
+            lane.throttle.onDelivered();
+        }
+        synchronized (lane) {
+            lane.inFlight--;
+            lane.lastActiveAt = now;
+            offer(lane);
+        }
+    }
+
+    private void complete(List<Pending> batch, List<SendFailure> failed) {
+        Map<Integer, SendFailure> failures = new HashMap<>();
+        for (SendFailure failure : failed) {
+            failures.put(failure.index(), failure);
+        }
+        List<Long> delivered = new ArrayList<>(batch.size() - failures.size());
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                SendFailure failure = failures.get(i);
+                if (failure != null) {
+                    retryLater(pending, failure);
+                } else {
+                    delivered.add(pending.journalId());
+                    notificationLog.updated(logId(pending.event()), NotificationStatus.SENT, pending.attempts() + 1);
+                }
+            }
+            journal.markDelivered(delivered);
+        } catch (RuntimeException ex) {
+            // The journal still holds these emails; they are retried after the next restart.
+            logger.error("Could not record email delivery outcomes in the journal: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void retryLater(Pending pending, SendFailure failure) {
+        int attempts = pending.attempts() + 1;
+        if (attempts >= journalProperties.getMaxAttempts()) {
+            String message = failure.cause().getMessage();
+            journal.deadLetter(pending.journalId(), attempts,
+                    message != null ? message : failure.cause().getClass().getName());
+            notificationLog.updated(logId(pending.event()), NotificationStatus.FAILED, attempts);
+            deadLettered.increment();
+            logger.warn("Giving up on verification email to {} after {} attempts; moved to the dead-letter file",
+                    pending.event().email(), attempts);
+            return;
+        }
+        Duration delay = backoff(attempts, journalProperties.getInitialBackoff(), journalProperties.getMaxBackoff());
+        journal.recordFailure(pending.journalId(), attempts, Instant.now().plus(delay));
+        notificationLog.updated(logId(pending.event()), NotificationStatus.RETRYING, attempts);
+        retries.increment();
+        schedule(new Pending(pending.journalId(), pending.event(), attempts, 0), delay);
+    }
+
+    /**
+     * Returns the delay before the next attempt: {@code initial * 2^(attempts - 1)}, capped at {@code max},
+     * then drawn uniformly between half and all of that ("equal jitter") so failures from one burst spread
+     * out on retry.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        long ceiling = initial.toMillis() << Math.min(attempts - 1, 30);
+        if (ceiling <= 0 || ceiling > max.toMillis()) {
+            ceiling = max.toMillis();
+        }
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    private void schedule(Pending pending, Duration delay) {
+        if (stopping) {
+            return;
+        }
+        retryScheduler.schedule(() -> requeue(pending), delay.toMillis(), TimeUnit.MILLISECONDS);
+        stats.retryScheduled();
+    }
+
+    /**
+     * Re-enters an email that still holds its capacity permit into its lane after a delay.
+     */
+    private void holdBack(String domain, Pending pending, Duration delay) {
+        if (stopping) {
+            return;
+        }
+        retryScheduler.schedule(() -> {
+            stats.retryDue();
+            if (!stopping) {
+                enqueue(domain, List.of(pending));
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        stats.retryScheduled();
+    }
+
+    private void requeue(Pending pending) {
+        stats.retryDue();
+        if (stopping) {
+            return;
+        }
+        if (capacity.tryAcquire()) {
+            enqueue(domainOf(pending.event().email()),
+                    List.of(new Pending(pending.journalId(), pending.event(), pending.attempts(), System.nanoTime())));
+        } else {
+            schedule(pending, properties.getRetryAfter());
+        }
+    }
+
+    private static List<SendFailure> failAll(int size, Exception cause) {
+        List<SendFailure> failures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            failures.add(new SendFailure(i, cause));
+        }
+        return failures;
+    }
+
+    private static UUID logId(UserRegisteredEventDto event) {
+        EventFingerprint fingerprint = EventFingerprint.of(event);
+        return new UUID(fingerprint.high(), fingerprint.low());
+    }
+
+    private static String domainOf(String email) {
+        int at = email.lastIndexOf('@');
+        return email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private DomainLane newLane(String domain) {
+        DomainThrottle throttle = new DomainThrottle(
+                throttleProperties.rateFor(domain),
+                throttleProperties.getMinRate(),
+                throttleProperties.getBurst(),
+                throttleProperties.getSlowDownFactor(),
+                throttleProperties.getRecoveryStep(),
+                System.nanoTime());
+        return new DomainLane(domain, throttle, meterRegistry);
+    }
+
+    /**
+     * Forgets lanes, with their meters and throttling state, that have been empty and unused for
+     * {@value #LANE_IDLE_MINUTES} minutes, so the map and meter registry hold only recently active domains.
+     */
+    private void retireIdleLanes() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(LANE_IDLE_MINUTES);
+        for (DomainLane lane : lanes.values()) {
+            synchronized (lane) {
+                if (lane.pending.isEmpty() && !lane.scheduled && lane.inFlight == 0 && lane.lastActiveAt - cutoff < 0) {
+                    lane.retired = true;
+                    // Meters first: a replacement lane registers meters with the same name and tags.
+                    lane.meters.forEach(meterRegistry::remove);
+                    lanes.remove(lane.domain, lane);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting work and gives queued emails up to {@link DispatchProperties#getShutdownTimeout()}
+     * to drain. Emails left behind, including scheduled retries, stay in the journal for the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        retryScheduler.shutdownNow();
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        try {
+            for (Thread worker : workers) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining > 0) {
+                    worker.join(remaining);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int left = 0;
+        for (DomainLane lane : lanes.values()) {
+            left += lane.size();
+        }
+        workers.forEach(Thread::interrupt);
+        if (left > 0) {
+            logger.warn("Email dispatch did not drain in {}; {} queued emails stay journaled for the next start",
+                    properties.getShutdownTimeout(), left);
+        }
+    }
+
+    private record Pending(long journalId, UserRegisteredEventDto event, int attempts, long acceptedAt) {}
+
+    /**
+     * Emails waiting for one recipient domain. Mutable state is guarded by the lane's monitor.
+     */
+    private static final class DomainLane {
+
+        private final String domain;
+        private final DomainThrottle throttle;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private final Counter deferred;
+        private final Counter throttled;
+        private final Counter overflow;
+        private final List<Meter> meters;
+        // In the ready queue or parked on the retry scheduler; either way a worker will see the lane again.
+        private boolean scheduled;
+        private int inFlight;
+        private boolean retired;
+        private long lastActiveAt = System.nanoTime();
+
+        private DomainLane(String domain, DomainThrottle throttle, MeterRegistry meterRegistry) {
+            this.domain = domain;
+            this.throttle = throttle;
+            this.deferred = Counter.builder("email.dispatch.domain.deferred")
+                    .description("Emails the recipient domain deferred with a 4xx reply")
+                    .tag("domain", domain)
+                    .register(meterRegistry);
+            this.throttled = Counter.builder("email.dispatch.domain.throttled")
+                    .description("Times the domain's lane was parked for lack of tokens")
+                    .tag("domain", domain)
+                    .register(meterRegistry);
+            this.overflow = Counter.builder("email.dispatch.domain.overflow")
+                    .description("Emails held back for later because the domain's lane was full")
+                    .tag("domain", domain)
+                    .register(meterRegistry);
+            Gauge queued = Gauge.builder("email.dispatch.domain.queued", this, DomainLane::size)
+                    .description("Emails waiting in the domain's lane")
+                    .tag("domain", domain)
+                    .strongReference(true)
+                    .register(meterRegistry);
+            Gauge rate = Gauge.builder("email.dispatch.domain.rate", throttle, DomainThrottle::rate)
+                    .description("Current allowed send rate to the domain in emails per second")
+                    .tag("domain", domain)
+                    .strongReference(true)
+                    .register(meterRegistry);
+            this.meters = List.of(deferred, throttled, overflow, queued, rate);
+        }
+
+        private synchronized int size() {
+            return pending.size();
+        }
+    }
+}
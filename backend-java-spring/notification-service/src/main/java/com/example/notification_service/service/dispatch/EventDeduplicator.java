@@ -0,0 +1,69 @@
+package com.example.notification_service.service.dispatch;
+
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.service.journal.EmailJournal;
+import com.example.notification_service.service.journal.EventFingerprint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops user-registered events already accepted within {@link JournalProperties#getDedupWindow()}.
+ *
+ * <p>Events are identified by {@link EventFingerprint}, so a publisher retrying a timed-out request, or
+ * resending a batch of which only part was accepted, does not send a second email. Lookups are one
+ * bounded, time-expiring Caffeine map operation per event. The map is seeded at startup from the
+ * fingerprints the {@link EmailJournal} persisted, so the window spans restarts.</p>
+ */
+@Component
+public class EventDeduplicator {
+
+    private final Cache<EventFingerprint, Long> seen;
+
+    public EventDeduplicator(JournalProperties properties, EmailJournal journal) {
+        long windowMillis = properties.getDedupWindow().toMillis();
+        // Each entry expires one window after it was first accepted, including entries recovered from disk.
+        this.seen = Caffeine.newBuilder()
+                .maximumSize(properties.getDedupMaxEntries())
+                .expireAfter(Expiry.<EventFingerprint, Long>creating((fingerprint, acceptedAt) ->
+                        Duration.ofMillis(Math.max(0, acceptedAt + windowMillis - System.currentTimeMillis()))))
+                .build();
+        seen.putAll(journal.drainRecoveredFingerprints());
+    }
+
+    /**
+     * Marks events as seen and returns those that were not seen before, in order. A duplicate within the
+     * list itself is dropped too.
+     *
+     * @param events incoming events
+     * @return the events to process
+     */
+    public List<UserRegisteredEventDto> claim(List<UserRegisteredEventDto> events) {
+        Map<EventFingerprint, Long> map = seen.asMap();
+        long now = System.currentTimeMillis();
+        List<UserRegisteredEventDto> fresh = new ArrayList<>(events.size());
+        for (UserRegisteredEventDto event : events) {
+            if (map.putIfAbsent(EventFingerprint.of(event), now) == null) {
+                fresh.add(event);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Forgets events claimed by {@link #claim(List)} that were then not accepted, so a retry is processed.
+     *
+     * @param events events returned by {@link #claim(List)}
+     */
+    public void release(List<UserRegisteredEventDto> events) {
+        for (UserRegisteredEventDto event : events) {
+            seen.invalidate(EventFingerprint.of(event));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.notification_service.service.journal;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An email the {@link EmailJournal} gave up on. Dead letters are never sent again, so the verification token,
+ * a secret, is not kept; the fingerprint still ties the entry to its event.
+ *
+ * @param id          journal id
+ * @param email       the recipient
+ * @param locale      the email's locale, or {@code null} for the default
+ * @param fingerprint the event's fingerprint
+ * @param attempts    failed send attempts in total
+ * @param failedAt    when the email was given up on
+ * @param reason      why the last attempt failed, e.g. the SMTP reply
+ */
+public record DeadLetter(
+        long id,
+        String email,
+        @Nullable String locale,
+        EventFingerprint fingerprint,
+        int attempts,
+        Instant failedAt,
+        String reason
+) {}
@@ -0,0 +1,166 @@
+package com.example.notification_service.service.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time-rotated log of the fingerprints of accepted events, kept next to the journal segments so the
+ * deduplication window survives restarts even after the emails' own segments are deleted.
+ *
+ * <p>Records are fixed-size: the two halves of the {@link EventFingerprint} and the acceptance time in
+ * epoch milliseconds. A file covers one eighth of the window and is deleted once everything in it is older
+ * than the window. Not thread-safe: {@link EmailJournal} calls it under its write lock.</p>
+ */
+final class DedupLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(DedupLog.class);
+
+    static final String FILE_PREFIX = "dedup-";
+    static final String FILE_SUFFIX = ".log";
+    private static final int RECORD_BYTES = 3 * Long.BYTES;
+    private static final int FILES_PER_WINDOW = 8;
+
+    private final Path directory;
+    private final long windowMillis;
+    private final long rotationMillis;
+    private final Deque<Long> fileStarts = new ArrayDeque<>();
+    private final Map<EventFingerprint, Long> recovered = new LinkedHashMap<>();
+    private FileChannel active;
+    private long activeStart;
+
+    DedupLog(Path directory, Duration window) throws IOException {
+        this.directory = directory;
+        this.windowMillis = window.toMillis();
+        this.rotationMillis = Math.max(1, windowMillis / FILES_PER_WINDOW);
+        load(System.currentTimeMillis());
+        this.activeStart = System.currentTimeMillis();
+        this.active = open(activeStart);
+    }
+
+    /**
+     * Returns fingerprints accepted within the window before startup, with their acceptance times.
+     */
+    Map<EventFingerprint, Long> recovered() {
+        return recovered;
+    }
+
+    void append(List<EventFingerprint> fingerprints, long acceptedAt) throws IOException {
+        if (acceptedAt - activeStart >= rotationMillis) {
+            rotate(acceptedAt);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(fingerprints.size() * RECORD_BYTES);
+        for (EventFingerprint fingerprint : fingerprints) {
+            buffer.putLong(fingerprint.high()).putLong(fingerprint.low()).putLong(acceptedAt);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+    }
+
+    /**
+     * Re-records fingerprints found in journal segments but missing from the log, e.g. after a crash lost
+     * unforced writes, unless they are already outside the window.
+     */
+    void restore(List<EventFingerprint> fingerprints, long acceptedAt) throws IOException {
+        if (fingerprints.isEmpty() || acceptedAt + windowMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        append(fingerprints, acceptedAt);
+        for (EventFingerprint fingerprint : fingerprints) {
+            recovered.merge(fingerprint, acceptedAt, Math::max);
+        }
+    }
+
+    void force() throws IOException {
+        active.force(false);
+    }
+
+    void close() throws IOException {
+        active.force(false);
+        active.close();
+    }
+
+    private void rotate(long now) throws IOException {
+        active.force(false);
+        active.close();
+        activeStart = now;
+        active = open(now);
+        deleteExpired(now);
+    }
+
+    private void deleteExpired(long now) {
+        // A file holds records from [start, start + rotation); all are expired once that end leaves the window.
+        while (fileStarts.size() > 1 && fileStarts.peekFirst() + rotationMillis + windowMillis <= now) {
+            long start = fileStarts.pollFirst();
+            try {
+                Files.deleteIfExists(path(start));
+            } catch (IOException ex) {
+                logger.warn("Could not delete expired dedup log {}: {}", path(start).getFileName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void load(long now) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long start = Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+            long newest = start;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                long intact = size - size % RECORD_BYTES;
+                if (intact < size) {
+                    logger.warn("Truncating torn dedup log record in {} ({} bytes discarded)", name, size - intact);
+                    channel.truncate(intact);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 4096);
+                while (channel.read(buffer) > 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        EventFingerprint fingerprint = new EventFingerprint(buffer.getLong(), buffer.getLong());
+                        long acceptedAt = buffer.getLong();
+                        newest = Math.max(newest, acceptedAt);
+                        if (acceptedAt + windowMillis > now) {
+                            recovered.merge(fingerprint, acceptedAt, Math::max);
+                        }
+                    }
+                    buffer.compact();
+                }
+            }
+            if (newest + windowMillis <= now) {
+                Files.delete(file);
+            } else {
+                fileStarts.addLast(start);
+            }
+        }
+    }
+
+    private FileChannel open(long start) throws IOException {
+        fileStarts.addLast(start);
+        return FileChannel.open(path(start), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path path(long start) {
+        return directory.resolve(FILE_PREFIX + String.format("%016d", start) + FILE_SUFFIX);
+    }
+}
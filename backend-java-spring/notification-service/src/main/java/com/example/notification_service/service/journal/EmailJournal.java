@@ -0,0 +1,786 @@
+package com.example.notification_service.service.journal;
+
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only, segment-rotated journal of accepted verification emails.
+ *
+ * <p>An email is appended, and the append is fsynced, before the event is acknowledged. Delivery outcomes
+ * are appended as small marker records: delivered, failed with the next attempt time, or dead-lettered. On
+ * startup the segments are replayed in order and every email without a final outcome is returned by
+ * {@link #drainRecovered()} for redelivery. Delivery is therefore at-least-once: an email sent just before
+ * a crash, whose delivered marker was not yet on disk, is sent again.</p>
+ *
+ * <p>Durability uses group commit. Appenders write to the active segment's {@link FileChannel} under a short
+ * lock and then wait for a single background thread to {@link FileChannel#force(boolean) force} the channel.
+ * One fsync covers every append written before it started, so concurrent requests share the cost of a
+ * disk flush instead of paying for one each. Outcome markers are not waited for; losing one only means a
+ * duplicate send or retry after a crash.</p>
+ *
+ * <p>A new segment is started when the active one reaches {@link JournalProperties#getSegmentSize()}, and
+ * on every startup. A segment is deleted once every email appended to it has a final outcome. Emails that
+ * exhaust their retries are recorded, fsynced, in {@value #DEAD_LETTER_FILE} in the same record format, so
+ * they survive segment deletion and can be inspected with {@link #readDeadLetters()}. A dead letter keeps the
+ * recipient, the event's {@link EventFingerprint} and the failure, but not the verification token. When the
+ * file reaches {@link JournalProperties#getDeadLetterMaxSize()} it replaces {@value #OLD_DEAD_LETTER_FILE},
+ * so at most twice that is kept and the oldest dead letters are dropped.</p>
+ *
+ * <p>Each append also records the events' {@link EventFingerprint}s in a {@link DedupLog}, so the
+ * deduplication window survives a restart; see {@link #drainRecoveredFingerprints()}. The dedup log is not
+ * on the fsync path: until a segment is deleted its own records identify its events, so the dedup log is
+ * forced only before segment deletion, and recovery re-adds fingerprints from segments it finds.</p>
+ *
+ * <p>Record format: {@code int bodyLength, int crc32c(body), body}, where the body starts with a one-byte
+ * type and the email's {@code long} id. A record with a short read or a bad checksum marks a torn write; the
+ * segment is truncated there during recovery.</p>
+ */
+@Component
+public class EmailJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailJournal.class);
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String DEAD_LETTER_FILE = "dead-letter.log";
+    static final String OLD_DEAD_LETTER_FILE = "dead-letter.1.log";
+
+    private static final byte ACCEPTED = 1;
+    private static final byte DELIVERED = 2;
+    private static final byte FAILED = 3;
+    private static final byte DEAD = 4;
+    // Written by earlier versions, with the verification token; rewritten as DEAD_LETTER on startup.
+    private static final byte TOKEN_DEAD_LETTER = 5;
+    private static final byte DEAD_LETTER = 6;
+    // Longer failure messages are cut; the SMTP reply comes first.
+    private static final int MAX_REASON_CHARS = 512;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    // Emails and tokens are short; anything larger is a corrupt length field.
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long deadLetterBytes;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong syncs = new AtomicLong();
+    private final DedupLog dedupLog;
+    private final Thread syncer;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock.
+    private final Map<Long, Outstanding> outstanding = new HashMap<>();
+    private final Map<Long, Integer> liveBySegment = new HashMap<>();
+    private final NavigableSet<Long> segments = new TreeSet<>();
+    private FileChannel active;
+    private FileChannel deadLetters;
+    private long deadLetterSize;
+    private long activeSegment;
+    private long activeSize;
+    private long appendedBytes;
+    private List<JournalEntry> recovered;
+
+    private final Object syncMonitor = new Object();
+    // Guarded by syncMonitor.
+    private long requestedBytes;
+    private long syncedBytes;
+    private @Nullable IOException syncFailure;
+
+    private volatile boolean closed;
+
+    public EmailJournal(JournalProperties properties) throws IOException {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentBytes = properties.getSegmentSize().toBytes();
+        this.deadLetterBytes = properties.getDeadLetterMaxSize().toBytes();
+        Files.createDirectories(directory);
+
+        this.dedupLog = new DedupLog(directory, properties.getDedupWindow());
+        long lastSegment = recover();
+        this.activeSegment = lastSegment + 1;
+        this.active = openSegment(activeSegment);
+        removeTokens(directory.resolve(OLD_DEAD_LETTER_FILE));
+        removeTokens(directory.resolve(DEAD_LETTER_FILE));
+        this.deadLetters = openDeadLetters();
+
+        this.syncer = new Thread(this::runSyncer, "email-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    /**
+     * Appends accepted emails, and their fingerprints, and waits until they are on disk.
+     *
+     * @param events the emails to record
+     * @return the journal id of each email, in order
+     * @throws UncheckedIOException if the write or fsync failed; the emails must then not be acknowledged
+     */
+    public List<Long> append(List<UserRegisteredEventDto> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        List<EventFingerprint> fingerprints = new ArrayList<>(events.size());
+        RecordBuffer buffer = new RecordBuffer();
+        for (UserRegisteredEventDto event : events) {
+            fingerprints.add(EventFingerprint.of(event));
+            long id = nextId.getAndIncrement();
+            ids.add(id);
+            buffer.add(ACCEPTED, id, out -> {
+                writeEvent(out, event);
+            });
+        }
+
+        long written;
+        writeLock.lock();
+        try {
+            written = write(buffer);
+            dedupLog.append(fingerprints, System.currentTimeMillis());
+            for (int i = 0; i < events.size(); i++) {
+                outstanding.put(ids.get(i), new Outstanding(activeSegment, events.get(i)));
+            }
+            liveBySegment.merge(activeSegment, events.size(), Integer::sum);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write email journal dedup log", ex);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(written);
+        return ids;
+    }
+
+    /**
+     * Records that emails were delivered. Does not wait for the disk.
+     *
+     * @param ids journal ids returned by {@link #append(List)}
+     */
+    public void markDelivered(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        RecordBuffer buffer = new RecordBuffer();
+        for (long id : ids) {
+            buffer.add(DELIVERED, id, out -> {});
+        }
+        writeLock.lock();
+        try {
+            write(buffer);
+            ids.forEach(this::resolve);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records a failed attempt and when the next one is due. Does not wait for the disk.
+     *
+     * @param id            journal id
+     * @param attempts      failed attempts so far, including this one
+     * @param nextAttemptAt earliest time of the next attempt
+     */
+    public void recordFailure(long id, int attempts, Instant nextAttemptAt) {
+        RecordBuffer buffer = new RecordBuffer();
+        buffer.add(FAILED, id, out -> {
+            out.writeInt(attempts);
+            out.writeLong(nextAttemptAt.toEpochMilli());
+        });
+        writeLock.lock();
+        try {
+            write(buffer);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records an email in the dead-letter file, without its token, waits for that record to reach the disk,
+     * and then resolves it in the journal.
+     *
+     * @param id       journal id
+     * @param attempts failed attempts in total
+     * @param reason   why the last attempt failed
+     */
+    public void deadLetter(long id, int attempts, String reason) {
+        writeLock.lock();
+        try {
+            Outstanding entry = outstanding.get(id);
+            if (entry == null) {
+                return;
+            }
+            UserRegisteredEventDto event = entry.event();
+            RecordBuffer copy = new RecordBuffer();
+            copy.add(DEAD_LETTER, id, out -> writeDeadLetter(out, event.email(), event.locale(),
+                    EventFingerprint.of(event), attempts, Instant.now(), reason));
+            ByteBuffer bytes = copy.toByteBuffer();
+            if (deadLetterSize > 0 && deadLetterSize + bytes.remaining() > deadLetterBytes) {
+                rotateDeadLetters();
+            }
+            deadLetterSize += bytes.remaining();
+            writeFully(deadLetters, bytes);
+            deadLetters.force(false);
+
+            RecordBuffer marker = new RecordBuffer();
+            marker.add(DEAD, id, out -> {});
+            write(marker);
+            resolve(id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write email journal dead-letter file", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the emails that had no final outcome when the journal was opened, and forgets them here.
+     * Their journal ids stay valid for {@link #markDelivered}, {@link #recordFailure} and {@link #deadLetter}.
+     *
+     * @return unresolved emails in append order
+     */
+    public List<JournalEntry> drainRecovered() {
+        writeLock.lock();
+        try {
+            List<JournalEntry> entries = recovered;
+            recovered = List.of();
+            return entries;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the fingerprints of events accepted within {@link JournalProperties#getDedupWindow()} before the
+     * journal was opened, and forgets them here.
+     *
+     * @return acceptance time in epoch milliseconds by fingerprint
+     */
+    public Map<EventFingerprint, Long> drainRecoveredFingerprints() {
+        writeLock.lock();
+        try {
+            Map<EventFingerprint, Long> fingerprints = new LinkedHashMap<>(dedupLog.recovered());
+            dedupLog.recovered().clear();
+            return fingerprints;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of emails appended but not yet delivered or dead-lettered.
+     *
+     * @return outstanding emails
+     */
+    public int outstanding() {
+        writeLock.lock();
+        try {
+            return outstanding.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the dead-letter files.
+     *
+     * @return the dead letters still kept, oldest first
+     * @throws UncheckedIOException if a file cannot be read
+     */
+    public List<DeadLetter> readDeadLetters() {
+        List<DeadLetter> entries = new ArrayList<>();
+        writeLock.lock();
+        try {
+            for (String file : List.of(OLD_DEAD_LETTER_FILE, DEAD_LETTER_FILE)) {
+                read(directory.resolve(file), (type, id, in) -> {
+                    if (type == DEAD_LETTER) {
+                        entries.add(readDeadLetter(id, in));
+                    }
+                });
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read email journal dead-letter files", ex);
+        } finally {
+            writeLock.unlock();
+        }
+        return entries;
+    }
+
+    // Called with writeLock held.
+    private void rotateDeadLetters() throws IOException {
+        deadLetters.force(false);
+        deadLetters.close();
+        Files.move(directory.resolve(DEAD_LETTER_FILE), directory.resolve(OLD_DEAD_LETTER_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deadLetters = openDeadLetters();
+    }
+
+    private FileChannel openDeadLetters() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        deadLetterSize = channel.size();
+        return channel;
+    }
+
+    /**
+     * Rewrites a dead-letter file written by an earlier version, which kept verification tokens, without
+     * them. The rewrite replaces the file atomically, so a crash leaves either version.
+     */
+    private static void removeTokens(Path file) throws IOException {
+        boolean[] tokens = {false};
+        RecordBuffer rewritten = new RecordBuffer();
+        read(file, (type, id, in) -> {
+            switch (type) {
+                case TOKEN_DEAD_LETTER -> {
+                    tokens[0] = true;
+                    int attempts = in.readInt();
+                    Instant failedAt = Instant.ofEpochMilli(in.readLong());
+                    UserRegisteredEventDto event = readEvent(in);
+                    rewritten.add(DEAD_LETTER, id, out -> writeDeadLetter(out, event.email(), event.locale(),
+                            EventFingerprint.of(event), attempts, failedAt, ""));
+                }
+                case DEAD_LETTER -> {
+                    DeadLetter letter = readDeadLetter(id, in);
+                    rewritten.add(DEAD_LETTER, id, out -> writeDeadLetter(out, letter.email(), letter.locale(),
+                            letter.fingerprint(), letter.attempts(), letter.failedAt(), letter.reason()));
+                }
+                default -> throw new IOException("Unknown dead-letter record type " + type);
+            }
+        });
+        if (!tokens[0]) {
+            return;
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, rewritten.toByteBuffer());
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Removed verification tokens from {}", file);
+    }
+
+    private long recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<Long, JournalEntry> unresolved = new LinkedHashMap<>();
+        Map<Long, Long> segmentOf = new HashMap<>();
+        Map<EventFingerprint, Long> knownFingerprints = dedupLog.recovered();
+        long maxId = 0;
+        long lastSegment = 0;
+        for (Path segment : files) {
+            long number = segmentNumber(segment);
+            lastSegment = Math.max(lastSegment, number);
+            // No record is newer than its segment's last write, so this errs towards a longer window.
+            long writtenAt = Files.getLastModifiedTime(segment).toMillis();
+            List<EventFingerprint> unlogged = new ArrayList<>();
+            long[] highest = {maxId};
+            read(segment, (type, id, in) -> {
+                highest[0] = Math.max(highest[0], id);
+                switch (type) {
+                    case ACCEPTED -> {
+                        UserRegisteredEventDto event = readEvent(in);
+                        unresolved.put(id, new JournalEntry(id, event, 0, Instant.EPOCH));
+                        segmentOf.put(id, number);
+                        EventFingerprint fingerprint = EventFingerprint.of(event);
+                        if (!knownFingerprints.containsKey(fingerprint)) {
+                            unlogged.add(fingerprint);
+                        }
+                    }
+                    case FAILED -> {
+                        int attempts = in.readInt();
+                        Instant nextAttemptAt = Instant.ofEpochMilli(in.readLong());
+                        JournalEntry entry = unresolved.get(id);
+                        if (entry != null) {
+                            unresolved.put(id, new JournalEntry(id, entry.event(), attempts, nextAttemptAt));
+                        }
+                    }
+                    case DELIVERED, DEAD -> unresolved.remove(id);
+                    default -> throw new IOException("Unknown email journal record type " + type);
+                }
+            });
+            maxId = highest[0];
+            // Dedup log writes lost in a crash: the segment still knows these events.
+            dedupLog.restore(unlogged, writtenAt);
+        }
+        nextId.set(maxId + 1);
+
+        for (JournalEntry entry : unresolved.values()) {
+            long segment = segmentOf.get(entry.id());
+            outstanding.put(entry.id(), new Outstanding(segment, entry.event()));
+            liveBySegment.merge(segment, 1, Integer::sum);
+        }
+        for (Path segment : files) {
+            this.segments.add(segmentNumber(segment));
+        }
+        deleteResolvedSegments();
+        recovered = List.copyOf(unresolved.values());
+        if (!recovered.isEmpty()) {
+            logger.info("Recovered {} undelivered emails from the email journal in {}", recovered.size(), directory);
+        }
+        return lastSegment;
+    }
+
+    /**
+     * Reads every intact record of a file, truncating a torn tail left by a crash.
+     */
+    private static void read(Path file, RecordVisitor visitor) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long valid = 0;
+        boolean torn = false;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            CRC32C crc = new CRC32C();
+            while (true) {
+                int length;
+                int checksum;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > MAX_BODY_BYTES) {
+                        torn = true;
+                        break;
+                    }
+                    body = in.readNBytes(length);
+                } catch (EOFException ex) {
+                    torn = true;
+                    break;
+                }
+                crc.reset();
+                crc.update(body);
+                if (body.length < length || (int) crc.getValue() != checksum) {
+                    torn = true;
+                    break;
+                }
+                ByteBuffer header = ByteBuffer.wrap(body, 0, 1 + Long.BYTES);
+                byte type = header.get();
+                long id = header.getLong();
+                visitor.visit(type, id, new DataInputStream(
+                        new ByteArrayInputStream(body, 1 + Long.BYTES, length - 1 - Long.BYTES)));
+                valid += HEADER_BYTES + length;
+            }
+        }
+        long size = Files.size(file);
+        if (torn && valid < size) {
+            logger.warn("Truncating torn email journal record in {} at offset {} ({} bytes discarded)",
+                    file.getFileName(), valid, size - valid);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    // Called with writeLock held.
+    private long write(RecordBuffer records) {
+        if (closed) {
+            throw new IllegalStateException("Email journal is closed");
+        }
+        ByteBuffer bytes = records.toByteBuffer();
+        try {
+            if (activeSize > 0 && activeSize + bytes.remaining() > segmentBytes) {
+                rotate();
+            }
+            int length = bytes.remaining();
+            writeFully(active, bytes);
+            activeSize += length;
+            appendedBytes += length;
+            return appendedBytes;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write email journal segment " + activeSegment, ex);
+        }
+    }
+
+    // Called with writeLock held.
+    private void rotate() throws IOException {
+        active.force(false);
+        active.close();
+        markSynced(appendedBytes);
+        activeSegment++;
+        active = openSegment(activeSegment);
+        activeSize = 0;
+        deleteResolvedSegments();
+    }
+
+    // Called with writeLock held.
+    private void resolve(long id) {
+        Outstanding entry = outstanding.remove(id);
+        if (entry == null) {
+            return;
+        }
+        Integer live = liveBySegment.computeIfPresent(entry.segment(), (segment, count) -> count == 1 ? null : count - 1);
+        if (live == null) {
+            deleteResolvedSegments();
+        }
+    }
+
+    /**
+     * Deletes leading segments whose emails are all resolved. Only the oldest segments may go: a later
+     * segment can hold the delivered marker of an email appended to an earlier, still live segment.
+     */
+    // Called with writeLock held, or from the constructor.
+    private void deleteResolvedSegments() {
+        boolean fingerprintsDurable = false;
+        while (!segments.isEmpty() && segments.first() != activeSegment && !liveBySegment.containsKey(segments.first())) {
+            if (!fingerprintsDurable) {
+                // The segment is the only other record of its events' fingerprints.
+                try {
+                    dedupLog.force();
+                } catch (IOException ex) {
+                    logger.warn("Could not force the dedup log; keeping resolved segments: {}", ex.getMessage());
+                    return;
+                }
+                fingerprintsDurable = true;
+            }
+            long segment = segments.pollFirst();
+            try {
+                Files.deleteIfExists(segmentPath(segment));
+            } catch (IOException ex) {
+                logger.warn("Could not delete resolved email journal segment {}: {}", segment, ex.getMessage());
+            }
+        }
+    }
+
+    private void awaitDurable(long position) {
+        synchronized (syncMonitor) {
+            if (position > requestedBytes) {
+                requestedBytes = position;
+                syncMonitor.notifyAll();
+            }
+            while (syncedBytes < position) {
+                if (syncFailure != null) {
+                    throw new UncheckedIOException("Email journal fsync failed", syncFailure);
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the email journal", ex);
+                }
+            }
+        }
+    }
+
+    private void runSyncer() {
+        while (true) {
+            synchronized (syncMonitor) {
+                while (requestedBytes <= syncedBytes && !closed) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+
+            long position;
+            FileChannel channel;
+            writeLock.lock();
+            try {
+                position = appendedBytes;
+                channel = active;
+            } finally {
+                writeLock.unlock();
+            }
+            try {
+                channel.force(false);
+                syncs.incrementAndGet();
+                markSynced(position);
+            } catch (ClosedChannelException ex) {
+                // The segment was rotated or the journal closed; both force the channel before closing it.
+                markSynced(position);
+            } catch (IOException ex) {
+                logger.error("Email journal fsync failed; refusing further appends: {}", ex.getMessage(), ex);
+                synchronized (syncMonitor) {
+                    syncFailure = ex;
+                    syncMonitor.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of group-commit fsyncs so far, each of which made every append before it durable.
+     */
+    long syncCount() {
+        return syncs.get();
+    }
+
+    private void markSynced(long position) {
+        synchronized (syncMonitor) {
+            if (position > syncedBytes) {
+                syncedBytes = position;
+            }
+            syncMonitor.notifyAll();
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        segments.add(number);
+        return FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%016d", number) + SEGMENT_SUFFIX);
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void writeEvent(DataOutputStream out, UserRegisteredEventDto event) throws IOException {
+        out.writeUTF(event.email());
+        out.writeUTF(event.verificationToken());
+        out.writeUTF(event.locale() != null ? event.locale() : "");
+    }
+
+    private static UserRegisteredEventDto readEvent(DataInputStream in) throws IOException {
+        String email = in.readUTF();
+        String token = in.readUTF();
+        String locale = in.readUTF();
+        return new UserRegisteredEventDto(email, token, locale.isEmpty() ? null : locale);
+    }
+
+    private static void writeDeadLetter(DataOutputStream out, String email, @Nullable String locale,
+            EventFingerprint fingerprint, int attempts, Instant failedAt, String reason) throws IOException {
+        out.writeInt(attempts);
+        out.writeLong(failedAt.toEpochMilli());
+        out.writeUTF(email);
+        out.writeUTF(locale != null ? locale : "");
+        out.writeLong(fingerprint.high());
+        out.writeLong(fingerprint.low());
+        out.writeUTF(reason.length() > MAX_REASON_CHARS ? reason.substring(0, MAX_REASON_CHARS) : reason);
+    }
+
+    private static DeadLetter readDeadLetter(long id, DataInputStream in) throws IOException {
+        int attempts = in.readInt();
+        Instant failedAt = Instant.ofEpochMilli(in.readLong());
+        String email = in.readUTF();
+        String locale = in.readUTF();
+        EventFingerprint fingerprint = new EventFingerprint(in.readLong(), in.readLong());
+        String reason = in.readUTF();
+        return new DeadLetter(id, email, locale.isEmpty() ? null : locale, fingerprint, attempts, failedAt, reason);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Forces the active segment to disk and closes the journal. Appends still waiting are released.
+     */
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            active.force(false);
+            active.close();
+            deadLetters.close();
+            dedupLog.close();
+            markSynced(appendedBytes);
+        } catch (IOException ex) {
+            logger.warn("Could not close the email journal cleanly: {}", ex.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            syncer.join(1_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Outstanding(long segment, UserRegisteredEventDto event) {}
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(byte type, long id, DataInputStream body) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Frames records into one buffer so a batch costs a single channel write.
+     */
+    private static final class RecordBuffer {
+        private final ByteArrayOutputStream frames = new ByteArrayOutputStream(256);
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+        private final DataOutputStream bodyOut = new DataOutputStream(body);
+        private final CRC32C crc = new CRC32C();
+
+        void add(byte type, long id, BodyWriter writer) {
+            body.reset();
+            try {
+                bodyOut.writeByte(type);
+                bodyOut.writeLong(id);
+                writer.write(bodyOut);
+                bodyOut.flush();
+            } catch (IOException ex) {
+                // In-memory streams do not throw.
+                throw new UncheckedIOException(ex);
+            }
+            byte[] bytes = body.toByteArray();
+            crc.reset();
+            crc.update(bytes);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(bytes.length).putInt((int) crc.getValue());
+            frames.writeBytes(header.array());
+            frames.writeBytes(bytes);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(frames.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.notification_service.service.journal;
+
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identity of a user-registered event for deduplication: the first 128 bits of the SHA-256 of its
+ * verification token. Every registration and every resend gets a fresh token, so two events with the same
+ * fingerprint are the same email delivered twice.
+ */
+public record EventFingerprint(long high, long low) {
+
+    /**
+     * Fingerprints an event.
+     *
+     * @param event the event
+     * @return its fingerprint
+     */
+    public static EventFingerprint of(UserRegisteredEventDto event) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(event.verificationToken().getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new EventFingerprint(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JRE ships SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+}
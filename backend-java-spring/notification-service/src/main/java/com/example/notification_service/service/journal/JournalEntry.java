@@ -0,0 +1,14 @@
+package com.example.notification_service.service.journal;
+
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import java.time.Instant;
+
+/**
+ * An email recorded in the {@link EmailJournal}.
+ *
+ * @param id            journal id, unique within one journal directory
+ * @param event         the recipient and verification token
+ * @param attempts      failed send attempts so far
+ * @param nextAttemptAt earliest time of the next attempt; {@link Instant#EPOCH} if the email was never tried
+ */
+public record JournalEntry(long id, UserRegisteredEventDto event, int attempts, Instant nextAttemptAt) {}
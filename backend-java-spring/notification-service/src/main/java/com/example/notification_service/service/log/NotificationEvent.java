@@ -0,0 +1,11 @@
+package com.example.notification_service.service.log;
+
+/**
+ * The event that caused a logged email.
+ */
+public enum NotificationEvent {
+    /** Verification email for a new registration ({@code /internal/events/user-registered}). */
+    USER_REGISTERED,
+    /** Transaction alert or digest ({@code /internal/events/transaction}). */
+    TRANSACTION
+}
@@ -0,0 +1,203 @@
+package com.example.notification_service.service.log;
+
+import com.example.notification_service.config.NotificationLogProperties;
+import com.example.notification_service.dto.NotificationLogEntry;
+import com.example.notification_service.repository.NotificationLogRepository;
+import com.example.notification_service.repository.NotificationLogRepository.StatusUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the notification log in the background, so recording a status change never waits for the database.
+ *
+ * <p>{@link #accepted} and {@link #updated} only put the change on a bounded queue. One
+ * {@code notification-log} thread drains whatever has accumulated, up to
+ * {@link NotificationLogProperties#getBatchSize()} changes, and writes it with one JDBC insert batch and one
+ * update batch. Under light load a batch holds a single change; under heavy load changes pile up while the
+ * previous batch is written, and batches grow on their own. Changes to the same email within a batch are
+ * merged first, so an email accepted and sent within one batch costs one inserted row and no update.</p>
+ *
+ * <p>The log is best effort, and the {@link com.example.notification_service.service.journal.EmailJournal}
+ * stays the record of what still has to be sent: when the queue is full a change is dropped rather than
+ * slowing the caller down, and a batch the database refuses is logged and skipped.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code notification.log.written}: status changes written;</li>
+ *   <li>{@code notification.log.dropped}: status changes dropped because the queue was full;</li>
+ *   <li>{@code notification.log.failed}: status changes lost to a failed batch;</li>
+ *   <li>{@code notification.log.backlog}: status changes waiting to be written.</li>
+ * </ul>
+ */
+@Component
+public class NotificationLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationLogWriter.class);
+
+    private static final long POLL_MILLIS = 200;
+
+    private final NotificationLogRepository repository;
+    private final NotificationLogProperties properties;
+    private final BlockingQueue<Change> changes;
+    private final Thread thread;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean stopping;
+
+    public NotificationLogWriter(
+            NotificationLogRepository repository,
+            NotificationLogProperties properties,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.changes = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        this.written = Counter.builder("notification.log.written")
+                .description("Notification status changes written to the log")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification.log.dropped")
+                .description("Notification status changes dropped because the log queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.log.failed")
+                .description("Notification status changes lost to a failed batch")
+                .register(meterRegistry);
+        Gauge.builder("notification.log.backlog", changes, BlockingQueue::size)
+                .description("Notification status changes waiting to be written")
+                .register(meterRegistry);
+
+        this.thread = new Thread(this::run, "notification-log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Records a newly accepted email as {@link NotificationStatus#QUEUED}.
+     *
+     * @param id        notification id, unique per email
+     * @param event     the event that caused the email
+     * @param recipient the recipient address; only its {@link RecipientHash} is stored
+     */
+    public void accepted(UUID id, NotificationEvent event, String recipient) {
+        offer(new Change(id, event, recipient, NotificationStatus.QUEUED, 0, now()));
+    }
+
+    /**
+     * Records a status change of an accepted email.
+     *
+     * @param id       notification id passed to {@link #accepted}
+     * @param status   the new status
+     * @param attempts send attempts made so far
+     */
+    public void updated(UUID id, NotificationStatus status, int attempts) {
+        offer(new Change(id, null, null, status, attempts, now()));
+    }
+
+    private void offer(Change change) {
+        if (!changes.offer(change)) {
+            dropped.increment();
+        }
+    }
+
+    // PostgreSQL keeps microseconds; truncating here keeps keyset cursors exact.
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void run() {
+        List<Change> batch = new ArrayList<>(properties.getBatchSize());
+        while (true) {
+            Change first;
+            try {
+                first = changes.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (first == null) {
+                if (stopping) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            changes.drainTo(batch, properties.getBatchSize() - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Change> batch) {
+        Map<UUID, NotificationLogEntry> inserts = new LinkedHashMap<>();
+        Map<UUID, StatusUpdate> updates = new LinkedHashMap<>();
+        for (Change change : batch) {
+            @Nullable Instant sentAt = change.status() == NotificationStatus.SENT ? change.at() : null;
+            NotificationEvent event = change.event();
+            String recipient = change.recipient();
+            if (event != null && recipient != null) {
+                inserts.put(change.id(), new NotificationLogEntry(change.id(), event.name(), RecipientHash.of(recipient),
+                        change.status().name(), change.attempts(), change.at(), change.at(), sentAt));
+                continue;
+            }
+            NotificationLogEntry inserted = inserts.get(change.id());
+            if (inserted != null) {
+                inserts.put(change.id(), new NotificationLogEntry(change.id(), inserted.event(), inserted.recipientHash(),
+                        change.status().name(), change.attempts(), inserted.createdAt(), change.at(),
+                        sentAt != null ? sentAt : inserted.sentAt()));
+                continue;
+            }
+            StatusUpdate previous = updates.get(change.id());
+            updates.put(change.id(), new StatusUpdate(change.id(), change.status().name(), change.attempts(), change.at(),
+                    sentAt == null && previous != null ? previous.sentAt() : sentAt));
+        }
+        try {
+            repository.insertAll(new ArrayList<>(inserts.values()));
+            repository.updateAll(new ArrayList<>(updates.values()));
+            written.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            logger.warn("Could not write {} notification log changes: {}", batch.size(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Writes the changes still queued, giving up after {@link NotificationLogProperties#getShutdownTimeout()}.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            thread.interrupt();
+            logger.warn("Notification log did not drain in {}; {} status changes were not written",
+                    properties.getShutdownTimeout(), changes.size());
+        }
+    }
+
+    private record Change(
+            UUID id,
+            @Nullable NotificationEvent event,
+            @Nullable String recipient,
+            NotificationStatus status,
+            int attempts,
+            Instant at) {}
+}
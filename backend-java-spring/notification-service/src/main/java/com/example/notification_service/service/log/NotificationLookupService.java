@@ -0,0 +1,68 @@
+package com.example.notification_service.service.log;
+
+import com.example.notification_service.dto.NotificationLogEntry;
+import com.example.notification_service.dto.NotificationLogPage;
+import com.example.notification_service.repository.NotificationLogRepository;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Support lookup of the emails sent to one recipient: "was the email sent?".
+ *
+ * <p>Pages are ordered newest first and chained with an opaque cursor, {@code <createdAt>_<id>} of the last
+ * entry of the previous page, which the repository turns into a keyset condition.</p>
+ */
+@Service
+public class NotificationLookupService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final NotificationLogRepository repository;
+
+    public NotificationLookupService(NotificationLogRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Returns one page of the emails sent to {@code email}.
+     *
+     * @param email the recipient address; case-insensitive
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit page size, clamped to {@value #MAX_LIMIT}; {@code null} means {@value #DEFAULT_LIMIT}
+     * @return entries, newest first, and the cursor for the next page
+     * @throws IllegalArgumentException if the email is blank or the cursor is malformed
+     */
+    public NotificationLogPage lookup(String email, @Nullable String after, @Nullable Integer limit) {
+        if (email.isBlank()) {
+            throw new IllegalArgumentException("Email must not be blank");
+        }
+        String recipientHash = RecipientHash.of(email);
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<NotificationLogEntry> items;
+        if (after == null || after.isEmpty()) {
+            items = repository.findLatest(recipientHash, pageSize);
+        } else {
+            int separator = after.lastIndexOf('_');
+            try {
+                items = repository.findBefore(recipientHash,
+                        Instant.parse(after.substring(0, Math.max(0, separator))),
+                        UUID.fromString(after.substring(separator + 1)),
+                        pageSize);
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Malformed cursor: " + after);
+            }
+        }
+        String nextCursor = items.size() == pageSize ? cursorOf(items.get(items.size() - 1)) : null;
+        return new NotificationLogPage(items, nextCursor);
+    }
+
+    static String cursorOf(NotificationLogEntry entry) {
+        return entry.createdAt() + "_" + entry.id();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.notification_service.service.log;
+
+/**
+ * Delivery status of a logged email.
+ */
+public enum NotificationStatus {
+    /** Accepted and waiting to be sent. */
+    QUEUED,
+    /** Handed to the SMTP server. */
+    SENT,
+    /** The last attempt failed; another one is scheduled. */
+    RETRYING,
+    /** Given up on: dead-lettered after the last attempt, or an alert that could not be sent. */
+    FAILED
+}
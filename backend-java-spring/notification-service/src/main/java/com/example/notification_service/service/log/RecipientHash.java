@@ -0,0 +1,36 @@
+package com.example.notification_service.service.log;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Pseudonymous recipient key of the notification log.
+ *
+ * <p>The log stores the hash instead of the address, so support can look a recipient up by email without
+ * the table holding a copy of every address the service has mailed.</p>
+ */
+public final class RecipientHash {
+
+    private RecipientHash() {
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of the trimmed, lowercased address.
+     *
+     * @param email the recipient address
+     * @return a 64-character hex string
+     */
+    public static String of(String email) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JRE ships SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.notification_service.service.mail;
+
+import com.example.notification_service.config.MailPoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Keeps authenticated SMTP sessions open across sends and delivers messages in batches over one session.
+ *
+ * <p>{@link JavaMailSender#send(MimeMessage)} connects, greets, optionally negotiates STARTTLS and
+ * authenticates for every call, then disconnects. This pool connects once per session, reusing Spring
+ * Boot's {@code spring.mail.*} configuration from the {@link JavaMailSenderImpl}, and sends each batch
+ * back-to-back on one borrowed session.</p>
+ *
+ * <p>A session is closed and replaced:</p>
+ * <ul>
+ *   <li>after {@link MailPoolProperties#getMaxMessagesPerConnection()} messages;</li>
+ *   <li>when it has been idle longer than {@link MailPoolProperties#getMaxIdle()};</li>
+ *   <li>on any connection-level error, after which the failed message is retried once on a new session.</li>
+ * </ul>
+ * <p>Recipient rejections ({@link SendFailedException}) fail only that message and keep the session.</p>
+ */
+@Component
+public class SmtpConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private static final Pattern REPLY = Pattern.compile("(?:^|response: )([2-5]\\d\\d)[ -]");
+
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final MailPoolProperties properties;
+    private final Semaphore leases;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Counter opened;
+    private final Counter recycled;
+    private final Counter expired;
+    private final Counter broken;
+    private volatile boolean closed;
+
+    public SmtpConnectionPool(
+            ObjectProvider<JavaMailSender> mailSenderProvider,
+            MailPoolProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mailSenderProvider = mailSenderProvider;
+        this.properties = properties;
+        this.leases = new Semaphore(properties.getMaxConnections());
+        this.opened = meterRegistry.counter("email.smtp.connections.opened");
+        this.recycled = meterRegistry.counter("email.smtp.connections.closed", "reason", "recycled");
+        this.expired = meterRegistry.counter("email.smtp.connections.closed", "reason", "idle");
+        this.broken = meterRegistry.counter("email.smtp.connections.closed", "reason", "error");
+    }
+
+    /**
+     * A message from {@link #send(List)} that was not delivered.
+     *
+     * @param index position of the message in the submitted list
+     * @param cause why delivery failed
+     */
+    public record SendFailure(int index, Exception cause) {
+
+        /**
+         * Returns the SMTP reply code the server failed the message with, or {@code 0} when the failure did
+         * not come from a server reply, e.g. a connection error or a message that could not be built.
+         *
+         * <p>Angus Mail starts the message of its SMTP exceptions with the server's reply; a rejected
+         * greeting ends with {@code response: <reply>}. Nested and chained exceptions are searched too.</p>
+         *
+         * @return a code such as {@code 421} or {@code 550}, or {@code 0}
+         */
+        public int replyCode() {
+            Throwable current = cause;
+            for (int depth = 0; current != null && depth < 8; depth++) {
+                String message = current.getMessage();
+                if (message != null) {
+                    Matcher matcher = REPLY.matcher(message);
+                    if (matcher.find()) {
+                        return Integer.parseInt(matcher.group(1));
+                    }
+                }
+                current = current instanceof MessagingException messaging && messaging.getNextException() != null
+                        ? messaging.getNextException()
+                        : current.getCause();
+            }
+            return 0;
+        }
+
+        /**
+         * Returns whether the server deferred the message with a {@code 4xx} reply, asking to try later.
+         *
+         * @return {@code true} for a temporary failure
+         */
+        public boolean isTemporary() {
+            int code = replyCode();
+            return code >= 400 && code < 500;
+        }
+    }
+
+    /**
+     * Session counts at one point in time.
+     *
+     * @param maxConnections configured limit of concurrent sessions
+     * @param leased         sessions currently sending a batch
+     * @param idle           open sessions waiting for the next batch
+     * @param opened         sessions opened since startup
+     * @param recycled       sessions closed after reaching the per-session message limit
+     * @param expired        sessions closed after idling too long or being dropped by the server
+     * @param broken         sessions closed after a connection-level error
+     */
+    public record PoolStats(int maxConnections, int leased, int idle, long opened, long recycled, long expired, long broken) {}
+
+    /**
+     * Reads the pool's counters without taking a session or blocking senders.
+     *
+     * @return the current counts
+     */
+    public PoolStats stats() {
+        return new PoolStats(
+                properties.getMaxConnections(),
+                properties.getMaxConnections() - leases.availablePermits(),
+                idle.size(),
+                (long) opened.count(),
+                (long) recycled.count(),
+                (long) expired.count(),
+                (long) broken.count());
+    }
+
+    /**
+     * Sends the messages in order over one pooled session.
+     *
+     * <p>Falls back to {@link JavaMailSender#send(MimeMessage...)}, which still shares one connection per
+     * call, when the configured sender is not a {@link JavaMailSenderImpl}.</p>
+     *
+     * @param messages messages to send
+     * @return the messages that failed; empty if all were delivered
+     */
+    public List<SendFailure> send(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        JavaMailSender sender = mailSenderProvider.getIfAvailable();
+        if (!(sender instanceof JavaMailSenderImpl impl)) {
+            return sendUnpooled(sender, messages);
+        }
+
+        try {
+            if (!leases.tryAcquire(properties.getBorrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return failAll(messages, new MessagingException("No SMTP connection available"));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return failAll(messages, ex);
+        }
+
+        List<SendFailure> failures = new ArrayList<>();
+        PooledConnection connection = borrow();
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                connection = sendOne(impl, connection, messages.get(i), i, failures);
+            }
+        } finally {
+            release(connection);
+            leases.release();
+        }
+        return failures;
+    }
+
+    private @Nullable PooledConnection sendOne(
+            JavaMailSenderImpl impl,
+            @Nullable PooledConnection connection,
+            MimeMessage message,
+            int index,
+            List<SendFailure> failures) {
+        try {
+            prepare(message);
+        } catch (MessagingException ex) {
+            failures.add(new SendFailure(index, ex));
+            return connection;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                connection = usable(impl, connection);
+                connection.transport.sendMessage(message, message.getAllRecipients());
+                connection.sent++;
+                return connection;
+            } catch (SendFailedException ex) {
+                // Rejected recipient: the session itself is fine.
+                failures.add(new SendFailure(index, ex));
+                return connection;
+            } catch (MessagingException ex) {
+                close(connection, broken);
+                connection = null;
+                if (attempt == 2) {
+                    failures.add(new SendFailure(index, ex));
+                    return null;
+                }
+                logger.debug("SMTP session failed, retrying on a new session: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private @Nullable PooledConnection borrow() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            // isConnected() sends a NOOP, so a session the server has dropped is replaced before use.
+            if (System.nanoTime() - connection.releasedAt <= properties.getMaxIdle().toNanos()
+                    && connection.transport.isConnected()) {
+                return connection;
+            }
+            close(connection, expired);
+        }
+        return null;
+    }
+
+    private PooledConnection usable(JavaMailSenderImpl impl, @Nullable PooledConnection connection) throws MessagingException {
+        if (connection != null && connection.sent >= properties.getMaxMessagesPerConnection()) {
+            close(connection, recycled);
+            connection = null;
+        }
+        if (connection == null) {
+            connection = open(impl);
+        }
+        return connection;
+    }
+
+    private PooledConnection open(JavaMailSenderImpl impl) throws MessagingException {
+        // Same protocol resolution as JavaMailSenderImpl#getTransport.
+        String protocol = impl.getProtocol();
+        if (protocol == null) {
+            protocol = impl.getSession().getProperty("mail.transport.protocol");
+        }
+        Transport transport = impl.getSession().getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(
+                impl.getHost(),
+                impl.getPort(),
+                StringUtils.hasLength(impl.getUsername()) ? impl.getUsername() : null,
+                StringUtils.hasLength(impl.getPassword()) ? impl.getPassword() : null);
+        opened.increment();
+        return new PooledConnection(transport);
+    }
+
+    private void release(@Nullable PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        if (closed) {
+            close(connection, recycled);
+            return;
+        }
+        connection.releasedAt = System.nanoTime();
+        // LIFO keeps the most recently used sessions warm and lets the rest age out.
+        idle.offerFirst(connection);
+    }
+
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+    }
+
+    private void close(@Nullable PooledConnection connection, Counter reason) {
+        if (connection == null) {
+            return;
+        }
+        reason.increment();
+        try {
+            connection.transport.close();
+        } catch (MessagingException ex) {
+            logger.debug("Ignoring error while closing SMTP session: {}", ex.getMessage());
+        }
+    }
+
+    private static List<SendFailure> sendUnpooled(@Nullable JavaMailSender sender, List<MimeMessage> messages) {
+        if (sender == null) {
+            return failAll(messages, new MessagingException("JavaMailSender is not configured"));
+        }
+        try {
+            sender.send(messages.toArray(MimeMessage[]::new));
+            return List.of();
+        } catch (MailSendException ex) {
+            Map<Object, Integer> indexes = new IdentityHashMap<>();
+            for (int i = 0; i < messages.size(); i++) {
+                indexes.put(messages.get(i), i);
+            }
+            List<SendFailure> failures = new ArrayList<>();
+            ex.getFailedMessages().forEach((message, cause) -> {
+                Integer index = indexes.get(message);
+                if (index != null) {
+                    failures.add(new SendFailure(index, cause));
+                }
+            });
+            return failures.isEmpty() ? failAll(messages, ex) : failures;
+        } catch (MailException ex) {
+            return failAll(messages, ex);
+        }
+    }
+
+    private static List<SendFailure> failAll(List<MimeMessage> messages, Exception cause) {
+        List<SendFailure> failures = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            failures.add(new SendFailure(i, cause));
+        }
+        return failures;
+    }
+
+    /**
+     * Closes idle sessions. Sessions leased at shutdown are closed when their batch finishes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection, recycled);
+        }
+    }
+
+    private static final class PooledConnection {
+        private final Transport transport;
+        private int sent;
+        private long releasedAt = System.nanoTime();
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.notification_service.service.push;
+
+import com.example.notification_service.config.PushProperties;
+import com.example.notification_service.dto.InAppNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans in-app notifications out to the browsers of the user they are for, over Server-Sent Events.
+ *
+ * <p>Streams are {@link SseEmitter}s, i.e. asynchronous servlet requests: an open stream holds a socket and
+ * a few objects, not a thread, so tens of thousands of idle streams cost no threads at all. Streams are
+ * registered per user, keyed by the lowercased email the user signs in with; a user's registry is an
+ * immutable list replaced on every change, so {@link #publish} reads it without locking.</p>
+ *
+ * <p>Publishing never writes to a socket. It appends the event to each of the user's connections, whose
+ * buffer holds at most {@link PushProperties#getBufferSize()} events and drops the oldest beyond that, and
+ * hands connections with pending events to a pool of {@link PushProperties#getWriters()} writer threads. A
+ * connection is drained by one writer at a time, in order, and a writer sends everything the connection has
+ * buffered before moving on. A client that stops reading therefore costs one writer until the container's
+ * write timeout fails the stream, and its buffer stays bounded meanwhile; other connections keep being
+ * served by the remaining writers.</p>
+ *
+ * <p>Every {@link PushProperties#getHeartbeatInterval()}, idle connections get a comment line so proxies do
+ * not close them and dead clients are detected by the failed write.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code push.connections}: open streams;</li>
+ *   <li>{@code push.events.delivered}: events written to a stream;</li>
+ *   <li>{@code push.events.dropped}: events dropped from a full connection buffer.</li>
+ * </ul>
+ */
+@Component
+public class NotificationHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationHub.class);
+
+    private final PushProperties properties;
+    private final Map<String, List<Connection>> registry = new ConcurrentHashMap<>();
+    private final LongAdder connections = new LongAdder();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService writers;
+    private final ScheduledThreadPoolExecutor heartbeats;
+    private final Counter delivered;
+    private final Counter dropped;
+
+    public NotificationHub(PushProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        AtomicInteger threads = new AtomicInteger();
+        // Unbounded by type; a connection is queued at most once at a time.
+        this.writers = new ThreadPoolExecutor(properties.getWriters(), properties.getWriters(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-push-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeats = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-push-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("push.connections", connections, LongAdder::sum)
+                .description("Open in-app notification streams")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("push.events.delivered")
+                .description("In-app notifications written to a stream")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("push.events.dropped")
+                .description("In-app notifications dropped from a full connection buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for a user. If the user already holds
+     * {@link PushProperties#getMaxConnectionsPerUser()} streams, the oldest is closed.
+     *
+     * @param user the user's email
+     * @return the stream to return from the controller
+     */
+    public SseEmitter subscribe(String user) {
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        register(user, emitter);
+        return emitter;
+    }
+
+    void register(String user, SseEmitter emitter) {
+        String key = user.toLowerCase(Locale.ROOT);
+        Connection connection = new Connection(key, emitter);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unregister(connection));
+
+        List<Connection> evicted = new ArrayList<>();
+        registry.compute(key, (ignored, current) -> {
+            List<Connection> next = new ArrayList<>(current == null ? List.of() : current);
+            next.add(connection);
+            while (next.size() > properties.getMaxConnectionsPerUser()) {
+                evicted.add(next.remove(0));
+            }
+            return List.copyOf(next);
+        });
+        connections.increment();
+        evicted.forEach(Connection::close);
+    }
+
+    private void unregister(Connection connection) {
+        synchronized (connection) {
+            if (connection.closed) {
+                return;
+            }
+            connection.closed = true;
+        }
+        registry.computeIfPresent(connection.user, (ignored, current) -> {
+            List<Connection> next = new ArrayList<>(current);
+            next.remove(connection);
+            return next.isEmpty() ? null : List.copyOf(next);
+        });
+        connections.decrement();
+    }
+
+    /**
+     * Queues a notification for every open stream of a user; users without a stream are skipped.
+     * Never blocks on the network.
+     *
+     * @param user         the user's email
+     * @param notification the notification
+     */
+    public void publish(String user, InAppNotification notification) {
+        List<Connection> targets = registry.get(user.toLowerCase(Locale.ROOT));
+        if (targets == null) {
+            return;
+        }
+        Event event = new Event(eventIds.incrementAndGet(), notification);
+        for (Connection connection : targets) {
+            connection.enqueue(event);
+        }
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return open streams across all users
+     */
+    public long connections() {
+        return connections.sum();
+    }
+
+    private void heartbeat() {
+        for (List<Connection> targets : registry.values()) {
+            for (Connection connection : targets) {
+                connection.heartbeat();
+            }
+        }
+    }
+
+    /**
+     * Closes every stream; clients reconnect to another instance.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (List<Connection> targets : registry.values()) {
+            targets.forEach(Connection::close);
+        }
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(5, TimeUnit.SECONDS)) {
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A queued SSE event; a {@code null} notification is a heartbeat.
+     */
+    private record Event(long id, @Nullable InAppNotification notification) {
+
+        private static final Event HEARTBEAT = new Event(0, null);
+    }
+
+    /**
+     * One open stream. The buffer, {@code scheduled} and {@code closed} are guarded by the connection's
+     * monitor, {@code closed} is also read without it; while {@code scheduled} is set, exactly one writer
+     * owns the emitter.
+     */
+    private final class Connection {
+
+        private final String user;
+        private final SseEmitter emitter;
+        private final Deque<Event> buffer = new ArrayDeque<>();
+        private boolean scheduled;
+        private volatile boolean closed;
+
+        private Connection(String user, SseEmitter emitter) {
+            this.user = user;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= properties.getBufferSize()) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+                schedule();
+            }
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (!closed && !scheduled && buffer.isEmpty()) {
+                    buffer.addLast(Event.HEARTBEAT);
+                    schedule();
+                }
+            }
+        }
+
+        // Caller holds the monitor.
+        private void schedule() {
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down: the stream is being closed anyway.
+                scheduled = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<Event> events;
+                synchronized (this) {
+                    if (buffer.isEmpty() || closed) {
+                        scheduled = false;
+                        return;
+                    }
+                    events = new ArrayList<>(buffer);
+                    buffer.clear();
+                }
+                for (Event event : events) {
+                    if (!write(event)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private boolean write(Event event) {
+            InAppNotification notification = event.notification();
+            try {
+                if (notification == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(notification.type())
+                            .data(notification, MediaType.APPLICATION_JSON));
+                    delivered.increment();
+                }
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the stream already completed.
+                logger.debug("Closing notification stream of {}: {}", user, ex.getMessage());
+                synchronized (this) {
+                    scheduled = false;
+                    buffer.clear();
+                }
+                close();
+                return false;
+            }
+        }
+
+        private void close() {
+            unregister(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ex) {
+                // Already completed.
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.notification_service.service.push;
+
+import com.example.notification_service.config.PushProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolves the user behind a notification stream request from its bearer token.
+ *
+ * <p>notification-service does not hold the JWT secret, so tokens are checked with auth-service's
+ * {@code POST /internal/auth/introspect}. Active results are cached by the SHA-256 of the token for
+ * {@link PushProperties#getTokenCacheTtl()}, so a browser reconnecting its stream does not cost a round
+ * trip each time.</p>
+ */
+@Component
+public class SubscriberAuthenticator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriberAuthenticator.class);
+
+    private static final String BEARER = "Bearer ";
+
+    private final RestClient restClient;
+    private final URI endpoint;
+    private final Cache<String, String> subjects;
+
+    public SubscriberAuthenticator(
+            RestClient.Builder restClientBuilder,
+            PushProperties properties,
+            @Value("${app.auth-base-url:http://localhost:8080}") String authBaseUrl) {
+        this.restClient = restClientBuilder.build();
+        this.endpoint = URI.create(authBaseUrl + "/internal/auth/introspect");
+        this.subjects = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getTokenCacheTtl())
+                .build();
+    }
+
+    /**
+     * Returns the email of the user the token belongs to.
+     *
+     * @param authorization the {@code Authorization} header, if any
+     * @return the user's email, or empty if the header is missing or the token is not active
+     * @throws ResponseStatusException with {@code 503} if auth-service cannot be reached
+     */
+    public Optional<String> authenticate(@Nullable String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER) || authorization.length() == BEARER.length()) {
+            return Optional.empty();
+        }
+        String token = authorization.substring(BEARER.length()).trim();
+        String key = sha256Hex(token);
+        String cached = subjects.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        IntrospectionResponse response;
+        try {
+            response = restClient.post()
+                    .uri(endpoint)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("tokens", List.of(token)))
+                    .retrieve()
+                    .body(IntrospectionResponse.class);
+        } catch (RestClientException ex) {
+            logger.warn("Token introspection failed: {}", ex.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Token introspection unavailable", ex);
+        }
+        if (response == null || response.results().isEmpty() || !response.results().get(0).active()) {
+            return Optional.empty();
+        }
+        String subject = response.results().get(0).sub();
+        if (subject == null) {
+            return Optional.empty();
+        }
+        subjects.put(key, subject);
+        return Optional.of(subject);
+    }
+
+    private static String sha256Hex(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JRE ships SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    record IntrospectionResponse(List<Result> results) {}
+
+    record Result(boolean active, @Nullable String sub) {}
+}
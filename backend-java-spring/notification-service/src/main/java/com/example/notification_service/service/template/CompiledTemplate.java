@@ -0,0 +1,129 @@
+package com.example.notification_service.service.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal text and variable slots.
+ *
+ * <p>Placeholders are written {@code {{name}}} and must name one of the variables the template was compiled
+ * against, so a typo fails when the file is loaded rather than producing a blank in a sent email. Rendering
+ * walks the slots and appends into a per-thread buffer; apart from the returned string it allocates
+ * nothing. In HTML parts every value is escaped as it is appended.</p>
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int variableCount;
+    private final boolean html;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, int[] slots, int variableCount, boolean html) {
+        this.literals = literals;
+        this.slots = slots;
+        this.variableCount = variableCount;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param source    template text
+     * @param variables the variables placeholders may use; their order is the argument order of {@link #render}
+     * @param html      whether values must be HTML-escaped
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is unterminated or names an unknown variable
+     */
+    public static CompiledTemplate compile(String source, List<String> variables, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).strip();
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException(
+                        "Unknown placeholder {{" + name + "}} at offset " + open + "; expected one of " + variables);
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(
+                literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                variables.size(),
+                html);
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values one value per variable, in the order given to {@link #compile}
+     * @return the rendered text
+     */
+    public String render(String... values) {
+        if (values.length != variableCount) {
+            throw new IllegalArgumentException("Expected " + variableCount + " values but got " + values.length);
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength + 64 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            if (html) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            // Do not pin an oversized buffer to the thread after an unusually large render.
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        // Copy runs of safe characters in bulk; most values (links, addresses) have nothing to escape.
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, start, i).append(entity);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.notification_service.service.template;
+
+/**
+ * The compiled subject, HTML and plain-text parts of one template in one locale.
+ */
+public record EmailTemplate(CompiledTemplate subject, CompiledTemplate html, CompiledTemplate text) {
+
+    /**
+     * A rendered email, ready to be put into a MIME message.
+     */
+    public record Rendered(String subject, String html, String text) {}
+
+    /**
+     * Renders all three parts.
+     *
+     * @param values one value per {@link TemplateType#variables() variable}, in declaration order
+     * @return the rendered parts
+     */
+    public Rendered render(String... values) {
+        return new Rendered(subject.render(values), html.render(values), text.render(values));
+    }
+}
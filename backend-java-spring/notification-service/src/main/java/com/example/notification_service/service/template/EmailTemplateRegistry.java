@@ -0,0 +1,244 @@
+package com.example.notification_service.service.template;
+
+import com.example.notification_service.config.TemplateProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Loads, compiles and caches email templates.
+ *
+ * <p>Each template file is compiled once into a {@link CompiledTemplate}. Built-in files come from
+ * {@code classpath:email-templates/}; files in {@link TemplateProperties#getDirectory()} override them by
+ * name and are picked up without a restart. The directory is scanned from the sending thread at most once
+ * per {@link TemplateProperties#getReloadInterval()}, so there is no watcher thread. A changed file that no
+ * longer compiles is logged and the previous version stays in use.</p>
+ *
+ * <p>Locale variants follow {@link java.util.ResourceBundle} naming. For {@code pt_BR} each part is looked
+ * up as {@code verification_pt_BR}, then {@code verification_pt}, then the default locale's variants, then
+ * plain {@code verification}; the most specific file wins, whether built in or overridden.</p>
+ */
+@Component
+public class EmailTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRegistry.class);
+
+    static final String CLASSPATH_LOCATION = "email-templates/";
+
+    private final TemplateProperties properties;
+    private final @Nullable Path directory;
+    private final Map<String, CompiledTemplate> builtIn;
+    private final Map<String, CompiledTemplate> overrides = new ConcurrentHashMap<>();
+    private final Map<String, EmailTemplate> resolved = new ConcurrentHashMap<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Guarded by reloadLock.
+    private final Map<Path, FileTime> scanned = new HashMap<>();
+    private volatile long nextScanAt;
+
+    public EmailTemplateRegistry(TemplateProperties properties) throws IOException {
+        this.properties = properties;
+        String configured = properties.getDirectory();
+        this.directory = StringUtils.hasText(configured) ? Path.of(configured) : null;
+        this.builtIn = loadBuiltIn();
+        if (directory != null) {
+            scan(directory);
+            nextScanAt = System.nanoTime() + properties.getReloadInterval().toNanos();
+        }
+        // Fail at startup, not on the first send, if a template has no default parts.
+        for (TemplateType type : TemplateType.values()) {
+            get(type, null);
+        }
+    }
+
+    /**
+     * Returns the compiled template for a locale, falling back as described on the class.
+     *
+     * @param type   which email
+     * @param locale the recipient's locale, or {@code null} for {@link TemplateProperties#getDefaultLocale()}
+     * @return the template
+     * @throws IllegalStateException if no file exists for one of the parts
+     */
+    public EmailTemplate get(TemplateType type, @Nullable Locale locale) {
+        reloadIfDue();
+        Locale effective = locale != null ? locale : properties.getDefaultLocale();
+        return resolved.computeIfAbsent(type.fileName() + '|' + effective,
+                key -> new EmailTemplate(
+                        part(type, effective, Part.SUBJECT),
+                        part(type, effective, Part.HTML),
+                        part(type, effective, Part.TEXT)));
+    }
+
+    private CompiledTemplate part(TemplateType type, Locale locale, Part part) {
+        for (String baseName : candidates(type.fileName(), locale)) {
+            String fileName = baseName + part.suffix;
+            CompiledTemplate template = overrides.get(fileName);
+            if (template == null) {
+                template = builtIn.get(fileName);
+            }
+            if (template != null) {
+                return template;
+            }
+        }
+        throw new IllegalStateException("No " + type.fileName() + part.suffix + " email template");
+    }
+
+    private List<String> candidates(String name, Locale locale) {
+        List<String> names = new ArrayList<>(5);
+        addLocaleVariants(names, name, locale);
+        addLocaleVariants(names, name, properties.getDefaultLocale());
+        names.add(name);
+        return names;
+    }
+
+    private static void addLocaleVariants(List<String> names, String name, Locale locale) {
+        if (locale.getLanguage().isEmpty()) {
+            return;
+        }
+        if (!locale.getCountry().isEmpty()) {
+            names.add(name + '_' + locale.getLanguage() + '_' + locale.getCountry());
+        }
+        names.add(name + '_' + locale.getLanguage());
+    }
+
+    private void reloadIfDue() {
+        if (directory == null || System.nanoTime() < nextScanAt || !reloadLock.tryLock()) {
+            return;
+        }
+        try {
+            nextScanAt = System.nanoTime() + properties.getReloadInterval().toNanos();
+            scan(directory);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void scan(Path directory) {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        } catch (NoSuchFileException ex) {
+            files = List.of();
+        } catch (IOException ex) {
+            logger.warn("Could not list email template directory {}: {}", directory, ex.getMessage());
+            return;
+        }
+
+        boolean changed = false;
+        Set<Path> present = new HashSet<>();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            Part part = Part.of(fileName);
+            if (part == null) {
+                continue;
+            }
+            present.add(file);
+            FileTime modified;
+            try {
+                modified = Files.getLastModifiedTime(file);
+            } catch (IOException ex) {
+                continue;
+            }
+            if (modified.equals(scanned.put(file, modified))) {
+                continue;
+            }
+            try {
+                CompiledTemplate template = compile(fileName, part, Files.readString(file, StandardCharsets.UTF_8));
+                if (template != null) {
+                    overrides.put(fileName, template);
+                    changed = true;
+                    logger.info("Loaded email template {}", file);
+                }
+            } catch (IOException | IllegalArgumentException ex) {
+                logger.error("Email template {} is invalid; keeping the previous version: {}", file, ex.getMessage());
+            }
+        }
+        for (Path removed : new ArrayList<>(scanned.keySet())) {
+            if (!present.contains(removed)) {
+                scanned.remove(removed);
+                changed |= overrides.remove(removed.getFileName().toString()) != null;
+                logger.info("Email template {} was removed; using the built-in version", removed);
+            }
+        }
+        if (changed) {
+            resolved.clear();
+        }
+    }
+
+    private static Map<String, CompiledTemplate> loadBuiltIn() throws IOException {
+        Map<String, CompiledTemplate> templates = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + CLASSPATH_LOCATION + "*");
+        for (Resource resource : resources) {
+            String fileName = resource.getFilename();
+            Part part = fileName == null ? null : Part.of(fileName);
+            if (part == null) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                CompiledTemplate template = compile(fileName, part, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                if (template != null) {
+                    templates.put(fileName, template);
+                }
+            }
+        }
+        return templates;
+    }
+
+    private static @Nullable CompiledTemplate compile(String fileName, Part part, String source) {
+        String baseName = fileName.substring(0, fileName.length() - part.suffix.length());
+        int localeStart = baseName.indexOf('_');
+        String typeName = localeStart < 0 ? baseName : baseName.substring(0, localeStart);
+        for (TemplateType type : TemplateType.values()) {
+            if (type.fileName().equals(typeName)) {
+                // A trailing newline in the subject file would end up in the Subject header.
+                String text = part == Part.SUBJECT ? source.strip() : source;
+                return CompiledTemplate.compile(text, type.variables(), part == Part.HTML);
+            }
+        }
+        logger.warn("Ignoring email template {}: no email type named {}", fileName, typeName);
+        return null;
+    }
+
+    private enum Part {
+        // SUBJECT before TEXT: ".subject.txt" also ends with ".txt".
+        SUBJECT(".subject.txt"),
+        HTML(".html"),
+        TEXT(".txt");
+
+        private final String suffix;
+
+        Part(String suffix) {
+            this.suffix = suffix;
+        }
+
+        static @Nullable Part of(String fileName) {
+            for (Part part : values()) {
+                if (fileName.endsWith(part.suffix)) {
+                    return part;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.notification_service.service.template;
+
+import java.util.List;
+
+/**
+ * The emails this service sends, each with the variables its template files may use.
+ *
+ * <p>A template named {@code verification} consists of {@code verification.subject.txt},
+ * {@code verification.html} and {@code verification.txt}, with locale variants such as
+ * {@code verification_de.html}.</p>
+ */
+public enum TemplateType {
+
+    VERIFICATION("verification", "brandName", "email", "verifyLink", "expiryHours"),
+    TRANSACTION_ALERT("transaction-alert", "brandName", "email", "headline", "details"),
+    TRANSACTION_DIGEST("transaction-digest", "brandName", "email", "count", "lines");
+
+    private final String fileName;
+    private final List<String> variables;
+
+    TemplateType(String fileName, String... variables) {
+        this.fileName = fileName;
+        this.variables = List.of(variables);
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public List<String> variables() {
+        return variables;
+    }
+}
@@ -0,0 +1,18 @@
+-- This file runs on startup to keep the local PostgreSQL schema aligned.
+-- It is intentionally idempotent.
+
+-- Notification log (NotificationLogWriter, GET /internal/notifications).
+-- One row per email; recipients are stored only as the SHA-256 of the lowercased address.
+CREATE TABLE IF NOT EXISTS notification_log (
+    id             uuid         PRIMARY KEY,
+    event          varchar(32)  NOT NULL,
+    recipient_hash varchar(64)  NOT NULL,
+    status         varchar(16)  NOT NULL,
+    attempts       integer      NOT NULL DEFAULT 0,
+    created_at     timestamptz  NOT NULL,
+    updated_at     timestamptz  NOT NULL,
+    sent_at        timestamptz  NULL
+);
+-- Serves the per-recipient lookup and its keyset ordering (newest first) from one index.
+CREATE INDEX IF NOT EXISTS idx_notification_log_recipient
+    ON notification_log (recipient_hash, created_at DESC, id DESC);
@@ -1,9 +1,20 @@
 package com.example.notification_service.controller;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.notification_service.config.DispatchProperties;
+import com.example.notification_service.service.alert.TransactionAlertCoalescer;
+import com.example.notification_service.service.dispatch.DispatchStats;
+import com.example.notification_service.service.dispatch.EmailDispatchQueue;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import jakarta.mail.MessagingException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -12,7 +23,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 /**
  * Unit tests for {@link InternalDiagnosticsController}.
- * Validates the mail diagnostics endpoint returns correct configuration flags.
+ * Validates the mail diagnostics endpoint returns correct configuration flags and the pipeline endpoint
+ * reports live counters.
  */
 class InternalDiagnosticsControllerTest {
 
@@ -25,11 +37,7 @@ class InternalDiagnosticsControllerTest {
     @Test
     void mail_diagnostics_returns_configuration_flags() throws Exception {
         // Initialize controller with mock environment
-        InternalDiagnosticsController controller = new InternalDiagnosticsController(new MockEnvironment());
-        
-        // Inject configuration values using reflection to bypass constructor injection
-        ReflectionTestUtils.setField(controller, "authBaseUrl", "http://localhost:8080");
-        ReflectionTestUtils.setField(controller, "fromAddress", "no-reply@kaban.local");
+        InternalDiagnosticsController controller = controller(new DispatchStats());
 
         // Build standalone MockMvc instance for testing
         MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
@@ -41,6 +49,56 @@ class InternalDiagnosticsControllerTest {
                 .andExpect(jsonPath("$.fromAddress").value("no-reply@kaban.local"))
                 .andExpect(jsonPath("$.smtpHostConfigured").value(false))
                 .andExpect(jsonPath("$.smtpUsernameConfigured").value(false))
-                .andExpect(jsonPath("$.smtpPasswordConfigured").value(false));
+                .andExpect(jsonPath("$.smtpPasswordConfigured").value(false))
+                .andExpect(jsonPath("$.smtpHostValue").doesNotExist());
+    }
+
+    /**
+     * Verifies that the pipeline endpoint reports queue state, outcomes by cause, the latency histogram and
+     * SMTP session counts.
+     *
+     * @throws Exception if MockMvc request execution fails
+     */
+    @Test
+    void pipeline_diagnostics_report_live_counters() throws Exception {
+        DispatchStats stats = new DispatchStats();
+        stats.sending(3);
+        stats.sent(3, List.of(new SendFailure(1, new MessagingException("421 4.7.0 Try later"))),
+                TimeUnit.MILLISECONDS.toNanos(12));
+        stats.sending(2);
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller(stats)).build();
+
+        mockMvc.perform(get("/internal/diagnostics/pipeline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").value(7))
+                .andExpect(jsonPath("$.queueCapacity").value(10_000))
+                .andExpect(jsonPath("$.inFlight").value(2))
+                .andExpect(jsonPath("$.sent").value(2))
+                .andExpect(jsonPath("$.failed.deferred").value(1))
+                .andExpect(jsonPath("$.failed.rejected").value(0))
+                .andExpect(jsonPath("$.sendLatencyMillis.count").value(1))
+                .andExpect(jsonPath("$.sendLatencyMillis.p99").value(16))
+                .andExpect(jsonPath("$.sendLatencyMillis.buckets[0].lessThanMillis").value(16))
+                .andExpect(jsonPath("$.smtpPool.leased").value(1))
+                .andExpect(jsonPath("$.smtpPool.opened").value(5))
+                .andExpect(jsonPath("$.transactionAlerts.emails").value(10))
+                .andExpect(jsonPath("$.transactionAlerts.volumeReduction").value(0.9));
+    }
+
+    private static InternalDiagnosticsController controller(DispatchStats stats) {
+        EmailDispatchQueue queue = mock(EmailDispatchQueue.class);
+        when(queue.depth()).thenReturn(7);
+        SmtpConnectionPool pool = mock(SmtpConnectionPool.class);
+        when(pool.stats()).thenReturn(new SmtpConnectionPool.PoolStats(4, 1, 2, 5, 1, 1, 0));
+        TransactionAlertCoalescer alerts = mock(TransactionAlertCoalescer.class);
+        when(alerts.stats()).thenReturn(new TransactionAlertCoalescer.Stats(100, 10, 90));
+        InternalDiagnosticsController controller = new InternalDiagnosticsController(
+                new MockEnvironment(), queue, new DispatchProperties(), stats, pool, alerts);
+
+        // Inject configuration values using reflection to bypass constructor injection
+        ReflectionTestUtils.setField(controller, "authBaseUrl", "http://localhost:8080");
+        ReflectionTestUtils.setField(controller, "fromAddress", "no-reply@kaban.local");
+        return controller;
     }
 }
@@ -1,13 +1,28 @@
 package com.example.notification_service.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.example.notification_service.service.VerificationEmailService;
+import com.example.notification_service.dto.InAppNotification;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.exception.DispatchRejectedException;
+import com.example.notification_service.service.alert.TransactionAlertCoalescer;
+import com.example.notification_service.service.dispatch.EmailDispatchQueue;
+import com.example.notification_service.service.push.NotificationHub;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,16 +33,24 @@ class InternalEventsControllerTest {
     private MockMvc mockMvc;
 
     @Mock
-    private VerificationEmailService verificationEmailService;
+    private EmailDispatchQueue emailDispatchQueue;
+
+    @Mock
+    private TransactionAlertCoalescer transactionAlertCoalescer;
+
+    @Mock
+    private NotificationHub notificationHub;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(new InternalEventsController(verificationEmailService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new InternalEventsController(emailDispatchQueue, transactionAlertCoalescer, notificationHub))
+                .setControllerAdvice(new DispatchExceptionHandler())
+                .build();
     }
 
     @Test
-    void userRegistered_returns_202_and_sends_email() throws Exception {
+    void userRegistered_returns_202_and_enqueues_email() throws Exception {
         String payload = """
                 {"email":"user@example.com","verificationToken":"token-123"}
                 """;
@@ -37,6 +60,85 @@ class InternalEventsControllerTest {
                         .content(payload))
                 .andExpect(status().isAccepted());
 
-        verify(verificationEmailService).sendVerificationEmail("user@example.com", "token-123");
+        verify(emailDispatchQueue).submit(new UserRegisteredEventDto("user@example.com", "token-123"));
+    }
+
+    @Test
+    void userRegistered_returns_503_with_retry_after_when_queue_is_full() throws Exception {
+        doThrow(new DispatchRejectedException("full", Duration.ofSeconds(7))).when(emailDispatchQueue).submit(any());
+
+        mockMvc.perform(post("/internal/events/user-registered")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"user@example.com\",\"verificationToken\":\"token-123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void userRegisteredBatch_returns_202_and_enqueues_whole_batch() throws Exception {
+        String payload = """
+                {"events":[
+                  {"email":"a@example.com","verificationToken":"token-a"},
+                  {"email":"b@example.com","verificationToken":"token-b"}
+                ]}
+                """;
+
+        mockMvc.perform(post("/internal/events/user-registered/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isAccepted());
+
+        ArgumentCaptor<List<UserRegisteredEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailDispatchQueue).submitAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                new UserRegisteredEventDto("a@example.com", "token-a"),
+                new UserRegisteredEventDto("b@example.com", "token-b"));
+    }
+
+    @Test
+    void userRegisteredBatch_rejects_invalid_event() throws Exception {
+        String payload = """
+                {"events":[{"email":"not-an-email","verificationToken":"token-a"}]}
+                """;
+
+        mockMvc.perform(post("/internal/events/user-registered/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void transaction_returns_202_hands_the_event_to_the_coalescer_and_pushes_it() throws Exception {
+        String payload = """
+                {"transactionId":"tx-1","email":"user@example.com","accountNumber":"KABAN-1001",
+                 "type":"DEPOSIT","status":"COMPLETED","amount":25000.00,"currency":"PHP",
+                 "occurredAt":"2026-10-18T01:00:00Z"}
+                """;
+
+        mockMvc.perform(post("/internal/events/transaction")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isAccepted());
+
+        verify(transactionAlertCoalescer).submit(new TransactionEventDto("tx-1", "user@example.com", "KABAN-1001",
+                TransactionEventDto.Type.DEPOSIT, TransactionEventDto.Status.COMPLETED, new BigDecimal("25000.00"),
+                "PHP", Instant.parse("2026-10-18T01:00:00Z"), null));
+        verify(notificationHub).publish("user@example.com", new InAppNotification("transaction",
+                "Deposit of PHP 25,000.00 completed", Instant.parse("2026-10-18T01:00:00Z"), "tx-1"));
+    }
+
+    @Test
+    void transaction_rejects_a_non_positive_amount() throws Exception {
+        String payload = """
+                {"transactionId":"tx-1","email":"user@example.com","accountNumber":"KABAN-1001",
+                 "type":"WITHDRAWAL","status":"COMPLETED","amount":0,"currency":"PHP",
+                 "occurredAt":"2026-10-18T01:00:00Z"}
+                """;
+
+        mockMvc.perform(post("/internal/events/transaction")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isBadRequest());
     }
 }
@@ -0,0 +1,91 @@
+package com.example.notification_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.notification_service.config.TemplateProperties;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
+import com.example.notification_service.service.template.EmailTemplateRegistry;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link TransactionAlertEmailService}.
+ * Validates that single transactions become alerts and several become one digest.
+ */
+class TransactionAlertEmailServiceTest {
+
+    private SmtpConnectionPool pool;
+    private TransactionAlertEmailService service;
+
+    @BeforeEach
+    void setup() throws Exception {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("mailSender", new JavaMailSenderImpl());
+        pool = Mockito.mock(SmtpConnectionPool.class);
+        when(pool.send(anyList())).thenReturn(List.of());
+        TemplateProperties templateProperties = new TemplateProperties();
+        service = new TransactionAlertEmailService(
+                beanFactory.getBeanProvider(JavaMailSender.class),
+                new MockEnvironment().withProperty("spring.mail.host", "localhost"),
+                pool, new EmailTemplateRegistry(templateProperties), templateProperties);
+        ReflectionTestUtils.setField(service, "fromAddress", "no-reply@kaban.local");
+    }
+
+    @Test
+    void sends_a_single_transaction_as_an_alert() throws Exception {
+        assertThat(service.send("user@example.com", List.of(
+                event("tx-1", TransactionEventDto.Type.WITHDRAWAL, TransactionEventDto.Status.PENDING_REVIEW, "500000")))).isTrue();
+
+        MimeMessage message = sent().get(0);
+        assertThat(message.getSubject()).isEqualTo("Kaban: Withdrawal of PHP 500,000.00 is pending review");
+        assertThat(text(message)).contains("Account: KABAN-1001", "Reference: tx-1", "2026-10-18 01:00 UTC");
+    }
+
+    @Test
+    void sends_several_transactions_as_one_digest_line_each() throws Exception {
+        assertThat(service.send("user@example.com", List.of(
+                event("tx-1", TransactionEventDto.Type.DEPOSIT, TransactionEventDto.Status.COMPLETED, "25000"),
+                event("tx-2", TransactionEventDto.Type.TRANSFER_OUT, TransactionEventDto.Status.COMPLETED, "1200.5")))).isTrue();
+
+        List<MimeMessage> messages = sent();
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).getSubject()).isEqualTo("Kaban: 2 new transactions on your account");
+        assertThat(text(messages.get(0)))
+                .contains("Deposit", "+PHP 25,000.00", "Outgoing transfer", "-PHP 1,200.50", "completed");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MimeMessage> sent() {
+        ArgumentCaptor<List<MimeMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pool).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String text(MimeMessage message) throws Exception {
+        message.saveChanges();
+        MimeMultipart alternative = (MimeMultipart) ((MimeMultipart) message.getContent()).getBodyPart(0).getContent();
+        MimeMultipart parts = (MimeMultipart) alternative.getBodyPart(0).getContent();
+        return parts.getBodyPart(0).getContent().toString();
+    }
+
+    private static TransactionEventDto event(String id, TransactionEventDto.Type type, TransactionEventDto.Status status, String amount) {
+        return new TransactionEventDto(id, "user@example.com", "KABAN-1001", type, status, new BigDecimal(amount),
+                "PHP", Instant.parse("2026-10-18T01:00:00Z"), null);
+    }
+}
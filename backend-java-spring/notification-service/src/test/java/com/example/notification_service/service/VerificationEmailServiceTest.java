@@ -1,13 +1,26 @@
 package com.example.notification_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.example.notification_service.config.TemplateProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.service.mail.SmtpConnectionPool;
+import com.example.notification_service.service.template.EmailTemplateRegistry;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -52,7 +65,9 @@ class VerificationEmailServiceTest {
 
         // Initialize environment without SMTP properties
         Environment env = new MockEnvironment();
-        VerificationEmailService service = new VerificationEmailService(provider, env);
+        SmtpConnectionPool pool = Mockito.mock(SmtpConnectionPool.class);
+        VerificationEmailService service = new VerificationEmailService(provider, env, pool,
+                Mockito.mock(EmailTemplateRegistry.class), new TemplateProperties());
         
         // Inject required configuration properties via reflection
         ReflectionTestUtils.setField(service, "authBaseUrl", "http://localhost:8080");
@@ -62,9 +77,46 @@ class VerificationEmailServiceTest {
         service.sendVerificationEmail("user@example.com", "token-123");
 
         // Assert that the mail sender was never called
-        verifyNoInteractions(mailSender);
+        verifyNoInteractions(mailSender, pool);
         
         // Confirm SMTP is marked as not configured
         assertThat(service.isSmtpConfigured()).isFalse();
     }
+
+    /**
+     * Verifies that a message is rendered from the recipient's locale variant with both an HTML and a
+     * plain-text part, and that failed sends are reported by position.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void builds_localized_multipart_messages_and_reports_failures() throws Exception {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("mailSender", new JavaMailSenderImpl());
+        MockEnvironment env = new MockEnvironment().withProperty("spring.mail.host", "localhost");
+        SmtpConnectionPool pool = Mockito.mock(SmtpConnectionPool.class);
+        when(pool.send(anyList())).thenReturn(List.of(new SmtpConnectionPool.SendFailure(1, new Exception("rejected"))));
+        TemplateProperties templateProperties = new TemplateProperties();
+        VerificationEmailService service = new VerificationEmailService(
+                beanFactory.getBeanProvider(JavaMailSender.class), env, pool,
+                new EmailTemplateRegistry(templateProperties), templateProperties);
+        ReflectionTestUtils.setField(service, "authBaseUrl", "http://localhost:8080");
+        ReflectionTestUtils.setField(service, "fromAddress", "no-reply@kaban.local");
+
+        List<SmtpConnectionPool.SendFailure> failed = service.sendVerificationEmails(List.of(
+                new UserRegisteredEventDto("de@example.com", "token-de", "de-DE"),
+                new UserRegisteredEventDto("en@example.com", "token-en")));
+
+        assertThat(failed).extracting(SmtpConnectionPool.SendFailure::index).containsExactly(1);
+        ArgumentCaptor<List<MimeMessage>> sent = ArgumentCaptor.forClass(List.class);
+        verify(pool).send(sent.capture());
+        MimeMessage german = sent.getValue().get(0);
+        assertThat(german.getSubject()).isEqualTo("Bestätigen Sie Ihr Kaban-Konto");
+        german.saveChanges();
+        MimeMultipart alternative = (MimeMultipart) ((MimeMultipart) german.getContent()).getBodyPart(0).getContent();
+        MimeMultipart parts = (MimeMultipart) alternative.getBodyPart(0).getContent();
+        assertThat(parts.getCount()).isEqualTo(2);
+        assertThat(parts.getBodyPart(0).getContent().toString()).contains("http://localhost:8080/api/auth/verify?token=token-de");
+        assertThat(parts.getBodyPart(1).getContentType()).startsWith("text/html");
+        assertThat(sent.getValue().get(1).getSubject()).isEqualTo("Verify your Kaban account");
+    }
 }
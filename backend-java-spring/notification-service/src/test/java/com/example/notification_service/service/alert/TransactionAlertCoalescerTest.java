@@ -0,0 +1,131 @@
+package com.example.notification_service.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.notification_service.config.AlertProperties;
+import com.example.notification_service.dto.TransactionEventDto;
+import com.example.notification_service.service.TransactionAlertEmailService;
+import com.example.notification_service.service.log.NotificationLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TransactionAlertCoalescer}.
+ */
+class TransactionAlertCoalescerTest {
+
+    private TransactionAlertEmailService emailService;
+    private NotificationLogWriter notificationLog;
+    private AlertProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionAlertCoalescer coalescer;
+
+    @BeforeEach
+    void setup() {
+        emailService = mock(TransactionAlertEmailService.class);
+        when(emailService.send(anyString(), anyList())).thenReturn(true);
+        notificationLog = mock(NotificationLogWriter.class);
+        properties = new AlertProperties();
+        properties.setDigestWindow(Duration.ofMillis(300));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TransactionAlertCoalescer(properties, emailService, notificationLog, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void coalesces_a_recipients_events_into_one_digest_after_the_window() {
+        coalescer.submit(deposit("a", "user@example.com", "100"));
+        coalescer.submit(deposit("b", "USER@example.com", "200"));
+        coalescer.submit(deposit("c", "other@example.com", "300"));
+
+        verify(emailService, after(150).never()).send(anyString(), anyList());
+        verify(emailService, timeout(2000)).send("user@example.com",
+                List.of(deposit("a", "user@example.com", "100"), deposit("b", "USER@example.com", "200")));
+        verify(emailService, timeout(2000)).send("other@example.com", List.of(deposit("c", "other@example.com", "300")));
+        assertThat(coalescer.stats()).isEqualTo(new TransactionAlertCoalescer.Stats(3, 2, 1));
+    }
+
+    @Test
+    void sends_high_value_and_pending_review_alerts_immediately() {
+        coalescer.submit(deposit("small", "user@example.com", "100"));
+        TransactionEventDto large = deposit("large", "user@example.com", "50000");
+        TransactionEventDto review = new TransactionEventDto("review", "user@example.com", "KABAN-1001",
+                TransactionEventDto.Type.WITHDRAWAL, TransactionEventDto.Status.PENDING_REVIEW, new BigDecimal("10"),
+                "PHP", Instant.parse("2026-10-18T01:00:00Z"), null);
+        coalescer.submitAll(List.of(large, review));
+
+        verify(emailService, timeout(100)).send("user@example.com", List.of(large));
+        verify(emailService, timeout(100)).send("user@example.com", List.of(review));
+        verify(emailService, never()).send("user@example.com", List.of(deposit("small", "user@example.com", "100")));
+        assertThat(meterRegistry.get("alerts.transaction.emails").tag("kind", "immediate").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void sends_a_full_digest_early_and_open_digests_at_shutdown() {
+        properties.setMaxDigestEvents(2);
+        properties.setDigestWindow(Duration.ofHours(1));
+        coalescer.shutdown();
+        coalescer = new TransactionAlertCoalescer(properties, emailService, notificationLog, meterRegistry);
+
+        coalescer.submitAll(List.of(
+                deposit("a", "user@example.com", "1"), deposit("b", "user@example.com", "2"),
+                deposit("c", "user@example.com", "3")));
+
+        verify(emailService, timeout(2000)).send("user@example.com",
+                List.of(deposit("a", "user@example.com", "1"), deposit("b", "user@example.com", "2")));
+        coalescer.shutdown();
+        verify(emailService).send("user@example.com", List.of(deposit("c", "user@example.com", "3")));
+    }
+
+    @Test
+    void a_payroll_run_sends_one_email_per_employee() {
+        int employees = 200;
+        int creditsPerEmployee = 25;
+        // Longer than the run can take, so no digest closes halfway through; shutdown() sends them all.
+        properties.setDigestWindow(Duration.ofMinutes(1));
+        coalescer.shutdown();
+        coalescer = new TransactionAlertCoalescer(properties, emailService, notificationLog, meterRegistry);
+
+        for (int round = 0; round < creditsPerEmployee; round++) {
+            List<TransactionEventDto> batch = new ArrayList<>(employees);
+            for (int employee = 0; employee < employees; employee++) {
+                batch.add(deposit("p" + round + "-" + employee, "employee" + employee + "@example.com", "1500"));
+            }
+            coalescer.submitAll(batch);
+        }
+
+        coalescer.shutdown();
+
+        verify(emailService, times(employees)).send(anyString(), anyList());
+        TransactionAlertCoalescer.Stats stats = coalescer.stats();
+        assertThat(stats.events()).isEqualTo((long) employees * creditsPerEmployee);
+        assertThat(stats.emails()).isEqualTo(employees);
+        assertThat(stats.volumeReduction()).isEqualTo(1 - 1.0 / creditsPerEmployee);
+    }
+
+    private static TransactionEventDto deposit(String id, String email, String amount) {
+        return new TransactionEventDto(id, email, "KABAN-1001", TransactionEventDto.Type.DEPOSIT,
+                TransactionEventDto.Status.COMPLETED, new BigDecimal(amount), "PHP",
+                Instant.parse("2026-10-18T01:00:00Z"), null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.notification_service.service.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DomainThrottle}, driven by explicit clock values.
+ */
+class DomainThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void grants_the_burst_then_refills_at_the_rate() {
+        DomainThrottle throttle = new DomainThrottle(10, 1, 5, 0.5, 1, 0);
+
+        assertThat(throttle.tryAcquire(8, 0)).isEqualTo(5);
+        assertThat(throttle.tryAcquire(1, 0)).isZero();
+        assertThat(throttle.nanosUntilAvailable(0)).isEqualTo(SECOND / 10);
+        assertThat(throttle.tryAcquire(8, SECOND / 2)).isEqualTo(5);
+        // Idle time refills only up to the burst.
+        assertThat(throttle.tryAcquire(8, 10 * SECOND)).isEqualTo(5);
+    }
+
+    @Test
+    void slows_down_once_per_round_of_batches_and_recovers_additively() {
+        DomainThrottle throttle = new DomainThrottle(10, 1, 5, 0.5, 1, 0);
+
+        throttle.onTemporaryFailure(1, 2);
+        assertThat(throttle.rate()).isEqualTo(5);
+        assertThat(throttle.tryAcquire(1, 2)).isZero();
+        // Started before the slow-down: the same congestion, so no further decrease.
+        throttle.onTemporaryFailure(1, 3);
+        assertThat(throttle.rate()).isEqualTo(5);
+
+        throttle.onTemporaryFailure(4, 5);
+        throttle.onTemporaryFailure(6, 7);
+        throttle.onTemporaryFailure(8, 9);
+        assertThat(throttle.rate()).isEqualTo(1);
+
+        for (int i = 0; i < 20; i++) {
+            throttle.onDelivered();
+        }
+        assertThat(throttle.rate()).isEqualTo(10);
+    }
+}
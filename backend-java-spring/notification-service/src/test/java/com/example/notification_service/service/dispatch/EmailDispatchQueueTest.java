@@ -0,0 +1,322 @@
+package com.example.notification_service.service.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.notification_service.config.DispatchProperties;
+import com.example.notification_service.config.DomainThrottleProperties;
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import com.example.notification_service.exception.DispatchRejectedException;
+import com.example.notification_service.service.VerificationEmailService;
+import com.example.notification_service.service.journal.EmailJournal;
+import com.example.notification_service.service.log.NotificationEvent;
+import com.example.notification_service.service.log.NotificationLogWriter;
+import com.example.notification_service.service.log.NotificationStatus;
+import com.example.notification_service.service.mail.SmtpConnectionPool.SendFailure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link EmailDispatchQueue}.
+ * A latch holds the single worker inside a send so the queue can be filled deterministically.
+ */
+class EmailDispatchQueueTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    @TempDir
+    Path journalDirectory;
+    private VerificationEmailService emailService;
+    private SimpleMeterRegistry meterRegistry;
+    private DispatchStats stats;
+    private NotificationLogWriter notificationLog;
+    private DispatchProperties properties;
+    private DomainThrottleProperties throttleProperties;
+    private JournalProperties journalProperties;
+    private EmailJournal journal;
+    private EmailDispatchQueue queue;
+
+    @BeforeEach
+    void setup() throws IOException {
+        emailService = mock(VerificationEmailService.class);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(emailService).sendVerificationEmails(anyList());
+
+        journalProperties = new JournalProperties();
+        journalProperties.setDirectory(journalDirectory.toString());
+        journalProperties.setMaxAttempts(3);
+        journalProperties.setInitialBackoff(Duration.ofMillis(20));
+        journalProperties.setMaxBackoff(Duration.ofMillis(40));
+
+        properties = new DispatchProperties();
+        properties.setCapacity(2);
+        properties.setWorkers(1);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        throttleProperties = new DomainThrottleProperties();
+
+        journal = new EmailJournal(journalProperties);
+        queue = newQueue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.shutdown();
+        journal.close();
+    }
+
+    @Test
+    void returns_before_the_send_completes_and_records_metrics() {
+        queue.submit(event("a"));
+
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("a")));
+        release.countDown();
+        queue.shutdown();
+
+        assertThat(meterRegistry.get("email.dispatch.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("email.dispatch.send").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("email.dispatch.queue.depth").gauge().value()).isZero();
+        ArgumentCaptor<UUID> id = ArgumentCaptor.forClass(UUID.class);
+        verify(notificationLog).accepted(id.capture(), eq(NotificationEvent.USER_REGISTERED), eq("a@example.com"));
+        verify(notificationLog).updated(id.getValue(), NotificationStatus.SENT, 1);
+    }
+
+    @Test
+    void drains_queued_events_as_one_batch() {
+        queue.submit(event("busy"));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("busy")));
+
+        queue.submitAll(List.of(event("b1"), event("b2")));
+        release.countDown();
+
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("b1"), event("b2")));
+    }
+
+    @Test
+    void rejects_when_full_and_admits_batches_all_or_nothing() {
+        queue.submit(event("busy"));
+        // The only worker is now blocked inside the send, so further events stay queued.
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("busy")));
+
+        queue.submit(event("q1"));
+        assertThatThrownBy(() -> queue.submitAll(List.of(event("q2"), event("q3"))))
+                .isInstanceOf(DispatchRejectedException.class)
+                .extracting(ex -> ((DispatchRejectedException) ex).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+
+        assertThat(queue.depth()).isEqualTo(1);
+        queue.submit(event("q2"));
+        assertThat(queue.depth()).isEqualTo(2);
+        assertThatThrownBy(() -> queue.submit(event("q3"))).isInstanceOf(DispatchRejectedException.class);
+        assertThat(meterRegistry.get("email.dispatch.rejected").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void retries_failed_emails_with_backoff_and_then_dead_letters_them() {
+        release.countDown();
+        when(emailService.sendVerificationEmails(List.of(event("bounce"))))
+                .thenReturn(List.of(new SendFailure(0, new Exception("550 5.1.1 No such user"))));
+
+        queue.submit(event("bounce"));
+
+        verify(emailService, timeout(2000).times(3)).sendVerificationEmails(List.of(event("bounce")));
+        await(() -> journal.outstanding() == 0);
+        assertThat(meterRegistry.get("email.dispatch.retries").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("email.dispatch.dead.lettered").counter().count()).isEqualTo(1);
+        verify(notificationLog).updated(any(), eq(NotificationStatus.RETRYING), eq(1));
+        verify(notificationLog).updated(any(), eq(NotificationStatus.RETRYING), eq(2));
+        verify(notificationLog).updated(any(), eq(NotificationStatus.FAILED), eq(3));
+        DispatchStats.Snapshot snapshot = stats.snapshot();
+        assertThat(snapshot.failed()).containsEntry(DispatchStats.FailureCause.REJECTED, 3L);
+        assertThat(snapshot.sendLatency().count()).isEqualTo(3);
+        assertThat(snapshot.retryBacklog()).isZero();
+        assertThat(snapshot.inFlight()).isZero();
+        assertThat(journal.readDeadLetters())
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.email()).isEqualTo(event("bounce").email());
+                    assertThat(entry.attempts()).isEqualTo(3);
+                    assertThat(entry.reason()).isEqualTo("550 5.1.1 No such user");
+                });
+    }
+
+    @Test
+    void redelivers_emails_whose_delivery_was_never_journaled_after_a_restart() throws IOException {
+        queue.submit(event("in-flight"));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("in-flight")));
+        queue.submit(event("queued"));
+
+        // Simulate a crash: the journal goes away before either outcome is recorded.
+        journal.close();
+        release.countDown();
+        queue.shutdown();
+
+        emailService = mock(VerificationEmailService.class);
+        journal = new EmailJournal(journalProperties);
+        queue = newQueue();
+
+        await(() -> journal.outstanding() == 0);
+        ArgumentCaptor<List<UserRegisteredEventDto>> sent = ArgumentCaptor.captor();
+        verify(emailService, atLeastOnce()).sendVerificationEmails(sent.capture());
+        assertThat(sent.getAllValues()).flatMap(batch -> batch)
+                .containsExactlyInAnyOrder(event("in-flight"), event("queued"));
+    }
+
+    @Test
+    void drops_duplicates_within_a_batch_across_batches_and_across_restarts() throws IOException {
+        release.countDown();
+        queue.submitAll(List.of(event("a"), event("a")));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("a")));
+
+        queue.submitAll(List.of(event("a"), event("b")));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("b")));
+
+        queue.shutdown();
+        journal.close();
+        journal = new EmailJournal(journalProperties);
+        queue = newQueue();
+        queue.submit(event("b"));
+        queue.submit(event("c"));
+
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("c")));
+        verify(emailService, times(3)).sendVerificationEmails(anyList());
+        assertThat(meterRegistry.get("email.dispatch.duplicates").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void a_rejected_batch_is_not_treated_as_a_duplicate_when_retried() {
+        queue.submit(event("busy"));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("busy")));
+        queue.submit(event("q1"));
+        assertThatThrownBy(() -> queue.submitAll(List.of(event("q2"), event("q3"))))
+                .isInstanceOf(DispatchRejectedException.class);
+
+        release.countDown();
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("q1")));
+        queue.submitAll(List.of(event("q2"), event("q3")));
+
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("q2"), event("q3")));
+        assertThat(meterRegistry.get("email.dispatch.duplicates").counter().count()).isZero();
+    }
+
+    @Test
+    void a_throttled_domain_does_not_hold_back_other_domains() {
+        release.countDown();
+        queue.shutdown();
+        properties.setCapacity(10);
+        throttleProperties.setBurst(1);
+        throttleProperties.getRates().put("slow.test", 0.1);
+        queue = newQueue();
+
+        queue.submitAll(List.of(event("s1", "slow.test"), event("s2", "slow.test"), event("s3", "slow.test")));
+        queue.submitAll(List.of(event("f1", "fast.test"), event("f2", "fast.test")));
+
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("s1", "slow.test")));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("f1", "fast.test")));
+        // The second fast.test email waits one token at the default rate, not behind slow.test's ten seconds.
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("f2", "fast.test")));
+        verify(emailService, times(3)).sendVerificationEmails(anyList());
+        assertThat(meterRegistry.get("email.dispatch.domain.queued").tag("domain", "slow.test").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("email.dispatch.domain.throttled").tag("domain", "slow.test").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    void a_flood_to_one_domain_fills_the_queue_and_is_rejected() {
+        release.countDown();
+        queue.shutdown();
+        properties.setCapacity(4);
+        throttleProperties.setBurst(1);
+        throttleProperties.setMaxQueued(1);
+        throttleProperties.getRates().put("slow.test", 0.1);
+        queue = newQueue();
+
+        queue.submitAll(List.of(event("s1", "slow.test"), event("s2", "slow.test"), event("s3", "slow.test"),
+                event("s4", "slow.test")));
+        verify(emailService, timeout(2000)).sendVerificationEmails(List.of(event("s1", "slow.test")));
+
+        // s2 waits in the lane; s3 and s4 are held back but still count against the queue.
+        await(() -> queue.depth() == 3);
+        queue.submit(event("s5", "slow.test"));
+        assertThatThrownBy(() -> queue.submit(event("s6", "slow.test"))).isInstanceOf(DispatchRejectedException.class);
+        assertThat(meterRegistry.get("email.dispatch.domain.overflow").tag("domain", "slow.test").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void slows_a_domain_down_when_its_server_defers_mail() {
+        release.countDown();
+        when(emailService.sendVerificationEmails(List.of(event("busy"))))
+                .thenReturn(List.of(new SendFailure(0, new Exception("421 4.7.0 Try again later"))), List.of());
+
+        queue.submit(event("busy"));
+
+        // Halved to 10, plus one recovery step for the delivered retry.
+        await(() -> meterRegistry.get("email.dispatch.domain.rate").tag("domain", "example.com").gauge().value() == 11);
+        assertThat(journal.outstanding()).isZero();
+        assertThat(meterRegistry.get("email.dispatch.domain.deferred").tag("domain", "example.com").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("email.dispatch.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoff_doubles_per_attempt_within_equal_jitter_and_is_capped() {
+        Duration initial = Duration.ofSeconds(5);
+        Duration max = Duration.ofMinutes(15);
+        for (int i = 0; i < 100; i++) {
+            assertThat(EmailDispatchQueue.backoff(1, initial, max)).isBetween(Duration.ofMillis(2_500), initial);
+            assertThat(EmailDispatchQueue.backoff(4, initial, max)).isBetween(Duration.ofSeconds(20), Duration.ofSeconds(40));
+            assertThat(EmailDispatchQueue.backoff(40, initial, max)).isBetween(max.dividedBy(2), max);
+        }
+    }
+
+    private EmailDispatchQueue newQueue() {
+        meterRegistry = new SimpleMeterRegistry();
+        stats = new DispatchStats();
+        notificationLog = mock(NotificationLogWriter.class);
+        return new EmailDispatchQueue(emailService, properties, throttleProperties, journalProperties, journal,
+                new EventDeduplicator(journalProperties, journal), stats, notificationLog, meterRegistry);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static UserRegisteredEventDto event(String name) {
+        return event(name, "example.com");
+    }
+
+    private static UserRegisteredEventDto event(String name, String domain) {
+        return new UserRegisteredEventDto(name + "@" + domain, "token-" + name);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.notification_service.service.journal;
+
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures durable {@link EmailJournal} appends per second with 32 concurrent callers, one event per append
+ * as a single-event request makes it. Each append returns only once its group-commit fsync has completed,
+ * and is then marked delivered, as the sender does, so resolved segments are deleted as they are in
+ * production.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=EmailJournalBenchmark}. The journal
+ * is written under {@code java.io.tmpdir}; point that at the disk the service uses, since the score is
+ * bounded by its fsync latency.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class EmailJournalBenchmark {
+
+    private final AtomicInteger callers = new AtomicInteger();
+    private Path directory;
+    private EmailJournal journal;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("email-journal-benchmark");
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        journal = new EmailJournal(properties);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * One benchmark thread's events; tokens are unique so every append is a distinct email.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        private int caller;
+        private long sent;
+
+        @Setup
+        public void setup(EmailJournalBenchmark benchmark) {
+            caller = benchmark.callers.getAndIncrement();
+        }
+
+        UserRegisteredEventDto next() {
+            return new UserRegisteredEventDto("user" + caller + "@kaban.local", caller + "-" + sent++, null);
+        }
+    }
+
+    @Benchmark
+    public List<Long> durableAppend(Caller caller) {
+        List<Long> ids = journal.append(List.of(caller.next()));
+        journal.markDelivered(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.notification_service.service.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.notification_service.config.JournalProperties;
+import com.example.notification_service.dto.UserRegisteredEventDto;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tests for {@link EmailJournal}. A "crash" is simulated by opening a second journal on the same directory
+ * without recording outcomes in the first.
+ *
+ * <p>Group commit is checked through the number of fsyncs concurrent appends share rather than wall-clock
+ * timings, which vary between machines and file systems.</p>
+ */
+class EmailJournalTest {
+
+    @TempDir
+    Path directory;
+    private JournalProperties properties;
+    private final List<EmailJournal> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(EmailJournal::close);
+    }
+
+    @Test
+    void recovers_unresolved_emails_with_their_retry_state() throws IOException {
+        EmailJournal journal = open();
+        List<Long> ids = journal.append(List.of(event("a"), event("b"), event("c")));
+        Instant nextAttemptAt = Instant.parse("2030-01-01T00:00:00Z");
+        journal.markDelivered(List.of(ids.get(0)));
+        journal.recordFailure(ids.get(1), 2, nextAttemptAt);
+        journal.close();
+
+        EmailJournal recovered = open();
+
+        assertThat(recovered.drainRecovered()).containsExactly(
+                new JournalEntry(ids.get(1), event("b"), 2, nextAttemptAt),
+                new JournalEntry(ids.get(2), event("c"), 0, Instant.EPOCH));
+        assertThat(recovered.drainRecovered()).isEmpty();
+        assertThat(recovered.outstanding()).isEqualTo(2);
+        assertThat(recovered.append(List.of(event("d")))).allMatch(id -> id > ids.get(2));
+    }
+
+    @Test
+    void truncates_a_torn_record_left_by_a_crash() throws IOException {
+        EmailJournal journal = open();
+        journal.append(List.of(event("a")));
+        journal.close();
+
+        Path segment = segments().get(0);
+        long intact = Files.size(segment);
+        // Half a record: a length header promising more bytes than were written.
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        EmailJournal recovered = open();
+
+        assertThat(recovered.drainRecovered()).extracting(JournalEntry::event).containsExactly(event("a"));
+        assertThat(Files.size(segment)).isEqualTo(intact);
+    }
+
+    @Test
+    void rotates_segments_and_deletes_them_once_resolved_in_order() throws IOException {
+        properties.setSegmentSize(DataSize.ofBytes(120));
+        EmailJournal journal = open();
+        List<Long> first = journal.append(List.of(event("a"), event("b")));
+        List<Long> second = journal.append(List.of(event("c"), event("d")));
+        journal.append(List.of(event("e")));
+        assertThat(segments()).hasSize(3);
+
+        // The second segment is resolved, but the first still holds a live email.
+        journal.markDelivered(second);
+        assertThat(segments()).hasSize(3);
+
+        journal.markDelivered(first);
+        assertThat(segments()).hasSize(1);
+        journal.close();
+
+        assertThat(open().drainRecovered()).extracting(JournalEntry::event).containsExactly(event("e"));
+    }
+
+    @Test
+    void dead_lettered_emails_outlive_their_segment() throws IOException {
+        EmailJournal journal = open();
+        long id = journal.append(List.of(event("bounce"))).get(0);
+
+        journal.deadLetter(id, 8, "550 5.1.1 No such user");
+        journal.close();
+
+        EmailJournal recovered = open();
+        assertThat(recovered.drainRecovered()).isEmpty();
+        assertThat(recovered.readDeadLetters()).singleElement().satisfies(entry -> {
+            assertThat(entry.id()).isEqualTo(id);
+            assertThat(entry.email()).isEqualTo("bounce@example.com");
+            assertThat(entry.fingerprint()).isEqualTo(EventFingerprint.of(event("bounce")));
+            assertThat(entry.attempts()).isEqualTo(8);
+            assertThat(entry.reason()).isEqualTo("550 5.1.1 No such user");
+        });
+        assertThat(Files.readString(directory.resolve(EmailJournal.DEAD_LETTER_FILE), StandardCharsets.ISO_8859_1))
+                .doesNotContain("token-bounce");
+    }
+
+    @Test
+    void rotates_the_dead_letter_file_and_keeps_one_old_file() throws IOException {
+        properties.setDeadLetterMaxSize(DataSize.ofBytes(200));
+        EmailJournal journal = open();
+        for (int i = 0; i < 6; i++) {
+            long id = journal.append(List.of(event("bounce" + i))).get(0);
+            journal.deadLetter(id, 8, "550 5.1.1 No such user");
+        }
+
+        // Each record is about 100 bytes, so each file holds two.
+        assertThat(Files.size(directory.resolve(EmailJournal.DEAD_LETTER_FILE))).isLessThanOrEqualTo(200);
+        assertThat(journal.readDeadLetters()).extracting(DeadLetter::email)
+                .containsExactly("bounce2@example.com", "bounce3@example.com", "bounce4@example.com", "bounce5@example.com");
+    }
+
+    @Test
+    void removes_tokens_from_dead_letters_written_by_earlier_versions() throws IOException {
+        Instant failedAt = Instant.parse("2026-01-01T00:00:00Z");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(5);
+        out.writeLong(7);
+        out.writeInt(8);
+        out.writeLong(failedAt.toEpochMilli());
+        out.writeUTF("old@example.com");
+        out.writeUTF("token-old");
+        out.writeUTF("");
+        byte[] bytes = body.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(8 + bytes.length).putInt(bytes.length).putInt((int) crc.getValue()).put(bytes);
+        Files.write(directory.resolve(EmailJournal.DEAD_LETTER_FILE), record.array());
+
+        EmailJournal journal = open();
+
+        assertThat(Files.readString(directory.resolve(EmailJournal.DEAD_LETTER_FILE), StandardCharsets.ISO_8859_1))
+                .doesNotContain("token-old");
+        assertThat(journal.readDeadLetters()).containsExactly(new DeadLetter(7, "old@example.com", null,
+                EventFingerprint.of(new UserRegisteredEventDto("old@example.com", "token-old")), 8, failedAt, ""));
+    }
+
+    @Test
+    void persists_fingerprints_for_the_dedup_window_across_restarts() throws Exception {
+        EmailJournal journal = open();
+        journal.append(List.of(event("a"), event("b")));
+        long id = journal.append(List.of(event("c"))).get(0);
+        journal.markDelivered(List.of(id));
+        journal.close();
+
+        EmailJournal recovered = open();
+        assertThat(recovered.drainRecoveredFingerprints())
+                .containsOnlyKeys(EventFingerprint.of(event("a")), EventFingerprint.of(event("b")), EventFingerprint.of(event("c")));
+        assertThat(recovered.drainRecoveredFingerprints()).isEmpty();
+        recovered.close();
+
+        properties.setDedupWindow(Duration.ofMillis(1));
+        Thread.sleep(5);
+        assertThat(open().drainRecoveredFingerprints()).isEmpty();
+        try (Stream<Path> files = Files.list(directory)) {
+            // Only the log opened by the last journal is left.
+            assertThat(files.filter(path -> path.getFileName().toString().startsWith(DedupLog.FILE_PREFIX))).hasSize(1);
+        }
+    }
+
+    @Test
+    void restores_lost_fingerprints_from_segments_and_keeps_them_after_the_segments_are_deleted() throws Exception {
+        EmailJournal journal = open();
+        long id = journal.append(List.of(event("a"))).get(0);
+        journal.close();
+        deleteDedupLogs();
+
+        // As after a crash before the dedup log reached the disk: the segment still has the event.
+        EmailJournal recovered = open();
+        assertThat(recovered.drainRecoveredFingerprints()).containsOnlyKeys(EventFingerprint.of(event("a")));
+        recovered.markDelivered(List.of(id));
+        recovered.close();
+
+        // The resolved segment is deleted on this startup, after the restored fingerprint was forced.
+        EmailJournal restarted = open();
+        assertThat(restarted.drainRecoveredFingerprints()).containsOnlyKeys(EventFingerprint.of(event("a")));
+        restarted.close();
+        assertThat(open().drainRecoveredFingerprints()).containsOnlyKeys(EventFingerprint.of(event("a")));
+    }
+
+    @Test
+    void concurrent_durable_appends_share_fsyncs_through_group_commit() throws Exception {
+        int threads = 32;
+        int perThread = 1_000;
+        EmailJournal journal = open();
+        journal.append(List.of(event("warmup")));
+        long syncsBefore = journal.syncCount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(List.of(event("t" + thread + "-" + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(journal.syncCount() - syncsBefore).isPositive().isLessThan(threads * perThread);
+        assertThat(open().drainRecovered()).hasSize(threads * perThread + 1);
+    }
+
+    private EmailJournal open() throws IOException {
+        EmailJournal journal = new EmailJournal(properties);
+        opened.add(journal);
+        return journal;
+    }
+
+    private void deleteDedupLogs() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().startsWith(DedupLog.FILE_PREFIX)).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(EmailJournal.SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static UserRegisteredEventDto event(String name) {
+        return new UserRegisteredEventDto(name + "@example.com", "token-" + name);
+    }
+}
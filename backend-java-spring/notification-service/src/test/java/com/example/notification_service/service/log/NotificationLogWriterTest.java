@@ -0,0 +1,142 @@
+package com.example.notification_service.service.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.notification_service.config.NotificationLogProperties;
+import com.example.notification_service.dto.NotificationLogEntry;
+import com.example.notification_service.repository.NotificationLogRepository;
+import com.example.notification_service.repository.NotificationLogRepository.StatusUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for {@link NotificationLogWriter}.
+ * A latch holds the writer thread inside its first insert so the following changes land in one batch.
+ */
+class NotificationLogWriterTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private NotificationLogRepository repository;
+    private NotificationLogProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationLogWriter writer;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(NotificationLogRepository.class);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(repository).insertAll(anyList());
+        properties = new NotificationLogProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new NotificationLogWriter(repository, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    void merges_changes_to_one_email_within_a_batch() throws InterruptedException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        writer.accepted(first, NotificationEvent.USER_REGISTERED, "first@example.com");
+        assertThat(writing.await(2, TimeUnit.SECONDS)).isTrue();
+
+        writer.accepted(second, NotificationEvent.TRANSACTION, "Second@Example.com");
+        writer.updated(second, NotificationStatus.SENT, 1);
+        writer.updated(first, NotificationStatus.RETRYING, 1);
+        writer.updated(first, NotificationStatus.SENT, 2);
+        release.countDown();
+        writer.shutdown();
+
+        List<List<NotificationLogEntry>> inserts = insertedBatches(2);
+        assertThat(inserts.get(0)).singleElement().satisfies(entry -> {
+            assertThat(entry.id()).isEqualTo(first);
+            assertThat(entry.status()).isEqualTo("QUEUED");
+            assertThat(entry.recipientHash()).isEqualTo(RecipientHash.of("first@example.com"));
+        });
+        assertThat(inserts.get(1)).singleElement().satisfies(entry -> {
+            assertThat(entry.id()).isEqualTo(second);
+            assertThat(entry.event()).isEqualTo("TRANSACTION");
+            assertThat(entry.status()).isEqualTo("SENT");
+            assertThat(entry.attempts()).isEqualTo(1);
+            assertThat(entry.sentAt()).isEqualTo(entry.updatedAt());
+            assertThat(entry.recipientHash()).isEqualTo(RecipientHash.of("second@example.com"));
+        });
+        assertThat(updatedBatches().get(1)).singleElement().satisfies(update -> {
+            assertThat(update.id()).isEqualTo(first);
+            assertThat(update.status()).isEqualTo("SENT");
+            assertThat(update.attempts()).isEqualTo(2);
+            assertThat(update.sentAt()).isNotNull();
+        });
+        assertThat(meterRegistry.get("notification.log.written").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void drops_changes_instead_of_blocking_when_the_queue_is_full() throws InterruptedException {
+        properties.setCapacity(1);
+        writer.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new NotificationLogWriter(repository, properties, meterRegistry);
+        writer.accepted(UUID.randomUUID(), NotificationEvent.USER_REGISTERED, "a@example.com");
+        assertThat(writing.await(2, TimeUnit.SECONDS)).isTrue();
+
+        writer.updated(UUID.randomUUID(), NotificationStatus.SENT, 1);
+        writer.updated(UUID.randomUUID(), NotificationStatus.SENT, 1);
+
+        assertThat(meterRegistry.get("notification.log.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.log.backlog").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void a_failed_batch_is_counted_and_later_batches_are_still_written() {
+        release.countDown();
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doNothing()
+                .when(repository).updateAll(anyList());
+
+        writer.updated(UUID.randomUUID(), NotificationStatus.SENT, 1);
+        verify(repository, timeout(2000)).updateAll(anyList());
+        writer.updated(UUID.randomUUID(), NotificationStatus.SENT, 1);
+        writer.shutdown();
+
+        verify(repository, times(2)).updateAll(anyList());
+        assertThat(meterRegistry.get("notification.log.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.log.written").counter().count()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<NotificationLogEntry>> insertedBatches(int count) {
+        ArgumentCaptor<List<NotificationLogEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(count)).insertAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<StatusUpdate>> updatedBatches() {
+        ArgumentCaptor<List<StatusUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).updateAll(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.notification_service.service.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.notification_service.dto.NotificationLogEntry;
+import com.example.notification_service.dto.NotificationLogPage;
+import com.example.notification_service.repository.NotificationLogRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link NotificationLookupService}: recipient hashing and keyset cursors.
+ */
+class NotificationLookupServiceTest {
+
+    private static final String HASH = RecipientHash.of("juan@kaban.com");
+
+    private final NotificationLogRepository repository = mock(NotificationLogRepository.class);
+    private final NotificationLookupService service = new NotificationLookupService(repository);
+
+    @Test
+    void looks_up_by_the_hash_of_the_normalized_email() {
+        service.lookup("  Juan@Kaban.com ", null, null);
+
+        verify(repository).findLatest(HASH, NotificationLookupService.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void full_page_returns_a_cursor_that_continues_after_its_last_entry() {
+        NotificationLogEntry newer = entry(Instant.parse("2026-10-18T01:00:00.000002Z"));
+        NotificationLogEntry older = entry(Instant.parse("2026-10-18T01:00:00.000001Z"));
+        when(repository.findLatest(HASH, 2)).thenReturn(List.of(newer, older));
+
+        NotificationLogPage page = service.lookup("juan@kaban.com", null, 2);
+        service.lookup("juan@kaban.com", page.nextCursor(), 2);
+
+        assertThat(page.items()).containsExactly(newer, older);
+        verify(repository).findBefore(HASH, older.createdAt(), older.id(), 2);
+    }
+
+    @Test
+    void partial_page_has_no_cursor_and_limit_is_clamped() {
+        when(repository.findLatest(HASH, NotificationLookupService.MAX_LIMIT)).thenReturn(List.of());
+
+        assertThat(service.lookup("juan@kaban.com", "", 10_000).nextCursor()).isNull();
+    }
+
+    @Test
+    void rejects_a_blank_email_or_a_malformed_cursor() {
+        assertThatThrownBy(() -> service.lookup(" ", null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.lookup("juan@kaban.com", "yesterday", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed cursor");
+    }
+
+    private static NotificationLogEntry entry(Instant createdAt) {
+        return new NotificationLogEntry(UUID.randomUUID(), "USER_REGISTERED", HASH, "SENT", 1, createdAt, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.notification_service.service.mail;
+
+import com.example.notification_service.config.MailPoolProperties;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Compares sending the verification email through {@link JavaMailSender#send(MimeMessage)}, which opens an
+ * SMTP session per message, against {@link SmtpConnectionPool#send(List)} batches over one pooled session,
+ * both against an in-memory GreenMail server. Scores are messages per second.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SmtpConnectionPoolBenchmark}.
+ * GreenMail answers on loopback with no latency, so a real relay widens the gap: every session it saves
+ * would also have cost a TCP and usually a TLS handshake.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtpConnectionPoolBenchmark {
+
+    private static final int BATCH_SIZE = 25;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool pool;
+    private List<MimeMessage> batch;
+
+    @Setup
+    public void setup() throws MessagingException {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        MailPoolProperties properties = new MailPoolProperties();
+        properties.setMaxConnections(1);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("mailSender", mailSender);
+        pool = new SmtpConnectionPool(beanFactory.getBeanProvider(JavaMailSender.class), properties,
+                new SimpleMeterRegistry());
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(message("user" + i + "@kaban.local"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void purge() throws Exception {
+        // GreenMail keeps every message in memory.
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sessionPerMessage() {
+        for (MimeMessage message : batch) {
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<SmtpConnectionPool.SendFailure> pooled() {
+        return pool.send(batch);
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("no-reply@kaban.local");
+        helper.setTo(to);
+        helper.setSubject("Verify your Kaban account");
+        helper.setText("<p>Welcome to Kaban.</p>", true);
+        return message;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.notification_service.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.notification_service.config.MailPoolProperties;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Tests for {@link SmtpConnectionPool} against an in-memory GreenMail SMTP server. Session reuse is checked
+ * through the number of SMTP sessions opened rather than wall-clock timings, which vary between machines.
+ */
+class SmtpConnectionPoolTest {
+
+    private static final int MESSAGES = 100;
+    private static final int BATCH_SIZE = 25;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    void pooled_batches_reuse_one_session() throws Exception {
+        SmtpConnectionPool pool = pool(1_000);
+
+        List<MimeMessage> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(message("pooled" + i + "@kaban.local"));
+        }
+        for (int from = 0; from < MESSAGES; from += BATCH_SIZE) {
+            assertThat(pool.send(messages.subList(from, from + BATCH_SIZE))).isEmpty();
+        }
+        pool.shutdown();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(MESSAGES);
+        // Every batch after the first reuses the session it opened.
+        assertThat(opened()).isEqualTo(1);
+    }
+
+    @Test
+    void recycles_a_session_after_max_messages() throws Exception {
+        SmtpConnectionPool pool = pool(10);
+
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            messages.add(message("r" + i + "@kaban.local"));
+        }
+
+        assertThat(pool.send(messages)).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(25);
+        assertThat(opened()).isEqualTo(3);
+        assertThat(meterRegistry.get("email.smtp.connections.closed").tag("reason", "recycled").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void replaces_a_session_the_server_dropped() throws Exception {
+        SmtpConnectionPool pool = pool(100);
+        assertThat(pool.send(List.of(message("first@kaban.local")))).isEmpty();
+
+        greenMail.stop();
+        greenMail = new GreenMail(ServerSetupTest.SMTP.port(mailSender.getPort()));
+        greenMail.start();
+
+        assertThat(pool.send(List.of(message("second@kaban.local")))).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(opened()).isEqualTo(2);
+    }
+
+    @Test
+    void reads_the_smtp_reply_code_of_a_failure() {
+        SendFailedException rejected = new SendFailedException("Invalid Addresses",
+                new MessagingException("452 4.2.2 Mailbox full\n"));
+        MessagingException greeting = new MessagingException(
+                "Got bad greeting from SMTP host: mx.example.com, port: 25, response: 421 Too busy");
+
+        assertThat(new SmtpConnectionPool.SendFailure(0, rejected).replyCode()).isEqualTo(452);
+        assertThat(new SmtpConnectionPool.SendFailure(0, greeting).isTemporary()).isTrue();
+        assertThat(new SmtpConnectionPool.SendFailure(0, new MessagingException("550 5.1.1 No such user")).isTemporary())
+                .isFalse();
+        assertThat(new SmtpConnectionPool.SendFailure(0, new MessagingException("Could not connect to SMTP host")).replyCode())
+                .isZero();
+    }
+
+    private SmtpConnectionPool pool(int maxMessagesPerConnection) {
+        MailPoolProperties properties = new MailPoolProperties();
+        properties.setMaxConnections(1);
+        properties.setMaxMessagesPerConnection(maxMessagesPerConnection);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("mailSender", mailSender);
+        ObjectProvider<JavaMailSender> provider = beanFactory.getBeanProvider(JavaMailSender.class);
+        return new SmtpConnectionPool(provider, properties, meterRegistry);
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("no-reply@kaban.local");
+        helper.setTo(to);
+        helper.setSubject("Verify your Kaban account");
+        helper.setText("<p>Welcome to Kaban.</p>", true);
+        return message;
+    }
+
+    private double opened() {
+        return meterRegistry.get("email.smtp.connections.opened").counter().count();
+    }
+}
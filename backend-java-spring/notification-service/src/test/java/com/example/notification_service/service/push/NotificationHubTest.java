@@ -0,0 +1,165 @@
+package com.example.notification_service.service.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.notification_service.config.PushProperties;
+import com.example.notification_service.dto.InAppNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for {@link NotificationHub}.
+ * Streams are recording emitters, so writes can be observed, held back or failed without a servlet container.
+ */
+class NotificationHubTest {
+
+    private PushProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationHub hub;
+
+    @BeforeEach
+    void setup() {
+        properties = new PushProperties();
+        properties.setBufferSize(3);
+        properties.setWriters(2);
+        properties.setMaxConnectionsPerUser(2);
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new NotificationHub(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void publishes_to_every_stream_of_the_user_and_no_one_else() {
+        RecordingEmitter laptop = new RecordingEmitter();
+        RecordingEmitter phone = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.register("juan@kaban.com", laptop);
+        hub.register("JUAN@kaban.com", phone);
+        hub.register("maria@kaban.com", other);
+
+        hub.publish("Juan@Kaban.com", notification("Deposit of PHP 100.00 completed"));
+
+        await(() -> laptop.sent.size() == 1 && phone.sent.size() == 1);
+        assertThat(laptop.sent).singleElement().asString()
+                .contains("id:1", "event:transaction", "Deposit of PHP 100.00 completed");
+        assertThat(other.sent).isEmpty();
+        assertThat(hub.connections()).isEqualTo(3);
+    }
+
+    @Test
+    void a_slow_stream_drops_its_oldest_events_without_holding_back_others() throws InterruptedException {
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.gate = new CountDownLatch(1);
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.register("slow@kaban.com", slow);
+        hub.register("fast@kaban.com", fast);
+
+        hub.publish("slow@kaban.com", notification("0"));
+        assertThat(slow.entered.await(2, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < 10; i++) {
+            hub.publish("slow@kaban.com", notification(Integer.toString(i)));
+        }
+        hub.publish("fast@kaban.com", notification("fast"));
+
+        await(() -> fast.sent.size() == 1);
+        assertThat(slow.sent).isEmpty();
+        slow.gate.countDown();
+        await(() -> slow.sent.size() == 4);
+        assertThat(slow.sent).extracting(RecordingEmitter::title).containsExactly("0", "7", "8", "9");
+        assertThat(meterRegistry.get("push.events.dropped").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    void idle_streams_get_heartbeats() {
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        hub.shutdown();
+        hub = new NotificationHub(properties, new SimpleMeterRegistry());
+        RecordingEmitter idle = new RecordingEmitter();
+        hub.register("juan@kaban.com", idle);
+
+        await(() -> idle.sent.size() >= 2);
+        assertThat(idle.sent).allSatisfy(text -> assertThat(text).startsWith(":heartbeat"));
+    }
+
+    @Test
+    void a_failed_write_closes_the_stream_and_extra_streams_evict_the_oldest() {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.broken = true;
+        hub.register("juan@kaban.com", broken);
+        hub.publish("juan@kaban.com", notification("lost"));
+        await(() -> hub.connections() == 0);
+
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter third = new RecordingEmitter();
+        hub.register("juan@kaban.com", first);
+        hub.register("juan@kaban.com", second);
+        hub.register("juan@kaban.com", third);
+        hub.publish("juan@kaban.com", notification("hello"));
+
+        await(() -> second.sent.size() == 1 && third.sent.size() == 1);
+        assertThat(first.sent).isEmpty();
+        assertThat(hub.connections()).isEqualTo(2);
+    }
+
+    private static InAppNotification notification(String title) {
+        return new InAppNotification("transaction", title, Instant.parse("2026-10-18T01:00:00Z"), "tx-1");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Records each event as text, with the notification replaced by its title.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                text.append(part.getData() instanceof InAppNotification notification ? notification.title() : part.getData());
+            }
+            sent.add(text.toString());
+        }
+
+        private static String title(String text) {
+            return text.substring(text.indexOf("data:") + 5).trim();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.notification_service.service.template;
+
+import com.example.notification_service.config.TemplateProperties;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares rendering the verification email body with a compiled template against the
+ * {@code String.formatted} text block it replaced.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=EmailTemplateBenchmark}. Add
+ * {@code -prof gc} to the JMH arguments to compare allocation per render as well.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String FORMATTED_HTML = """
+            <p>Welcome to Kaban.</p>
+            <p>Please verify your email by clicking the link below:</p>
+            <p><a href="%s">%s</a></p>
+            <p>This link expires in 24 hours.</p>
+            """;
+
+    private final String email = "new.user@example.com";
+    private final String verifyLink = "http://localhost:8080/api/auth/verify?token=7f3c2a9e-41b8-4d5e-9a0c-1b2d3e4f5a6b";
+    private CompiledTemplate html;
+
+    @Setup
+    public void setup() throws IOException {
+        html = new EmailTemplateRegistry(new TemplateProperties()).get(TemplateType.VERIFICATION, null).html();
+    }
+
+    @Benchmark
+    public String formatted() {
+        return FORMATTED_HTML.formatted(verifyLink, verifyLink);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return html.render("Kaban", email, verifyLink, "24");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.notification_service.service.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.notification_service.config.TemplateProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link EmailTemplateRegistry} and {@link CompiledTemplate}, using the built-in templates
+ * and a temporary override directory.
+ */
+class EmailTemplateRegistryTest {
+
+    @TempDir
+    Path directory;
+    private TemplateProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new TemplateProperties();
+        properties.setDirectory(directory.toString());
+        properties.setReloadInterval(Duration.ZERO);
+    }
+
+    @Test
+    void renders_all_parts_and_escapes_values_only_in_html() throws IOException {
+        EmailTemplate.Rendered email = new EmailTemplateRegistry(properties)
+                .get(TemplateType.VERIFICATION, null)
+                .render("Kaban", "a@example.com", "https://kaban.local/verify?token=t&x=<1>", "24");
+
+        assertThat(email.subject()).isEqualTo("Verify your Kaban account");
+        assertThat(email.html()).contains("<a href=\"https://kaban.local/verify?token=t&amp;x=&lt;1&gt;\">");
+        assertThat(email.text()).contains("https://kaban.local/verify?token=t&x=<1>");
+    }
+
+    @Test
+    void falls_back_from_region_to_language_to_default() throws IOException {
+        EmailTemplateRegistry registry = new EmailTemplateRegistry(properties);
+
+        assertThat(subject(registry, Locale.GERMANY)).isEqualTo("Bestätigen Sie Ihr Kaban-Konto");
+        assertThat(subject(registry, Locale.GERMAN)).isEqualTo("Bestätigen Sie Ihr Kaban-Konto");
+        assertThat(subject(registry, Locale.JAPANESE)).isEqualTo("Verify your Kaban account");
+    }
+
+    @Test
+    void reloads_changed_overrides_and_keeps_the_last_good_version_of_a_broken_one() throws IOException {
+        EmailTemplateRegistry registry = new EmailTemplateRegistry(properties);
+        Path subject = directory.resolve("verification_fr.subject.txt");
+
+        write(subject, "Vérifiez votre compte {{brandName}}\n", 1);
+        assertThat(subject(registry, Locale.FRENCH)).isEqualTo("Vérifiez votre compte Kaban");
+
+        write(subject, "Confirmez votre compte {{brandName}}", 2);
+        assertThat(subject(registry, Locale.FRENCH)).isEqualTo("Confirmez votre compte Kaban");
+
+        write(subject, "Confirmez {{brand}}", 3);
+        assertThat(subject(registry, Locale.FRENCH)).isEqualTo("Confirmez votre compte Kaban");
+
+        Files.delete(subject);
+        assertThat(subject(registry, Locale.FRENCH)).isEqualTo("Verify your Kaban account");
+    }
+
+    @Test
+    void rejects_unknown_and_unterminated_placeholders_at_compile_time() {
+        List<String> variables = TemplateType.VERIFICATION.variables();
+
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{name}}", variables, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{{name}}");
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{email", variables, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated");
+    }
+
+    private static String subject(EmailTemplateRegistry registry, Locale locale) {
+        return registry.get(TemplateType.VERIFICATION, locale).subject().render("Kaban", "", "", "24");
+    }
+
+    // File systems with coarse timestamps could miss a rewrite within the same tick, so set it explicitly.
+    private static void write(Path file, String content, int version) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(version)));
+    }
+}
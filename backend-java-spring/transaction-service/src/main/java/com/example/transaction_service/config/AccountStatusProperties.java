@@ -0,0 +1,57 @@
+package com.example.transaction_service.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the local projection of account statuses.
+ *
+ * <p>The projection asks account-service for missed events every {@code catchUpInterval}, and reads
+ * snapshots and events {@code pageSize} at a time. Every call to account-service times out after
+ * {@code timeout}.</p>
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.account-status")
+public class AccountStatusProperties {
+
+    @NotNull
+    private Duration catchUpInterval = Duration.ofSeconds(1);
+
+    // account-service serves at most 5000 per page.
+    @Min(1)
+    @Max(5_000)
+    private int pageSize = 5_000;
+
+    @NotNull
+    private Duration timeout = Duration.ofSeconds(1);
+
+    public Duration getCatchUpInterval() {
+        return catchUpInterval;
+    }
+
+    public void setCatchUpInterval(Duration catchUpInterval) {
+        this.catchUpInterval = catchUpInterval;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.transaction_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Centralizes construction of {@link RestClient} infrastructure for this service, as in auth-service.
+ * Components inject the builder rather than instantiating clients so cross-cutting concerns (timeouts,
+ * tracing headers) can be applied in one place.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Bean
+    RestClient.Builder restClientBuilder() {
+        return RestClient.builder();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.transaction_service.config;
+
+import com.example.transaction_service.security.InternalTokenFilter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Configures the service's security, as in account-service: stateless, with no sessions or CSRF tokens.
+ *
+ * <p>{@code /internal/**} is for other services only and requires the shared {@code app.internal-token};
+ * without it, anyone who can reach the port could push account status events into the
+ * {@link com.example.transaction_service.service.status.AccountStatusProjection}.</p>
+ */
+@Configuration
+public class SecurityConfig {
+
+    private final InternalTokenFilter internalTokenFilter;
+
+    public SecurityConfig(InternalTokenFilter internalTokenFilter) {
+        this.internalTokenFilter = internalTokenFilter;
+    }
+
+    /**
+     * Defines the security filter chain.
+     *
+     * @param http the {@link HttpSecurity} to configure
+     * @return the configured {@link SecurityFilterChain}
+     */
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http) {
+        http.csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(
+                        (request, response, authException) -> response.sendError(HttpServletResponse.SC_UNAUTHORIZED)
+                ))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(
+                                "/actuator/health",
+                                "/v3/api-docs/**",
+                                "/swagger-ui/**",
+                                "/swagger-ui.html"
+                        ).permitAll()
+                        .requestMatchers("/internal/**").hasAuthority(InternalTokenFilter.AUTHORITY)
+                        .anyRequest().authenticated());
+
+        http.addFilterBefore(internalTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+}
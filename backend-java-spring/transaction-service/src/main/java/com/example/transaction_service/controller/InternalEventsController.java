@@ -0,0 +1,37 @@
+package com.example.transaction_service.controller;
+
+import com.example.transaction_service.dto.AccountStatusEvent;
+import com.example.transaction_service.service.status.AccountStatusProjection;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives domain events from other services, called by account-service with the shared
+ * {@code app.internal-token}, which {@code /internal/**} requires.
+ */
+@RestController
+@RequestMapping("/internal/events")
+public class InternalEventsController {
+
+    private final AccountStatusProjection statusProjection;
+
+    public InternalEventsController(AccountStatusProjection statusProjection) {
+        this.statusProjection = statusProjection;
+    }
+
+    /**
+     * Applies an account status change to this instance's status map.
+     *
+     * @param event the change
+     * @return 202 once applied
+     */
+    @PostMapping("/account-status")
+    public ResponseEntity<Void> accountStatus(@Valid @RequestBody AccountStatusEvent event) {
+        statusProjection.apply(event);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.transaction_service.dto;
+
+import com.example.transaction_service.model.AccountStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Instant;
+
+/**
+ * A status change committed in account-service, pushed to {@code POST /internal/events/account-status} and
+ * read back from account-service's {@code GET /internal/accounts/status-events}.
+ *
+ * @param sequence      position in account-service's feed; sequences have no gaps and follow commit order
+ * @param accountNumber the account number
+ * @param status        the new status
+ * @param changedAt     when the change was made
+ */
+public record AccountStatusEvent(
+        @Positive long sequence,
+        @NotBlank String accountNumber,
+        @NotNull AccountStatus status,
+        @NotNull Instant changedAt) {}
@@ -0,0 +1,11 @@
+package com.example.transaction_service.dto;
+
+import java.util.List;
+
+/**
+ * One page of account-service's {@code GET /internal/accounts/status-events}.
+ *
+ * @param events events after the requested sequence, in sequence order
+ * @param head   the latest sequence when the page was read
+ */
+public record AccountStatusEventPage(List<AccountStatusEvent> events, long head) {}
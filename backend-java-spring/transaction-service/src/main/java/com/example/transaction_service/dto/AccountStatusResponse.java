@@ -0,0 +1,13 @@
+package com.example.transaction_service.dto;
+
+import com.example.transaction_service.model.AccountStatus;
+import java.time.Instant;
+
+/**
+ * account-service's {@code GET /internal/accounts/{accountNumber}/status}.
+ *
+ * @param accountNumber the account number
+ * @param status        the status as of {@code asOf}
+ * @param asOf          when account-service read the status from its database
+ */
+public record AccountStatusResponse(String accountNumber, AccountStatus status, Instant asOf) {}
@@ -0,0 +1,20 @@
+package com.example.transaction_service.dto;
+
+import com.example.transaction_service.model.AccountStatus;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One page of account-service's {@code GET /internal/accounts/statuses}.
+ *
+ * @param accounts   accounts in ascending number order
+ * @param asOf       the event sequence the page reflects at least
+ * @param nextCursor value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record AccountStatusSnapshotPage(List<Entry> accounts, long asOf, @Nullable String nextCursor) {
+
+    /**
+     * One account's status.
+     */
+    public record Entry(String accountNumber, AccountStatus status) {}
+}
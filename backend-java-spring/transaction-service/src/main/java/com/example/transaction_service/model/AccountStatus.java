@@ -0,0 +1,13 @@
+package com.example.transaction_service.model;
+
+/**
+ * Lifecycle state of an account, as account-service reports it.
+ */
+public enum AccountStatus {
+    /** Open for deposits and withdrawals. */
+    ACTIVE,
+    /** Temporarily blocked, e.g. on suspicion of fraud; no transactions until reactivated. */
+    FROZEN,
+    /** Permanently closed; no further transactions. */
+    CLOSED
+}
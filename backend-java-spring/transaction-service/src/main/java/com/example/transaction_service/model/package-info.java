@@ -0,0 +1,2 @@
+@org.jspecify.annotations.NullMarked
+package com.example.transaction_service.model;
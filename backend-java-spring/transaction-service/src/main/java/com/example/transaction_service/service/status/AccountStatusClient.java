@@ -0,0 +1,98 @@
+package com.example.transaction_service.service.status;
+
+import com.example.transaction_service.config.AccountStatusProperties;
+import com.example.transaction_service.dto.AccountStatusEventPage;
+import com.example.transaction_service.dto.AccountStatusResponse;
+import com.example.transaction_service.dto.AccountStatusSnapshotPage;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reads account statuses from account-service's {@code /internal/accounts} endpoints: the snapshot and the
+ * event log the {@link AccountStatusProjection} is kept from, and single statuses for accounts it does not
+ * know yet. Requests carry the shared {@code app.internal-token}, which those endpoints require.
+ */
+@Component
+public class AccountStatusClient {
+
+    static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private final RestClient restClient;
+    private final String baseUrl;
+
+    public AccountStatusClient(
+            RestClient.Builder restClientBuilder,
+            AccountStatusProperties properties,
+            @Value("${app.account-base-url:http://localhost:8082}") String baseUrl,
+            @Value("${app.internal-token:}") String internalToken) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getTimeout());
+        requestFactory.setReadTimeout(properties.getTimeout());
+        this.restClient = restClientBuilder.clone()
+                .requestFactory(requestFactory)
+                .defaultHeader(INTERNAL_TOKEN_HEADER, internalToken)
+                .build();
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Returns one page of every account's status.
+     *
+     * @param after the last account number of the previous page, or {@code null} to start
+     * @param limit page size
+     * @throws org.springframework.web.client.RestClientException if account-service fails or times out
+     */
+    public AccountStatusSnapshotPage snapshot(@Nullable String after, int limit) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/internal/accounts/statuses")
+                .queryParam("limit", limit);
+        if (after != null) {
+            uri.queryParam("after", after);
+        }
+        return Objects.requireNonNull(restClient.get().uri(uri.encode().toUriString()).retrieve()
+                .body(AccountStatusSnapshotPage.class));
+    }
+
+    /**
+     * Returns the status events after a sequence.
+     *
+     * @param after the last sequence applied
+     * @param limit page size
+     * @throws org.springframework.web.client.RestClientException if account-service fails or times out
+     */
+    public AccountStatusEventPage events(long after, int limit) {
+        String uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/internal/accounts/status-events")
+                .queryParam("after", after)
+                .queryParam("limit", limit)
+                .encode()
+                .toUriString();
+        return Objects.requireNonNull(restClient.get().uri(uri).retrieve().body(AccountStatusEventPage.class));
+    }
+
+    /**
+     * Returns an account's status.
+     *
+     * @param accountNumber the account number
+     * @return the status, or {@code null} if there is no such account
+     * @throws org.springframework.web.client.RestClientException if account-service fails or times out
+     */
+    public @Nullable AccountStatusResponse status(String accountNumber) {
+        String uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/internal/accounts/{accountNumber}/status")
+                .buildAndExpand(accountNumber)
+                .encode()
+                .toUriString();
+        try {
+            return restClient.get().uri(uri).retrieve().body(AccountStatusResponse.class);
+        } catch (HttpClientErrorException.NotFound ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.transaction_service.service.status;
+
+import com.example.transaction_service.config.AccountStatusProperties;
+import com.example.transaction_service.dto.AccountStatusEvent;
+import com.example.transaction_service.dto.AccountStatusEventPage;
+import com.example.transaction_service.dto.AccountStatusResponse;
+import com.example.transaction_service.dto.AccountStatusSnapshotPage;
+import com.example.transaction_service.model.AccountStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * This instance's copy of every account's status, so the check before a posting is a map read rather than a
+ * call to account-service.
+ *
+ * <p>The map is kept from account-service's status feed. Each entry carries the feed sequence it is known to
+ * be at least as new as, and an update only replaces an entry with an equal or newer one, so events may be
+ * applied in any order and more than once. At startup the map is loaded from a paged snapshot, whose entries
+ * are at least as new as the sequence read before it, and then caught up with the events after that
+ * sequence. From then on, account-service pushes every change as it commits ({@link #apply}); because the
+ * feed has no gaps, a pushed event more than one past the {@linkplain #cursor() cursor} shows that one was
+ * missed and triggers an immediate catch-up, and a catch-up also runs every
+ * {@link AccountStatusProperties#getCatchUpInterval()} for pushes lost without a later one to reveal them.
+ * Such an event is not applied itself but read back by that catch-up, so no entry ever carries a sequence
+ * account-service's log does not hold; one that did would outrank every real event for its account. If the
+ * log's head is ever behind the cursor, the log was reset, and the map is reloaded from a new snapshot.</p>
+ *
+ * <p>Accounts opened after the snapshot have no event until their first status change. {@link #status}
+ * asks account-service once for an account the map does not hold, and keeps the answer at the cursor read
+ * before asking, so any change committed meanwhile still wins. The same happens for every account until
+ * the snapshot is loaded. Until then the map is only partial, and so is the guarantee.</p>
+ */
+@Component
+public class AccountStatusProjection {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatusProjection.class);
+
+    private final AccountStatusClient client;
+    private final AccountStatusProperties properties;
+    private final Map<String, Entry> statuses = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor sync;
+    private final AtomicBoolean syncRequested = new AtomicBoolean();
+    // Guarded by this; read without it.
+    private volatile long cursor;
+    private volatile boolean loaded;
+
+    public AccountStatusProjection(AccountStatusClient client, AccountStatusProperties properties) {
+        this.client = client;
+        this.properties = properties;
+        this.sync = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "account-status-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A status and the feed sequence it is at least as new as.
+     */
+    private record Entry(AccountStatus status, long version) {}
+
+    /**
+     * Loads the snapshot and starts the periodic catch-up, both on the sync thread.
+     */
+    @PostConstruct
+    void start() {
+        long interval = properties.getCatchUpInterval().toMillis();
+        sync.scheduleWithFixedDelay(this::sync, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sync.shutdownNow();
+    }
+
+    /**
+     * Returns an account's status: a map read for every account the map holds.
+     *
+     * @param accountNumber the account number
+     * @return the status, or {@code null} if account-service has no such account
+     * @throws RestClientException if the account is not in the map and account-service cannot be asked
+     */
+    public @Nullable AccountStatus status(String accountNumber) {
+        Entry entry = statuses.get(accountNumber);
+        if (entry != null) {
+            return entry.status();
+        }
+        long version = cursor;
+        AccountStatusResponse response = client.status(accountNumber);
+        if (response == null) {
+            return null;
+        }
+        return statuses.merge(accountNumber, new Entry(response.status(), version), AccountStatusProjection::newer)
+                .status();
+    }
+
+    /**
+     * Applies a pushed event, unless it is more than one past the cursor; then a catch-up is requested,
+     * which applies it from the log if the log holds it.
+     *
+     * @param event the event
+     */
+    public void apply(AccountStatusEvent event) {
+        boolean gap;
+        synchronized (this) {
+            gap = event.sequence() > cursor + 1;
+            if (!gap) {
+                statuses.merge(event.accountNumber(), new Entry(event.status(), event.sequence()),
+                        AccountStatusProjection::newer);
+                if (event.sequence() == cursor + 1) {
+                    cursor = event.sequence();
+                }
+            }
+        }
+        if (gap) {
+            requestSync();
+        }
+    }
+
+    /**
+     * Returns the sequence up to which every event is reflected in the map.
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    /**
+     * Tells whether the snapshot was loaded, i.e. whether the map holds every account that existed then.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Loads the snapshot if it was not loaded yet, then applies the events after the cursor. Failures are
+     * logged and retried on the next run.
+     */
+    void sync() {
+        try {
+            if (!loaded) {
+                loadSnapshot();
+            }
+            if (!catchUp()) {
+                logger.warn("Account status log head is behind sequence {}; reloading the snapshot", cursor);
+                reset();
+                loadSnapshot();
+                catchUp();
+            }
+            loaded = true;
+        } catch (RestClientException ex) {
+            logger.warn("Account status sync failed at sequence {}: {}", cursor, ex.getMessage());
+        }
+    }
+
+    private void loadSnapshot() {
+        long started = System.nanoTime();
+        long asOf = -1;
+        long accounts = 0;
+        String after = null;
+        do {
+            AccountStatusSnapshotPage page = client.snapshot(after, properties.getPageSize());
+            if (asOf < 0) {
+                // Later pages are at least as new as the first.
+                asOf = page.asOf();
+            }
+            for (AccountStatusSnapshotPage.Entry account : page.accounts()) {
+                statuses.merge(account.accountNumber(), new Entry(account.status(), asOf),
+                        AccountStatusProjection::newer);
+            }
+            accounts += page.accounts().size();
+            after = page.nextCursor();
+        } while (after != null);
+        advanceTo(asOf);
+        logger.info("Loaded {} account statuses as of sequence {} in {} ms", accounts, asOf,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Applies the events after the cursor.
+     *
+     * @return {@code false} if the log's head is behind the cursor, i.e. the log was reset
+     */
+    private boolean catchUp() {
+        while (true) {
+            AccountStatusEventPage page = client.events(cursor, properties.getPageSize());
+            if (page.head() < cursor) {
+                return false;
+            }
+            List<AccountStatusEvent> events = page.events();
+            for (AccountStatusEvent event : events) {
+                statuses.merge(event.accountNumber(), new Entry(event.status(), event.sequence()),
+                        AccountStatusProjection::newer);
+            }
+            if (events.isEmpty()) {
+                return true;
+            }
+            long last = events.get(events.size() - 1).sequence();
+            advanceTo(last);
+            if (last >= page.head()) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void advanceTo(long sequence) {
+        cursor = Math.max(cursor, sequence);
+    }
+
+    /**
+     * Forgets every entry, whose versions mean nothing against a reset log.
+     */
+    private synchronized void reset() {
+        loaded = false;
+        statuses.clear();
+        cursor = 0;
+    }
+
+    private void requestSync() {
+        if (!syncRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sync.execute(() -> {
+                syncRequested.set(false);
+                sync();
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down.
+            syncRequested.set(false);
+        }
+    }
+
+    private static Entry newer(Entry current, Entry candidate) {
+        return candidate.version() >= current.version() ? candidate : current;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.transaction_service.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.transaction_service.security.InternalTokenFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Tests the {@link SecurityConfig} filter chain in front of stub endpoints.
+ */
+@SpringJUnitWebConfig(SecurityConfigTest.Config.class)
+@TestPropertySource(properties = "app.internal-token=s3cret")
+class SecurityConfigTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean(FilterChainProxy.class))
+                .build();
+    }
+
+    @Test
+    void pushed_events_require_the_internal_token() throws Exception {
+        mockMvc.perform(post("/internal/events/account-status")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/internal/events/account-status").header(InternalTokenFilter.HEADER, "guess"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/internal/events/account-status").header(InternalTokenFilter.HEADER, "s3cret"))
+                .andExpect(status().isOk());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import({SecurityConfig.class, InternalTokenFilter.class})
+    static class Config {
+
+        @Bean
+        StubController stubController() {
+            return new StubController();
+        }
+    }
+
+    @RestController
+    static class StubController {
+
+        @PostMapping("/internal/events/account-status")
+        void accountStatus() {
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.transaction_service.service.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.transaction_service.config.AccountStatusProperties;
+import com.example.transaction_service.dto.AccountStatusEvent;
+import com.example.transaction_service.dto.AccountStatusEventPage;
+import com.example.transaction_service.dto.AccountStatusResponse;
+import com.example.transaction_service.dto.AccountStatusSnapshotPage;
+import com.example.transaction_service.model.AccountStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Tests for {@link AccountStatusProjection} against an in-memory account-service.
+ */
+class AccountStatusProjectionTest {
+
+    private static final String A = "KABAN-2026-0000018";
+    private static final String B = "KABAN-2026-0000026";
+    private static final String C = "KABAN-2026-0000034";
+
+    private FakeAccountService accountService;
+    private AccountStatusProjection projection;
+
+    @BeforeEach
+    void setup() {
+        AccountStatusProperties properties = new AccountStatusProperties();
+        properties.setPageSize(2);
+        accountService = new FakeAccountService(properties);
+        projection = new AccountStatusProjection(accountService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projection.shutdown();
+    }
+
+    @Test
+    void loads_the_snapshot_and_catches_up_then_answers_from_memory() {
+        accountService.open(A);
+        accountService.open(B);
+        accountService.open(C);
+        accountService.change(B, AccountStatus.FROZEN);
+        // Committed after the snapshot's first page was read.
+        accountService.afterFirstSnapshotPage = () -> accountService.change(C, AccountStatus.FROZEN);
+
+        projection.sync();
+
+        assertThat(projection.isLoaded()).isTrue();
+        assertThat(projection.cursor()).isEqualTo(2);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(projection.status(B)).isEqualTo(AccountStatus.FROZEN);
+        assertThat(projection.status(C)).isEqualTo(AccountStatus.FROZEN);
+        assertThat(accountService.statusCalls).isZero();
+    }
+
+    @Test
+    void a_pushed_freeze_applies_at_once_and_older_events_do_not_undo_it() throws InterruptedException {
+        accountService.open(A);
+        projection.sync();
+
+        AccountStatusEvent freeze = accountService.change(A, AccountStatus.FROZEN);
+        AccountStatusEvent reactivate = accountService.change(A, AccountStatus.ACTIVE);
+        AccountStatusEvent refreeze = accountService.change(A, AccountStatus.FROZEN);
+        projection.apply(freeze);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.FROZEN);
+        // Ahead of the cursor, so applied by the catch-up it requests, before or after the older event.
+        projection.apply(refreeze);
+        projection.apply(reactivate);
+
+        awaitCursor(3);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    @Test
+    void a_gap_in_pushed_events_triggers_a_catch_up() throws InterruptedException {
+        accountService.open(A);
+        accountService.open(B);
+        projection.sync();
+
+        accountService.change(A, AccountStatus.FROZEN);
+        AccountStatusEvent second = accountService.change(B, AccountStatus.FROZEN);
+        projection.apply(second);
+
+        awaitCursor(2);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    @Test
+    void a_pushed_event_the_log_does_not_hold_is_not_applied() {
+        accountService.open(A);
+        projection.sync();
+
+        projection.apply(new AccountStatusEvent(1_000_000, A, AccountStatus.FROZEN, Instant.now()));
+        projection.sync();
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+
+        projection.apply(accountService.change(A, AccountStatus.FROZEN));
+        projection.apply(accountService.change(A, AccountStatus.ACTIVE));
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(projection.cursor()).isEqualTo(2);
+    }
+
+    @Test
+    void a_reset_log_reloads_the_snapshot() {
+        accountService.open(A);
+        accountService.open(B);
+        accountService.change(A, AccountStatus.FROZEN);
+        accountService.change(A, AccountStatus.ACTIVE);
+        accountService.change(A, AccountStatus.FROZEN);
+        projection.sync();
+        assertThat(projection.cursor()).isEqualTo(3);
+
+        accountService.resetLog();
+        accountService.change(A, AccountStatus.ACTIVE);
+        accountService.change(B, AccountStatus.FROZEN);
+        projection.sync();
+
+        assertThat(projection.cursor()).isEqualTo(2);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(projection.status(B)).isEqualTo(AccountStatus.FROZEN);
+        projection.apply(accountService.change(A, AccountStatus.FROZEN));
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    @Test
+    void accounts_opened_after_the_snapshot_are_asked_for_once() {
+        projection.sync();
+        accountService.open(A);
+
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(projection.status(B)).isNull();
+        assertThat(accountService.statusCalls).isEqualTo(2);
+
+        projection.apply(accountService.change(A, AccountStatus.FROZEN));
+        assertThat(projection.status(A)).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    private void awaitCursor(long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (projection.cursor() < sequence && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(projection.cursor()).isEqualTo(sequence);
+    }
+
+    /**
+     * account-service's status feed over an in-memory account table.
+     */
+    private static final class FakeAccountService extends AccountStatusClient {
+
+        private final Map<String, AccountStatus> accounts = new TreeMap<>();
+        private final List<AccountStatusEvent> events = new ArrayList<>();
+        private @Nullable Runnable afterFirstSnapshotPage;
+        private int statusCalls;
+
+        private FakeAccountService(AccountStatusProperties properties) {
+            super(RestClient.builder(), properties, "http://account-service", "s3cret");
+        }
+
+        synchronized void open(String accountNumber) {
+            accounts.put(accountNumber, AccountStatus.ACTIVE);
+        }
+
+        synchronized void resetLog() {
+            events.clear();
+        }
+
+        synchronized AccountStatusEvent change(String accountNumber, AccountStatus status) {
+            accounts.put(accountNumber, status);
+            AccountStatusEvent event = new AccountStatusEvent(events.size() + 1, accountNumber, status, Instant.now());
+            events.add(event);
+            return event;
+        }
+
+        @Override
+        public synchronized AccountStatusSnapshotPage snapshot(@Nullable String after, int limit) {
+            long asOf = events.size();
+            List<AccountStatusSnapshotPage.Entry> page = accounts.entrySet().stream()
+                    .filter(account -> after == null || account.getKey().compareTo(after) > 0)
+                    .limit(limit)
+                    .map(account -> new AccountStatusSnapshotPage.Entry(account.getKey(), account.getValue()))
+                    .toList();
+            if (after == null && afterFirstSnapshotPage != null) {
+                afterFirstSnapshotPage.run();
+            }
+            String next = page.size() < limit ? null : page.get(page.size() - 1).accountNumber();
+            return new AccountStatusSnapshotPage(page, asOf, next);
+        }
+
+        @Override
+        public synchronized AccountStatusEventPage events(long after, int limit) {
+            List<AccountStatusEvent> page = events.stream().skip(after).limit(limit).toList();
+            return new AccountStatusEventPage(page, events.size());
+        }
+
+        @Override
+        public synchronized @Nullable AccountStatusResponse status(String accountNumber) {
+            statusCalls++;
+            AccountStatus status = accounts.get(accountNumber);
+            return status == null ? null : new AccountStatusResponse(accountNumber, status, Instant.now());
+        }
+    }
+}